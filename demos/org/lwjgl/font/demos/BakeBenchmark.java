@@ -0,0 +1,136 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font.demos;
+
+import java.awt.Font;
+
+import org.lwjgl.font.FTBBox;
+import org.lwjgl.font.FTTextMesh;
+import org.lwjgl.font.gl.FTGL;
+import org.lwjgl.font.gl.FTNullBackend;
+import org.lwjgl.font.gl.FTRecordingBackend;
+import org.lwjgl.font.glfont.FTGLExtrdFont;
+import org.lwjgl.font.glfont.FTGLOutlineFont;
+import org.lwjgl.font.glfont.FTGLPolygonFont;
+import org.lwjgl.font.glfont.FTGLVectorFont;
+
+/**
+ * Headless check and benchmark of {@link FTGLVectorFont#bake(String)}. A
+ * string is rendered glyph by glyph from the buffer objects of the font and
+ * baked into a mesh, for a polygon, an outline and an extruded font, the
+ * latter also after changing its depth. The mesh has to be drawn with one
+ * call and the indices of all glyph draws, and has to have the bounding box
+ * of the string. Then the calls made and the time taken per frame are
+ * compared, against the {@link FTNullBackend}, so only the work on the CPU
+ * is measured.
+ * <p>
+ * Usage: <code>BakeBenchmark [font] [size] [frames]</code>
+ */
+public class BakeBenchmark {
+
+	private static final String TEXT = "The quick brown fox jumps over the lazy dog";
+
+	public static void main(String[] args) {
+		String name = args.length > 0 ? args[0] : "SansSerif";
+		float size = args.length > 1 ? Float.parseFloat(args[1]) : 24f;
+		int frames = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+
+		Indices indices = new Indices();
+		FTRecordingBackend recording = new FTRecordingBackend(indices);
+		FTGL.set(recording);
+		Font font = Font.decode(name).deriveFont(size);
+		FTGLExtrdFont extruded = new FTGLExtrdFont(font);
+		extruded.setDepth(5f);
+		FTGLVectorFont[] fonts = { new FTGLPolygonFont(font),
+				new FTGLOutlineFont(font), extruded, extruded };
+		String[] labels = { "polygon", "outline", "extruded",
+				"extruded, depth 10" };
+		System.out.println("\"" + BakeBenchmark.TEXT + "\" in "
+				+ font.getName() + " " + size + "pt, " + frames + " frames");
+		int failures = 0;
+		for (int f = 0; f < fonts.length; f++) {
+			FTGLVectorFont ftFont = fonts[f];
+			if (f == 3)
+				extruded.setDepth(10f);
+			ftFont.setBufferObjects(true);
+			ftFont.render(BakeBenchmark.TEXT);
+
+			indices.reset();
+			recording.reset();
+			ftFont.render(BakeBenchmark.TEXT);
+			final int glyphDraws = recording.getDrawCallCount();
+			final int glyphCalls = recording.getCallCount();
+			final long glyphIndices = indices.count;
+
+			FTTextMesh mesh = ftFont.bake(BakeBenchmark.TEXT);
+			mesh.render();
+			indices.reset();
+			recording.reset();
+			mesh.render();
+			final int meshDraws = recording.getDrawCallCount();
+			final int meshCalls = recording.getCallCount();
+
+			FTBBox box = mesh.getBBox();
+			FTBBox expected = ftFont.getBBox(BakeBenchmark.TEXT);
+			boolean ok = meshDraws == 1 && indices.count == glyphIndices
+					&& mesh.getIndexCount() == glyphIndices
+					&& BakeBenchmark.near(box, expected);
+			if (!ok)
+				failures++;
+
+			FTGL.set(new FTNullBackend());
+			long time = System.nanoTime();
+			for (int i = 0; i < frames; i++)
+				ftFont.render(BakeBenchmark.TEXT);
+			long glyphTime = (System.nanoTime() - time) / frames;
+			time = System.nanoTime();
+			for (int i = 0; i < frames; i++)
+				mesh.render();
+			long meshTime = (System.nanoTime() - time) / frames;
+			FTGL.set(recording);
+
+			System.out.println(labels[f] + ": " + glyphIndices + " indices, "
+					+ "glyphs " + glyphDraws + " draws, " + glyphCalls
+					+ " calls, " + glyphTime + "ns; mesh " + meshDraws
+					+ " draw, " + meshCalls + " calls, " + meshTime + "ns"
+					+ (ok ? "" : " FAILED, box " + box + " expected "
+					+ expected));
+			mesh.dispose();
+		}
+		for (int f = 0; f < 3; f++)
+			fonts[f].dispose();
+		System.out.println(failures == 0 ? "ok" : failures + " failures");
+	}
+
+	/**
+	 * Compares the bounding boxes with a tolerance of a pixel, the box of the
+	 * string is taken from the outline of the whole string.
+	 */
+	private static boolean near(FTBBox box, FTBBox expected) {
+		return Math.abs(box.lowerX - expected.lowerX) <= 1f
+				&& Math.abs(box.upperX - expected.upperX) <= 1f
+				&& Math.abs(box.lowerY - expected.lowerY) <= 1f
+				&& Math.abs(box.upperY - expected.upperY) <= 1f
+				&& Math.abs(box.getDepth() - expected.getDepth()) <= 1f;
+	}
+
+	/**
+	 * Sums up the indices drawn from buffer objects.
+	 */
+	private static class Indices extends FTNullBackend {
+
+		long count;
+
+		void reset() {
+			count = 0;
+		}
+
+		@Override
+		public void glDrawElements(int mode, int count, int type, long offset) {
+			this.count += count;
+		}
+
+	}
+
+}
@@ -0,0 +1,120 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font.demos;
+
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+
+import org.lwjgl.font.gl.FTGL;
+import org.lwjgl.font.gl.FTNullBackend;
+import org.lwjgl.font.glfont.FTGLBufferFont;
+import org.lwjgl.font.util.FTClientBuffer;
+
+/**
+ * Headless benchmark of the software text renderer. Draws lines of text into a
+ * gray image and a bitmap with the {@link FTGLBufferFont} and with Java2D
+ * <code>drawString</code> into images of the same size, and reports the
+ * glyphs drawn per second. The glyphs of the buffer font are cached by the
+ * warm up, so the rounds measure the compositing only.
+ * <p>
+ * Usage: <code>BufferBenchmark [font] [size] [rounds]</code>
+ */
+public class BufferBenchmark {
+
+	private static final String TEXT = "The quick brown fox jumps over the lazy dog 0123456789";
+
+	private static final int WIDTH = 1024;
+
+	private static final int HEIGHT = 768;
+
+	public static void main(String[] args) {
+		String name = args.length > 0 ? args[0] : "Serif";
+		float size = args.length > 1 ? Float.parseFloat(args[1]) : 16f;
+		int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+
+		FTGL.set(new FTNullBackend());
+		Font font = Font.decode(name).deriveFont(size);
+		int lineHeight = (int) Math.ceil(size * 1.25f);
+		int lines = BufferBenchmark.HEIGHT / lineHeight;
+		long glyphs = (long) BufferBenchmark.TEXT.length() * lines * rounds;
+		System.out.println(lines + " lines of " + font.getName() + " " + size
+				+ "pt into " + BufferBenchmark.WIDTH + "x"
+				+ BufferBenchmark.HEIGHT);
+
+		FTGLBufferFont ftFont = new FTGLBufferFont(font);
+		BufferedImage gray = new BufferedImage(BufferBenchmark.WIDTH,
+				BufferBenchmark.HEIGHT, BufferedImage.TYPE_BYTE_GRAY);
+		BufferedImage binary = new BufferedImage(BufferBenchmark.WIDTH,
+				BufferBenchmark.HEIGHT, BufferedImage.TYPE_BYTE_BINARY);
+		FTClientBuffer[] buffers = {
+				BufferBenchmark.wrap(gray, FTClientBuffer.GRAY),
+				BufferBenchmark.wrap(binary, FTClientBuffer.BITMAP) };
+		String[] labels = { "buffer gray", "buffer bitmap" };
+		for (int b = 0; b < buffers.length; b++) {
+			ftFont.setClientBuffer(buffers[b]);
+			// warm up, caches the glyphs
+			BufferBenchmark.draw(ftFont, buffers[b], lines, lineHeight, 2);
+			long time = System.nanoTime();
+			BufferBenchmark.draw(ftFont, buffers[b], lines, lineHeight, rounds);
+			time = System.nanoTime() - time;
+			BufferBenchmark.report(labels[b], glyphs, time);
+		}
+		ftFont.dispose();
+
+		BufferedImage[] images = { gray, binary };
+		labels = new String[] { "java2d gray", "java2d bitmap" };
+		for (int b = 0; b < images.length; b++) {
+			Graphics2D g = images[b].createGraphics();
+			g.setFont(font);
+			g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+					b == 0 ? RenderingHints.VALUE_TEXT_ANTIALIAS_ON
+							: RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+			BufferBenchmark.draw(g, lines, lineHeight, 2);
+			long time = System.nanoTime();
+			BufferBenchmark.draw(g, lines, lineHeight, rounds);
+			time = System.nanoTime() - time;
+			g.dispose();
+			BufferBenchmark.report(labels[b], glyphs, time);
+		}
+	}
+
+	/**
+	 * Wraps the pixels of an image in a client buffer.
+	 */
+	private static FTClientBuffer wrap(BufferedImage image, int format) {
+		byte[] data = ((DataBufferByte) image.getRaster().getDataBuffer())
+				.getData();
+		int stride = format == FTClientBuffer.GRAY ? image.getWidth() : (image
+				.getWidth() + 7) / 8;
+		return new FTClientBuffer(data, image.getWidth(), image.getHeight(),
+				stride, format);
+	}
+
+	private static void draw(FTGLBufferFont font, FTClientBuffer buffer,
+			int lines, int lineHeight, int rounds) {
+		for (int r = 0; r < rounds; r++) {
+			buffer.fill(0);
+			for (int l = 1; l <= lines; l++)
+				font.render(BufferBenchmark.TEXT, 4, l * lineHeight);
+		}
+	}
+
+	private static void draw(Graphics2D g, int lines, int lineHeight,
+			int rounds) {
+		for (int r = 0; r < rounds; r++) {
+			g.clearRect(0, 0, BufferBenchmark.WIDTH, BufferBenchmark.HEIGHT);
+			for (int l = 1; l <= lines; l++)
+				g.drawString(BufferBenchmark.TEXT, 4, l * lineHeight);
+		}
+	}
+
+	private static void report(String label, long glyphs, long time) {
+		System.out.println(label + ": " + (glyphs * 1000000000L / time)
+				+ " glyphs/s, " + (time / glyphs) + "ns per glyph");
+	}
+
+}
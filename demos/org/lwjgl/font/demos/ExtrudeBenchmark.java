@@ -0,0 +1,144 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font.demos;
+
+import java.awt.Font;
+import java.awt.Shape;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.lwjgl.font.FTBevel;
+import org.lwjgl.font.FTGeometry;
+import org.lwjgl.font.FTGeometryOptimizer;
+import org.lwjgl.font.FTOutline;
+import org.lwjgl.font.glfont.FTFont;
+import org.lwjgl.font.glyph.FTExtrdGlyph;
+
+/**
+ * Headless benchmark of the geometry of extruded glyphs. All glyphs of a font
+ * are flattened and tesselated once, then the geometry of every glyph is
+ * built repeatedly, so the time is spent in the side walls, the bevels and the
+ * optimisation for the vertex cache. Reports the time and the allocated bytes
+ * per glyph and the average cache miss ratio, with and without optimisation.
+ * <p>
+ * Usage: <code>ExtrudeBenchmark [font] [size] [rounds] [bevel segments]</code>
+ */
+public class ExtrudeBenchmark {
+
+	public static void main(String[] args) {
+		String name = args.length > 0 ? args[0] : "Serif";
+		float size = args.length > 1 ? Float.parseFloat(args[1]) : 48f;
+		int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+		int segments = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+		FTBevel bevel = segments > 0 ? new FTBevel(segments, size / 48f,
+				size / 48f) : null;
+
+		Font font = Font.decode(name).deriveFont(size)
+				.deriveFont(new AffineTransform(1, 0, 0, -1, 0, 0));
+		int[] codes = new int[font.getNumGlyphs()];
+		for (int i = 0; i < codes.length; i++)
+			codes[i] = i;
+		GlyphVector vec = font.createGlyphVector(FTFont.STANDARDCONTEXT, codes);
+
+		List<Shape> shapes = new ArrayList<Shape>();
+		List<FTOutline> outlines = new ArrayList<FTOutline>();
+		int points = 0;
+		for (int i = 0; i < codes.length; i++) {
+			Shape shape = vec.getGlyphOutline(i, (float) -vec
+					.getGlyphPosition(i).getX(), 0);
+			if (shape.getBounds().isEmpty())
+				continue;
+			FTOutline outline = new FTOutline(shape);
+			if (outline.contourCount() < 1 || outline.pointCount() < 3)
+				continue;
+			outline.getMesh(true);
+			outline.getMesh(false);
+			shapes.add(shape);
+			outlines.add(outline);
+			points += outline.pointCount();
+		}
+		System.out.println(shapes.size() + " glyphs with " + points
+				+ " contour points of " + font.getName() + " " + size + "pt");
+
+		ExtrudeBenchmark.run(shapes, outlines, bevel, false, rounds);
+		ExtrudeBenchmark.run(shapes, outlines, bevel, true, rounds);
+	}
+
+	/**
+	 * Builds the geometry of all glyphs and prints the time, the allocated
+	 * bytes and the average cache miss ratio.
+	 */
+	private static void run(List<Shape> shapes, List<FTOutline> outlines,
+			FTBevel bevel, boolean optimize, int rounds) {
+		// warm up
+		FTGeometry[] geometries = build(shapes, outlines, bevel, optimize, 3);
+
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		long allocated = ExtrudeBenchmark.allocatedBytes(bean);
+		long time = System.nanoTime();
+		build(shapes, outlines, bevel, optimize, rounds);
+		time = System.nanoTime() - time;
+		allocated = ExtrudeBenchmark.allocatedBytes(bean) - allocated;
+
+		long vertices = 0;
+		long triangles = 0;
+		double misses16 = 0;
+		double misses32 = 0;
+		for (FTGeometry geometry : geometries) {
+			int count = geometry.getIndexCount() / 3;
+			vertices += geometry.getVertexCount();
+			triangles += count;
+			misses16 += FTGeometryOptimizer.getCacheMissRatio(geometry, 16)
+					* count;
+			misses32 += FTGeometryOptimizer.getCacheMissRatio(geometry, 32)
+					* count;
+		}
+
+		long glyphs = (long) shapes.size() * rounds;
+		System.out.println(optimize ? "optimized:" : "as built:");
+		System.out.println("  " + vertices + " vertices and " + triangles
+				+ " triangles per round, " + rounds + " rounds");
+		System.out.println("  " + (time / glyphs) + "ns and "
+				+ (allocated < 0 ? "?" : String.valueOf(allocated / glyphs))
+				+ " bytes per glyph");
+		System.out.printf("  ACMR %.3f (FIFO 16), %.3f (FIFO 32)%n", misses16
+				/ triangles, misses32 / triangles);
+	}
+
+	/**
+	 * Builds the geometry of all glyphs.
+	 *
+	 * @return The geometries of the last round.
+	 */
+	private static FTGeometry[] build(List<Shape> shapes,
+			List<FTOutline> outlines, FTBevel bevel, boolean optimize,
+			int rounds) {
+		FTGeometry[] geometries = new FTGeometry[shapes.size()];
+		for (int r = 0; r < rounds; r++)
+			for (int i = 0; i < shapes.size(); i++) {
+				FTExtrdGlyph glyph = new FTExtrdGlyph(shapes.get(i), 10f, 0f);
+				glyph.setOutline(outlines.get(i));
+				glyph.setBevel(bevel);
+				glyph.setOptimizeGeometry(optimize);
+				geometries[i] = glyph.createGeometry();
+			}
+		return geometries;
+	}
+
+	/**
+	 * Returns the bytes allocated by the current thread, if supported by the
+	 * virtual machine.
+	 */
+	private static long allocatedBytes(ThreadMXBean bean) {
+		if (bean instanceof com.sun.management.ThreadMXBean)
+			return ((com.sun.management.ThreadMXBean) bean)
+					.getThreadAllocatedBytes(Thread.currentThread().getId());
+		return -1;
+	}
+
+}
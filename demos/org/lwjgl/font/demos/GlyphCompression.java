@@ -0,0 +1,98 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font.demos;
+
+import java.awt.Font;
+
+import org.lwjgl.font.gl.FTGL;
+import org.lwjgl.font.gl.FTNullBackend;
+import org.lwjgl.font.glfont.FTFont;
+import org.lwjgl.font.glfont.FTGLBitmapFont;
+import org.lwjgl.font.glfont.FTGLBufferFont;
+import org.lwjgl.font.glfont.FTGLPixmapFont;
+import org.lwjgl.font.util.FTClientBuffer;
+
+/**
+ * Headless report of the memory saved by compressed glyphs. Caches every
+ * character the font can display with bitmap, pixmap and buffer fonts, with
+ * and without compression, against the {@link FTNullBackend}, and reports the
+ * memory of the glyphs and the time to render all characters once cached.
+ * <p>
+ * Usage: <code>GlyphCompression [font] [size]</code>
+ */
+public class GlyphCompression {
+
+	private static final String[] TYPES = { "bitmap", "pixmap", "buffer" };
+
+	public static void main(String[] args) {
+		String name = args.length > 0 ? args[0] : "SansSerif";
+		float size = args.length > 1 ? Float.parseFloat(args[1]) : 24f;
+
+		FTGL.set(new FTNullBackend());
+		Font font = Font.decode(name).deriveFont(size);
+		StringBuilder chars = new StringBuilder();
+		for (char c = '!'; c < Character.MAX_VALUE; c++)
+			if (!Character.isWhitespace(c) && !Character.isISOControl(c)
+					&& !Character.isSurrogate(c) && font.canDisplay(c))
+				chars.append(c);
+		// short strings, so each character is laid out on its own
+		String[] strings = new String[(chars.length() + 7) / 8];
+		for (int i = 0; i < strings.length; i++)
+			strings[i] = chars.substring(i * 8, Math.min(chars.length(),
+					i * 8 + 8));
+		System.out.println(chars.length() + " characters of " + font.getName()
+				+ " " + size + "pt");
+
+		for (String type : GlyphCompression.TYPES) {
+			long[] memory = new long[2];
+			long[] time = new long[2];
+			for (int c = 0; c < 2; c++) {
+				boolean compressed = c == 1;
+				if (type.equals("bitmap")) {
+					FTGLBitmapFont bitmap = new FTGLBitmapFont(font);
+					bitmap.setMemoryBudget(Long.MAX_VALUE);
+					bitmap.setCompressed(compressed);
+					time[c] = GlyphCompression.render(bitmap, strings);
+					memory[c] = bitmap.getMemoryUsage();
+					bitmap.dispose();
+				} else if (type.equals("pixmap")) {
+					FTGLPixmapFont pixmap = new FTGLPixmapFont(font);
+					pixmap.setMemoryBudget(Long.MAX_VALUE);
+					pixmap.setCompressed(compressed);
+					time[c] = GlyphCompression.render(pixmap, strings);
+					memory[c] = pixmap.getMemoryUsage();
+					pixmap.dispose();
+				} else {
+					FTGLBufferFont buffer = new FTGLBufferFont(font);
+					buffer.setCompressed(compressed);
+					buffer.setClientBuffer(new FTClientBuffer(new byte[256 * 64],
+							256, 64, 256, FTClientBuffer.GRAY));
+					time[c] = GlyphCompression.render(buffer, strings);
+					memory[c] = buffer.getMemoryUsage();
+					buffer.dispose();
+				}
+			}
+			System.out.println(type + ": " + memory[0] + " bytes, compressed "
+					+ memory[1] + " bytes, saved "
+					+ (100 - memory[1] * 100 / Math.max(1, memory[0]))
+					+ "%; render " + time[0] / chars.length() + "ns, compressed "
+					+ time[1] / chars.length() + "ns per glyph");
+		}
+	}
+
+	/**
+	 * Caches the glyphs and returns the time of rendering them once more.
+	 */
+	private static long render(FTFont font,
+			String[] strings) {
+		for (String string : strings)
+			font.render(string);
+		long time = System.nanoTime();
+		for (int r = 0; r < 5; r++)
+			for (String string : strings)
+				font.render(string);
+		return (System.nanoTime() - time) / 5;
+	}
+
+}
@@ -0,0 +1,152 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font.demos;
+
+import java.awt.Font;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+import org.lwjgl.font.gl.FTGL;
+import org.lwjgl.font.gl.FTNullBackend;
+import org.lwjgl.font.glfont.FTGLTextureFont;
+import org.lwjgl.font.glfont.FTGlyphTable;
+
+/**
+ * Headless benchmark of the instance records of a {@link FTGlyphTable}.
+ * Generated strings are written as one batch at absolute offsets, and the
+ * time and the bytes allocated by the writing thread are reported. The batch
+ * has to equal the records written string by string at the position of the
+ * buffer, and the records written by several threads in disjoint ranges.
+ * <p>
+ * Usage: <code>InstanceBenchmark [font] [size] [strings] [threads]</code>
+ */
+public class InstanceBenchmark {
+
+	private static final int ROUNDS = 10;
+
+	public static void main(String[] args) throws InterruptedException {
+		String name = args.length > 0 ? args[0] : "SansSerif";
+		float size = args.length > 1 ? Float.parseFloat(args[1]) : 16f;
+		int count = args.length > 2 ? Integer.parseInt(args[2]) : 34000;
+		int threads = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+
+		FTGL.set(new FTNullBackend());
+		FTGLTextureFont font = new FTGLTextureFont(Font.decode(name)
+				.deriveFont(size));
+		StringBuilder ascii = new StringBuilder();
+		for (char c = 32; c < 127; c++)
+			ascii.append(c);
+		final FTGlyphTable table = font.createGlyphTable(ascii.toString());
+
+		final CharSequence[] texts = InstanceBenchmark.captions(count);
+		final float[] positions = new float[count * 2];
+		final float[] colors = new float[count * 4];
+		final int[] offsets = new int[count];
+		int records = 0;
+		for (int s = 0; s < count; s++) {
+			positions[s * 2] = s % 7 * 100f;
+			positions[s * 2 + 1] = s * 20f;
+			colors[s * 4] = s % 3 / 2f;
+			colors[s * 4 + 1] = s % 5 / 4f;
+			colors[s * 4 + 2] = 1f;
+			colors[s * 4 + 3] = 1f;
+			offsets[s] = records;
+			records += table.countInstances(texts[s]);
+		}
+		System.out.println(count + " strings, " + records + " records of "
+				+ name + " " + size + "pt");
+
+		final FloatBuffer batch = InstanceBenchmark.allocate(records);
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		// warm up
+		for (int r = 0; r < InstanceBenchmark.ROUNDS; r++)
+			table.writeInstances(texts, positions, colors, offsets, 0, count,
+					batch);
+		long best = Long.MAX_VALUE;
+		long allocated = InstanceBenchmark.allocatedBytes(bean);
+		for (int r = 0; r < InstanceBenchmark.ROUNDS; r++) {
+			long time = System.nanoTime();
+			table.writeInstances(texts, positions, colors, offsets, 0, count,
+					batch);
+			best = Math.min(best, System.nanoTime() - time);
+		}
+		allocated = InstanceBenchmark.allocatedBytes(bean) - allocated;
+		System.out.println("batch: " + best / 1000000 + "ms, "
+				+ (long) (records * 1e9 / best) + " records/s, "
+				+ (allocated < 0 ? "?" : String.valueOf(allocated))
+				+ " bytes allocated in " + InstanceBenchmark.ROUNDS + " rounds");
+
+		FloatBuffer sequential = InstanceBenchmark.allocate(records);
+		for (int s = 0; s < count; s++) {
+			float[] rgba = { colors[s * 4], colors[s * 4 + 1],
+					colors[s * 4 + 2], colors[s * 4 + 3] };
+			table.writeInstances(texts[s], positions[s * 2],
+					positions[s * 2 + 1], rgba, sequential);
+		}
+		sequential.flip();
+
+		final FloatBuffer parallel = InstanceBenchmark.allocate(records);
+		Thread[] workers = new Thread[threads];
+		for (int t = 0; t < threads; t++) {
+			final int from = count * t / threads;
+			final int to = count * (t + 1) / threads;
+			workers[t] = new Thread() {
+				@Override
+				public void run() {
+					table.writeInstances(texts, positions, colors, offsets,
+							from, to, parallel);
+				}
+			};
+			workers[t].start();
+		}
+		for (Thread worker : workers)
+			worker.join();
+
+		boolean ok = sequential.equals(batch) && parallel.equals(batch);
+		System.out.println("sequential and " + threads + " threads "
+				+ (ok ? "equal" : "DIFFERENT"));
+		font.dispose();
+	}
+
+	private static FloatBuffer allocate(int records) {
+		return ByteBuffer.allocateDirect(
+				records * FTGlyphTable.INSTANCE_FLOATS * 4).order(
+				ByteOrder.nativeOrder()).asFloatBuffer();
+	}
+
+	private static long allocatedBytes(ThreadMXBean bean) {
+		if (bean instanceof com.sun.management.ThreadMXBean)
+			return ((com.sun.management.ThreadMXBean) bean)
+					.getThreadAllocatedBytes(Thread.currentThread().getId());
+		return -1;
+	}
+
+	/**
+	 * Generates captions of 10 to 60 characters.
+	 */
+	private static CharSequence[] captions(int count) {
+		String[] words = { "Photo", "of", "the", "quick", "brown", "fox",
+				"jumping", "over", "a", "lazy", "dog", "in", "2026,", "Berlin",
+				"Seaside", "(cropped)", "IMG_0042.jpg", "label:", "42%" };
+		CharSequence[] captions = new CharSequence[count];
+		long seed = 42;
+		for (int i = 0; i < count; i++) {
+			StringBuilder caption = new StringBuilder();
+			seed = seed * 6364136223846793005L + 1442695040888963407L;
+			int length = 10 + (int) ((seed >>> 33) % 51);
+			while (caption.length() < length) {
+				seed = seed * 6364136223846793005L + 1442695040888963407L;
+				if (caption.length() > 0)
+					caption.append(' ');
+				caption.append(words[(int) ((seed >>> 33) % words.length)]);
+			}
+			captions[i] = caption.toString();
+		}
+		return captions;
+	}
+
+}
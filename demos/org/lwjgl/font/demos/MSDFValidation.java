@@ -0,0 +1,187 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font.demos;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.File;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+import org.lwjgl.font.FTMSDFAtlas;
+import org.lwjgl.font.FTMSDFGenerator;
+import org.lwjgl.font.glfont.FTFont;
+import org.lwjgl.font.util.FTDistanceField;
+
+/**
+ * Headless validation of the multi-channel distance fields. Each glyph is
+ * reconstructed from its field at a large magnification and compared with a
+ * reference rendering of the outline. The error of a single channel distance
+ * field of the same size is reported for comparison.
+ * <p>
+ * Usage: <code>MSDFValidation [font] [size] [magnification] [output dir]</code>
+ */
+public class MSDFValidation {
+
+	private static final int SPREAD = 4;
+
+	public static void main(String[] args) throws InterruptedException,
+			IOException {
+		String name = args.length > 0 ? args[0] : "Serif";
+		float size = args.length > 1 ? Float.parseFloat(args[1]) : 32f;
+		int magnification = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+		File out = args.length > 3 ? new File(args[3]) : null;
+
+		Font font = Font.decode(name).deriveFont(size)
+				.deriveFont(new AffineTransform(1, 0, 0, -1, 0, 0));
+		String text = new String(FTFont.DEFAULTCHAR);
+		GlyphVector vec = font.createGlyphVector(FTFont.STANDARDCONTEXT, text);
+
+		FTMSDFGenerator generator = new FTMSDFGenerator(SPREAD);
+		FTMSDFAtlas atlas = new FTMSDFAtlas(generator, 512, 512);
+		Shape[] glyphs = new Shape[vec.getNumGlyphs()];
+		for (int i = 0; i < glyphs.length; i++) {
+			glyphs[i] = vec.getGlyphOutline(i, (float) -vec.getGlyphPosition(i)
+					.getX(), 0);
+			atlas.add(glyphs[i]);
+		}
+
+		int threads = Runtime.getRuntime().availableProcessors();
+		long time = System.nanoTime();
+		atlas.build(threads);
+		time = System.nanoTime() - time;
+		System.out.println(glyphs.length + " glyphs of " + font.getName()
+				+ " " + size + "pt on " + atlas.getPageCount()
+				+ " page(s) in " + time / 1000000 + "ms with " + threads
+				+ " thread(s)");
+
+		long msdfErrors = 0, sdfErrors = 0, pixels = 0;
+		for (int i = 0; i < glyphs.length; i++) {
+			int[] region = atlas.getRegion(i);
+			if (region[3] == 0 || region[4] == 0)
+				continue;
+			long[] result = compare(glyphs[i], atlas, region, magnification);
+			msdfErrors += result[0];
+			sdfErrors += result[1];
+			pixels += result[2];
+			System.out.println("'" + text.charAt(i) + "' msdf: "
+					+ percent(result[0], result[2]) + " sdf: "
+					+ percent(result[1], result[2]));
+		}
+		System.out.println("total msdf: " + percent(msdfErrors, pixels)
+				+ " sdf: " + percent(sdfErrors, pixels) + " of " + pixels
+				+ " pixels differ from the reference at " + magnification
+				+ "x");
+
+		if (out != null)
+			for (int p = 0; p < atlas.getPageCount(); p++)
+				ImageIO.write(toImage(atlas, p), "png", new File(out, "msdf-"
+						+ p + ".png"));
+	}
+
+	/**
+	 * Returns the wrong pixels of the msdf and the sdf reconstruction and the
+	 * number of compared pixels.
+	 */
+	private static long[] compare(Shape glyph, FTMSDFAtlas atlas,
+			int[] region, int magnification) {
+		int width = region[3], height = region[4];
+		int margin = atlas.getGenerator().getMargin();
+		Rectangle bounds = glyph.getBounds();
+		double left = bounds.getMinX() - margin;
+		double top = bounds.getMaxY() + margin;
+		byte[] page = atlas.getPage(region[0]);
+		int stride = atlas.getPageWidth() * 3;
+		int offset = (region[2] * atlas.getPageWidth() + region[1]) * 3;
+		byte[] sdf = createSDF(glyph, width, height, margin);
+
+		long[] result = new long[3];
+		double[] rgb = new double[3];
+		for (int y = 0; y < height * magnification; y++)
+			for (int x = 0; x < width * magnification; x++) {
+				double fx = (x + 0.5) / magnification - 0.5;
+				double fy = (y + 0.5) / magnification - 0.5;
+				boolean reference = glyph.contains(left + fx + 0.5, top - fy
+						- 0.5);
+				for (int c = 0; c < 3; c++)
+					rgb[c] = sample(page, offset + c, 3, stride, width,
+							height, fx, fy);
+				boolean msdf = FTMSDFGenerator.median(rgb[0], rgb[1], rgb[2]) >= 127.5;
+				boolean single = sample(sdf, 0, 1, width, width, height, fx,
+						fy) >= 127.5;
+				if (msdf != reference)
+					result[0]++;
+				if (single != reference)
+					result[1]++;
+				result[2]++;
+			}
+		return result;
+	}
+
+	/**
+	 * Bilinear sample of one channel, clamped to the edge.
+	 */
+	private static double sample(byte[] data, int offset, int pixelStride,
+			int rowStride, int width, int height, double fx, double fy) {
+		fx = Math.max(0, Math.min(width - 1, fx));
+		fy = Math.max(0, Math.min(height - 1, fy));
+		int x0 = (int) fx, y0 = (int) fy;
+		int x1 = Math.min(x0 + 1, width - 1), y1 = Math.min(y0 + 1, height - 1);
+		double ax = fx - x0, ay = fy - y0;
+		double v00 = data[offset + y0 * rowStride + x0 * pixelStride] & 0xFF;
+		double v10 = data[offset + y0 * rowStride + x1 * pixelStride] & 0xFF;
+		double v01 = data[offset + y1 * rowStride + x0 * pixelStride] & 0xFF;
+		double v11 = data[offset + y1 * rowStride + x1 * pixelStride] & 0xFF;
+		return (v00 * (1 - ax) + v10 * ax) * (1 - ay)
+				+ (v01 * (1 - ax) + v11 * ax) * ay;
+	}
+
+	/**
+	 * Creates the single channel field, the way FTSDFGlyph does.
+	 */
+	private static byte[] createSDF(Shape glyph, int width, int height,
+			int margin) {
+		Rectangle bounds = glyph.getBounds();
+		BufferedImage image = new BufferedImage(width, height,
+				BufferedImage.TYPE_BYTE_GRAY);
+		Graphics2D g2d = image.createGraphics();
+		g2d.scale(1.0f, -1.0f);
+		g2d.setColor(Color.WHITE);
+		g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+				RenderingHints.VALUE_ANTIALIAS_ON);
+		g2d.translate(-bounds.getX() + margin, -bounds.getMaxY() - margin);
+		g2d.fill(glyph);
+		g2d.dispose();
+		byte[] coverage = ((DataBufferByte) image.getRaster().getDataBuffer())
+				.getData();
+		return FTDistanceField.fromCoverage(coverage, width, height, margin,
+				new byte[width * height]);
+	}
+
+	private static BufferedImage toImage(FTMSDFAtlas atlas, int page) {
+		int width = atlas.getPageWidth(), height = atlas.getPageHeight();
+		byte[] data = atlas.getPage(page);
+		BufferedImage image = new BufferedImage(width, height,
+				BufferedImage.TYPE_INT_RGB);
+		for (int y = 0, i = 0; y < height; y++)
+			for (int x = 0; x < width; x++, i += 3)
+				image.setRGB(x, y, ((data[i] & 0xFF) << 16)
+						| ((data[i + 1] & 0xFF) << 8) | (data[i + 2] & 0xFF));
+		return image;
+	}
+
+	private static String percent(long part, long total) {
+		return String.format("%.3f%%", 100.0 * part / Math.max(1, total));
+	}
+
+}
@@ -0,0 +1,130 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font.demos;
+
+import java.awt.Font;
+import java.awt.Shape;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.lwjgl.font.gl.FTGL;
+import org.lwjgl.font.gl.FTNullBackend;
+import org.lwjgl.font.glfont.FTFont;
+import org.lwjgl.font.glyph.FTBitmapGlyph;
+import org.lwjgl.font.glyph.FTBufferGlyph;
+import org.lwjgl.font.glyph.FTGlyph;
+import org.lwjgl.font.glyph.FTPixmapGlyph;
+import org.lwjgl.font.glyph.FTTextureGlyph;
+import org.lwjgl.font.util.FTSlabArena;
+
+/**
+ * Headless benchmark of the raster glyphs. Every glyph of a font is
+ * rasterized repeatedly as bitmap, pixmap, texture and buffer glyph against
+ * the {@link FTNullBackend}, as when a font is precached. Reports the time and
+ * the bytes allocated per glyph, which include the data the glyph keeps.
+ * Bitmap and pixmap glyphs are also measured with their direct memory
+ * allocated from a {@link FTSlabArena}.
+ * <p>
+ * Usage: <code>RasterBenchmark [font] [size] [rounds]</code>
+ */
+public class RasterBenchmark {
+
+	private static final String[] TYPES = { "bitmap", "bitmap arena",
+			"pixmap", "pixmap arena", "texture", "buffer" };
+
+	public static void main(String[] args) {
+		String name = args.length > 0 ? args[0] : "Serif";
+		float size = args.length > 1 ? Float.parseFloat(args[1]) : 24f;
+		int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+		FTGL.set(new FTNullBackend());
+		Font font = Font.decode(name).deriveFont(size)
+				.deriveFont(new AffineTransform(1, 0, 0, -1, 0, 0));
+		int[] codes = new int[font.getNumGlyphs()];
+		for (int i = 0; i < codes.length; i++)
+			codes[i] = i;
+		GlyphVector vec = font.createGlyphVector(FTFont.STANDARDCONTEXT, codes);
+
+		List<Shape> shapes = new ArrayList<Shape>();
+		for (int i = 0; i < codes.length; i++) {
+			Shape shape = vec.getGlyphOutline(i, (float) -vec
+					.getGlyphPosition(i).getX(), 0);
+			if (!shape.getBounds().isEmpty())
+				shapes.add(shape);
+		}
+		System.out.println(shapes.size() + " glyphs of " + font.getName()
+				+ " " + size + "pt");
+
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		for (String type : RasterBenchmark.TYPES) {
+			FTSlabArena arena = type.endsWith(" arena") ? new FTSlabArena()
+					: null;
+			// warm up
+			RasterBenchmark.rasterize(shapes, type, 2, arena);
+
+			long allocated = RasterBenchmark.allocatedBytes(bean);
+			long time = System.nanoTime();
+			long[] memory = RasterBenchmark.rasterize(shapes, type, rounds,
+					arena);
+			time = System.nanoTime() - time;
+			allocated = RasterBenchmark.allocatedBytes(bean) - allocated;
+
+			long glyphs = (long) shapes.size() * rounds;
+			System.out.println(type + ": " + (time / glyphs) + "ns and "
+					+ (allocated < 0 ? "?" : String.valueOf(allocated / glyphs))
+					+ " bytes per glyph"
+					+ (arena != null ? ", arena " + memory[0]
+							+ " bytes committed, " + memory[1] + " used" : ""));
+		}
+	}
+
+	/**
+	 * Creates and rasterizes a glyph of the given type for every shape. The
+	 * arena is released after each round, like a font releasing a size.
+	 * 
+	 * @return The committed and used bytes of the arena in the last round.
+	 */
+	private static long[] rasterize(List<Shape> shapes, String type,
+			int rounds, FTSlabArena arena) {
+		long[] memory = new long[2];
+		for (int r = 0; r < rounds; r++) {
+			for (Shape shape : shapes) {
+				FTGlyph glyph;
+				if (type.startsWith("bitmap")) {
+					glyph = new FTBitmapGlyph(shape, 0f, false, arena);
+					((FTBitmapGlyph) glyph).prepare();
+				} else if (type.startsWith("pixmap"))
+					glyph = new FTPixmapGlyph(shape, false, arena);
+				else if (type.equals("texture"))
+					glyph = new FTTextureGlyph(shape, 1, 0, 0, 2048, 2048);
+				else
+					glyph = new FTBufferGlyph(shape, 0f);
+				glyph.init();
+				glyph.dispose();
+			}
+			if (arena != null) {
+				memory[0] = arena.getCommittedBytes();
+				memory[1] = arena.getUsedBytes();
+				arena.dispose();
+			}
+		}
+		return memory;
+	}
+
+	/**
+	 * Returns the bytes allocated by the current thread, if supported by the
+	 * virtual machine.
+	 */
+	private static long allocatedBytes(ThreadMXBean bean) {
+		if (bean instanceof com.sun.management.ThreadMXBean)
+			return ((com.sun.management.ThreadMXBean) bean)
+					.getThreadAllocatedBytes(Thread.currentThread().getId());
+		return -1;
+	}
+
+}
@@ -0,0 +1,147 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font.demos;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.lwjgl.font.glfont.FTFont;
+import org.lwjgl.font.util.FTRaster;
+import org.lwjgl.font.util.FTScanlineRasterizer;
+
+/**
+ * Headless validation of the scanline rasterizer. All glyphs of a font are
+ * rasterized by {@link FTScanlineRasterizer} and by Java2D, with and without
+ * antialiasing, and the mean and the largest difference of the pixels and the
+ * time per glyph are reported. Java2D fills with pure stroke control, the
+ * rasterizer does not move the outline to the pixel grid. The check fails and
+ * exits with status <code>1</code>, if the mean difference reaches
+ * {@value #MAX_MEAN} or too many pixels differ by more than
+ * {@value #WRONG_DIFFERENCE}.
+ * <p>
+ * Usage: <code>RasterizerValidation [font] [size] [rounds]</code>
+ */
+public class RasterizerValidation {
+
+	/** The largest mean difference of the pixels accepted. */
+	private static final double MAX_MEAN = 1.0;
+
+	/** The difference above which a pixel counts as wrong. */
+	private static final int WRONG_DIFFERENCE = 32;
+
+	/** The largest share of wrong antialiased pixels accepted, in percent. */
+	private static final double MAX_WRONG_ANTIALIASED = 0.05;
+
+	/**
+	 * The largest share of wrong aliased pixels accepted, in percent. Pixels
+	 * on the edges flip between empty and full.
+	 */
+	private static final double MAX_WRONG_ALIASED = 0.5;
+
+	public static void main(String[] args) {
+		String name = args.length > 0 ? args[0] : "Serif";
+		float size = args.length > 1 ? Float.parseFloat(args[1]) : 24f;
+		int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+		Font font = Font.decode(name).deriveFont(size);
+		int[] codes = new int[font.getNumGlyphs()];
+		for (int i = 0; i < codes.length; i++)
+			codes[i] = i;
+		GlyphVector vec = font.createGlyphVector(FTFont.STANDARDCONTEXT, codes);
+
+		List<Shape> shapes = new ArrayList<Shape>();
+		for (int i = 0; i < codes.length; i++) {
+			Shape shape = vec.getGlyphOutline(i, (float) -vec
+					.getGlyphPosition(i).getX(), 0);
+			if (!shape.getBounds().isEmpty())
+				shapes.add(shape);
+		}
+		System.out.println(shapes.size() + " glyphs of " + font.getName()
+				+ " " + size + "pt");
+
+		int failures = 0;
+		if (!RasterizerValidation.run(shapes, true, rounds))
+			failures++;
+		if (!RasterizerValidation.run(shapes, false, rounds))
+			failures++;
+		System.out.println(failures == 0 ? "ok" : failures + " failures");
+		if (failures > 0)
+			System.exit(1);
+	}
+
+	/**
+	 * Rasterizes all glyphs both ways and prints the differences and the
+	 * times of the last round.
+	 * 
+	 * @return <code>true</code>, if the differences are within the limits.
+	 */
+	private static boolean run(List<Shape> shapes, boolean antialias, int rounds) {
+		FTScanlineRasterizer rasterizer = new FTScanlineRasterizer();
+		long sum = 0, pixels = 0, wrong = 0, java2D = 0, scanline = 0;
+		int max = 0;
+		for (int r = 0; r < rounds; r++) {
+			sum = pixels = wrong = java2D = scanline = max = 0;
+			for (Shape shape : shapes) {
+				Rectangle bounds = shape.getBounds();
+				AffineTransform transform = AffineTransform
+						.getTranslateInstance(-bounds.getX(), -bounds.getY());
+
+				long time = System.nanoTime();
+				byte[] reference = new byte[bounds.width * bounds.height];
+				BufferedImage image = FTRaster.createGrayImage(reference,
+						bounds.width, bounds.height);
+				Graphics2D g2d = image.createGraphics();
+				g2d.setColor(Color.WHITE);
+				g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+						antialias ? RenderingHints.VALUE_ANTIALIAS_ON
+								: RenderingHints.VALUE_ANTIALIAS_OFF);
+				g2d.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL,
+						RenderingHints.VALUE_STROKE_PURE);
+				g2d.transform(transform);
+				g2d.fill(shape);
+				g2d.dispose();
+				java2D += System.nanoTime() - time;
+
+				time = System.nanoTime();
+				byte[] coverage = new byte[bounds.width * bounds.height];
+				rasterizer.rasterize(shape, transform, bounds.width,
+						bounds.height, antialias, coverage);
+				scanline += System.nanoTime() - time;
+
+				for (int i = 0; i < coverage.length; i++) {
+					int d = Math.abs((reference[i] & 0xFF)
+							- (coverage[i] & 0xFF));
+					sum += d;
+					max = Math.max(max, d);
+					if (d > RasterizerValidation.WRONG_DIFFERENCE)
+						wrong++;
+				}
+				pixels += coverage.length;
+			}
+		}
+		final double mean = (double) sum / Math.max(1, pixels);
+		final double share = 100.0 * wrong / Math.max(1, pixels);
+		final boolean ok = mean < RasterizerValidation.MAX_MEAN
+				&& share < (antialias ? RasterizerValidation.MAX_WRONG_ANTIALIASED
+						: RasterizerValidation.MAX_WRONG_ALIASED);
+		System.out.println((antialias ? "antialiased" : "aliased")
+				+ String.format(": mean difference %.3f, largest %d, %.3f%%",
+						mean, max, share) + " of the pixels differ by more than "
+				+ RasterizerValidation.WRONG_DIFFERENCE + ", java2d "
+				+ java2D / 1000 / shapes.size() + "us, scanline "
+				+ scanline / 1000 / shapes.size() + "us per glyph"
+				+ (ok ? "" : " FAILED"));
+		return ok;
+	}
+
+}
@@ -0,0 +1,125 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font.demos;
+
+import java.awt.Font;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.lwjgl.font.gl.FTGL;
+import org.lwjgl.font.gl.FTNullBackend;
+import org.lwjgl.font.glfont.FTGLPixmapFont;
+import org.lwjgl.font.glfont.FTGLRasterFont;
+import org.lwjgl.font.glfont.FTTextBatch;
+
+/**
+ * Headless check of the subpixel phases of the raster fonts. Scrolls a string
+ * of a {@link FTGLPixmapFont} by 1/64 of a pixel per frame over one pixel and
+ * follows the centre of the coverage of each glyph. Without phases a glyph
+ * stands still and jumps a pixel, with phases it moves in steps of a phase.
+ * Reports the deviation of the centres from the scrolled position and the
+ * memory of the glyphs for each number of phases.
+ * <p>
+ * Usage: <code>SubpixelScroll [font] [size] [text]</code>
+ */
+public class SubpixelScroll {
+
+	private static final int FRAMES = 64;
+
+	public static void main(String[] args) {
+		String name = args.length > 0 ? args[0] : "SansSerif";
+		float size = args.length > 1 ? Float.parseFloat(args[1]) : 12f;
+		String text = args.length > 2 ? args[2] : "Scrolling text, 0123456789";
+
+		Coverage coverage = new Coverage();
+		FTGL.set(coverage);
+		FTTextBatch batch = new FTTextBatch();
+		System.out.println(SubpixelScroll.FRAMES + " frames of \"" + text
+				+ "\" in " + name + " " + size + "pt");
+		for (int phases = 1; phases <= FTGLRasterFont.MAX_SUBPIXEL_PHASES;
+				phases *= 2) {
+			FTGLPixmapFont font = new FTGLPixmapFont(Font.decode(name)
+					.deriveFont(size));
+			font.setSubpixelPhases(phases);
+			double[] first = null;
+			double sum = 0.0;
+			double max = 0.0;
+			int count = 0;
+			for (int frame = 0; frame < SubpixelScroll.FRAMES; frame++) {
+				final float x = 20f + (float) frame / SubpixelScroll.FRAMES;
+				coverage.reset();
+				batch.begin();
+				batch.add(font, text, x, 20f);
+				batch.flush();
+				double[] centres = coverage.centres();
+				if (frame == 0)
+					first = centres;
+				for (int i = 0; i < centres.length; i++) {
+					double error = Math.abs(centres[i] - first[i] - (x - 20f));
+					sum += error * error;
+					max = Math.max(max, error);
+					count++;
+				}
+			}
+			System.out.println(phases + " phases: deviation rms "
+					+ String.format("%.3f", Math.sqrt(sum / count))
+					+ "px, max " + String.format("%.3f", max) + "px, "
+					+ font.getMemoryUsage() + " bytes of glyphs");
+			font.dispose();
+		}
+	}
+
+	/**
+	 * Follows the raster position and computes the centre of the coverage of
+	 * each drawn pixmap. Pixmaps are placed at the whole pixel nearest to the
+	 * raster position, empty pixmaps are left out.
+	 */
+	private static class Coverage extends FTNullBackend {
+
+		private float rasterX;
+
+		private final List<Double> centres = new ArrayList<Double>();
+
+		void reset() {
+			centres.clear();
+		}
+
+		double[] centres() {
+			double[] result = new double[centres.size()];
+			for (int i = 0; i < result.length; i++)
+				result[i] = centres.get(i);
+			return result;
+		}
+
+		@Override
+		public void glRasterPos2f(float x, float y) {
+			rasterX = x;
+		}
+
+		@Override
+		public void glBitmap(int width, int height, float xorig, float yorig,
+				float xmove, float ymove, ByteBuffer bitmap) {
+			rasterX += xmove;
+		}
+
+		@Override
+		public void glDrawPixels(int width, int height, int format, int type,
+				ByteBuffer pixels) {
+			final int left = Math.round(rasterX);
+			double weighted = 0.0;
+			double total = 0.0;
+			for (int row = 0; row < height; row++)
+				for (int column = 0; column < width; column++) {
+					int value = pixels.get(row * width + column) & 0xFF;
+					weighted += (left + column + 0.5) * value;
+					total += value;
+				}
+			if (total > 0.0)
+				centres.add(weighted / total);
+		}
+
+	}
+
+}
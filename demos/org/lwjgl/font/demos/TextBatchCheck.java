@@ -0,0 +1,216 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font.demos;
+
+import java.awt.Font;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+import org.lwjgl.font.gl.FTGL;
+import org.lwjgl.font.gl.FTNullBackend;
+import org.lwjgl.font.gl.FTRecordingBackend;
+import org.lwjgl.font.glfont.FTGLPixmapFont;
+import org.lwjgl.font.glfont.FTGLPolygonFont;
+import org.lwjgl.font.glfont.FTGLTextureFont;
+import org.lwjgl.font.glfont.FTTextBatch;
+import org.lwjgl.opengl.GL11;
+
+/**
+ * Headless check of the quads of {@link FTGLTextureFont#render(String)} and
+ * {@link FTTextBatch}. Strings with spaces, whose glyphs have no image, are
+ * rendered after longer strings, so quads left unwritten would show the
+ * vertices of the string before. Each string has to be drawn with one quad
+ * for each glyph with an image, the same quads by the font and by the batch.
+ * <p>
+ * Then the strings are batched together with a pixmap font and a polygon font
+ * with buffer objects, which the batch renders one by one. These fonts must
+ * not draw with the colour and texture coordinate arrays of the batch
+ * enabled, and the batch must report the draws of its arrays only.
+ * <p>
+ * Usage: <code>TextBatchCheck [font] [size]</code>
+ */
+public class TextBatchCheck {
+
+	private static final String[] STRINGS = { "WWWWWWWWWWWW", "a b  c",
+			"MMMMMMMMMMMMMMMMMM", " x ", "   ", "tail end" };
+
+	public static void main(String[] args) {
+		String name = args.length > 0 ? args[0] : "SansSerif";
+		float size = args.length > 1 ? Float.parseFloat(args[1]) : 16f;
+
+		Vertices vertices = new Vertices();
+		FTRecordingBackend recording = new FTRecordingBackend(vertices);
+		FTGL.set(recording);
+		FTGLTextureFont font = new FTGLTextureFont(Font.decode(name)
+				.deriveFont(size));
+		FTTextBatch batch = new FTTextBatch();
+		int failures = 0;
+		for (String string : TextBatchCheck.STRINGS) {
+			int images = 0;
+			for (int i = 0; i < string.length(); i++)
+				if (string.charAt(i) != ' ')
+					images++;
+
+			vertices.reset();
+			font.render(string);
+			List<String> rendered = vertices.sorted();
+
+			vertices.reset();
+			recording.reset();
+			batch.begin();
+			batch.add(font, string, 0f, 0f);
+			int draws = batch.flush();
+			List<String> batched = vertices.sorted();
+
+			boolean ok = rendered.size() == 4 * images
+					&& rendered.equals(batched)
+					&& draws == recording.getCallCount("glDrawArrays");
+			if (!ok)
+				failures++;
+			System.out.println("\"" + string + "\": " + images + " images, "
+					+ rendered.size() / 4 + " quads rendered, "
+					+ batched.size() / 4 + " quads batched in " + draws
+					+ " draws" + (ok ? "" : " FAILED"));
+		}
+
+		FTGLPixmapFont pixmapFont = new FTGLPixmapFont(Font.decode(name)
+				.deriveFont(size));
+		FTGLPolygonFont polygonFont = new FTGLPolygonFont(Font.decode(name)
+				.deriveFont(size));
+		polygonFont.setBufferObjects(true);
+		vertices.reset();
+		recording.reset();
+		batch.begin();
+		float y = 0f;
+		for (String string : TextBatchCheck.STRINGS) {
+			batch.add(font, string, 0f, y);
+			batch.add(pixmapFont, string, 0f, y);
+			batch.add(polygonFont, string, 0f, y);
+			y += size;
+		}
+		int draws = batch.flush();
+		boolean ok = draws == recording.getCallCount("glDrawArrays")
+				&& vertices.fallbackDraws > 0 && vertices.staleDraws == 0
+				&& vertices.enabled.isEmpty() && vertices.stack.isEmpty();
+		if (!ok)
+			failures++;
+		System.out.println("mixed fonts: " + draws + " array draws, "
+				+ vertices.fallbackDraws + " other draws, "
+				+ vertices.staleDraws + " with the arrays of the batch"
+				+ (ok ? "" : " FAILED"));
+		pixmapFont.dispose();
+		polygonFont.dispose();
+		font.dispose();
+		System.out.println(failures == 0 ? "ok" : failures + " failures");
+	}
+
+	/**
+	 * Collects the position and texture coordinate of every vertex drawn
+	 * from the client arrays. Follows the enabled client arrays and counts
+	 * the other draws, that are made with the colour or texture coordinate
+	 * array enabled.
+	 */
+	private static class Vertices extends FTNullBackend {
+
+		private FloatBuffer pointer;
+
+		private int stride;
+
+		private final List<String> drawn = new ArrayList<String>();
+
+		final Set<Integer> enabled = new HashSet<Integer>();
+
+		final LinkedList<Set<Integer>> stack = new LinkedList<Set<Integer>>();
+
+		int fallbackDraws;
+
+		int staleDraws;
+
+		void reset() {
+			drawn.clear();
+			fallbackDraws = 0;
+			staleDraws = 0;
+		}
+
+		List<String> sorted() {
+			List<String> sorted = new ArrayList<String>(drawn);
+			Collections.sort(sorted);
+			return sorted;
+		}
+
+		@Override
+		public void glVertexPointer(int size, int stride, FloatBuffer pointer) {
+			this.pointer = pointer.duplicate();
+			this.stride = stride / 4;
+		}
+
+		@Override
+		public void glEnableClientState(int cap) {
+			enabled.add(cap);
+		}
+
+		@Override
+		public void glDisableClientState(int cap) {
+			enabled.remove(cap);
+		}
+
+		@Override
+		public void glPushClientAttrib(int mask) {
+			stack.addFirst(new HashSet<Integer>(enabled));
+		}
+
+		@Override
+		public void glPopClientAttrib() {
+			enabled.clear();
+			enabled.addAll(stack.removeFirst());
+		}
+
+		@Override
+		public void glBegin(int mode) {
+			fallbackDraw();
+		}
+
+		@Override
+		public void glCallList(int list) {
+			fallbackDraw();
+		}
+
+		@Override
+		public void glDrawPixels(int width, int height, int format, int type,
+				ByteBuffer pixels) {
+			fallbackDraw();
+		}
+
+		@Override
+		public void glDrawElements(int mode, int count, int type, long offset) {
+			fallbackDraw();
+		}
+
+		private void fallbackDraw() {
+			fallbackDraws++;
+			if (enabled.contains(GL11.GL_COLOR_ARRAY)
+					|| enabled.contains(GL11.GL_TEXTURE_COORD_ARRAY))
+				staleDraws++;
+		}
+
+		@Override
+		public void glDrawArrays(int mode, int first, int count) {
+			for (int v = first; v < first + count; v++) {
+				int index = pointer.position() + v * stride;
+				// the texture coordinates follow the position in both layouts
+				drawn.add(pointer.get(index) + "," + pointer.get(index + 1)
+						+ "," + pointer.get(index + 2) + ","
+						+ pointer.get(index + 3));
+			}
+		}
+
+	}
+
+}
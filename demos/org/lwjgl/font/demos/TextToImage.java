@@ -0,0 +1,188 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font.demos;
+
+import java.awt.Font;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+import org.lwjgl.font.gl.FTGL;
+import org.lwjgl.font.gl.FTNullBackend;
+import org.lwjgl.font.glfont.FTBufferBatch;
+import org.lwjgl.font.glfont.FTGLBufferFont;
+import org.lwjgl.font.util.FTClientBuffer;
+
+/**
+ * Headless command line driver of {@link FTBufferBatch}. Renders every line
+ * of a text file, or generated captions, into an image of its own. With an
+ * output directory the images are written as PNG files, otherwise the lines
+ * are rendered with 1 up to the given number of threads and the throughput
+ * and the speedup over one thread are reported.
+ * <p>
+ * Usage:
+ * <code>TextToImage [-font name] [-size pt] [-threads n] [-bitmap] [-out dir] [file]</code>
+ */
+public class TextToImage {
+
+	public static void main(String[] args) throws IOException,
+			InterruptedException {
+		String name = "SansSerif";
+		float size = 14f;
+		int threads = Runtime.getRuntime().availableProcessors();
+		int format = FTClientBuffer.GRAY;
+		File out = null;
+		File in = null;
+		for (int i = 0; i < args.length; i++)
+			if (args[i].equals("-font"))
+				name = args[++i];
+			else if (args[i].equals("-size"))
+				size = Float.parseFloat(args[++i]);
+			else if (args[i].equals("-threads"))
+				threads = Integer.parseInt(args[++i]);
+			else if (args[i].equals("-bitmap"))
+				format = FTClientBuffer.BITMAP;
+			else if (args[i].equals("-out"))
+				out = new File(args[++i]);
+			else
+				in = new File(args[i]);
+
+		FTGL.set(new FTNullBackend());
+		List<String> lines = in != null ? TextToImage.read(in) : TextToImage
+				.captions(20000);
+		FTGLBufferFont font = new FTGLBufferFont(Font.decode(name).deriveFont(
+				size));
+		FTBufferBatch batch = new FTBufferBatch(font, format);
+
+		if (out != null) {
+			TextToImage.write(batch, lines, threads, format, out);
+			font.dispose();
+			return;
+		}
+
+		long glyphs = 0;
+		for (String line : lines)
+			glyphs += line.length();
+		OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+		System.out.println(lines.size() + " strings, " + glyphs + " glyphs of "
+				+ name + " " + size + "pt on " + os.getAvailableProcessors()
+				+ " processors");
+		// warm up, caches the glyphs
+		TextToImage.render(batch, lines, threads);
+		double single = 0.0;
+		for (int t = 1; t <= threads; t = t < threads ? Math.min(t * 2,
+				threads) : t + 1) {
+			long time = System.nanoTime();
+			long checksum = TextToImage.render(batch, lines, t);
+			time = System.nanoTime() - time;
+			double perSecond = glyphs * 1e9 / time;
+			if (t == 1)
+				single = perSecond;
+			System.out.println(t + " threads: "
+					+ (long) (lines.size() * 1e9 / time) + " strings/s, "
+					+ (long) perSecond + " glyphs/s, speedup "
+					+ String.format("%.2f", perSecond / single)
+					+ ", checksum " + checksum);
+		}
+		font.dispose();
+	}
+
+	/**
+	 * Renders the strings and sums up their pixels, so the images are read
+	 * like an encoder would.
+	 */
+	private static long render(FTBufferBatch batch, List<String> lines,
+			int threads) throws InterruptedException {
+		final long[] sums = new long[lines.size()];
+		batch.render(lines, threads, new FTBufferBatch.Output() {
+			public void rendered(int index, String string, FTClientBuffer image) {
+				byte[] data = image.getData();
+				long sum = 0;
+				for (int i = image.getStride() * image.getHeight() - 1; i >= 0; i--)
+					sum += data[i] & 0xFF;
+				sums[index] = sum;
+			}
+		});
+		long sum = 0;
+		for (long s : sums)
+			sum += s;
+		return sum;
+	}
+
+	/**
+	 * Writes the image of each string to a PNG file named by its line number.
+	 */
+	private static void write(FTBufferBatch batch, List<String> lines,
+			int threads, final int format, final File out)
+			throws InterruptedException {
+		out.mkdirs();
+		batch.render(lines, threads, new FTBufferBatch.Output() {
+			public void rendered(int index, String string, FTClientBuffer image) {
+				BufferedImage png = new BufferedImage(image.getWidth(), image
+						.getHeight(),
+						format == FTClientBuffer.GRAY ? BufferedImage.TYPE_BYTE_GRAY
+								: BufferedImage.TYPE_BYTE_BINARY);
+				byte[] data = ((DataBufferByte) png.getRaster().getDataBuffer())
+						.getData();
+				System.arraycopy(image.getData(), 0, data, 0, image.getStride()
+						* image.getHeight());
+				try {
+					ImageIO.write(png, "png", new File(out, index + ".png"));
+				} catch (IOException e) {
+					throw new IllegalStateException(e);
+				}
+			}
+		});
+		System.out.println(lines.size() + " images written to " + out);
+	}
+
+	private static List<String> read(File file) throws IOException {
+		List<String> lines = new ArrayList<String>();
+		BufferedReader reader = new BufferedReader(new InputStreamReader(
+				new FileInputStream(file), "UTF-8"));
+		try {
+			for (String line = reader.readLine(); line != null; line = reader
+					.readLine())
+				lines.add(line);
+		} finally {
+			reader.close();
+		}
+		return lines;
+	}
+
+	/**
+	 * Generates captions of 10 to 60 characters.
+	 */
+	private static List<String> captions(int count) {
+		String[] words = { "Photo", "of", "the", "quick", "brown", "fox",
+				"jumping", "over", "a", "lazy", "dog", "in", "2026,", "Berlin",
+				"Seaside", "(cropped)", "IMG_0042.jpg", "label:", "42%" };
+		List<String> captions = new ArrayList<String>();
+		long seed = 42;
+		for (int i = 0; i < count; i++) {
+			StringBuilder caption = new StringBuilder();
+			seed = seed * 6364136223846793005L + 1442695040888963407L;
+			int length = 10 + (int) ((seed >>> 33) % 51);
+			while (caption.length() < length) {
+				seed = seed * 6364136223846793005L + 1442695040888963407L;
+				if (caption.length() > 0)
+					caption.append(' ');
+				caption.append(words[(int) ((seed >>> 33) % words.length)]);
+			}
+			captions.add(caption.toString());
+		}
+		return captions;
+	}
+
+}
@@ -4,6 +4,7 @@ package org.lwjgl.font;
 import java.awt.Shape;
 import java.awt.geom.Rectangle2D;
 
+import org.lwjgl.font.gl.FTGL;
 import org.lwjgl.font.util.Vector3f;
 import org.lwjgl.opengl.GL11;
 
@@ -155,45 +156,45 @@ public class FTBBox {
 	}
 
 	public static boolean renderBBox(Vector3f pos, FTBBox box) {
-		GL11.glPushMatrix();
-		GL11.glTranslated(pos.x, pos.y, pos.z);
+		FTGL.get().glPushMatrix();
+		FTGL.get().glTranslated(pos.x, pos.y, pos.z);
 		// GL11.glBitmap(0, 0, 0f, 0f, pos.x, pos.y, null);
 		// TODO: Move to correct raster position
-		GL11.glPushAttrib(GL11.GL_CURRENT_BIT | GL11.GL_LIGHTING_BIT
+		FTGL.get().glPushAttrib(GL11.GL_CURRENT_BIT | GL11.GL_LIGHTING_BIT
 				| GL11.GL_COLOR_BUFFER_BIT);
-		GL11.glColor4f(1.0f, 1.0f, 0.0f, 1.0f);
-		GL11.glDisable(GL11.GL_LIGHTING);
-		GL11.glDisable(GL11.GL_BLEND);
+		FTGL.get().glColor4f(1.0f, 1.0f, 0.0f, 1.0f);
+		FTGL.get().glDisable(GL11.GL_LIGHTING);
+		FTGL.get().glDisable(GL11.GL_BLEND);
 		// Draw the front face
-		GL11.glBegin(GL11.GL_LINE_LOOP);
-		GL11.glVertex3f(box.lowerX, box.lowerY, box.lowerZ);
-		GL11.glVertex3f(box.lowerX, box.upperY, box.lowerZ);
-		GL11.glVertex3f(box.upperX, box.upperY, box.lowerZ);
-		GL11.glVertex3f(box.upperX, box.lowerY, box.lowerZ);
-		GL11.glEnd();
+		FTGL.get().glBegin(GL11.GL_LINE_LOOP);
+		FTGL.get().glVertex3f(box.lowerX, box.lowerY, box.lowerZ);
+		FTGL.get().glVertex3f(box.lowerX, box.upperY, box.lowerZ);
+		FTGL.get().glVertex3f(box.upperX, box.upperY, box.lowerZ);
+		FTGL.get().glVertex3f(box.upperX, box.lowerY, box.lowerZ);
+		FTGL.get().glEnd();
 		// Draw the back face
 		if (box.lowerZ != box.upperZ) {
-			GL11.glBegin(GL11.GL_LINE_LOOP);
-			GL11.glVertex3f(box.lowerX, box.lowerY, box.upperZ);
-			GL11.glVertex3f(box.lowerX, box.upperY, box.upperZ);
-			GL11.glVertex3f(box.upperX, box.upperY, box.upperZ);
-			GL11.glVertex3f(box.upperX, box.lowerY, box.upperZ);
-			GL11.glBegin(GL11.GL_LINES);
-			GL11.glVertex3f(box.lowerX, box.lowerY, box.lowerZ);
-			GL11.glVertex3f(box.lowerX, box.lowerY, box.upperZ);
-
-			GL11.glVertex3f(box.lowerX, box.upperY, box.lowerZ);
-			GL11.glVertex3f(box.lowerX, box.upperY, box.upperZ);
-
-			GL11.glVertex3f(box.upperX, box.upperY, box.lowerZ);
-			GL11.glVertex3f(box.upperX, box.upperY, box.upperZ);
-
-			GL11.glVertex3f(box.upperX, box.lowerY, box.lowerZ);
-			GL11.glVertex3f(box.upperX, box.lowerY, box.upperZ);
-			GL11.glEnd();
+			FTGL.get().glBegin(GL11.GL_LINE_LOOP);
+			FTGL.get().glVertex3f(box.lowerX, box.lowerY, box.upperZ);
+			FTGL.get().glVertex3f(box.lowerX, box.upperY, box.upperZ);
+			FTGL.get().glVertex3f(box.upperX, box.upperY, box.upperZ);
+			FTGL.get().glVertex3f(box.upperX, box.lowerY, box.upperZ);
+			FTGL.get().glBegin(GL11.GL_LINES);
+			FTGL.get().glVertex3f(box.lowerX, box.lowerY, box.lowerZ);
+			FTGL.get().glVertex3f(box.lowerX, box.lowerY, box.upperZ);
+
+			FTGL.get().glVertex3f(box.lowerX, box.upperY, box.lowerZ);
+			FTGL.get().glVertex3f(box.lowerX, box.upperY, box.upperZ);
+
+			FTGL.get().glVertex3f(box.upperX, box.upperY, box.lowerZ);
+			FTGL.get().glVertex3f(box.upperX, box.upperY, box.upperZ);
+
+			FTGL.get().glVertex3f(box.upperX, box.lowerY, box.lowerZ);
+			FTGL.get().glVertex3f(box.upperX, box.lowerY, box.upperZ);
+			FTGL.get().glEnd();
 		}
-		GL11.glPopAttrib();
-		GL11.glPopMatrix();
+		FTGL.get().glPopAttrib();
+		FTGL.get().glPopMatrix();
 		// GL11.glBitmap(0, 0, 0f, 0f, -pos.x, -pos.y, null);
 		return true;
 	}
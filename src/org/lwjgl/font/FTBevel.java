@@ -0,0 +1,156 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font;
+
+import org.lwjgl.font.glyph.FTExtrdGlyph;
+
+/**
+ * FTBevel is the profile of the bevelled edges of an extruded glyph. The
+ * contours are offset inward by the width of the bevel, the caps are built
+ * from the offset contours and rings of the given number of segments join them
+ * to the side walls, which are shortened by the depth of the bevel at the front
+ * and at the back. One segment gives a chamfer, more segments a rounded edge.
+ * <p>
+ * The bevelled geometry is built on the CPU into the same geometry as the caps
+ * and walls by {@link FTExtrdGlyph#createGeometry()}, which does not call
+ * OpenGL, so glyphs can be built on a worker thread from shared
+ * {@link FTOutline outlines}. A profile is immutable.
+ *
+ * @see FTExtrdGlyph#setBevel(FTBevel)
+ */
+public final class FTBevel {
+
+	/** The default maximum number of vertices of a bevelled glyph. */
+	public static final int DEFAULT_VERTEX_BUDGET = 16384;
+
+	private final int segments;
+
+	private final float width;
+
+	private final float depth;
+
+	private final int vertexBudget;
+
+	/**
+	 * Creates a bevel with the default vertex budget.
+	 *
+	 * @param segments
+	 *            The number of segments of the edge, <code>1</code> for a
+	 *            chamfer.
+	 * @param width
+	 *            The distance the contours are offset inward.
+	 * @param depth
+	 *            The depth of the bevel along the z axis, at most half the
+	 *            depth of the glyph is used.
+	 */
+	public FTBevel(int segments, float width, float depth) {
+		this(segments, width, depth, FTBevel.DEFAULT_VERTEX_BUDGET);
+	}
+
+	/**
+	 * Creates a bevel.
+	 *
+	 * @param segments
+	 *            The number of segments of the edge, <code>1</code> for a
+	 *            chamfer.
+	 * @param width
+	 *            The distance the contours are offset inward. Should be below
+	 *            half the thinnest stroke, thinner parts self intersect.
+	 * @param depth
+	 *            The depth of the bevel along the z axis, at most half the
+	 *            depth of the glyph is used.
+	 * @param vertexBudget
+	 *            The maximum number of vertices of a glyph. Glyphs exceeding
+	 *            it are built with less segments, or without bevel, if even a
+	 *            chamfer exceeds it.
+	 */
+	public FTBevel(int segments, float width, float depth, int vertexBudget) {
+		assert segments > 0 : "Segments must be positive!";
+		assert width >= 0.0f && depth >= 0.0f : "Bevel cannot be negative!";
+		this.segments = segments;
+		this.width = width;
+		this.depth = depth;
+		this.vertexBudget = vertexBudget;
+	}
+
+	/**
+	 * Returns the number of segments of the edge.
+	 *
+	 * @return The number of segments, <code>1</code> for a chamfer.
+	 */
+	public int getSegments() {
+		return segments;
+	}
+
+	/**
+	 * Returns the distance the contours are offset inward.
+	 *
+	 * @return The width of the bevel.
+	 */
+	public float getWidth() {
+		return width;
+	}
+
+	/**
+	 * Returns the depth of the bevel along the z axis.
+	 *
+	 * @return The depth of the bevel.
+	 */
+	public float getDepth() {
+		return depth;
+	}
+
+	/**
+	 * Returns the maximum number of vertices of a glyph.
+	 *
+	 * @return The vertex budget.
+	 */
+	public int getVertexBudget() {
+		return vertexBudget;
+	}
+
+	/**
+	 * Returns the profile of the edge for a number of segments. For each of
+	 * the <code>segments + 1</code> rings, from the cap to the side wall, the
+	 * profile holds the inward offset, the offset along the z axis towards the
+	 * wall and the outward and the z component of the normal.
+	 *
+	 * @param segments
+	 *            The number of segments, at most {@link #getSegments()}.
+	 * @param depth
+	 *            The depth of the bevel, limited by the depth of the glyph.
+	 * @return The packed profile, 4 floats per ring.
+	 */
+	public float[] getProfile(int segments, float depth) {
+		float[] profile = new float[(segments + 1) * 4];
+		for (int k = 0; k <= segments; k++) {
+			double phi = Math.PI / 2 * k / segments;
+			double sin = Math.sin(phi);
+			double cos = Math.cos(phi);
+			double nr, nz;
+			if (segments == 1) {
+				// flat chamfer
+				nr = depth;
+				nz = width;
+			} else {
+				nr = depth * sin;
+				nz = width * cos;
+			}
+			double length = Math.sqrt(nr * nr + nz * nz);
+			if (length > 0.0) {
+				nr /= length;
+				nz /= length;
+			} else {
+				nr = 0.0;
+				nz = 1.0;
+			}
+			profile[k * 4] = (float) (width * (1.0 - sin));
+			profile[k * 4 + 1] = (float) (depth * (1.0 - cos));
+			profile[k * 4 + 2] = (float) nr;
+			profile[k * 4 + 3] = (float) nz;
+		}
+		return profile;
+	}
+
+}
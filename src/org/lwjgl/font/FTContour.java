@@ -38,6 +38,9 @@ public class FTContour {
 	private float stepSize = BEZIER_STEP_SIZE;
 	private float lastStep = 0;
 
+	/** The packed points, created on first use. */
+	private volatile double[] packed = null;
+
 	/**
 	 * Constructor
 	 * 
@@ -145,6 +148,27 @@ public class FTContour {
 		return pointlist.get(index);
 	}
 
+	/**
+	 * Returns the points of this contour packed into one array, x and y of
+	 * each point one after the other. The array is created once and must not
+	 * be modified.
+	 * 
+	 * @return The packed points, <code>2 * pointCount()</code> values.
+	 */
+	public final double[] getPoints() {
+		double[] points = packed;
+		if (points == null) {
+			points = new double[pointlist.size() * 2];
+			for (int i = 0; i < pointlist.size(); i++) {
+				double[] point = pointlist.get(i);
+				points[i * 2] = point[FTContour.X];
+				points[i * 2 + 1] = point[FTContour.Y];
+			}
+			packed = points;
+		}
+		return points;
+	}
+
 	/**
 	 * How many points define this contour
 	 * 
@@ -0,0 +1,355 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font;
+
+import org.lwjgl.font.gl.FTGL;
+import org.lwjgl.font.gl.FTGLBackend;
+import org.lwjgl.opengl.GL11;
+
+/**
+ * FTGeometry holds the indexed vertices of a glyph mesh, either triangles or
+ * lines. Each vertex consists of a position and a normal. The geometry is
+ * created without an OpenGL context and can be compiled into a display list or
+ * appended to a {@link FTGeometryBuffer}.
+ *
+ * @see FTGeometryBuffer
+ * @see FTTesselation
+ */
+public class FTGeometry {
+
+	/** x, y, z and the normal of each vertex. */
+	public static final int FLOATS_PER_VERTEX = 6;
+
+	private final int mode;
+
+	private float[] vertices;
+	private int vertexCount = 0;
+
+	private int[] indices;
+	private int indexCount = 0;
+
+	/**
+	 * Creates an empty geometry.
+	 *
+	 * @param mode
+	 *            The primitive type, <code>GL_TRIANGLES</code> or
+	 *            <code>GL_LINES</code>.
+	 */
+	public FTGeometry(int mode) {
+		this(mode, 64, 128);
+	}
+
+	/**
+	 * Creates an empty geometry with room for the given number of vertices
+	 * and indices. The geometry grows beyond, if needed.
+	 *
+	 * @param mode
+	 *            The primitive type, <code>GL_TRIANGLES</code> or
+	 *            <code>GL_LINES</code>.
+	 * @param vertexCapacity
+	 *            The expected number of vertices.
+	 * @param indexCapacity
+	 *            The expected number of indices.
+	 */
+	public FTGeometry(int mode, int vertexCapacity, int indexCapacity) {
+		assert mode == GL11.GL_TRIANGLES || mode == GL11.GL_LINES
+				: "Unsupported mode!";
+		this.mode = mode;
+		vertices = new float[Math.max(vertexCapacity, 1)
+				* FTGeometry.FLOATS_PER_VERTEX];
+		indices = new int[Math.max(indexCapacity, 1)];
+	}
+
+	/**
+	 * Returns the primitive type of this geometry.
+	 *
+	 * @return <code>GL_TRIANGLES</code> or <code>GL_LINES</code>.
+	 */
+	public int getMode() {
+		return mode;
+	}
+
+	/**
+	 * Adds a vertex.
+	 *
+	 * @return The index of the vertex.
+	 */
+	public int addVertex(float x, float y, float z, float nx, float ny,
+			float nz) {
+		int offset = vertexCount * FTGeometry.FLOATS_PER_VERTEX;
+		if (offset + FTGeometry.FLOATS_PER_VERTEX > vertices.length) {
+			float[] help = new float[vertices.length * 2];
+			System.arraycopy(vertices, 0, help, 0, offset);
+			vertices = help;
+		}
+		vertices[offset] = x;
+		vertices[offset + 1] = y;
+		vertices[offset + 2] = z;
+		vertices[offset + 3] = nx;
+		vertices[offset + 4] = ny;
+		vertices[offset + 5] = nz;
+		return vertexCount++;
+	}
+
+	/**
+	 * Adds a triangle of three vertices.
+	 */
+	public void addTriangle(int a, int b, int c) {
+		addIndex(a);
+		addIndex(b);
+		addIndex(c);
+	}
+
+	/**
+	 * Adds a line between two vertices.
+	 */
+	public void addLine(int a, int b) {
+		addIndex(a);
+		addIndex(b);
+	}
+
+	private void addIndex(int index) {
+		if (indexCount == indices.length) {
+			int[] help = new int[indices.length * 2];
+			System.arraycopy(indices, 0, help, 0, indexCount);
+			indices = help;
+		}
+		indices[indexCount++] = index;
+	}
+
+	/**
+	 * Adds the triangles of a tesselation in the plane <code>z</code>.
+	 * Triangle strips and fans are split into single triangles.
+	 *
+	 * @param tesselation
+	 *            The tesselation.
+	 * @param z
+	 *            The z component of all points.
+	 * @param nz
+	 *            The z component of the normal, the normal is parallel to the
+	 *            z axis.
+	 */
+	public void addTesselation(FTTesselation tesselation, float z, float nz) {
+		final int first = vertexCount;
+		final int count = tesselation.pointCount();
+		for (int i = 0; i < count; i++) {
+			double[] point = tesselation.getPoint(i);
+			addVertex((float) point[FTContour.X], (float) point[FTContour.Y],
+					z, 0.0f, 0.0f, nz);
+		}
+		switch (tesselation.getPolygonType()) {
+		case GL11.GL_TRIANGLES:
+			for (int i = 2; i < count; i += 3)
+				addTriangle(first + i - 2, first + i - 1, first + i);
+			break;
+		case GL11.GL_TRIANGLE_STRIP:
+			for (int i = 2; i < count; i++)
+				if ((i & 1) == 0)
+					addTriangle(first + i - 2, first + i - 1, first + i);
+				else
+					addTriangle(first + i - 1, first + i - 2, first + i);
+			break;
+		default: // GL_TRIANGLE_FAN, GL_POLYGON
+			for (int i = 2; i < count; i++)
+				addTriangle(first, first + i - 1, first + i);
+		}
+	}
+
+	/**
+	 * Appends another geometry of the same primitive type, translated in the
+	 * xy plane.
+	 *
+	 * @param geometry
+	 *            The geometry to append.
+	 * @param dx
+	 *            The translation along the x axis.
+	 * @param dy
+	 *            The translation along the y axis.
+	 */
+	public void append(FTGeometry geometry, float dx, float dy) {
+		append(geometry, dx, dy, 1.0f, 1.0f);
+	}
+
+	/**
+	 * Appends another geometry of the same primitive type, scaled and
+	 * translated in the xy plane. The normals are transformed with the inverse
+	 * of the scale, i.e. their z component with <code>scale / scaleZ</code>,
+	 * and normalized again, so the slopes of a bevel stay lit correctly when
+	 * the depth is scaled.
+	 *
+	 * @param geometry
+	 *            The geometry to append.
+	 * @param dx
+	 *            The translation along the x axis.
+	 * @param dy
+	 *            The translation along the y axis.
+	 * @param scale
+	 *            The factor the x and y components are scaled with before
+	 *            the translation.
+	 * @param scaleZ
+	 *            The factor the z components are scaled with.
+	 */
+	public void append(FTGeometry geometry, float dx, float dy, float scale,
+			float scaleZ) {
+		assert geometry.mode == mode : "Wrong primitive type!";
+		final int first = vertexCount;
+		final float[] source = geometry.vertices;
+		for (int v = 0; v < geometry.vertexCount; v++) {
+			int offset = v * FTGeometry.FLOATS_PER_VERTEX;
+			addVertex(source, offset, dx, dy, scale, source[offset + 2]
+					* scaleZ, scale / scaleZ);
+		}
+		for (int i = 0; i < geometry.indexCount; i++)
+			addIndex(geometry.indices[i] + first);
+	}
+
+	/**
+	 * Appends another geometry of the same primitive type, scaled and
+	 * translated in the xy plane and stretched to a new depth between two
+	 * bands of fixed depth, e.g. the bevels of an extruded glyph. The front
+	 * band keeps its place, the back band is moved by the change of the depth
+	 * and the section between is stretched. The normals are transformed like
+	 * by {@link #append(FTGeometry, float, float, float, float)}, the
+	 * section between the bands must only have normals in the xy plane.
+	 * 
+	 * @param geometry
+	 *            The geometry to append.
+	 * @param dx
+	 *            The translation along the x axis.
+	 * @param dy
+	 *            The translation along the y axis.
+	 * @param scale
+	 *            The factor the x and y components are scaled with before
+	 *            the translation.
+	 * @param band
+	 *            The depth of each band.
+	 * @param depth
+	 *            The depth of the geometry, from <code>0</code> to
+	 *            <code>-depth</code>, greater than twice the band.
+	 * @param newDepth
+	 *            The depth to stretch to, at least twice the band.
+	 */
+	public void appendStretched(FTGeometry geometry, float dx, float dy,
+			float scale, float band, float depth, float newDepth) {
+		assert geometry.mode == mode : "Wrong primitive type!";
+		assert depth > band * 2.0f && newDepth >= band * 2.0f : "No section to stretch!";
+		final int first = vertexCount;
+		final float[] source = geometry.vertices;
+		final float stretch = (newDepth - band * 2.0f) / (depth - band * 2.0f);
+		for (int v = 0; v < geometry.vertexCount; v++) {
+			int offset = v * FTGeometry.FLOATS_PER_VERTEX;
+			float z = source[offset + 2];
+			if (z <= band - depth)
+				z += depth - newDepth;
+			else if (z < -band)
+				z = (z + band) * stretch - band;
+			addVertex(source, offset, dx, dy, scale, z, scale);
+		}
+		for (int i = 0; i < geometry.indexCount; i++)
+			addIndex(geometry.indices[i] + first);
+	}
+
+	/**
+	 * Adds a vertex of another geometry, scaled and translated in the xy
+	 * plane, at a new z coordinate. The normal is transformed with the
+	 * inverse of the scale, i.e. its z component with the ratio of the xy
+	 * scale to the z scale, and normalized again.
+	 */
+	private void addVertex(float[] source, int offset, float dx, float dy,
+			float scale, float z, float normalZ) {
+		float nx = source[offset + 3];
+		float ny = source[offset + 4];
+		float nz = source[offset + 5];
+		// only normals with both an xy and a z part change direction
+		if (normalZ != 1.0f && nz != 0.0f && (nx != 0.0f || ny != 0.0f)) {
+			nz *= normalZ;
+			final float length = (float) Math.sqrt(nx * nx + ny * ny + nz
+					* nz);
+			nx /= length;
+			ny /= length;
+			nz /= length;
+		}
+		addVertex(source[offset] * scale + dx, source[offset + 1] * scale
+				+ dy, z, nx, ny, nz);
+	}
+
+	/**
+	 * Returns the number of vertices.
+	 *
+	 * @return The number of vertices.
+	 */
+	public int getVertexCount() {
+		return vertexCount;
+	}
+
+	/**
+	 * Drops the vertices behind the given count, e.g. after duplicates were
+	 * removed.
+	 *
+	 * @param count
+	 *            The new number of vertices.
+	 */
+	void setVertexCount(int count) {
+		assert count <= vertexCount : "Cannot add vertices!";
+		vertexCount = count;
+	}
+
+	/**
+	 * Drops the indices behind the given count, e.g. after degenerate
+	 * primitives were removed.
+	 *
+	 * @param count
+	 *            The new number of indices.
+	 */
+	void setIndexCount(int count) {
+		assert count <= indexCount : "Cannot add indices!";
+		indexCount = count;
+	}
+
+	/**
+	 * Returns the number of indices.
+	 *
+	 * @return The number of indices.
+	 */
+	public int getIndexCount() {
+		return indexCount;
+	}
+
+	/**
+	 * Returns the vertices. Only the first <code>getVertexCount() *
+	 * FLOATS_PER_VERTEX</code> values are valid.
+	 *
+	 * @return The vertex array.
+	 */
+	public float[] getVertices() {
+		return vertices;
+	}
+
+	/**
+	 * Returns the indices. Only the first <code>getIndexCount()</code> values
+	 * are valid.
+	 *
+	 * @return The index array.
+	 */
+	public int[] getIndices() {
+		return indices;
+	}
+
+	/**
+	 * Renders this geometry in immediate mode, e.g. into a display list.
+	 */
+	public void render() {
+		final FTGLBackend gl = FTGL.get();
+		gl.glBegin(mode);
+		for (int i = 0; i < indexCount; i++) {
+			int offset = indices[i] * FTGeometry.FLOATS_PER_VERTEX;
+			gl.glNormal3f(vertices[offset + 3], vertices[offset + 4],
+					vertices[offset + 5]);
+			gl.glVertex3f(vertices[offset], vertices[offset + 1],
+					vertices[offset + 2]);
+		}
+		gl.glEnd();
+	}
+
+}
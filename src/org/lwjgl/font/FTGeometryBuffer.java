@@ -0,0 +1,282 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import org.lwjgl.font.gl.FTGL;
+import org.lwjgl.font.gl.FTGLBackend;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL15;
+
+/**
+ * FTGeometryBuffer packs the geometry of many glyphs into one shared vertex
+ * buffer and one shared index buffer. Each glyph occupies a range of the index
+ * buffer, its slot. The buffers are bound once and each glyph is drawn with a
+ * single call. Geometry added while the buffers are bound is uploaded before
+ * the next draw.
+ * <p>
+ * Only the geometry added since the last upload is uploaded. The buffer
+ * objects grow by doubling their capacity, which uploads the whole geometry
+ * again. So caching the glyphs of a string one by one costs linear time in
+ * the size of the geometry. The buffers are dynamic, as glyphs may be added
+ * any time.
+ *
+ * @see FTGeometry
+ */
+public class FTGeometryBuffer {
+
+	private static final int STRIDE = FTGeometry.FLOATS_PER_VERTEX * 4;
+
+	private final int mode;
+
+	private float[] vertices = new float[1024 * FTGeometry.FLOATS_PER_VERTEX];
+	private int vertexCount = 0;
+
+	private int[] indices = new int[2048];
+	private int indexCount = 0;
+
+	/** first index and index count of each slot */
+	private int[] slots = new int[64 * 2];
+	private int slotCount = 0;
+
+	private int vertexBuffer = 0;
+	private int indexBuffer = 0;
+	private boolean dirty = false;
+
+	/** the floats and ints the buffer objects can hold */
+	private int vertexCapacity = 0;
+	private int indexCapacity = 0;
+
+	/** the floats and ints uploaded into the buffer objects */
+	private int vertexUploaded = 0;
+	private int indexUploaded = 0;
+
+	/** direct copies of the data to upload, reused */
+	private FloatBuffer vertexData = null;
+	private IntBuffer indexData = null;
+
+	/**
+	 * Creates an empty buffer.
+	 *
+	 * @param mode
+	 *            The primitive type of all geometry in this buffer,
+	 *            <code>GL_TRIANGLES</code> or <code>GL_LINES</code>.
+	 */
+	public FTGeometryBuffer(int mode) {
+		this.mode = mode;
+	}
+
+	/**
+	 * Appends the geometry of a glyph.
+	 *
+	 * @param geometry
+	 *            The geometry, must have the primitive type of this buffer.
+	 * @return The slot of the geometry.
+	 */
+	public int add(FTGeometry geometry) {
+		assert geometry.getMode() == mode : "Wrong primitive type!";
+		final int floats = geometry.getVertexCount()
+				* FTGeometry.FLOATS_PER_VERTEX;
+		final int vertexOffset = vertexCount * FTGeometry.FLOATS_PER_VERTEX;
+		if (vertexOffset + floats > vertices.length) {
+			float[] help = new float[Math.max(vertices.length * 2, vertexOffset
+					+ floats)];
+			System.arraycopy(vertices, 0, help, 0, vertexOffset);
+			vertices = help;
+		}
+		System.arraycopy(geometry.getVertices(), 0, vertices, vertexOffset,
+				floats);
+
+		final int count = geometry.getIndexCount();
+		if (indexCount + count > indices.length) {
+			int[] help = new int[Math.max(indices.length * 2, indexCount
+					+ count)];
+			System.arraycopy(indices, 0, help, 0, indexCount);
+			indices = help;
+		}
+		final int[] source = geometry.getIndices();
+		for (int i = 0; i < count; i++)
+			indices[indexCount + i] = source[i] + vertexCount;
+
+		if (slotCount * 2 == slots.length) {
+			int[] help = new int[slots.length * 2];
+			System.arraycopy(slots, 0, help, 0, slotCount * 2);
+			slots = help;
+		}
+		slots[slotCount * 2] = indexCount;
+		slots[slotCount * 2 + 1] = count;
+
+		vertexCount += geometry.getVertexCount();
+		indexCount += count;
+		dirty = true;
+		return slotCount++;
+	}
+
+	/**
+	 * Returns the number of slots.
+	 *
+	 * @return The number of slots.
+	 */
+	public int size() {
+		return slotCount;
+	}
+
+	/**
+	 * Returns the first index of a slot in the index buffer.
+	 *
+	 * @param slot
+	 *            The slot as returned by {@link #add(FTGeometry)}.
+	 * @return The first index.
+	 */
+	public int getFirstIndex(int slot) {
+		return slots[slot * 2];
+	}
+
+	/**
+	 * Returns the number of indices of a slot.
+	 *
+	 * @param slot
+	 *            The slot as returned by {@link #add(FTGeometry)}.
+	 * @return The number of indices.
+	 */
+	public int getIndexCount(int slot) {
+		return slots[slot * 2 + 1];
+	}
+
+	/**
+	 * Returns the number of vertices in this buffer.
+	 *
+	 * @return The number of vertices.
+	 */
+	public int getVertexCount() {
+		return vertexCount;
+	}
+
+	/**
+	 * Returns the number of indices in this buffer.
+	 *
+	 * @return The number of indices.
+	 */
+	public int getIndexCount() {
+		return indexCount;
+	}
+
+	/**
+	 * Binds the buffers and sets the vertex and normal arrays. The client
+	 * state should be saved with <code>glPushClientAttrib</code> before.
+	 */
+	public void bind() {
+		final FTGLBackend gl = FTGL.get();
+		if (vertexBuffer == 0) {
+			vertexBuffer = gl.glGenBuffers();
+			indexBuffer = gl.glGenBuffers();
+		}
+		gl.glBindBuffer(GL15.GL_ARRAY_BUFFER, vertexBuffer);
+		gl.glBindBuffer(GL15.GL_ELEMENT_ARRAY_BUFFER, indexBuffer);
+		if (dirty)
+			upload();
+
+		gl.glEnableClientState(GL11.GL_VERTEX_ARRAY);
+		gl.glEnableClientState(GL11.GL_NORMAL_ARRAY);
+		gl.glVertexPointer(3, GL11.GL_FLOAT, FTGeometryBuffer.STRIDE, 0);
+		gl.glNormalPointer(GL11.GL_FLOAT, FTGeometryBuffer.STRIDE, 12);
+	}
+
+	/**
+	 * Draws the geometry of a slot. The buffers have to be bound.
+	 *
+	 * @param slot
+	 *            The slot as returned by {@link #add(FTGeometry)}.
+	 */
+	public void draw(int slot) {
+		if (dirty)
+			upload();
+		int count = slots[slot * 2 + 1];
+		if (count > 0)
+			FTGL.get().glDrawElements(mode, count, GL11.GL_UNSIGNED_INT,
+					slots[slot * 2] * 4L);
+	}
+
+	/**
+	 * Unbinds the buffers.
+	 */
+	public void unbind() {
+		final FTGLBackend gl = FTGL.get();
+		gl.glBindBuffer(GL15.GL_ELEMENT_ARRAY_BUFFER, 0);
+		gl.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
+	}
+
+	/**
+	 * Uploads the geometry added since the last upload into the bound
+	 * buffers. Buffers too small are reallocated with twice the capacity and
+	 * filled with the whole geometry.
+	 */
+	private void upload() {
+		final FTGLBackend gl = FTGL.get();
+		final int floats = vertexCount * FTGeometry.FLOATS_PER_VERTEX;
+		if (floats > vertexCapacity) {
+			vertexCapacity = Math.max(floats, vertexCapacity * 2);
+			gl.glBufferData(GL15.GL_ARRAY_BUFFER, vertexCapacity * 4L,
+					GL15.GL_DYNAMIC_DRAW);
+			vertexUploaded = 0;
+		}
+		if (floats > vertexUploaded) {
+			final int length = floats - vertexUploaded;
+			if (vertexData == null || vertexData.capacity() < length)
+				vertexData = ByteBuffer.allocateDirect(
+						Math.max(length, vertices.length) * 4)
+						.order(ByteOrder.nativeOrder()).asFloatBuffer();
+			vertexData.clear();
+			vertexData.put(vertices, vertexUploaded, length).flip();
+			gl.glBufferSubData(GL15.GL_ARRAY_BUFFER, vertexUploaded * 4L,
+					vertexData);
+			vertexUploaded = floats;
+		}
+
+		if (indexCount > indexCapacity) {
+			indexCapacity = Math.max(indexCount, indexCapacity * 2);
+			gl.glBufferData(GL15.GL_ELEMENT_ARRAY_BUFFER, indexCapacity * 4L,
+					GL15.GL_DYNAMIC_DRAW);
+			indexUploaded = 0;
+		}
+		if (indexCount > indexUploaded) {
+			final int length = indexCount - indexUploaded;
+			if (indexData == null || indexData.capacity() < length)
+				indexData = ByteBuffer.allocateDirect(
+						Math.max(length, indices.length) * 4)
+						.order(ByteOrder.nativeOrder()).asIntBuffer();
+			indexData.clear();
+			indexData.put(indices, indexUploaded, length).flip();
+			gl.glBufferSubData(GL15.GL_ELEMENT_ARRAY_BUFFER,
+					indexUploaded * 4L, indexData);
+			indexUploaded = indexCount;
+		}
+		dirty = false;
+	}
+
+	/**
+	 * Deletes the buffers and removes all geometry.
+	 */
+	public void dispose() {
+		if (vertexBuffer != 0) {
+			FTGL.get().glDeleteBuffers(vertexBuffer);
+			FTGL.get().glDeleteBuffers(indexBuffer);
+			vertexBuffer = 0;
+			indexBuffer = 0;
+		}
+		vertexCount = 0;
+		indexCount = 0;
+		slotCount = 0;
+		dirty = false;
+		vertexCapacity = 0;
+		indexCapacity = 0;
+		vertexUploaded = 0;
+		indexUploaded = 0;
+	}
+
+}
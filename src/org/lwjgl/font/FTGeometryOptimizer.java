@@ -0,0 +1,358 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font;
+
+import java.util.Arrays;
+
+import org.lwjgl.opengl.GL11;
+
+/**
+ * FTGeometryOptimizer post-processes the geometry of glyphs for the
+ * post-transform vertex cache of the GPU. Duplicate vertices, e.g. the points
+ * shared by the triangles of a tesselation, are welded into one, the triangles
+ * are reordered with Tom Forsyth's linear-speed vertex cache optimisation and
+ * the vertices are sorted by their first use. The average cache miss ratio,
+ * the transformed vertices per triangle, measures the result.
+ *
+ * @see FTGeometry
+ */
+public final class FTGeometryOptimizer {
+
+	/** The size of the simulated vertex cache. */
+	public static final int CACHE_SIZE = 32;
+
+	private static final float CACHE_DECAY_POWER = 1.5f;
+
+	private static final float LAST_TRI_SCORE = 0.75f;
+
+	private static final float VALENCE_BOOST_SCALE = 2.0f;
+
+	private static final float VALENCE_BOOST_POWER = 0.5f;
+
+	private FTGeometryOptimizer() {
+		/* empty */
+	}
+
+	/**
+	 * Welds the duplicate vertices of a geometry, reorders its triangles for
+	 * a vertex cache of {@link #CACHE_SIZE} entries and sorts its vertices by
+	 * their first use.
+	 *
+	 * @param geometry
+	 *            The geometry to optimise.
+	 * @return The geometry.
+	 */
+	public static FTGeometry optimize(FTGeometry geometry) {
+		FTGeometryOptimizer.weld(geometry);
+		if (geometry.getMode() == GL11.GL_TRIANGLES)
+			FTGeometryOptimizer.reorderTriangles(geometry,
+					FTGeometryOptimizer.CACHE_SIZE);
+		FTGeometryOptimizer.reorderVertices(geometry);
+		return geometry;
+	}
+
+	/**
+	 * Merges the vertices with equal position and normal. The indices are
+	 * updated, the order of the remaining vertices is kept. Primitives using
+	 * a vertex twice are removed.
+	 *
+	 * @param geometry
+	 *            The geometry to weld.
+	 * @return The number of removed vertices.
+	 */
+	public static int weld(FTGeometry geometry) {
+		final float[] vertices = geometry.getVertices();
+		final int count = geometry.getVertexCount();
+		final int size = FTGeometry.FLOATS_PER_VERTEX;
+		// open addressing, at most half full
+		final int mask = Integer.highestOneBit(Math.max(count, 1)) * 4 - 1;
+		final int[] table = new int[mask + 1];
+		Arrays.fill(table, -1);
+		final int[] remap = new int[count];
+
+		int unique = 0;
+		for (int v = 0; v < count; v++) {
+			final int offset = v * size;
+			int slot = FTGeometryOptimizer.hash(vertices, offset) & mask;
+			int found = -1;
+			while (table[slot] >= 0) {
+				if (FTGeometryOptimizer.equal(vertices, table[slot] * size,
+						offset)) {
+					found = table[slot];
+					break;
+				}
+				slot = (slot + 1) & mask;
+			}
+			if (found < 0) {
+				found = unique++;
+				// the kept vertices only move to the front
+				if (found != v)
+					System.arraycopy(vertices, offset, vertices, found * size,
+							size);
+				table[slot] = found;
+			}
+			remap[v] = found;
+		}
+
+		final int[] indices = geometry.getIndices();
+		final int perPrimitive = geometry.getMode() == GL11.GL_TRIANGLES ? 3
+				: 2;
+		int indexCount = 0;
+		for (int i = 0; i < geometry.getIndexCount(); i += perPrimitive) {
+			int a = remap[indices[i]];
+			int b = remap[indices[i + 1]];
+			int c = perPrimitive == 3 ? remap[indices[i + 2]] : -1;
+			if (a == b || a == c || b == c)
+				continue;
+			indices[indexCount++] = a;
+			indices[indexCount++] = b;
+			if (perPrimitive == 3)
+				indices[indexCount++] = c;
+		}
+		geometry.setVertexCount(unique);
+		geometry.setIndexCount(indexCount);
+		return count - unique;
+	}
+
+	/**
+	 * Reorders the triangles of a geometry for a vertex cache, with Tom
+	 * Forsyth's linear-speed vertex cache optimisation. Each vertex is scored
+	 * by its position in a simulated LRU cache and the number of its triangles
+	 * not drawn yet. The triangle with the highest score of its vertices is
+	 * drawn next.
+	 *
+	 * @param geometry
+	 *            The geometry of <code>GL_TRIANGLES</code>.
+	 * @param cacheSize
+	 *            The number of entries of the simulated cache, more than
+	 *            <code>3</code>.
+	 */
+	public static void reorderTriangles(FTGeometry geometry, int cacheSize) {
+		assert geometry.getMode() == GL11.GL_TRIANGLES : "Triangles only!";
+		assert cacheSize > 3 : "Cache too small!";
+		final int[] indices = geometry.getIndices();
+		final int triangleCount = geometry.getIndexCount() / 3;
+		final int vertexCount = geometry.getVertexCount();
+		if (triangleCount < 2)
+			return;
+
+		// the triangles of each vertex, the ones not drawn yet first
+		final int[] start = new int[vertexCount + 1];
+		for (int i = 0; i < triangleCount * 3; i++)
+			start[indices[i] + 1]++;
+		for (int v = 0; v < vertexCount; v++)
+			start[v + 1] += start[v];
+		final int[] remaining = new int[vertexCount];
+		final int[] adjacent = new int[triangleCount * 3];
+		for (int i = 0; i < triangleCount * 3; i++) {
+			int v = indices[i];
+			adjacent[start[v] + remaining[v]++] = i / 3;
+		}
+
+		// the vertices of the last triangle score the same, so neither is
+		// preferred, the older ones decay
+		final float[] positionScore = new float[cacheSize];
+		for (int c = 0; c < cacheSize; c++)
+			positionScore[c] = c < 3 ? FTGeometryOptimizer.LAST_TRI_SCORE
+					: (float) Math.pow(1.0f - (c - 3) / (float) (cacheSize - 3),
+							FTGeometryOptimizer.CACHE_DECAY_POWER);
+		final float[] valenceScore = new float[16];
+		for (int r = 1; r < valenceScore.length; r++)
+			valenceScore[r] = FTGeometryOptimizer.VALENCE_BOOST_SCALE
+					* (float) Math.pow(r, -FTGeometryOptimizer.VALENCE_BOOST_POWER);
+
+		final int[] position = new int[vertexCount];
+		Arrays.fill(position, -1);
+		final float[] vertexScore = new float[vertexCount];
+		for (int v = 0; v < vertexCount; v++)
+			vertexScore[v] = FTGeometryOptimizer.score(-1, remaining[v],
+					positionScore, valenceScore);
+		final boolean[] drawn = new boolean[triangleCount];
+		int best = -1;
+		float bestScore = -1.0f;
+		for (int t = 0; t < triangleCount; t++) {
+			float score = vertexScore[indices[t * 3]]
+					+ vertexScore[indices[t * 3 + 1]]
+					+ vertexScore[indices[t * 3 + 2]];
+			if (score > bestScore) {
+				bestScore = score;
+				best = t;
+			}
+		}
+
+		final int[] order = new int[triangleCount * 3];
+		int[] cache = new int[cacheSize + 3];
+		int[] next = new int[cacheSize + 3];
+		int cached = 0;
+		int cursor = 0;
+		for (int i = 0; i < triangleCount; i++) {
+			if (best < 0) {
+				// no triangle touches the cache, take the next one not drawn
+				while (drawn[cursor])
+					cursor++;
+				best = cursor;
+			}
+			drawn[best] = true;
+			int count = 0;
+			for (int k = 0; k < 3; k++) {
+				int v = indices[best * 3 + k];
+				order[i * 3 + k] = v;
+				// move the triangle behind the ones not drawn yet
+				int end = start[v] + --remaining[v];
+				for (int a = start[v]; a < end; a++)
+					if (adjacent[a] == best) {
+						adjacent[a] = adjacent[end];
+						adjacent[end] = best;
+						break;
+					}
+				if (k == 0 || v != next[0] && (k == 1 || v != next[1]))
+					next[count++] = v;
+			}
+			// the vertices of the triangle move to the front of the cache
+			for (int c = 0; c < cached; c++) {
+				int v = cache[c];
+				boolean used = false;
+				for (int n = 0; n < 3 && n < count; n++)
+					used |= v == next[n];
+				if (!used)
+					next[count++] = v;
+			}
+			int[] help = cache;
+			cache = next;
+			next = help;
+			cached = Math.min(count, cacheSize);
+			for (int c = cacheSize; c < count; c++)
+				position[cache[c]] = -1;
+			for (int c = 0; c < cached; c++)
+				position[cache[c]] = c;
+
+			best = -1;
+			bestScore = -1.0f;
+			for (int c = 0; c < count; c++) {
+				int v = cache[c];
+				vertexScore[v] = FTGeometryOptimizer.score(position[v],
+						remaining[v], positionScore, valenceScore);
+			}
+			for (int c = 0; c < cached; c++) {
+				int v = cache[c];
+				for (int a = start[v]; a < start[v] + remaining[v]; a++) {
+					int t = adjacent[a];
+					float score = vertexScore[indices[t * 3]]
+							+ vertexScore[indices[t * 3 + 1]]
+							+ vertexScore[indices[t * 3 + 2]];
+					if (score > bestScore) {
+						bestScore = score;
+						best = t;
+					}
+				}
+			}
+		}
+		System.arraycopy(order, 0, indices, 0, order.length);
+	}
+
+	/**
+	 * Sorts the vertices of a geometry by their first use, so the vertices
+	 * are fetched in order. Unused vertices are dropped.
+	 *
+	 * @param geometry
+	 *            The geometry.
+	 */
+	public static void reorderVertices(FTGeometry geometry) {
+		final float[] vertices = geometry.getVertices();
+		final int[] indices = geometry.getIndices();
+		final int size = FTGeometry.FLOATS_PER_VERTEX;
+		final int[] remap = new int[geometry.getVertexCount()];
+		Arrays.fill(remap, -1);
+		final float[] sorted = new float[geometry.getVertexCount() * size];
+
+		int count = 0;
+		for (int i = 0; i < geometry.getIndexCount(); i++) {
+			int v = indices[i];
+			if (remap[v] < 0) {
+				System.arraycopy(vertices, v * size, sorted, count * size, size);
+				remap[v] = count++;
+			}
+			indices[i] = remap[v];
+		}
+		System.arraycopy(sorted, 0, vertices, 0, count * size);
+		geometry.setVertexCount(count);
+	}
+
+	/**
+	 * Simulates a FIFO vertex cache and returns the average cache miss ratio,
+	 * the number of transformed vertices per primitive. The best case is about
+	 * <code>0.5</code> for triangles, every index missing the cache gives
+	 * <code>3</code>.
+	 *
+	 * @param geometry
+	 *            The geometry.
+	 * @param cacheSize
+	 *            The number of entries of the cache.
+	 * @return The average cache miss ratio, or <code>0</code> for an empty
+	 *         geometry.
+	 */
+	public static float getCacheMissRatio(FTGeometry geometry, int cacheSize) {
+		final int[] indices = geometry.getIndices();
+		final int indexCount = geometry.getIndexCount();
+		final int perPrimitive = geometry.getMode() == GL11.GL_TRIANGLES ? 3
+				: 2;
+		if (indexCount < perPrimitive)
+			return 0.0f;
+		// the number of misses when a vertex entered the cache
+		final int[] entered = new int[geometry.getVertexCount()];
+		Arrays.fill(entered, -cacheSize - 1);
+		int misses = 0;
+		for (int i = 0; i < indexCount; i++) {
+			int v = indices[i];
+			// evicted by cacheSize vertices entering after it
+			if (misses - entered[v] > cacheSize) {
+				entered[v] = misses;
+				misses++;
+			}
+		}
+		return misses / (float) (indexCount / perPrimitive);
+	}
+
+	/**
+	 * Returns the score of a vertex.
+	 *
+	 * @param position
+	 *            The position in the cache or <code>-1</code>.
+	 * @param remaining
+	 *            The number of triangles of the vertex not drawn yet.
+	 * @param positionScore
+	 *            The scores of the positions in the cache.
+	 * @param valenceScore
+	 *            The scores of the first numbers of remaining triangles.
+	 */
+	private static float score(int position, int remaining,
+			float[] positionScore, float[] valenceScore) {
+		if (remaining == 0)
+			return -1.0f;
+		float score = position >= 0 ? positionScore[position] : 0.0f;
+		if (remaining < valenceScore.length)
+			return score + valenceScore[remaining];
+		return score + FTGeometryOptimizer.VALENCE_BOOST_SCALE
+				* (float) Math.pow(remaining,
+						-FTGeometryOptimizer.VALENCE_BOOST_POWER);
+	}
+
+	private static int hash(float[] vertices, int offset) {
+		int hash = 0;
+		for (int i = 0; i < FTGeometry.FLOATS_PER_VERTEX; i++) {
+			float f = vertices[offset + i];
+			// 0.0 and -0.0 are equal
+			hash = hash * 31 + (f == 0.0f ? 0 : Float.floatToIntBits(f));
+		}
+		return hash ^ (hash >>> 16);
+	}
+
+	private static boolean equal(float[] vertices, int a, int b) {
+		for (int i = 0; i < FTGeometry.FLOATS_PER_VERTEX; i++)
+			if (vertices[a + i] != vertices[b + i])
+				return false;
+		return true;
+	}
+
+}
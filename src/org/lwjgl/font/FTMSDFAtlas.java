@@ -0,0 +1,207 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font;
+
+import java.awt.Shape;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * FTMSDFAtlas packs multi-channel distance fields of many glyphs into RGB
+ * pages. The glyphs are placed when they are added and generated in parallel
+ * by {@link #build(int)}, each glyph in its own task. No OpenGL context is
+ * needed, the pages can be uploaded or stored later on.
+ *
+ * @see FTMSDFGenerator
+ */
+public class FTMSDFAtlas {
+
+	private final FTMSDFGenerator generator;
+	private final int pageWidth;
+	private final int pageHeight;
+
+	/**
+	 * A value to be added to the height and width to ensure that glyphs don't
+	 * overlap in the texture
+	 */
+	private int padding = 1;
+
+	private final List<byte[]> pages = new ArrayList<byte[]>();
+	private final List<Shape> glyphs = new ArrayList<Shape>();
+	/** page, x, y, width and height of each glyph */
+	private final List<int[]> regions = new ArrayList<int[]>();
+	private int built = 0;
+
+	private int xOffset;
+	private int yOffset;
+	private int rowHeight;
+
+	/**
+	 * Creates a new atlas.
+	 *
+	 * @param generator
+	 *            The generator to create the fields with.
+	 * @param pageWidth
+	 *            The width of the pages in pixels.
+	 * @param pageHeight
+	 *            The height of the pages in pixels.
+	 */
+	public FTMSDFAtlas(FTMSDFGenerator generator, int pageWidth, int pageHeight) {
+		this.generator = generator;
+		this.pageWidth = pageWidth;
+		this.pageHeight = pageHeight;
+		xOffset = pageWidth;
+		yOffset = pageHeight;
+	}
+
+	/**
+	 * Reserves the space for a glyph. The field is generated by the next call
+	 * to {@link #build(int)}.
+	 *
+	 * @param glyph
+	 *            The glyph represented by a shape.
+	 * @return The index of the glyph in this atlas.
+	 */
+	public int add(Shape glyph) {
+		int width = generator.getWidth(glyph);
+		int height = generator.getHeight(glyph);
+		if (width + 2 * padding > pageWidth
+				|| height + 2 * padding > pageHeight)
+			throw new IllegalArgumentException("Glyph of " + width + "x"
+					+ height + " does not fit into the pages of " + pageWidth
+					+ "x" + pageHeight);
+
+		if (width > 0 && height > 0) {
+			if (xOffset + width + padding > pageWidth) {
+				xOffset = padding;
+				yOffset += rowHeight + padding;
+				rowHeight = 0;
+			}
+			if (yOffset + height + padding > pageHeight) {
+				pages.add(new byte[pageWidth * pageHeight * 3]);
+				xOffset = padding;
+				yOffset = padding;
+				rowHeight = 0;
+			}
+		}
+
+		glyphs.add(glyph);
+		regions.add(new int[] { pages.size() - 1, xOffset, yOffset, width,
+				height });
+		xOffset += width + padding;
+		rowHeight = Math.max(rowHeight, height);
+		return regions.size() - 1;
+	}
+
+	/**
+	 * Generates the fields of all glyphs added since the last build.
+	 *
+	 * @param threads
+	 *            The number of threads to use.
+	 * @throws InterruptedException
+	 *             If the calling thread was interrupted.
+	 */
+	public void build(int threads) throws InterruptedException {
+		final ExecutorService executor = Executors.newFixedThreadPool(Math
+				.max(1, threads));
+		try {
+			List<Future<?>> tasks = new ArrayList<Future<?>>();
+			for (int i = built; i < glyphs.size(); i++) {
+				final Shape glyph = glyphs.get(i);
+				final int[] region = regions.get(i);
+				if (region[3] == 0 || region[4] == 0)
+					continue;
+				tasks.add(executor.submit(new Runnable() {
+					public void run() {
+						generator.generate(glyph, pages.get(region[0]),
+								(region[2] * pageWidth + region[1]) * 3,
+								pageWidth * 3);
+					}
+				}));
+			}
+			for (Future<?> task : tasks)
+				try {
+					task.get();
+				} catch (ExecutionException e) {
+					throw new IllegalStateException(
+							"Generating a distance field failed.", e.getCause());
+				}
+			built = glyphs.size();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Returns the number of pages.
+	 *
+	 * @return The number of pages.
+	 */
+	public int getPageCount() {
+		return pages.size();
+	}
+
+	/**
+	 * Returns a page as RGB triples, row by row with the top row first.
+	 *
+	 * @param index
+	 *            The index of the page.
+	 * @return The page.
+	 */
+	public byte[] getPage(int index) {
+		return pages.get(index);
+	}
+
+	/**
+	 * Returns the number of glyphs in this atlas.
+	 *
+	 * @return The number of glyphs.
+	 */
+	public int size() {
+		return regions.size();
+	}
+
+	/**
+	 * Returns the region of a glyph.
+	 *
+	 * @param index
+	 *            The index of the glyph as returned by {@link #add(Shape)}.
+	 * @return page, x, y, width and height of the glyph.
+	 */
+	public int[] getRegion(int index) {
+		return regions.get(index).clone();
+	}
+
+	/**
+	 * Returns the width of the pages.
+	 *
+	 * @return The width of the pages.
+	 */
+	public int getPageWidth() {
+		return pageWidth;
+	}
+
+	/**
+	 * Returns the height of the pages.
+	 *
+	 * @return The height of the pages.
+	 */
+	public int getPageHeight() {
+		return pageHeight;
+	}
+
+	/**
+	 * Returns the generator of this atlas.
+	 *
+	 * @return The generator.
+	 */
+	public FTMSDFGenerator getGenerator() {
+		return generator;
+	}
+
+}
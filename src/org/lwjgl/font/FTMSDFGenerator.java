@@ -0,0 +1,394 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font;
+
+import java.awt.Rectangle;
+import java.awt.Shape;
+
+/**
+ * FTMSDFGenerator creates multi-channel signed distance fields from the
+ * contours of a glyph. The contours are split into edges at their corners and
+ * the edges are colored, so that the two edges meeting at a corner share only
+ * one channel. Each channel holds the distance to the nearest edge of its
+ * color, the median of the three channels reconstructs the outline including
+ * sharp corners.
+ * <p>
+ * The generator does not need an OpenGL context and can be used from several
+ * threads at once.
+ *
+ * @see FTVectoriser
+ * @see FTMSDFAtlas
+ */
+public class FTMSDFGenerator {
+
+	/** The red channel. */
+	public static final int RED = 1;
+	/** The green channel. */
+	public static final int GREEN = 2;
+	/** The blue channel. */
+	public static final int BLUE = 4;
+	/** Edges with this color are in the green and the blue channel. */
+	public static final int CYAN = GREEN | BLUE;
+	/** Edges with this color are in the red and the blue channel. */
+	public static final int MAGENTA = RED | BLUE;
+	/** Edges with this color are in the red and the green channel. */
+	public static final int YELLOW = RED | GREEN;
+	/** Edges with this color are in all channels. */
+	public static final int WHITE = RED | GREEN | BLUE;
+
+	/** The default angle in radians, above which a vertex is a corner. */
+	public static final double DEFAULT_CORNER_ANGLE = 1.0;
+
+	private static final int[] EDGE_COLORS = { CYAN, MAGENTA, YELLOW };
+
+	/** Flag of a segment, that starts an edge. */
+	private static final int FIRST = 1;
+	/** Flag of a segment, that ends an edge. */
+	private static final int LAST = 2;
+
+	private final float spread;
+	private final double cornerAngle;
+	private final float flatness;
+
+	/**
+	 * Creates a generator with the default corner angle and flatness.
+	 *
+	 * @param spread
+	 *            The distance in pixels, that is covered by the field.
+	 */
+	public FTMSDFGenerator(float spread) {
+		this(spread, DEFAULT_CORNER_ANGLE, FTContour.BEZIER_STEP_SIZE);
+	}
+
+	/**
+	 * Creates a generator.
+	 *
+	 * @param spread
+	 *            The distance in pixels, that is covered by the field.
+	 * @param cornerAngle
+	 *            The change of direction in radians, above which a vertex of
+	 *            a contour is a corner.
+	 * @param flatness
+	 *            The bezier step size, the contours are created with.
+	 */
+	public FTMSDFGenerator(float spread, double cornerAngle, float flatness) {
+		this.spread = spread;
+		this.cornerAngle = cornerAngle;
+		this.flatness = flatness;
+	}
+
+	/**
+	 * Returns the empty space around the glyph in pixels.
+	 *
+	 * @return The margin around each glyph.
+	 */
+	public int getMargin() {
+		return (int) Math.ceil(spread);
+	}
+
+	/**
+	 * Returns the width of the field for the given glyph.
+	 *
+	 * @param glyph
+	 *            The glyph represented by a shape.
+	 * @return The width of the field in pixels.
+	 */
+	public int getWidth(Shape glyph) {
+		Rectangle bounds = glyph.getBounds();
+		return bounds.width == 0 ? 0 : bounds.width + 2 * getMargin();
+	}
+
+	/**
+	 * Returns the height of the field for the given glyph.
+	 *
+	 * @param glyph
+	 *            The glyph represented by a shape.
+	 * @return The height of the field in pixels.
+	 */
+	public int getHeight(Shape glyph) {
+		Rectangle bounds = glyph.getBounds();
+		return bounds.height == 0 ? 0 : bounds.height + 2 * getMargin();
+	}
+
+	/**
+	 * Generates the field of the given glyph into a new array.
+	 *
+	 * @param glyph
+	 *            The glyph represented by a shape.
+	 * @return The field as RGB triples, row by row with the top row first.
+	 */
+	public byte[] generate(Shape glyph) {
+		int width = getWidth(glyph);
+		byte[] dest = new byte[width * getHeight(glyph) * 3];
+		generate(glyph, dest, 0, width * 3);
+		return dest;
+	}
+
+	/**
+	 * Generates the field of the given glyph into an RGB image. The top row of
+	 * the field is written first.
+	 *
+	 * @param glyph
+	 *            The glyph represented by a shape.
+	 * @param dest
+	 *            The image to write the field to.
+	 * @param offset
+	 *            The index of the top left pixel's red component.
+	 * @param stride
+	 *            The number of bytes per row of the image.
+	 */
+	public void generate(Shape glyph, byte[] dest, int offset, int stride) {
+		final int width = getWidth(glyph);
+		final int height = getHeight(glyph);
+		if (width == 0 || height == 0)
+			return;
+
+		final Segments segments = createSegments(new FTVectoriser(glyph,
+				flatness));
+		final int margin = getMargin();
+		final Rectangle bounds = glyph.getBounds();
+		final double left = bounds.getMinX() - margin;
+		final double top = bounds.getMaxY() + margin;
+		final float scale = 127f / spread;
+
+		final double[] dist = new double[3];
+		for (int y = 0; y < height; y++) {
+			int index = offset + y * stride;
+			final double py = top - (y + 0.5);
+			for (int x = 0; x < width; x++) {
+				final double px = left + x + 0.5;
+				segments.distance(px, py, dist);
+
+				// resolve clashes, where the median points to the wrong side
+				double median = FTMSDFGenerator.median(dist[0], dist[1],
+						dist[2]);
+				boolean inside = glyph.contains(px, py);
+				if (median > 0 != inside) {
+					double d = segments.trueDistance(px, py);
+					if (d > 0 != inside)
+						d = -d;
+					dist[0] = dist[1] = dist[2] = d;
+				}
+
+				for (int c = 0; c < 3; c++) {
+					int v = (int) Math.round(128.0 + dist[c] * scale);
+					dest[index++] = (byte) (v < 0 ? 0 : v > 255 ? 255 : v);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the median of three values.
+	 *
+	 * @param a
+	 *            The first value.
+	 * @param b
+	 *            The second value.
+	 * @param c
+	 *            The third value.
+	 * @return The median.
+	 */
+	public static double median(double a, double b, double c) {
+		return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+	}
+
+	/**
+	 * Splits the contours into edges at their corners and colors the edges.
+	 */
+	private Segments createSegments(FTVectoriser vectoriser) {
+		final Segments s = new Segments(vectoriser.pointCount());
+		double area = 0;
+		for (int c = 0; c < vectoriser.contourCount(); c++) {
+			FTContour contour = vectoriser.contour(c);
+			int n = contour.pointCount();
+			// the closing point repeats the first one
+			if (n > 1 && contour.getPoint(0)[FTContour.X] == contour
+					.getPoint(n - 1)[FTContour.X]
+					&& contour.getPoint(0)[FTContour.Y] == contour
+							.getPoint(n - 1)[FTContour.Y])
+				n--;
+			if (n < 3)
+				continue;
+
+			final double[] xs = new double[n];
+			final double[] ys = new double[n];
+			for (int p = 0; p < n; p++) {
+				xs[p] = contour.getPoint(p)[FTContour.X];
+				ys[p] = contour.getPoint(p)[FTContour.Y];
+				int q = p == 0 ? n - 1 : p - 1;
+				area += xs[q] * ys[p] - xs[p] * ys[q];
+			}
+
+			// find the corners
+			final boolean[] corner = new boolean[n];
+			int corners = 0;
+			int firstCorner = -1;
+			for (int p = 0; p < n; p++) {
+				int q = p == 0 ? n - 1 : p - 1;
+				int r = p == n - 1 ? 0 : p + 1;
+				double ax = xs[p] - xs[q], ay = ys[p] - ys[q];
+				double bx = xs[r] - xs[p], by = ys[r] - ys[p];
+				double angle = Math.abs(Math.atan2(ax * by - ay * bx, ax * bx
+						+ ay * by));
+				if (angle > cornerAngle) {
+					corner[p] = true;
+					corners++;
+					if (firstCorner < 0)
+						firstCorner = p;
+				}
+			}
+
+			if (corners == 0) {
+				for (int p = 0; p < n; p++)
+					s.add(xs[p], ys[p], xs[(p + 1) % n], ys[(p + 1) % n],
+							WHITE, 0);
+			} else if (corners == 1) {
+				// teardrop, split into three edges
+				int[] colors = { MAGENTA, WHITE, YELLOW };
+				for (int i = 0; i < n; i++) {
+					int p = (firstCorner + i) % n;
+					int edge = 3 * i / n;
+					int flags = (i == 0 || 3 * (i - 1) / n != edge ? FIRST : 0)
+							| (i == n - 1 || 3 * (i + 1) / n != edge ? LAST : 0);
+					s.add(xs[p], ys[p], xs[(p + 1) % n], ys[(p + 1) % n],
+							colors[edge], flags);
+				}
+			} else {
+				int edge = -1;
+				for (int i = 0; i < n; i++) {
+					int p = (firstCorner + i) % n;
+					int next = (p + 1) % n;
+					int flags = corner[next] ? LAST : 0;
+					if (corner[p]) {
+						edge++;
+						flags |= FIRST;
+					}
+					int color = EDGE_COLORS[edge % 3];
+					// the last edge must not share both channels with the first
+					if (edge == corners - 1 && edge % 3 == 0 && edge > 0)
+						color = EDGE_COLORS[1];
+					s.add(xs[p], ys[p], xs[next], ys[next], color, flags);
+				}
+			}
+		}
+		// the outer contours determine on which side the inside lies
+		s.orientation = area < 0 ? -1 : 1;
+		return s;
+	}
+
+	/**
+	 * The colored line segments of a glyph.
+	 */
+	private static class Segments {
+		double[] ax, ay, bx, by;
+		int[] color, flags;
+		int count = 0;
+		int orientation = 1;
+
+		// results of the last call to segmentDistance
+		private double t, cross, orthogonality;
+
+		Segments(int capacity) {
+			capacity = Math.max(capacity, 4);
+			ax = new double[capacity];
+			ay = new double[capacity];
+			bx = new double[capacity];
+			by = new double[capacity];
+			color = new int[capacity];
+			flags = new int[capacity];
+		}
+
+		void add(double x0, double y0, double x1, double y1, int c, int f) {
+			if (x0 == x1 && y0 == y1)
+				return;
+			ax[count] = x0;
+			ay[count] = y0;
+			bx[count] = x1;
+			by[count] = y1;
+			color[count] = c;
+			flags[count] = f;
+			count++;
+		}
+
+		/**
+		 * Returns the unsigned distance to segment i.
+		 */
+		private double segmentDistance(int i, double px, double py) {
+			double dx = bx[i] - ax[i], dy = by[i] - ay[i];
+			double wx = px - ax[i], wy = py - ay[i];
+			double len2 = dx * dx + dy * dy;
+			t = (wx * dx + wy * dy) / len2;
+			double tc = t < 0 ? 0 : t > 1 ? 1 : t;
+			double ex = wx - tc * dx, ey = wy - tc * dy;
+			double d = Math.sqrt(ex * ex + ey * ey);
+			cross = dx * wy - dy * wx;
+			orthogonality = d > 0 ? Math.abs(cross) / (Math.sqrt(len2) * d)
+					: 1;
+			return d;
+		}
+
+		/**
+		 * Computes the signed pseudo distance for each channel.
+		 */
+		void distance(double px, double py, double[] dist) {
+			for (int c = 0; c < 3; c++) {
+				final int channel = 1 << c;
+				double best = Double.MAX_VALUE;
+				double bestOrtho = 0;
+				double bestT = 0, bestCross = 0;
+				int bestIndex = -1;
+				for (int i = 0; i < count; i++) {
+					if ((color[i] & channel) == 0)
+						continue;
+					double d = segmentDistance(i, px, py);
+					if (d < best - 1E-9
+							|| (d <= best + 1E-9 && orthogonality > bestOrtho)) {
+						best = d;
+						bestOrtho = orthogonality;
+						bestT = t;
+						bestCross = cross;
+						bestIndex = i;
+					}
+				}
+				if (bestIndex < 0) {
+					dist[c] = -Double.MAX_VALUE;
+					continue;
+				}
+				double sign = bestCross * orientation > 0 ? 1 : -1;
+				double d = best;
+				// extend the ends of the edge to keep the corners sharp
+				if ((bestT < 0 && (flags[bestIndex] & FIRST) != 0)
+						|| (bestT > 1 && (flags[bestIndex] & LAST) != 0)) {
+					double dx = bx[bestIndex] - ax[bestIndex];
+					double dy = by[bestIndex] - ay[bestIndex];
+					double pseudo = Math.abs(bestCross)
+							/ Math.sqrt(dx * dx + dy * dy);
+					if (pseudo <= d)
+						d = pseudo;
+				}
+				dist[c] = sign * d;
+			}
+		}
+
+		/**
+		 * Returns the signed distance to the nearest segment of any color.
+		 */
+		double trueDistance(double px, double py) {
+			double best = Double.MAX_VALUE;
+			double bestOrtho = 0, bestCross = 0;
+			for (int i = 0; i < count; i++) {
+				double d = segmentDistance(i, px, py);
+				if (d < best - 1E-9
+						|| (d <= best + 1E-9 && orthogonality > bestOrtho)) {
+					best = d;
+					bestOrtho = orthogonality;
+					bestCross = cross;
+				}
+			}
+			return bestCross * orientation > 0 ? best : -best;
+		}
+	}
+
+}
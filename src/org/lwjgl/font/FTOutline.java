@@ -0,0 +1,112 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font;
+
+import java.awt.Shape;
+
+/**
+ * FTOutline is the flattened outline of a glyph together with the
+ * triangulations of its front and back cap. The contours are flattened once on
+ * creation, the caps are tesselated on first use. The outline is not modified
+ * afterwards, so it can be shared by the polygon, outline and extruded glyphs
+ * of the same glyph and used from several threads.
+ *
+ * @see FTOutlineCache
+ * @see FTVectoriser
+ */
+public final class FTOutline {
+
+	/**
+	 * A point of a contour is an array of two doubles and two doubles in the
+	 * packed array. Each cap has about one vertex and one triangle per point.
+	 */
+	private static final int BYTES_PER_POINT = 32 + 16 + 2 * (32 + 12);
+
+	private final FTVectoriser vectoriser;
+
+	private FTMesh front = null;
+	private FTMesh back = null;
+
+	private final int memorySize;
+
+	/**
+	 * Flattens the contours of a glyph.
+	 *
+	 * @param glyph
+	 *            The outline of the glyph.
+	 */
+	public FTOutline(final Shape glyph) {
+		vectoriser = new FTVectoriser(glyph);
+		memorySize = vectoriser.pointCount() * FTOutline.BYTES_PER_POINT;
+	}
+
+	/**
+	 * Returns the estimated memory of the outline.
+	 *
+	 * @return The memory in bytes, estimated from the number of points for
+	 *         the contours and both caps.
+	 */
+	public int getMemorySize() {
+		return memorySize;
+	}
+
+	/**
+	 * Returns the number of contours.
+	 *
+	 * @return The number of contours.
+	 */
+	public int contourCount() {
+		return vectoriser.contourCount();
+	}
+
+	/**
+	 * Returns a contour. The contour must not be modified.
+	 *
+	 * @param index
+	 *            The index of the contour.
+	 * @return The contour.
+	 */
+	public FTContour contour(int index) {
+		return vectoriser.contour(index);
+	}
+
+	/**
+	 * Returns the number of points of all contours.
+	 *
+	 * @return The number of points.
+	 */
+	public int pointCount() {
+		return vectoriser.pointCount();
+	}
+
+	/**
+	 * Returns the winding rule of the contours.
+	 *
+	 * @return The winding rule of the <code>PathIterator</code>.
+	 */
+	public int contourFlag() {
+		return vectoriser.contourFlag();
+	}
+
+	/**
+	 * Returns the triangulation of the front or the back cap. The mesh must
+	 * not be modified.
+	 *
+	 * @param frontFacing
+	 *            <code>true</code> for the front cap, <code>false</code> for
+	 *            the back cap.
+	 * @return The triangulation.
+	 */
+	public synchronized FTMesh getMesh(boolean frontFacing) {
+		if (frontFacing) {
+			if (front == null)
+				front = vectoriser.createMesh(FTVectoriser.FTGL_FRONT_FACING);
+			return front;
+		}
+		if (back == null)
+			back = vectoriser.createMesh(FTVectoriser.FTGL_BACK_FACING);
+		return back;
+	}
+
+}
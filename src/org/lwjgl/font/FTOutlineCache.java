@@ -0,0 +1,237 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font;
+
+import java.awt.Font;
+import java.awt.Shape;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * FTOutlineCache holds the flattened outlines of glyphs, keyed by font and
+ * glyph code. The font includes name, style, size and transform, so the
+ * polygon, outline and extruded fonts created from the same {@link Font} share
+ * the outlines and each glyph is flattened and tesselated only once. The cache
+ * is thread safe.
+ * <p>
+ * The cache keeps the outlines within a memory budget and drops the least
+ * recently used ones beyond it. Fonts using the cache acquire their font and
+ * release it when disposed, the outlines of a font are removed once it is not
+ * used anymore. Glyphs keep the outlines they were made with, when these are
+ * dropped from the cache.
+ *
+ * @see FTOutline
+ */
+public final class FTOutlineCache {
+
+	/** The default memory budget of a cache, 8 MB. */
+	public static final long DEFAULT_MEMORY_BUDGET = 8L << 20;
+
+	private static final FTOutlineCache SHARED = new FTOutlineCache();
+
+	/** The outlines, the least recently used first. */
+	private final Map<Key, FTOutline> outlines = new LinkedHashMap<Key, FTOutline>(
+			64, 0.75f, true);
+
+	/** The number of users of each font. */
+	private final Map<Font, int[]> users = new HashMap<Font, int[]>();
+
+	private long memoryBudget;
+
+	private long memoryUsage = 0;
+
+	/**
+	 * Creates a cache with the default memory budget.
+	 */
+	public FTOutlineCache() {
+		this(FTOutlineCache.DEFAULT_MEMORY_BUDGET);
+	}
+
+	/**
+	 * Creates a cache.
+	 *
+	 * @param bytes
+	 *            The memory budget in bytes.
+	 */
+	public FTOutlineCache(long bytes) {
+		memoryBudget = bytes;
+	}
+
+	/**
+	 * Returns the cache shared by all vector fonts.
+	 *
+	 * @return The shared cache.
+	 */
+	public static FTOutlineCache getShared() {
+		return FTOutlineCache.SHARED;
+	}
+
+	/**
+	 * Returns the outline of a glyph, flattening it if not cached yet.
+	 *
+	 * @param font
+	 *            The font of the glyph.
+	 * @param glyphCode
+	 *            The glyph code.
+	 * @param glyph
+	 *            The outline of the glyph, used if not cached yet.
+	 * @return The shared outline.
+	 */
+	public FTOutline get(final Font font, final int glyphCode, final Shape glyph) {
+		assert font != null : "Font cannot be null!";
+		final Key key = new Key(font, glyphCode);
+		synchronized (this) {
+			FTOutline outline = outlines.get(key);
+			if (outline != null)
+				return outline;
+		}
+		// flattened without holding the lock, another thread may add the
+		// outline meanwhile
+		FTOutline outline = new FTOutline(glyph);
+		synchronized (this) {
+			FTOutline other = outlines.get(key);
+			if (other != null)
+				return other;
+			outlines.put(key, outline);
+			memoryUsage += outline.getMemorySize();
+			trim();
+		}
+		return outline;
+	}
+
+	/**
+	 * Registers a user of the outlines of a font.
+	 *
+	 * @param font
+	 *            The font.
+	 * @see #release(Font)
+	 */
+	public synchronized void acquire(final Font font) {
+		int[] count = users.get(font);
+		if (count == null)
+			users.put(font, count = new int[1]);
+		count[0]++;
+	}
+
+	/**
+	 * Unregisters a user of the outlines of a font. The outlines are removed,
+	 * when the last user is gone.
+	 *
+	 * @param font
+	 *            The font.
+	 * @see #acquire(Font)
+	 */
+	public synchronized void release(final Font font) {
+		int[] count = users.get(font);
+		assert count != null : "Font not acquired!";
+		if (count != null && --count[0] == 0) {
+			users.remove(font);
+			remove(font);
+		}
+	}
+
+	/**
+	 * Sets the memory budget. The least recently used outlines are dropped,
+	 * until the budget is met.
+	 *
+	 * @param bytes
+	 *            The budget in bytes.
+	 */
+	public synchronized void setMemoryBudget(long bytes) {
+		memoryBudget = bytes;
+		trim();
+	}
+
+	/**
+	 * Returns the memory budget.
+	 *
+	 * @return The budget in bytes.
+	 */
+	public synchronized long getMemoryBudget() {
+		return memoryBudget;
+	}
+
+	/**
+	 * Returns the memory used by the cached outlines.
+	 *
+	 * @return The estimated memory in bytes.
+	 * @see FTOutline#getMemorySize()
+	 */
+	public synchronized long getMemoryUsage() {
+		return memoryUsage;
+	}
+
+	/**
+	 * Returns the number of cached outlines.
+	 *
+	 * @return The number of outlines.
+	 */
+	public synchronized int size() {
+		return outlines.size();
+	}
+
+	/**
+	 * Removes the outlines of a font.
+	 *
+	 * @param font
+	 *            The font.
+	 */
+	public synchronized void remove(final Font font) {
+		for (Iterator<Map.Entry<Key, FTOutline>> i = outlines.entrySet()
+				.iterator(); i.hasNext();) {
+			Map.Entry<Key, FTOutline> entry = i.next();
+			if (entry.getKey().font.equals(font)) {
+				memoryUsage -= entry.getValue().getMemorySize();
+				i.remove();
+			}
+		}
+	}
+
+	/**
+	 * Removes all outlines.
+	 */
+	public synchronized void clear() {
+		outlines.clear();
+		memoryUsage = 0;
+	}
+
+	/**
+	 * Drops the least recently used outlines, until the memory budget is met.
+	 */
+	private void trim() {
+		Iterator<FTOutline> i = outlines.values().iterator();
+		while (memoryUsage > memoryBudget && i.hasNext()) {
+			memoryUsage -= i.next().getMemorySize();
+			i.remove();
+		}
+	}
+
+	private static final class Key {
+
+		final Font font;
+		final int glyphCode;
+
+		Key(final Font font, final int glyphCode) {
+			this.font = font;
+			this.glyphCode = glyphCode;
+		}
+
+		@Override
+		public int hashCode() {
+			return font.hashCode() * 31 + glyphCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			return other.glyphCode == glyphCode && other.font.equals(font);
+		}
+
+	}
+
+}
@@ -0,0 +1,157 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import org.lwjgl.font.gl.FTGL;
+import org.lwjgl.font.gl.FTGLBackend;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL15;
+
+/**
+ * FTTextMesh is the immutable geometry of a whole string. The glyphs are
+ * translated to their positions in the string and merged into one vertex and
+ * one index buffer, so the string is rendered with a single draw call. The
+ * mesh does not depend on the glyph cache of the font it was baked with and
+ * has to be disposed on its own.
+ *
+ * @see org.lwjgl.font.glfont.FTFont#bake(String)
+ */
+public final class FTTextMesh {
+
+	private static final int STRIDE = FTGeometry.FLOATS_PER_VERTEX * 4;
+
+	private final int mode;
+	private final int vertexCount;
+	private final int indexCount;
+	private final FTBBox bBox;
+
+	/**
+	 * The data to upload, released after the upload.
+	 */
+	private FloatBuffer vertexData;
+	private IntBuffer indexData;
+
+	private int vertexBuffer = 0;
+	private int indexBuffer = 0;
+
+	/**
+	 * Creates a mesh from the merged geometry of a string.
+	 *
+	 * @param geometry
+	 *            The geometry of the string. It is copied.
+	 * @param bBox
+	 *            The bounding box of the string.
+	 */
+	public FTTextMesh(FTGeometry geometry, FTBBox bBox) {
+		mode = geometry.getMode();
+		vertexCount = geometry.getVertexCount();
+		indexCount = geometry.getIndexCount();
+		this.bBox = new FTBBox(bBox.lowerX, bBox.lowerY, bBox.lowerZ,
+				bBox.upperX, bBox.upperY, bBox.upperZ);
+
+		final int floats = vertexCount * FTGeometry.FLOATS_PER_VERTEX;
+		vertexData = ByteBuffer.allocateDirect(floats * 4)
+				.order(ByteOrder.nativeOrder()).asFloatBuffer();
+		vertexData.put(geometry.getVertices(), 0, floats).flip();
+		indexData = ByteBuffer.allocateDirect(indexCount * 4)
+				.order(ByteOrder.nativeOrder()).asIntBuffer();
+		indexData.put(geometry.getIndices(), 0, indexCount).flip();
+	}
+
+	/**
+	 * Renders the mesh with one draw call. The buffers are created on the
+	 * first call.
+	 */
+	public void render() {
+		if (indexCount == 0)
+			return;
+		assert vertexData != null || vertexBuffer != 0 : "Mesh is disposed!";
+
+		final FTGLBackend gl = FTGL.get();
+		gl.glPushClientAttrib(GL11.GL_CLIENT_VERTEX_ARRAY_BIT);
+		if (vertexBuffer == 0) {
+			vertexBuffer = gl.glGenBuffers();
+			indexBuffer = gl.glGenBuffers();
+			gl.glBindBuffer(GL15.GL_ARRAY_BUFFER, vertexBuffer);
+			gl.glBufferData(GL15.GL_ARRAY_BUFFER, vertexData,
+					GL15.GL_STATIC_DRAW);
+			gl.glBindBuffer(GL15.GL_ELEMENT_ARRAY_BUFFER, indexBuffer);
+			gl.glBufferData(GL15.GL_ELEMENT_ARRAY_BUFFER, indexData,
+					GL15.GL_STATIC_DRAW);
+			vertexData = null;
+			indexData = null;
+		} else {
+			gl.glBindBuffer(GL15.GL_ARRAY_BUFFER, vertexBuffer);
+			gl.glBindBuffer(GL15.GL_ELEMENT_ARRAY_BUFFER, indexBuffer);
+		}
+
+		gl.glEnableClientState(GL11.GL_VERTEX_ARRAY);
+		gl.glEnableClientState(GL11.GL_NORMAL_ARRAY);
+		gl.glVertexPointer(3, GL11.GL_FLOAT, FTTextMesh.STRIDE, 0);
+		gl.glNormalPointer(GL11.GL_FLOAT, FTTextMesh.STRIDE, 12);
+		gl.glDrawElements(mode, indexCount, GL11.GL_UNSIGNED_INT, 0);
+
+		gl.glBindBuffer(GL15.GL_ELEMENT_ARRAY_BUFFER, 0);
+		gl.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
+		gl.glPopClientAttrib();
+	}
+
+	/**
+	 * Deletes the buffers of this mesh. The mesh cannot be rendered
+	 * afterwards.
+	 */
+	public void dispose() {
+		if (vertexBuffer != 0) {
+			FTGL.get().glDeleteBuffers(vertexBuffer);
+			FTGL.get().glDeleteBuffers(indexBuffer);
+			vertexBuffer = 0;
+			indexBuffer = 0;
+		}
+		vertexData = null;
+		indexData = null;
+	}
+
+	/**
+	 * Returns the bounding box of the string.
+	 *
+	 * @return A copy of the bounding box.
+	 */
+	public FTBBox getBBox() {
+		return new FTBBox(bBox.lowerX, bBox.lowerY, bBox.lowerZ, bBox.upperX,
+				bBox.upperY, bBox.upperZ);
+	}
+
+	/**
+	 * Returns the primitive type of this mesh.
+	 *
+	 * @return <code>GL_TRIANGLES</code> or <code>GL_LINES</code>.
+	 */
+	public int getMode() {
+		return mode;
+	}
+
+	/**
+	 * Returns the number of vertices.
+	 *
+	 * @return The number of vertices.
+	 */
+	public int getVertexCount() {
+		return vertexCount;
+	}
+
+	/**
+	 * Returns the number of indices.
+	 *
+	 * @return The number of indices.
+	 */
+	public int getIndexCount() {
+		return indexCount;
+	}
+
+}
@@ -100,7 +100,19 @@ public class FTVectoriser {
 		if (mesh != null)
 			mesh.dispose();
 
-		mesh = new FTMesh();
+		mesh = createMesh(zNormal);
+	}
+
+	/**
+	 * Builds a new FTMesh from the vector outline data. Unlike
+	 * {@link #makeMesh(double)} the current mesh is kept.
+	 * 
+	 * @param zNormal
+	 *            The direction of the z axis of the normal for this mesh
+	 * @return The new mesh.
+	 */
+	public FTMesh createMesh(double zNormal) {
+		FTMesh mesh = new FTMesh();
 
 		GLUtessellator tobj = GLU.gluNewTess();
 		FTTesselatorCallback callback = new FTTesselatorCallback();
@@ -145,6 +157,7 @@ public class FTVectoriser {
 		tobj.gluTessEndPolygon();
 
 		tobj.gluDeleteTess();
+		return mesh;
 	}
 
 	/**
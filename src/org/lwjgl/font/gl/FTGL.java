@@ -0,0 +1,38 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font.gl;
+
+/**
+ * FTGL holds the backend all fonts and glyphs send their OpenGL calls to. By
+ * default this is the LWJGL backend. The null and the recording backend allow
+ * to run, measure and test the library without an OpenGL context.
+ * 
+ * @see FTGLBackend
+ */
+public class FTGL {
+
+	private static volatile FTGLBackend backend = new FTLWJGLBackend();
+
+	/**
+	 * Returns the active backend.
+	 * 
+	 * @return The active backend.
+	 */
+	public static FTGLBackend get() {
+		return backend;
+	}
+
+	/**
+	 * Sets the backend. Glyphs and textures created with another backend must
+	 * not be rendered afterwards.
+	 * 
+	 * @param gl
+	 *            The new backend.
+	 */
+	public static void set(FTGLBackend gl) {
+		assert gl != null : "Backend cannot be null!";
+		backend = gl;
+	}
+
+}
@@ -0,0 +1,148 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font.gl;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * FTGLBackend is the set of OpenGL entry points the library calls. The
+ * signatures follow the LWJGL <code>GL11</code> methods of the same name.
+ * The active backend is returned by {@link FTGL#get()}.
+ * 
+ * @see FTGL
+ * @see FTLWJGLBackend
+ * @see FTNullBackend
+ * @see FTRecordingBackend
+ */
+public interface FTGLBackend {
+
+	void glBegin(int mode);
+
+	void glEnd();
+
+	void glVertex2f(float x, float y);
+
+	void glVertex3f(float x, float y, float z);
+
+	void glNormal3f(float nx, float ny, float nz);
+
+	void glNormal3d(double nx, double ny, double nz);
+
+	void glTexCoord2f(float s, float t);
+
+	void glColor4f(float red, float green, float blue, float alpha);
+
+	void glColor3f(float red, float green, float blue);
+
+	int glGenLists(int range);
+
+	void glNewList(int list, int mode);
+
+	void glEndList();
+
+	void glCallList(int list);
+
+	boolean glIsList(int list);
+
+	void glDeleteLists(int list, int range);
+
+	void glPushMatrix();
+
+	void glPopMatrix();
+
+	void glTranslatef(float x, float y, float z);
+
+	void glTranslated(double x, double y, double z);
+
+	void glScalef(float x, float y, float z);
+
+	void glPushAttrib(int mask);
+
+	void glPopAttrib();
+
+	void glPushClientAttrib(int mask);
+
+	void glPopClientAttrib();
+
+	void glEnable(int cap);
+
+	void glDisable(int cap);
+
+	void glBlendFunc(int sfactor, int dfactor);
+
+	void glAlphaFunc(int func, float ref);
+
+	void glDepthFunc(int func);
+
+	void glHint(int target, int mode);
+
+	void glUseProgram(int program);
+
+	int glGetInteger(int pname);
+
+	void glGetFloat(int pname, FloatBuffer params);
+
+	void glPixelStorei(int pname, int param);
+
+	void glPixelTransferf(int pname, float param);
+
+	void glRasterPos2f(float x, float y);
+
+	void glBitmap(int width, int height, float xorig, float yorig,
+			float xmove, float ymove, ByteBuffer bitmap);
+
+	void glDrawPixels(int width, int height, int format, int type,
+			ByteBuffer pixels);
+
+	int glGenTextures();
+
+	void glBindTexture(int target, int texture);
+
+	void glDeleteTextures(IntBuffer textures);
+
+	void glTexParameteri(int target, int pname, int param);
+
+	void glTexImage2D(int target, int level, int internalformat, int width,
+			int height, int border, int format, int type, ByteBuffer pixels);
+
+	void glTexSubImage2D(int target, int level, int xoffset, int yoffset,
+			int width, int height, int format, int type, ByteBuffer pixels);
+
+	void glEnableClientState(int cap);
+
+	void glDisableClientState(int cap);
+
+	void glVertexPointer(int size, int stride, FloatBuffer pointer);
+
+	void glTexCoordPointer(int size, int stride, FloatBuffer pointer);
+
+	void glColorPointer(int size, int stride, FloatBuffer pointer);
+
+	void glDrawArrays(int mode, int first, int count);
+
+	void glVertexPointer(int size, int type, int stride, long offset);
+
+	void glNormalPointer(int type, int stride, long offset);
+
+	void glDrawElements(int mode, int count, int type, long offset);
+
+	int glGenBuffers();
+
+	void glBindBuffer(int target, int buffer);
+
+	void glBufferData(int target, FloatBuffer data, int usage);
+
+	void glBufferData(int target, IntBuffer data, int usage);
+
+	void glBufferData(int target, long size, int usage);
+
+	void glBufferSubData(int target, long offset, FloatBuffer data);
+
+	void glBufferSubData(int target, long offset, IntBuffer data);
+
+	void glDeleteBuffers(int buffer);
+
+}
@@ -0,0 +1,272 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font.gl;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL20;
+
+/**
+ * FTLWJGLBackend passes all calls to the current LWJGL OpenGL context.
+ * 
+ * @see FTGLBackend
+ */
+public class FTLWJGLBackend implements FTGLBackend {
+
+	public void glBegin(int mode) {
+		GL11.glBegin(mode);
+	}
+
+	public void glEnd() {
+		GL11.glEnd();
+	}
+
+	public void glVertex2f(float x, float y) {
+		GL11.glVertex2f(x, y);
+	}
+
+	public void glVertex3f(float x, float y, float z) {
+		GL11.glVertex3f(x, y, z);
+	}
+
+	public void glNormal3f(float nx, float ny, float nz) {
+		GL11.glNormal3f(nx, ny, nz);
+	}
+
+	public void glNormal3d(double nx, double ny, double nz) {
+		GL11.glNormal3d(nx, ny, nz);
+	}
+
+	public void glTexCoord2f(float s, float t) {
+		GL11.glTexCoord2f(s, t);
+	}
+
+	public void glColor4f(float red, float green, float blue, float alpha) {
+		GL11.glColor4f(red, green, blue, alpha);
+	}
+
+	public void glColor3f(float red, float green, float blue) {
+		GL11.glColor3f(red, green, blue);
+	}
+
+	public int glGenLists(int range) {
+		return GL11.glGenLists(range);
+	}
+
+	public void glNewList(int list, int mode) {
+		GL11.glNewList(list, mode);
+	}
+
+	public void glEndList() {
+		GL11.glEndList();
+	}
+
+	public void glCallList(int list) {
+		GL11.glCallList(list);
+	}
+
+	public boolean glIsList(int list) {
+		return GL11.glIsList(list);
+	}
+
+	public void glDeleteLists(int list, int range) {
+		GL11.glDeleteLists(list, range);
+	}
+
+	public void glPushMatrix() {
+		GL11.glPushMatrix();
+	}
+
+	public void glPopMatrix() {
+		GL11.glPopMatrix();
+	}
+
+	public void glTranslatef(float x, float y, float z) {
+		GL11.glTranslatef(x, y, z);
+	}
+
+	public void glTranslated(double x, double y, double z) {
+		GL11.glTranslated(x, y, z);
+	}
+
+	public void glScalef(float x, float y, float z) {
+		GL11.glScalef(x, y, z);
+	}
+
+	public void glPushAttrib(int mask) {
+		GL11.glPushAttrib(mask);
+	}
+
+	public void glPopAttrib() {
+		GL11.glPopAttrib();
+	}
+
+	public void glPushClientAttrib(int mask) {
+		GL11.glPushClientAttrib(mask);
+	}
+
+	public void glPopClientAttrib() {
+		GL11.glPopClientAttrib();
+	}
+
+	public void glEnable(int cap) {
+		GL11.glEnable(cap);
+	}
+
+	public void glDisable(int cap) {
+		GL11.glDisable(cap);
+	}
+
+	public void glBlendFunc(int sfactor, int dfactor) {
+		GL11.glBlendFunc(sfactor, dfactor);
+	}
+
+	public void glAlphaFunc(int func, float ref) {
+		GL11.glAlphaFunc(func, ref);
+	}
+
+	public void glDepthFunc(int func) {
+		GL11.glDepthFunc(func);
+	}
+
+	public void glHint(int target, int mode) {
+		GL11.glHint(target, mode);
+	}
+
+	public void glUseProgram(int program) {
+		GL20.glUseProgram(program);
+	}
+
+	public int glGetInteger(int pname) {
+		return GL11.glGetInteger(pname);
+	}
+
+	public void glGetFloat(int pname, FloatBuffer params) {
+		GL11.glGetFloat(pname, params);
+	}
+
+	public void glPixelStorei(int pname, int param) {
+		GL11.glPixelStorei(pname, param);
+	}
+
+	public void glPixelTransferf(int pname, float param) {
+		GL11.glPixelTransferf(pname, param);
+	}
+
+	public void glRasterPos2f(float x, float y) {
+		GL11.glRasterPos2f(x, y);
+	}
+
+	public void glBitmap(int width, int height, float xorig, float yorig,
+			float xmove, float ymove, ByteBuffer bitmap) {
+		GL11.glBitmap(width, height, xorig, yorig, xmove, ymove, bitmap);
+	}
+
+	public void glDrawPixels(int width, int height, int format, int type,
+			ByteBuffer pixels) {
+		GL11.glDrawPixels(width, height, format, type, pixels);
+	}
+
+	public int glGenTextures() {
+		return GL11.glGenTextures();
+	}
+
+	public void glBindTexture(int target, int texture) {
+		GL11.glBindTexture(target, texture);
+	}
+
+	public void glDeleteTextures(IntBuffer textures) {
+		GL11.glDeleteTextures(textures);
+	}
+
+	public void glTexParameteri(int target, int pname, int param) {
+		GL11.glTexParameteri(target, pname, param);
+	}
+
+	public void glTexImage2D(int target, int level, int internalformat,
+			int width, int height, int border, int format, int type,
+			ByteBuffer pixels) {
+		GL11.glTexImage2D(target, level, internalformat, width, height, border,
+				format, type, pixels);
+	}
+
+	public void glTexSubImage2D(int target, int level, int xoffset, int yoffset,
+			int width, int height, int format, int type, ByteBuffer pixels) {
+		GL11.glTexSubImage2D(target, level, xoffset, yoffset, width, height,
+				format, type, pixels);
+	}
+
+	public void glEnableClientState(int cap) {
+		GL11.glEnableClientState(cap);
+	}
+
+	public void glDisableClientState(int cap) {
+		GL11.glDisableClientState(cap);
+	}
+
+	public void glVertexPointer(int size, int stride, FloatBuffer pointer) {
+		GL11.glVertexPointer(size, stride, pointer);
+	}
+
+	public void glTexCoordPointer(int size, int stride, FloatBuffer pointer) {
+		GL11.glTexCoordPointer(size, stride, pointer);
+	}
+
+	public void glColorPointer(int size, int stride, FloatBuffer pointer) {
+		GL11.glColorPointer(size, stride, pointer);
+	}
+
+	public void glDrawArrays(int mode, int first, int count) {
+		GL11.glDrawArrays(mode, first, count);
+	}
+
+	public void glVertexPointer(int size, int type, int stride, long offset) {
+		GL11.glVertexPointer(size, type, stride, offset);
+	}
+
+	public void glNormalPointer(int type, int stride, long offset) {
+		GL11.glNormalPointer(type, stride, offset);
+	}
+
+	public void glDrawElements(int mode, int count, int type, long offset) {
+		GL11.glDrawElements(mode, count, type, offset);
+	}
+
+	public int glGenBuffers() {
+		return GL15.glGenBuffers();
+	}
+
+	public void glBindBuffer(int target, int buffer) {
+		GL15.glBindBuffer(target, buffer);
+	}
+
+	public void glBufferData(int target, FloatBuffer data, int usage) {
+		GL15.glBufferData(target, data, usage);
+	}
+
+	public void glBufferData(int target, IntBuffer data, int usage) {
+		GL15.glBufferData(target, data, usage);
+	}
+
+	public void glBufferData(int target, long size, int usage) {
+		GL15.glBufferData(target, size, usage);
+	}
+
+	public void glBufferSubData(int target, long offset, FloatBuffer data) {
+		GL15.glBufferSubData(target, offset, data);
+	}
+
+	public void glBufferSubData(int target, long offset, IntBuffer data) {
+		GL15.glBufferSubData(target, offset, data);
+	}
+
+	public void glDeleteBuffers(int buffer) {
+		GL15.glDeleteBuffers(buffer);
+	}
+
+}
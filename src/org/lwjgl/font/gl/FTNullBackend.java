@@ -0,0 +1,282 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font.gl;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import org.lwjgl.opengl.GL11;
+
+/**
+ * FTNullBackend ignores all calls. Only the names of textures, buffers and
+ * display lists, the maximum texture size and the current color are answered,
+ * so that fonts can be created and rendered without an OpenGL context.
+ * Rendering with this backend measures the pure CPU cost of the library.
+ * 
+ * @see FTGLBackend
+ */
+public class FTNullBackend implements FTGLBackend {
+
+	/** The maximum texture size reported. */
+	public static final int MAX_TEXTURE_SIZE = 2048;
+
+	private int lastList = 0;
+	private int lastTexture = 0;
+	private int lastBuffer = 0;
+
+	public void glBegin(int mode) {
+		/* empty */
+	}
+
+	public void glEnd() {
+		/* empty */
+	}
+
+	public void glVertex2f(float x, float y) {
+		/* empty */
+	}
+
+	public void glVertex3f(float x, float y, float z) {
+		/* empty */
+	}
+
+	public void glNormal3f(float nx, float ny, float nz) {
+		/* empty */
+	}
+
+	public void glNormal3d(double nx, double ny, double nz) {
+		/* empty */
+	}
+
+	public void glTexCoord2f(float s, float t) {
+		/* empty */
+	}
+
+	public void glColor4f(float red, float green, float blue, float alpha) {
+		/* empty */
+	}
+
+	public void glColor3f(float red, float green, float blue) {
+		/* empty */
+	}
+
+	public int glGenLists(int range) {
+		int first = lastList + 1;
+		lastList += range;
+		return first;
+	}
+
+	public void glNewList(int list, int mode) {
+		/* empty */
+	}
+
+	public void glEndList() {
+		/* empty */
+	}
+
+	public void glCallList(int list) {
+		/* empty */
+	}
+
+	public boolean glIsList(int list) {
+		return list > 0 && list <= lastList;
+	}
+
+	public void glDeleteLists(int list, int range) {
+		/* empty */
+	}
+
+	public void glPushMatrix() {
+		/* empty */
+	}
+
+	public void glPopMatrix() {
+		/* empty */
+	}
+
+	public void glTranslatef(float x, float y, float z) {
+		/* empty */
+	}
+
+	public void glTranslated(double x, double y, double z) {
+		/* empty */
+	}
+
+	public void glScalef(float x, float y, float z) {
+		/* empty */
+	}
+
+	public void glPushAttrib(int mask) {
+		/* empty */
+	}
+
+	public void glPopAttrib() {
+		/* empty */
+	}
+
+	public void glPushClientAttrib(int mask) {
+		/* empty */
+	}
+
+	public void glPopClientAttrib() {
+		/* empty */
+	}
+
+	public void glEnable(int cap) {
+		/* empty */
+	}
+
+	public void glDisable(int cap) {
+		/* empty */
+	}
+
+	public void glBlendFunc(int sfactor, int dfactor) {
+		/* empty */
+	}
+
+	public void glAlphaFunc(int func, float ref) {
+		/* empty */
+	}
+
+	public void glDepthFunc(int func) {
+		/* empty */
+	}
+
+	public void glHint(int target, int mode) {
+		/* empty */
+	}
+
+	public void glUseProgram(int program) {
+		/* empty */
+	}
+
+	public int glGetInteger(int pname) {
+		return pname == GL11.GL_MAX_TEXTURE_SIZE ? MAX_TEXTURE_SIZE : 0;
+	}
+
+	public void glGetFloat(int pname, FloatBuffer params) {
+		if (pname == GL11.GL_CURRENT_COLOR)
+			for (int i = params.position(); i < params.limit(); i++)
+				params.put(i, 1.0f);
+	}
+
+	public void glPixelStorei(int pname, int param) {
+		/* empty */
+	}
+
+	public void glPixelTransferf(int pname, float param) {
+		/* empty */
+	}
+
+	public void glRasterPos2f(float x, float y) {
+		/* empty */
+	}
+
+	public void glBitmap(int width, int height, float xorig, float yorig,
+			float xmove, float ymove, ByteBuffer bitmap) {
+		/* empty */
+	}
+
+	public void glDrawPixels(int width, int height, int format, int type,
+			ByteBuffer pixels) {
+		/* empty */
+	}
+
+	public int glGenTextures() {
+		return ++lastTexture;
+	}
+
+	public void glBindTexture(int target, int texture) {
+		/* empty */
+	}
+
+	public void glDeleteTextures(IntBuffer textures) {
+		/* empty */
+	}
+
+	public void glTexParameteri(int target, int pname, int param) {
+		/* empty */
+	}
+
+	public void glTexImage2D(int target, int level, int internalformat,
+			int width, int height, int border, int format, int type,
+			ByteBuffer pixels) {
+		/* empty */
+	}
+
+	public void glTexSubImage2D(int target, int level, int xoffset, int yoffset,
+			int width, int height, int format, int type, ByteBuffer pixels) {
+		/* empty */
+	}
+
+	public void glEnableClientState(int cap) {
+		/* empty */
+	}
+
+	public void glDisableClientState(int cap) {
+		/* empty */
+	}
+
+	public void glVertexPointer(int size, int stride, FloatBuffer pointer) {
+		/* empty */
+	}
+
+	public void glTexCoordPointer(int size, int stride, FloatBuffer pointer) {
+		/* empty */
+	}
+
+	public void glColorPointer(int size, int stride, FloatBuffer pointer) {
+		/* empty */
+	}
+
+	public void glDrawArrays(int mode, int first, int count) {
+		/* empty */
+	}
+
+	public void glVertexPointer(int size, int type, int stride, long offset) {
+		/* empty */
+	}
+
+	public void glNormalPointer(int type, int stride, long offset) {
+		/* empty */
+	}
+
+	public void glDrawElements(int mode, int count, int type, long offset) {
+		/* empty */
+	}
+
+	public int glGenBuffers() {
+		return ++lastBuffer;
+	}
+
+	public void glBindBuffer(int target, int buffer) {
+		/* empty */
+	}
+
+	public void glBufferData(int target, FloatBuffer data, int usage) {
+		/* empty */
+	}
+
+	public void glBufferData(int target, IntBuffer data, int usage) {
+		/* empty */
+	}
+
+	public void glBufferData(int target, long size, int usage) {
+		/* empty */
+	}
+
+	public void glBufferSubData(int target, long offset, FloatBuffer data) {
+		/* empty */
+	}
+
+	public void glBufferSubData(int target, long offset, IntBuffer data) {
+		/* empty */
+	}
+
+	public void glDeleteBuffers(int buffer) {
+		/* empty */
+	}
+
+}
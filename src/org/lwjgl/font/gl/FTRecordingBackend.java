@@ -0,0 +1,487 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font.gl;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * FTRecordingBackend counts the calls made to it, the bytes of pixel data
+ * uploaded and the changes of the OpenGL state. The calls are passed on to a
+ * delegate. Without a delegate the calls go to a {@link FTNullBackend}, so
+ * that fonts can be used and their calls asserted in headless tests.
+ * 
+ * @see FTGLBackend
+ */
+public class FTRecordingBackend implements FTGLBackend {
+
+	/**
+	 * The calls counted as state changes.
+	 */
+	private static final Set<String> STATE_CALLS = new HashSet<String>(
+			Arrays.asList("glEnable", "glDisable", "glBlendFunc",
+					"glAlphaFunc", "glDepthFunc", "glHint", "glPixelStorei",
+					"glPixelTransferf", "glBindTexture", "glBindBuffer",
+					"glTexParameteri", "glUseProgram", "glPushAttrib",
+					"glPopAttrib", "glPushClientAttrib", "glPopClientAttrib",
+					"glEnableClientState", "glDisableClientState"));
+
+	private final FTGLBackend delegate;
+
+	private final Map<String, int[]> calls = new TreeMap<String, int[]>();
+	private int totalCalls = 0;
+	private int drawCalls = 0;
+	private int stateChanges = 0;
+	private long bytesUploaded = 0;
+
+	/**
+	 * Creates a recording backend without an OpenGL context.
+	 */
+	public FTRecordingBackend() {
+		this(new FTNullBackend());
+	}
+
+	/**
+	 * Creates a recording backend, that passes all calls on.
+	 * 
+	 * @param delegate
+	 *            The backend to pass the calls to.
+	 */
+	public FTRecordingBackend(FTGLBackend delegate) {
+		assert delegate != null : "Delegate cannot be null!";
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Returns the number of calls since the last reset.
+	 * 
+	 * @return The number of calls.
+	 */
+	public int getCallCount() {
+		return totalCalls;
+	}
+
+	/**
+	 * Returns the number of calls of a method since the last reset.
+	 * 
+	 * @param method
+	 *            The name of the method, e.g. <code>"glDrawArrays"</code>.
+	 * @return The number of calls.
+	 */
+	public int getCallCount(String method) {
+		int[] count = calls.get(method);
+		return count == null ? 0 : count[0];
+	}
+
+	/**
+	 * Returns the number of draw calls since the last reset. Each
+	 * <code>glBegin</code>, display list call, bitmap, pixel rectangle, array
+	 * and element draw counts as one.
+	 * 
+	 * @return The number of draw calls.
+	 */
+	public int getDrawCallCount() {
+		return drawCalls;
+	}
+
+	/**
+	 * Returns the number of state changes since the last reset. Enabling and
+	 * disabling capabilities, setting functions and parameters, binding
+	 * textures and programs and pushing and popping attributes count as one
+	 * change each.
+	 * 
+	 * @return The number of state changes.
+	 */
+	public int getStateChangeCount() {
+		return stateChanges;
+	}
+
+	/**
+	 * Returns the number of bytes passed to textures, bitmaps, pixel drawing and
+	 * buffer objects since the last reset.
+	 * 
+	 * @return The number of bytes uploaded.
+	 */
+	public long getBytesUploaded() {
+		return bytesUploaded;
+	}
+
+	/**
+	 * Resets all counters.
+	 */
+	public void reset() {
+		calls.clear();
+		totalCalls = 0;
+		drawCalls = 0;
+		stateChanges = 0;
+		bytesUploaded = 0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder();
+		s.append(totalCalls).append(" calls, ").append(drawCalls)
+				.append(" draws, ").append(stateChanges)
+				.append(" state changes, ").append(bytesUploaded)
+				.append(" bytes uploaded");
+		for (Map.Entry<String, int[]> e : calls.entrySet())
+			s.append("\n").append(e.getKey()).append(": ")
+					.append(e.getValue()[0]);
+		return s.toString();
+	}
+
+	private void record(String method) {
+		int[] count = calls.get(method);
+		if (count == null)
+			calls.put(method, count = new int[1]);
+		count[0]++;
+		totalCalls++;
+		if (STATE_CALLS.contains(method))
+			stateChanges++;
+	}
+
+	private void upload(Buffer data) {
+		if (data instanceof ByteBuffer)
+			bytesUploaded += data.remaining();
+		else if (data != null)
+			bytesUploaded += data.remaining() * 4L;
+	}
+
+	public void glBegin(int mode) {
+		record("glBegin");
+		drawCalls++;
+		delegate.glBegin(mode);
+	}
+
+	public void glEnd() {
+		record("glEnd");
+		delegate.glEnd();
+	}
+
+	public void glVertex2f(float x, float y) {
+		record("glVertex2f");
+		delegate.glVertex2f(x, y);
+	}
+
+	public void glVertex3f(float x, float y, float z) {
+		record("glVertex3f");
+		delegate.glVertex3f(x, y, z);
+	}
+
+	public void glNormal3f(float nx, float ny, float nz) {
+		record("glNormal3f");
+		delegate.glNormal3f(nx, ny, nz);
+	}
+
+	public void glNormal3d(double nx, double ny, double nz) {
+		record("glNormal3d");
+		delegate.glNormal3d(nx, ny, nz);
+	}
+
+	public void glTexCoord2f(float s, float t) {
+		record("glTexCoord2f");
+		delegate.glTexCoord2f(s, t);
+	}
+
+	public void glColor4f(float red, float green, float blue, float alpha) {
+		record("glColor4f");
+		delegate.glColor4f(red, green, blue, alpha);
+	}
+
+	public void glColor3f(float red, float green, float blue) {
+		record("glColor3f");
+		delegate.glColor3f(red, green, blue);
+	}
+
+	public int glGenLists(int range) {
+		record("glGenLists");
+		return delegate.glGenLists(range);
+	}
+
+	public void glNewList(int list, int mode) {
+		record("glNewList");
+		delegate.glNewList(list, mode);
+	}
+
+	public void glEndList() {
+		record("glEndList");
+		delegate.glEndList();
+	}
+
+	public void glCallList(int list) {
+		record("glCallList");
+		drawCalls++;
+		delegate.glCallList(list);
+	}
+
+	public boolean glIsList(int list) {
+		record("glIsList");
+		return delegate.glIsList(list);
+	}
+
+	public void glDeleteLists(int list, int range) {
+		record("glDeleteLists");
+		delegate.glDeleteLists(list, range);
+	}
+
+	public void glPushMatrix() {
+		record("glPushMatrix");
+		delegate.glPushMatrix();
+	}
+
+	public void glPopMatrix() {
+		record("glPopMatrix");
+		delegate.glPopMatrix();
+	}
+
+	public void glTranslatef(float x, float y, float z) {
+		record("glTranslatef");
+		delegate.glTranslatef(x, y, z);
+	}
+
+	public void glTranslated(double x, double y, double z) {
+		record("glTranslated");
+		delegate.glTranslated(x, y, z);
+	}
+
+	public void glScalef(float x, float y, float z) {
+		record("glScalef");
+		delegate.glScalef(x, y, z);
+	}
+
+	public void glPushAttrib(int mask) {
+		record("glPushAttrib");
+		delegate.glPushAttrib(mask);
+	}
+
+	public void glPopAttrib() {
+		record("glPopAttrib");
+		delegate.glPopAttrib();
+	}
+
+	public void glPushClientAttrib(int mask) {
+		record("glPushClientAttrib");
+		delegate.glPushClientAttrib(mask);
+	}
+
+	public void glPopClientAttrib() {
+		record("glPopClientAttrib");
+		delegate.glPopClientAttrib();
+	}
+
+	public void glEnable(int cap) {
+		record("glEnable");
+		delegate.glEnable(cap);
+	}
+
+	public void glDisable(int cap) {
+		record("glDisable");
+		delegate.glDisable(cap);
+	}
+
+	public void glBlendFunc(int sfactor, int dfactor) {
+		record("glBlendFunc");
+		delegate.glBlendFunc(sfactor, dfactor);
+	}
+
+	public void glAlphaFunc(int func, float ref) {
+		record("glAlphaFunc");
+		delegate.glAlphaFunc(func, ref);
+	}
+
+	public void glDepthFunc(int func) {
+		record("glDepthFunc");
+		delegate.glDepthFunc(func);
+	}
+
+	public void glHint(int target, int mode) {
+		record("glHint");
+		delegate.glHint(target, mode);
+	}
+
+	public void glUseProgram(int program) {
+		record("glUseProgram");
+		delegate.glUseProgram(program);
+	}
+
+	public int glGetInteger(int pname) {
+		record("glGetInteger");
+		return delegate.glGetInteger(pname);
+	}
+
+	public void glGetFloat(int pname, FloatBuffer params) {
+		record("glGetFloat");
+		delegate.glGetFloat(pname, params);
+	}
+
+	public void glPixelStorei(int pname, int param) {
+		record("glPixelStorei");
+		delegate.glPixelStorei(pname, param);
+	}
+
+	public void glPixelTransferf(int pname, float param) {
+		record("glPixelTransferf");
+		delegate.glPixelTransferf(pname, param);
+	}
+
+	public void glRasterPos2f(float x, float y) {
+		record("glRasterPos2f");
+		delegate.glRasterPos2f(x, y);
+	}
+
+	public void glBitmap(int width, int height, float xorig, float yorig,
+			float xmove, float ymove, ByteBuffer bitmap) {
+		record("glBitmap");
+		drawCalls++;
+		upload(bitmap);
+		delegate.glBitmap(width, height, xorig, yorig, xmove, ymove, bitmap);
+	}
+
+	public void glDrawPixels(int width, int height, int format, int type,
+			ByteBuffer pixels) {
+		record("glDrawPixels");
+		drawCalls++;
+		upload(pixels);
+		delegate.glDrawPixels(width, height, format, type, pixels);
+	}
+
+	public int glGenTextures() {
+		record("glGenTextures");
+		return delegate.glGenTextures();
+	}
+
+	public void glBindTexture(int target, int texture) {
+		record("glBindTexture");
+		delegate.glBindTexture(target, texture);
+	}
+
+	public void glDeleteTextures(IntBuffer textures) {
+		record("glDeleteTextures");
+		delegate.glDeleteTextures(textures);
+	}
+
+	public void glTexParameteri(int target, int pname, int param) {
+		record("glTexParameteri");
+		delegate.glTexParameteri(target, pname, param);
+	}
+
+	public void glTexImage2D(int target, int level, int internalformat,
+			int width, int height, int border, int format, int type,
+			ByteBuffer pixels) {
+		record("glTexImage2D");
+		upload(pixels);
+		delegate.glTexImage2D(target, level, internalformat, width, height, border,
+				format, type, pixels);
+	}
+
+	public void glTexSubImage2D(int target, int level, int xoffset, int yoffset,
+			int width, int height, int format, int type, ByteBuffer pixels) {
+		record("glTexSubImage2D");
+		upload(pixels);
+		delegate.glTexSubImage2D(target, level, xoffset, yoffset, width, height,
+				format, type, pixels);
+	}
+
+	public void glEnableClientState(int cap) {
+		record("glEnableClientState");
+		delegate.glEnableClientState(cap);
+	}
+
+	public void glDisableClientState(int cap) {
+		record("glDisableClientState");
+		delegate.glDisableClientState(cap);
+	}
+
+	public void glVertexPointer(int size, int stride, FloatBuffer pointer) {
+		record("glVertexPointer");
+		delegate.glVertexPointer(size, stride, pointer);
+	}
+
+	public void glTexCoordPointer(int size, int stride, FloatBuffer pointer) {
+		record("glTexCoordPointer");
+		delegate.glTexCoordPointer(size, stride, pointer);
+	}
+
+	public void glColorPointer(int size, int stride, FloatBuffer pointer) {
+		record("glColorPointer");
+		delegate.glColorPointer(size, stride, pointer);
+	}
+
+	public void glDrawArrays(int mode, int first, int count) {
+		record("glDrawArrays");
+		drawCalls++;
+		delegate.glDrawArrays(mode, first, count);
+	}
+
+	public void glVertexPointer(int size, int type, int stride, long offset) {
+		record("glVertexPointer");
+		delegate.glVertexPointer(size, type, stride, offset);
+	}
+
+	public void glNormalPointer(int type, int stride, long offset) {
+		record("glNormalPointer");
+		delegate.glNormalPointer(type, stride, offset);
+	}
+
+	public void glDrawElements(int mode, int count, int type, long offset) {
+		record("glDrawElements");
+		drawCalls++;
+		delegate.glDrawElements(mode, count, type, offset);
+	}
+
+	public int glGenBuffers() {
+		record("glGenBuffers");
+		return delegate.glGenBuffers();
+	}
+
+	public void glBindBuffer(int target, int buffer) {
+		record("glBindBuffer");
+		delegate.glBindBuffer(target, buffer);
+	}
+
+	public void glBufferData(int target, FloatBuffer data, int usage) {
+		record("glBufferData");
+		upload(data);
+		delegate.glBufferData(target, data, usage);
+	}
+
+	public void glBufferData(int target, IntBuffer data, int usage) {
+		record("glBufferData");
+		upload(data);
+		delegate.glBufferData(target, data, usage);
+	}
+
+	public void glBufferData(int target, long size, int usage) {
+		record("glBufferData");
+		delegate.glBufferData(target, size, usage);
+	}
+
+	public void glBufferSubData(int target, long offset, FloatBuffer data) {
+		record("glBufferSubData");
+		upload(data);
+		delegate.glBufferSubData(target, offset, data);
+	}
+
+	public void glBufferSubData(int target, long offset, IntBuffer data) {
+		record("glBufferSubData");
+		upload(data);
+		delegate.glBufferSubData(target, offset, data);
+	}
+
+	public void glDeleteBuffers(int buffer) {
+		record("glDeleteBuffers");
+		delegate.glDeleteBuffers(buffer);
+	}
+
+}
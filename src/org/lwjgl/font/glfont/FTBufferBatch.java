@@ -0,0 +1,182 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font.glfont;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.lwjgl.font.util.FTClientBuffer;
+
+/**
+ * FTBufferBatch renders many independent strings of a {@link FTGLBufferFont}
+ * into images of their own, e.g. for thumbnails, labels and captions, with
+ * several threads. The threads share the glyph cache of the font, so every
+ * glyph is rasterized once. Each thread draws into one array, that grows to
+ * the largest image and is reused for all its strings.
+ * <p>
+ * The image of a string is as wide as its advance and as high as the ascender
+ * and descender of the font, plus the padding on each side. It is passed to
+ * the {@link Output} on the thread that rendered it and reused afterwards, so
+ * it has to be written or copied before returning.
+ *
+ * <pre>
+ * FTBufferBatch batch = new FTBufferBatch(font, FTClientBuffer.GRAY);
+ * batch.render(captions, Runtime.getRuntime().availableProcessors(),
+ * 		new FTBufferBatch.Output() {
+ * 			public void rendered(int index, String string, FTClientBuffer image) {
+ * 				write(index, image);
+ * 			}
+ * 		});
+ * </pre>
+ *
+ * @see FTGLBufferFont#render(FTClientBuffer, String, float, float)
+ */
+public class FTBufferBatch {
+
+	/**
+	 * Receives the rendered images. Called by several threads at once.
+	 */
+	public interface Output {
+
+		/**
+		 * Called when a string is rendered.
+		 *
+		 * @param index
+		 *            The index of the string in the list.
+		 * @param string
+		 *            The string.
+		 * @param image
+		 *            The image of the string, only valid until this method
+		 *            returns.
+		 */
+		void rendered(int index, String string, FTClientBuffer image);
+	}
+
+	private final FTGLBufferFont font;
+
+	private final int format;
+
+	private int padding = 1;
+
+	private int colour = 255;
+
+	private int background = 0;
+
+	/**
+	 * Creates a batch for a font.
+	 *
+	 * @param font
+	 *            The font to render the strings with.
+	 * @param format
+	 *            The format of the images, {@link FTClientBuffer#GRAY} or
+	 *            {@link FTClientBuffer#BITMAP}.
+	 */
+	public FTBufferBatch(FTGLBufferFont font, int format) {
+		assert font != null : "Font cannot be null!";
+		assert format == FTClientBuffer.GRAY
+				|| format == FTClientBuffer.BITMAP : "Unknown format!";
+		this.font = font;
+		this.format = format;
+	}
+
+	/**
+	 * Sets the space around the text.
+	 *
+	 * @param padding
+	 *            The padding in pixels.
+	 */
+	public void setPadding(int padding) {
+		assert padding >= 0 : "Padding cannot be negative!";
+		this.padding = padding;
+	}
+
+	/**
+	 * Returns the space around the text.
+	 *
+	 * @return The padding in pixels.
+	 */
+	public int getPadding() {
+		return padding;
+	}
+
+	/**
+	 * Sets the colour of the text and of the background.
+	 *
+	 * @param colour
+	 *            The colour of the text.
+	 * @param background
+	 *            The colour the images are filled with.
+	 * @see FTClientBuffer#setColour(int)
+	 * @see FTClientBuffer#fill(int)
+	 */
+	public void setColours(int colour, int background) {
+		this.colour = colour;
+		this.background = background;
+	}
+
+	/**
+	 * Renders strings into images, each by one of the threads.
+	 *
+	 * @param strings
+	 *            The strings to render.
+	 * @param threads
+	 *            The number of threads to use.
+	 * @param output
+	 *            Receives the images.
+	 * @throws InterruptedException
+	 *             If the calling thread was interrupted.
+	 */
+	public void render(final List<String> strings, int threads,
+			final Output output) throws InterruptedException {
+		final int ascender = (int) Math.ceil(font.ascender());
+		final int height = ascender + (int) Math.ceil(-font.descender()) + 2
+				* padding;
+		// the threads take the next string when done, long strings do not
+		// hold up the others
+		final AtomicInteger next = new AtomicInteger();
+		final ExecutorService executor = Executors.newFixedThreadPool(Math
+				.max(1, threads));
+		try {
+			List<Future<?>> tasks = new ArrayList<Future<?>>();
+			for (int t = 0; t < Math.max(1, threads); t++)
+				tasks.add(executor.submit(new Runnable() {
+					public void run() {
+						byte[] data = new byte[0];
+						for (int i = next.getAndIncrement(); i < strings.size(); i = next
+								.getAndIncrement()) {
+							final String string = strings.get(i);
+							final int width = Math.max(1, (int) Math
+									.ceil(font.advance(string)) + 2 * padding);
+							final int stride = format == FTClientBuffer.GRAY ? width
+									: (width + 7) / 8;
+							if (data.length < stride * height)
+								data = new byte[stride * height];
+							FTClientBuffer image = new FTClientBuffer(data,
+									width, height, stride, format);
+							image.fill(background);
+							image.setColour(colour);
+							font.render(image, string, padding, padding
+									+ ascender);
+							output.rendered(i, string, image);
+						}
+					}
+				}));
+			for (Future<?> task : tasks)
+				try {
+					task.get();
+				} catch (ExecutionException e) {
+					throw new IllegalStateException("Rendering a string failed.",
+							e.getCause());
+				}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+}
@@ -7,12 +7,22 @@ import java.awt.font.FontRenderContext;
 import java.awt.font.GlyphVector;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
+import java.nio.FloatBuffer;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 
 import org.lwjgl.font.FTBBox;
+import org.lwjgl.font.FTGeometry;
+import org.lwjgl.font.FTGeometryBuffer;
 import org.lwjgl.font.FTGlyphContainer;
+import org.lwjgl.font.FTTextMesh;
+import org.lwjgl.font.gl.FTGL;
+import org.lwjgl.font.gl.FTGLBackend;
 import org.lwjgl.font.glyph.FTGlyph;
+import org.lwjgl.font.glyph.FTTextureGlyph;
 import org.lwjgl.font.util.Vector3f;
+import org.lwjgl.opengl.GL11;
 
 /**
  * FTFont is the public interface for the FTGL library. Specific font classes
@@ -186,12 +196,48 @@ public abstract class FTFont {
 		return true;
 	}
 
+	/**
+	 * Replaces the font, the rendercontext and the glyph cache, e.g. to switch
+	 * between the sizes of a font without clearing the cache.
+	 * 
+	 * @param font
+	 *            The font, already transformed into the OpenGL space.
+	 * @param context
+	 *            The rendercontext to render the font with.
+	 * @param cache
+	 *            The glyphs made for the font and the rendercontext.
+	 */
+	protected void setFace(final Font font, final FontRenderContext context,
+			final FTGlyphContainer cache) {
+		this.font = font;
+		fontrendercontext = context;
+		glyphCache = cache;
+		updateAscenderDescender();
+		Iterator<FTGlyph> i = glyphCache.getGlyphs();
+		while (i.hasNext()) {
+			FTBBox box = i.next().getBBox();
+			if (ascender < box.upperY)
+				ascender = box.upperY;
+			if (descender > box.lowerY)
+				descender = box.lowerY;
+		}
+	}
+
+	/**
+	 * Returns the rendercontext the font is rendered with.
+	 * 
+	 * @return The rendercontext.
+	 */
+	protected final FontRenderContext getFontRenderContext() {
+		return fontrendercontext;
+	}
+
 	/**
 	 * Get the current face size in points.
 	 * 
 	 * @return face size
 	 */
-	public final int faceSize() {
+	public int faceSize() {
 		return font.getSize();
 	}
 
@@ -200,7 +246,7 @@ public abstract class FTFont {
 	 * 
 	 * @return Ascender height
 	 */
-	public final float ascender() // TODO
+	public float ascender() // TODO
 	{
 		assert ascender >= 0 : "Evil Developer.";
 		return ascender;
@@ -211,7 +257,7 @@ public abstract class FTFont {
 	 * 
 	 * @return Descender height
 	 */
-	public final float descender() // TODO
+	public float descender() // TODO
 	{
 		assert descender <= 0 : "Evil Developer.";
 		return descender;
@@ -261,14 +307,185 @@ public abstract class FTFont {
 	 *            String to be output.
 	 */
 	public void render(final String string) {
-		final char[] c = string.toCharArray();
-		GlyphVector vec = font.layoutGlyphVector(fontrendercontext, c, 0,
-				string.length(), fontFlags);
+		pushState();
+		renderGlyphs(string);
+		popState();
+	}
+
+	/**
+	 * Bakes the vector geometry of a string into one immutable mesh. The
+	 * glyphs are translated to their positions in the string, the mesh is
+	 * rendered with a single draw call and is independent of the glyph cache.
+	 * Glyphs without vector geometry, e.g. those of bitmap and texture fonts,
+	 * are left out. The mesh is scaled to the face size and the depth.
+	 * 
+	 * @param string
+	 *            The string to bake.
+	 * @return The mesh of the string.
+	 */
+	public FTTextMesh bake(final String string) {
+		GlyphVector vec = layout(string);
+		final float scale = getRenderScale();
+		final float scaleZ = getDepthScale();
+		Map<FTGlyph, FTGeometry> geometries = new HashMap<FTGlyph, FTGeometry>();
+		FTGeometry mesh = null;
+		FTBBox box = null;
+		for (int i = 0; i < vec.getNumGlyphs(); i++) {
+			Point2D p = vec.getGlyphPosition(i);
+			FTGlyph glyph = checkGlyph(vec, i);
+			if (!geometries.containsKey(glyph))
+				geometries.put(glyph, glyph.createGeometry());
+			FTGeometry geometry = geometries.get(glyph);
+			if (geometry == null)
+				continue;
+
+			if (mesh == null)
+				mesh = new FTGeometry(geometry.getMode());
+			final float x = (float) p.getX() * scale;
+			final float y = (float) p.getY() * scale;
+			glyph.appendGeometry(mesh, geometry, x, y, scale, scaleZ);
+			FTBBox glyphBox = glyph.getBBox();
+			glyphBox = new FTBBox(glyphBox.lowerX * scale, glyphBox.lowerY
+					* scale, glyphBox.lowerZ * scaleZ, glyphBox.upperX * scale,
+					glyphBox.upperY * scale, glyphBox.upperZ * scaleZ)
+					.move(new Vector3f(x, y, 0.0f));
+			box = box == null ? glyphBox : box.merge(glyphBox);
+		}
+		if (mesh == null)
+			mesh = new FTGeometry(GL11.GL_TRIANGLES);
+		return new FTTextMesh(mesh, box == null ? new FTBBox() : box);
+	}
+
+	/**
+	 * Creates the table of the glyphs of the given characters for instanced
+	 * rendering. The glyphs are created, if not cached yet, so this has to be
+	 * called with the OpenGL context of the font.
+	 * 
+	 * @param characters
+	 *            The characters of the table.
+	 * @return The glyph table.
+	 */
+	public FTGlyphTable createGlyphTable(final String characters) {
+		final int size = characters.length();
+		final float scale = getRenderScale();
+		char[] chars = characters.toCharArray();
+		float[] advances = new float[size];
+		int[] meshes = new int[size * 2];
+		int[] textureIDs = new int[size];
+		float[] quads = new float[size * FTGlyphTable.QUAD_FLOATS];
+		FloatBuffer quad = FloatBuffer.allocate(16);
+
+		for (int id = 0; id < size; id++) {
+			GlyphVector vec = layout(characters.substring(id, id + 1));
+			FTGlyph glyph = checkGlyph(vec, 0);
+			advances[id] = (float) vec.getGlyphPosition(1).getX() * scale;
+
+			meshes[id * 2] = -1;
+			FTGeometryBuffer buffer = glyph.getGeometryBuffer();
+			if (buffer != null && glyph.getGeometrySlot() >= 0) {
+				meshes[id * 2] = buffer.getFirstIndex(glyph.getGeometrySlot());
+				meshes[id * 2 + 1] = buffer.getIndexCount(glyph
+						.getGeometrySlot());
+			}
+
+			quad.clear();
+			if (glyph instanceof FTTextureGlyph
+					&& ((FTTextureGlyph) glyph).putQuad(quad, 0.0f, 0.0f)) {
+				textureIDs[id] = ((FTTextureGlyph) glyph).getTextureID();
+				// left top, left bottom, right bottom, right top
+				int offset = id * FTGlyphTable.QUAD_FLOATS;
+				quads[offset] = quad.get(0) * scale;
+				quads[offset + 1] = quad.get(5) * scale;
+				quads[offset + 2] = quad.get(8) * scale;
+				quads[offset + 3] = quad.get(1) * scale;
+				quads[offset + 4] = quad.get(2);
+				quads[offset + 5] = quad.get(7);
+				quads[offset + 6] = quad.get(10);
+				quads[offset + 7] = quad.get(3);
+			}
+		}
+		return new FTGlyphTable(chars, advances, meshes, textureIDs, quads);
+	}
+
+	/**
+	 * Returns the factor the glyphs are scaled with when rendered.
+	 * 
+	 * @return The scale factor, <code>1</code> by default.
+	 */
+	protected float getRenderScale() {
+		return 1.0f;
+	}
+
+	/**
+	 * Returns the factor the z axis of the glyphs is scaled with when
+	 * rendered.
+	 * 
+	 * @return The scale factor, <code>1</code> by default.
+	 */
+	protected float getDepthScale() {
+		return 1.0f;
+	}
+
+	/**
+	 * Sets up the OpenGL state this font renders with. Deriving fonts, that
+	 * change the state, have to restore it in {@link #popState()}.
+	 */
+	protected void pushState() {
+		/* empty */
+	}
+
+	/**
+	 * Restores the OpenGL state changed by {@link #pushState()}.
+	 */
+	protected void popState() {
+		/* empty */
+	}
+
+	/**
+	 * Returns whether this font renders with the same OpenGL state as another
+	 * font, so that both can be rendered between one {@link #pushState()} and
+	 * {@link #popState()}.
+	 * 
+	 * @param other
+	 *            The other font.
+	 * @return <code>true</code> if the state of both fonts is the same.
+	 */
+	protected boolean sameState(FTFont other) {
+		return other.getClass() == getClass();
+	}
+
+	/**
+	 * Renders a string with its origin at the given position. The state has to
+	 * be set up with {@link #pushState()}.
+	 * 
+	 * @param string
+	 *            String to be output.
+	 * @param x
+	 *            The x component of the origin.
+	 * @param y
+	 *            The y component of the origin.
+	 */
+	protected void renderAt(final String string, final float x, final float y) {
+		final FTGLBackend gl = FTGL.get();
+		gl.glPushMatrix();
+		gl.glTranslatef(x, y, 0.0f);
+		renderGlyphs(string);
+		gl.glPopMatrix();
+	}
+
+	/**
+	 * Renders the glyphs of a string. The state has to be set up with
+	 * {@link #pushState()}.
+	 * 
+	 * @param string
+	 *            String to be output.
+	 */
+	protected void renderGlyphs(final String string) {
+		GlyphVector vec = layout(string);
 
 		for (int i = 0; i < vec.getNumGlyphs(); i++) {
 			Point2D p = vec.getGlyphPosition(i);
-			FTGlyph glyph = checkGlyph(vec.getGlyphCode(i),
-					vec.getGlyphOutline(i, (float) -p.getX(), (float) p.getY()));
+			FTGlyph glyph = checkGlyph(vec, i);
 			assert FTBBox.renderBBox(
 					new Vector3f((float) p.getX(), (float) p.getY(), 0),
 					glyph.getBBox());
@@ -276,6 +493,19 @@ public abstract class FTFont {
 		}
 	}
 
+	/**
+	 * Lays out the glyphs of a string with the font, the rendercontext and the
+	 * flags of this FTFont.
+	 * 
+	 * @param string
+	 *            The string to layout.
+	 * @return The positioned glyphs of the string.
+	 */
+	protected GlyphVector layout(final String string) {
+		return font.layoutGlyphVector(fontrendercontext, string.toCharArray(),
+				0, string.length(), fontFlags);
+	}
+
 	/**
 	 * Queries the Font for errors.
 	 * 
@@ -298,6 +528,22 @@ public abstract class FTFont {
 	 */
 	protected abstract FTGlyph makeGlyph(Shape ftGlyph, float advance);
 
+	/**
+	 * Construct a glyph of the correct type for a glyph code. Calls
+	 * {@link #makeGlyph(Shape, float)} by default.
+	 * 
+	 * @param glyphCode
+	 *            The glyph code of the glyph.
+	 * @param ftGlyph
+	 *            The shape of the glyph.
+	 * @param advance
+	 *            The advance of the glyph.
+	 * @return An FT****Glyph or <code>null</code> on failure.
+	 */
+	protected FTGlyph makeGlyph(int glyphCode, Shape ftGlyph, float advance) {
+		return makeGlyph(ftGlyph, advance);
+	}
+
 	/**
 	 * Check that the glyph at <code>chr</code> exist. If not load it.
 	 * 
@@ -305,11 +551,12 @@ public abstract class FTFont {
 	 *            the glyphcode to render.
 	 * @param outline
 	 *            the outline of the glyph to render.
+	 * @return The cached glyph.
 	 */
-	private final FTGlyph checkGlyph(final int glyphCode, final Shape outline) {
+	protected final FTGlyph checkGlyph(final int glyphCode, final Shape outline) {
 		FTGlyph glyph = glyphCache.glyph(glyphCode);
 		if (glyph == null) {
-			glyph = makeGlyph(outline, 0.0f);
+			glyph = makeGlyph(glyphCode, outline, 0.0f);
 			glyph.init();
 			glyphCache.add(glyph, glyphCode);
 			FTBBox box = glyph.getBBox();
@@ -321,6 +568,27 @@ public abstract class FTFont {
 		return glyph;
 	}
 
+	/**
+	 * Check that the glyph at the given index of a laid out string exist. If
+	 * not load it. The outline is only extracted if the glyph is not cached.
+	 * 
+	 * @param vec
+	 *            The laid out string.
+	 * @param index
+	 *            The index of the glyph in the string.
+	 * @return The cached glyph.
+	 */
+	protected final FTGlyph checkGlyph(final GlyphVector vec, final int index) {
+		final int glyphCode = vec.getGlyphCode(index);
+		FTGlyph glyph = glyphCache.glyph(glyphCode);
+		if (glyph == null) {
+			Point2D p = vec.getGlyphPosition(index);
+			glyph = checkGlyph(glyphCode, vec.getGlyphOutline(index,
+					(float) -p.getX(), (float) p.getY()));
+		}
+		return glyph;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
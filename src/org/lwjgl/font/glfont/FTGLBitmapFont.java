@@ -4,18 +4,33 @@ package org.lwjgl.font.glfont;
 import java.awt.Font;
 import java.awt.Shape;
 import java.awt.font.FontRenderContext;
+import java.util.concurrent.Executor;
 
+import org.lwjgl.font.gl.FTGL;
 import org.lwjgl.font.glyph.FTBitmapGlyph;
 import org.lwjgl.font.glyph.FTGlyph;
+import org.lwjgl.font.util.FTRunLength;
 import org.lwjgl.opengl.GL11;
 
 /**
  * FTGLBitmapFont is a specialisation of the FTFont class for handling Bitmap
- * fonts
+ * fonts. The bitmaps of new glyphs are rasterized on their first render, or on
+ * the executor set with {@link #setExecutor(Executor)}, so a string with new
+ * glyphs does not stall the render thread. Such glyphs appear, once their
+ * bitmap is done.
  * 
  * @see FTFont
  */
-public class FTGLBitmapFont extends FTFont {
+public class FTGLBitmapFont extends FTGLRasterFont {
+
+	/**
+	 * The executor, that prepares the bitmaps of new glyphs, or
+	 * <code>null</code>.
+	 */
+	private Executor executor = null;
+
+	/** Whether new glyphs are compressed. */
+	private boolean compressed = false;
 
 	/**
 	 * Open and read a font file. Sets Error flag.
@@ -64,6 +79,50 @@ public class FTGLBitmapFont extends FTFont {
 		super(font, context);
 	}
 
+	/**
+	 * Sets the executor, that prepares the bitmaps of new glyphs. Glyphs are
+	 * skipped until their bitmap is done. Glyphs already cached are not
+	 * affected.
+	 * 
+	 * @param executor
+	 *            The executor or <code>null</code> to prepare the bitmaps on
+	 *            the first render.
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Returns the executor, that prepares the bitmaps of new glyphs.
+	 * 
+	 * @return The executor or <code>null</code>.
+	 */
+	public Executor getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * Sets whether new glyphs keep their bitmaps compressed into spans,
+	 * decompressed on each render. Saves the empty space of the glyphs at the
+	 * cost of the decompression. Glyphs already cached are not affected.
+	 * 
+	 * @param compressed
+	 *            <code>true</code> to compress new glyphs.
+	 * @see FTRunLength
+	 */
+	public void setCompressed(boolean compressed) {
+		this.compressed = compressed;
+	}
+
+	/**
+	 * Returns whether new glyphs are compressed.
+	 * 
+	 * @return <code>true</code> if new glyphs are compressed.
+	 */
+	public boolean isCompressed() {
+		return compressed;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -76,19 +135,35 @@ public class FTGLBitmapFont extends FTFont {
 	 * {@inheritDoc}
 	 */
 	@Override
-	public void render(String string) {
-		GL11.glPushClientAttrib(GL11.GL_CLIENT_PIXEL_STORE_BIT);
-		GL11.glPushAttrib(GL11.GL_ENABLE_BIT);
+	protected void pushState() {
+		FTGL.get().glPushClientAttrib(GL11.GL_CLIENT_PIXEL_STORE_BIT);
+		FTGL.get().glPushAttrib(GL11.GL_ENABLE_BIT);
 
-		GL11.glPixelStorei(GL11.GL_UNPACK_LSB_FIRST, GL11.GL_FALSE);
-		GL11.glPixelStorei(GL11.GL_UNPACK_ALIGNMENT, 1);
+		FTGL.get().glPixelStorei(GL11.GL_UNPACK_LSB_FIRST, GL11.GL_FALSE);
+		FTGL.get().glPixelStorei(GL11.GL_UNPACK_ALIGNMENT, 1);
 
-		GL11.glDisable(GL11.GL_BLEND);
+		FTGL.get().glDisable(GL11.GL_BLEND);
+	}
 
-		super.render(string);
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void popState() {
+		FTGL.get().glPopAttrib();
+		FTGL.get().glPopClientAttrib();
+	}
 
-		GL11.glPopAttrib();
-		GL11.glPopClientAttrib();
+	/**
+	 * Renders a string with its origin at the given raster position. With
+	 * subpixel phases the raster position is the whole pixel left of the
+	 * origin and the fraction is left to the phases of the glyphs.
+	 */
+	@Override
+	protected void renderAt(final String string, final float x, final float y) {
+		final float left = getSubpixelPhases() > 1 ? (float) Math.floor(x) : x;
+		FTGL.get().glRasterPos2f(left, y);
+		renderGlyphs(string, x - left);
 	}
 
 	/**
@@ -98,7 +173,10 @@ public class FTGLBitmapFont extends FTFont {
 	protected FTGlyph makeGlyph(Shape ftGlyph, float advance) {
 
 		if (ftGlyph != null) {
-			FTBitmapGlyph tempGlyph = new FTBitmapGlyph(ftGlyph, advance);
+			FTBitmapGlyph tempGlyph = new FTBitmapGlyph(ftGlyph, advance,
+					compressed, getFaceSize().arena, getFaceSize().memory);
+			if (executor != null)
+				tempGlyph.defer(executor);
 			return tempGlyph;
 		}
 
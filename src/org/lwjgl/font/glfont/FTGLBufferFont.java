@@ -4,19 +4,65 @@ package org.lwjgl.font.glfont;
 import java.awt.Font;
 import java.awt.Shape;
 import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.Point2D;
+import java.util.Iterator;
 
+import org.lwjgl.font.FTGlyphContainer;
 import org.lwjgl.font.glyph.FTBufferGlyph;
 import org.lwjgl.font.glyph.FTGlyph;
+import org.lwjgl.font.util.FTClientBuffer;
+import org.lwjgl.font.util.FTRunLength;
 
 /**
- * FTGLBufferFont is a specialisation of the FTFont class for handling Pixmap
- * (Grey Scale) fonts
+ * FTGLBufferFont is a specialisation of the FTFont class for drawing text into
+ * images in main memory, without OpenGL. The glyphs are rasterized once and
+ * composited into a {@link FTClientBuffer}, in 8 bit gray with alpha blending
+ * or in bits. The pen position is given in pixels of the image, the baseline
+ * row, and rounded to the nearest pixel.
+ * <p>
+ * Laying out a string with Java2D costs more than drawing its glyphs. Strings
+ * of characters below {@link #SIMPLE_CHARS}, that need no layout unless the
+ * font has flags or layout attributes, are placed by the cached advances of
+ * their characters instead.
+ * <p>
+ * {@link #render(FTClientBuffer, String, float, float)} may be called by
+ * several threads at once, each drawing into its own buffer. They share the
+ * glyph cache, glyphs missing are made by one thread at a time. The font must
+ * not be changed or its cache cleared meanwhile.
  * 
  * @see FTFont
+ * @see FTBufferBatch
  */
-class FTGLBufferFont extends FTFont {
+public class FTGLBufferFont extends FTFont {
 
-	private byte[] buffer = new byte[0];
+	/**
+	 * The characters below are laid out by their advances, they are neither
+	 * combined nor written right to left.
+	 */
+	public static final int SIMPLE_CHARS = 0x0300;
+
+	/**
+	 * The glyph and the advance of a simple character. The fields are final,
+	 * so an entry read without a lock is complete.
+	 */
+	private static final class SimpleGlyph {
+		final FTBufferGlyph glyph;
+		final float advance;
+
+		SimpleGlyph(FTBufferGlyph glyph, float advance) {
+			this.glyph = glyph;
+			this.advance = advance;
+		}
+	}
+
+	private FTClientBuffer buffer = null;
+
+	/** Whether new glyphs are compressed. */
+	private boolean compressed = false;
+
+	/** The simple characters, <code>null</code> entries are not made yet. */
+	private volatile SimpleGlyph[] simpleGlyphs = null;
 
 	/**
 	 * Open and read a font file. Sets Error flag.
@@ -62,8 +108,58 @@ class FTGLBufferFont extends FTFont {
 		super(font, context);
 	}
 
-	public void setClientBuffer(byte[] b) {
-		buffer = b;
+	/**
+	 * Sets the image {@link #render(String)} draws into.
+	 * 
+	 * @param buffer
+	 *            The image or <code>null</code> to draw nothing.
+	 */
+	public void setClientBuffer(FTClientBuffer buffer) {
+		this.buffer = buffer;
+	}
+
+	/**
+	 * Returns the image drawn into.
+	 * 
+	 * @return The image or <code>null</code>.
+	 */
+	public FTClientBuffer getClientBuffer() {
+		return buffer;
+	}
+
+	/**
+	 * Sets whether new glyphs keep only their coverage compressed into spans,
+	 * which are drawn directly. Saves the empty space of the glyphs at the
+	 * cost of slower drawing. Glyphs already cached are not affected.
+	 * 
+	 * @param compressed
+	 *            <code>true</code> to compress new glyphs.
+	 * @see FTRunLength
+	 */
+	public void setCompressed(boolean compressed) {
+		this.compressed = compressed;
+	}
+
+	/**
+	 * Returns whether new glyphs are compressed.
+	 * 
+	 * @return <code>true</code> if new glyphs are compressed.
+	 */
+	public boolean isCompressed() {
+		return compressed;
+	}
+
+	/**
+	 * Returns the memory used by the cached glyphs.
+	 * 
+	 * @return The used memory in bytes.
+	 */
+	public synchronized long getMemoryUsage() {
+		long memory = 0;
+		Iterator<FTGlyph> i = glyphCache.getGlyphs();
+		while (i.hasNext())
+			memory += i.next().getMemorySize();
+		return memory;
 	}
 
 	/**
@@ -72,6 +168,35 @@ class FTGLBufferFont extends FTFont {
 	@Override
 	public void dispose() {
 		super.dispose();
+		simpleGlyphs = null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized void clearCache(boolean precache) {
+		super.clearCache(precache);
+		simpleGlyphs = null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setFontFlags(int fontFlags) {
+		super.setFontFlags(fontFlags);
+		simpleGlyphs = null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void setFace(final Font font, final FontRenderContext context,
+			final FTGlyphContainer cache) {
+		super.setFace(font, context, cache);
+		simpleGlyphs = null;
 	}
 
 	/**
@@ -80,7 +205,159 @@ class FTGLBufferFont extends FTFont {
 	@Override
 	public void render(String string) {
 		if (buffer != null)
-			super.render(string);
+			render(buffer, string, 0.0f, 0.0f);
+	}
+
+	/**
+	 * Renders a string at a pen position into the client buffer.
+	 * 
+	 * @param string
+	 *            String to be output.
+	 * @param x
+	 *            The column of the pen position.
+	 * @param y
+	 *            The row of the baseline.
+	 */
+	public void render(String string, float x, float y) {
+		if (buffer != null)
+			render(buffer, string, x, y);
+	}
+
+	/**
+	 * Renders a string at a pen position into an image. Safe to call from
+	 * several threads with different images.
+	 * 
+	 * @param buffer
+	 *            The image to draw into.
+	 * @param string
+	 *            String to be output.
+	 * @param x
+	 *            The column of the pen position.
+	 * @param y
+	 *            The row of the baseline.
+	 */
+	public void render(final FTClientBuffer buffer, final String string,
+			final float x, final float y) {
+		assert buffer != null : "Buffer cannot be null!";
+		if (renderSimple(buffer, string, x, y))
+			return;
+		// the font is y up, the image y down
+		GlyphVector vec = layout(string);
+		for (int i = 0; i < vec.getNumGlyphs(); i++) {
+			Point2D p = vec.getGlyphPosition(i);
+			bufferGlyph(vec, i).render(buffer, x + (float) p.getX(),
+					y - (float) p.getY());
+		}
+	}
+
+	/**
+	 * Renders a string with its origin at the given pen position into the
+	 * client buffer.
+	 */
+	@Override
+	protected void renderAt(final String string, final float x, final float y) {
+		if (buffer != null)
+			render(buffer, string, x, y);
+	}
+
+	/**
+	 * Renders the glyphs of a string into the client buffer.
+	 */
+	@Override
+	protected void renderGlyphs(final String string) {
+		if (buffer != null)
+			render(buffer, string, 0.0f, 0.0f);
+	}
+
+	/**
+	 * Draws a string of simple characters by the cached advances.
+	 * 
+	 * @return <code>false</code> if the string needs to be laid out.
+	 */
+	private boolean renderSimple(final FTClientBuffer buffer,
+			final String string, final float x, final float y) {
+		final SimpleGlyph[] glyphs = simpleGlyphs(string);
+		if (glyphs == null)
+			return false;
+		float penX = x;
+		for (int i = 0; i < string.length(); i++) {
+			final SimpleGlyph entry = glyphs[string.charAt(i)];
+			entry.glyph.render(buffer, penX, y);
+			penX += entry.advance;
+		}
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public float advance(final String string) {
+		final SimpleGlyph[] glyphs = simpleGlyphs(string);
+		if (glyphs == null)
+			return super.advance(string);
+		float advance = 0.0f;
+		for (int i = 0; i < string.length(); i++)
+			advance += glyphs[string.charAt(i)].advance;
+		return advance;
+	}
+
+	/**
+	 * Makes the entries of the characters of a string.
+	 * 
+	 * @return The table of the simple characters or <code>null</code> if the
+	 *         string needs to be laid out.
+	 */
+	private SimpleGlyph[] simpleGlyphs(final String string) {
+		if (getFontFlags() != 0 || font.hasLayoutAttributes())
+			return null;
+		SimpleGlyph[] glyphs = simpleGlyphs;
+		if (glyphs == null)
+			glyphs = simpleGlyphs();
+		for (int i = 0; i < string.length(); i++) {
+			final char c = string.charAt(i);
+			if (c >= FTGLBufferFont.SIMPLE_CHARS)
+				return null;
+			if (glyphs[c] == null && simpleGlyph(glyphs, c) == null)
+				return null;
+		}
+		return glyphs;
+	}
+
+	/**
+	 * Returns the table of the simple characters, creating it if needed.
+	 */
+	private synchronized SimpleGlyph[] simpleGlyphs() {
+		if (simpleGlyphs == null)
+			simpleGlyphs = new SimpleGlyph[FTGLBufferFont.SIMPLE_CHARS];
+		return simpleGlyphs;
+	}
+
+	/**
+	 * Makes the entry of a simple character.
+	 * 
+	 * @return The entry or <code>null</code> if the character is not laid out
+	 *         as one glyph.
+	 */
+	private synchronized SimpleGlyph simpleGlyph(final SimpleGlyph[] glyphs,
+			final char c) {
+		if (glyphs[c] == null) {
+			GlyphVector vec = layout(String.valueOf(c));
+			if (vec.getNumGlyphs() != 1)
+				return null;
+			glyphs[c] = new SimpleGlyph((FTBufferGlyph) checkGlyph(vec, 0),
+					(float) vec.getGlyphPosition(1).getX());
+		}
+		return glyphs[c];
+	}
+
+	/**
+	 * Returns the glyph at an index of a laid out string, the cache is shared
+	 * by the rendering threads.
+	 */
+	private synchronized FTBufferGlyph bufferGlyph(final GlyphVector vec,
+			final int index) {
+		return (FTBufferGlyph) checkGlyph(vec, index);
 	}
 
 	/**
@@ -89,8 +366,8 @@ class FTGLBufferFont extends FTFont {
 	@Override
 	protected FTGlyph makeGlyph(Shape ftGlyph, float advance) {
 		if (ftGlyph != null) {
-			FTBufferGlyph tempGlyph = new FTBufferGlyph(ftGlyph, buffer,
-					advance);
+			FTBufferGlyph tempGlyph = new FTBufferGlyph(ftGlyph, advance,
+					compressed);
 			return tempGlyph;
 		}
 
@@ -4,22 +4,36 @@ package org.lwjgl.font.glfont;
 import java.awt.Font;
 import java.awt.Shape;
 import java.awt.font.FontRenderContext;
+import java.util.Iterator;
 
 import org.lwjgl.font.FTBBox;
+import org.lwjgl.font.FTBevel;
 import org.lwjgl.font.glyph.FTExtrdGlyph;
 import org.lwjgl.font.glyph.FTGlyph;
 
 /**
  * FTGLExtrdFont is a specialisation of the FTFont class for handling extruded
- * Polygon fonts
+ * Polygon fonts. The glyphs are built with one depth and scaled along the z
+ * axis to the depth of the font, so the depth can be changed without
+ * rebuilding them. Bevels keep their depth, only the side walls are
+ * stretched.
  * 
- * @see FTFont
+ * @see FTGLVectorFont
  * @see FTGLPolygonFont
  */
-public class FTGLExtrdFont extends FTFont {
+public class FTGLExtrdFont extends FTGLVectorFont {
 
 	private float depth = 1.0f;
 
+	/**
+	 * The depth the geometry of the cached glyphs is built with.
+	 */
+	private float geometryDepth = 1.0f;
+
+	private float smoothingAngle = FTExtrdGlyph.DEFAULT_SMOOTHING_ANGLE;
+
+	private FTBevel bevel = null;
+
 	/**
 	 * Open and read a font file. Uses the standard FontRenderContext.
 	 * 
@@ -76,14 +90,77 @@ public class FTGLExtrdFont extends FTFont {
 	}
 
 	/**
-	 * Sets the depth of this font.
+	 * Sets the depth of this font. The cached glyphs are scaled to the new
+	 * depth, the bevels keep their depth and only the side walls are
+	 * stretched. The glyphs are only rebuilt, if the sign of the depth
+	 * changes, e.g. from or to a flat font of depth <code>0</code>, or if the
+	 * depth of the bevels changes, because the font is too thin for them.
 	 * 
 	 * @param depth
 	 *            The new depth.
 	 */
 	public void setDepth(float depth) {
 		this.depth = depth;
-		glyphCache.clear();
+		if (Math.signum(depth) != Math.signum(geometryDepth)
+				|| (bevel != null && depth != geometryDepth && Math.min(Math
+						.abs(depth), Math.abs(geometryDepth)) <= bevel
+						.getDepth() * 2.0f)) {
+			geometryDepth = depth;
+			clearCache(false);
+			return;
+		}
+		final float scale = getDepthScale();
+		Iterator<FTGlyph> i = glyphCache.getGlyphs();
+		while (i.hasNext()) {
+			FTGlyph glyph = i.next();
+			if (glyph instanceof FTExtrdGlyph)
+				((FTExtrdGlyph) glyph).setDepthScale(scale);
+		}
+	}
+
+	/**
+	 * Sets the angle between neighboured edges of a glyph, below which the
+	 * side walls share smoothed normals. The cache is cleared.
+	 * 
+	 * @param angle
+	 *            The angle in radians, <code>0</code> for flat walls only.
+	 *            &pi;/4 by default.
+	 */
+	public void setSmoothingAngle(float angle) {
+		smoothingAngle = angle;
+		clearCache(false);
+	}
+
+	/**
+	 * Returns the angle between neighboured edges of a glyph, below which the
+	 * side walls share smoothed normals.
+	 * 
+	 * @return The angle in radians.
+	 */
+	public float getSmoothingAngle() {
+		return smoothingAngle;
+	}
+
+	/**
+	 * Sets the profile of the bevelled edges of the glyphs. The cache is
+	 * cleared.
+	 * 
+	 * @param bevel
+	 *            The profile, <code>null</code> for sharp edges.
+	 */
+	public void setBevel(FTBevel bevel) {
+		this.bevel = bevel;
+		geometryDepth = depth;
+		clearCache(false);
+	}
+
+	/**
+	 * Returns the profile of the bevelled edges of the glyphs.
+	 * 
+	 * @return The profile, <code>null</code> for sharp edges.
+	 */
+	public FTBevel getBevel() {
+		return bevel;
 	}
 
 	/**
@@ -105,14 +182,26 @@ public class FTGLExtrdFont extends FTFont {
 		return box;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected float getDepthScale() {
+		return geometryDepth != 0.0f ? depth / geometryDepth : 1.0f;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	protected FTGlyph makeGlyph(Shape ftGlyph, float advance) {
 		if (ftGlyph != null) {
-			FTExtrdGlyph tempGlyph = new FTExtrdGlyph(ftGlyph, depth, advance);
-			return tempGlyph;
+			FTExtrdGlyph tempGlyph = new FTExtrdGlyph(ftGlyph, geometryDepth,
+					advance);
+			tempGlyph.setSmoothingAngle(smoothingAngle);
+			tempGlyph.setBevel(bevel);
+			tempGlyph.setDepthScale(getDepthScale());
+			return prepareGlyph(tempGlyph);
 		}
 		return null;
 	}
@@ -0,0 +1,150 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font.glfont;
+
+import java.awt.Font;
+import java.awt.Shape;
+import java.awt.font.FontRenderContext;
+
+import org.lwjgl.font.FTMSDFGenerator;
+import org.lwjgl.font.glyph.FTMSDFGlyph;
+import org.lwjgl.font.glyph.FTTextureGlyph;
+import org.lwjgl.opengl.GL11;
+
+/**
+ * FTGLMSDFFont is a specialisation of the FTGLSDFFont class for multi-channel
+ * signed distance field fonts. The fields keep the corners of the glyphs sharp
+ * at large scales. The alpha test can not reconstruct the outline, so a shader
+ * program that computes the median of the red, green and blue channel has to
+ * be set with {@link #setShaderProgram(int)}. Rendering without one fails with
+ * an {@link IllegalStateException}.
+ *
+ * @see FTGLSDFFont
+ * @see FTMSDFGenerator
+ */
+public class FTGLMSDFFont extends FTGLSDFFont {
+
+	private final FTMSDFGenerator generator;
+
+	/**
+	 * Open and read a font file. Uses the standard FontRenderContext.
+	 *
+	 * @param fontname
+	 *            font file name.
+	 */
+	public FTGLMSDFFont(String fontname) {
+		this(Font.decode(fontname));
+	}
+
+	/**
+	 * Creates a new FTGLMSDFFont with the given {@link Font}. Uses the
+	 * standard FontRenderContext.
+	 *
+	 * @param font
+	 *            The font to create from this FTFont.
+	 */
+	public FTGLMSDFFont(Font font) {
+		this(font, FTFont.STANDARDCONTEXT);
+	}
+
+	/**
+	 * Reads the font from the given font name and renders the font to the given
+	 * fontrendercontext.
+	 *
+	 * @param fontname
+	 *            The fontname.
+	 * @param context
+	 *            The FontRenderContext to render with.
+	 */
+	public FTGLMSDFFont(final String fontname, final FontRenderContext context) {
+		this(Font.decode(fontname), context);
+	}
+
+	/**
+	 * Creates the FTFont from the given {@link Font}. The glyphs are rendered
+	 * with the default base size and spread.
+	 *
+	 * @param font
+	 *            The font to create this FTFont from.
+	 * @param context
+	 *            The rendercontext to render the glyphs with.
+	 */
+	public FTGLMSDFFont(final Font font, final FontRenderContext context) {
+		this(font, context, DEFAULT_BASE_SIZE, DEFAULT_SPREAD);
+	}
+
+	/**
+	 * Creates the FTFont from the given {@link Font}. The size of the given
+	 * font is the initial face size.
+	 *
+	 * @param font
+	 *            The font to create this FTFont from.
+	 * @param context
+	 *            The rendercontext to render the glyphs with.
+	 * @param baseSize
+	 *            The size in points, the glyphs are rendered with into the
+	 *            texture.
+	 * @param spread
+	 *            The distance in pixels, that is covered by the field.
+	 */
+	public FTGLMSDFFont(final Font font, final FontRenderContext context,
+			float baseSize, int spread) {
+		super(font, context, baseSize, spread);
+		generator = new FTMSDFGenerator(spread);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected FTTextureGlyph createGlyph(Shape ftGlyph, int id, int xOffset,
+			int yOffset, int width, int height) {
+		return new FTMSDFGlyph(ftGlyph, generator, id, xOffset, yOffset,
+				width, height);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @throws IllegalStateException
+	 *             if no shader program is set.
+	 */
+	@Override
+	public void render(final String string) {
+		// checked before the matrix is pushed
+		checkShaderProgram();
+		super.render(string);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @throws IllegalStateException
+	 *             if no shader program is set.
+	 */
+	@Override
+	protected void pushState() {
+		checkShaderProgram();
+		super.pushState();
+	}
+
+	/**
+	 * Fails, if no shader program is set. The <code>GL_RGB</code> atlas has
+	 * no alpha to test, so every glyph would be drawn as a box.
+	 */
+	private void checkShaderProgram() {
+		if (getShaderProgram() == 0)
+			throw new IllegalStateException(
+					"A multi-channel field needs a median shader program.");
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected int getTextureFormat() {
+		return GL11.GL_RGB;
+	}
+
+}
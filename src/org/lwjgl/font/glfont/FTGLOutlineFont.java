@@ -5,6 +5,7 @@ import java.awt.Font;
 import java.awt.Shape;
 import java.awt.font.FontRenderContext;
 
+import org.lwjgl.font.gl.FTGL;
 import org.lwjgl.font.glyph.FTGlyph;
 import org.lwjgl.font.glyph.FTOutlineGlyph;
 import org.lwjgl.opengl.GL11;
@@ -13,9 +14,9 @@ import org.lwjgl.opengl.GL11;
  * FTGLOutlineFont is a specialisation of the FTFont class for handling Vector
  * Outline fonts
  * 
- * @see FTFont
+ * @see FTGLVectorFont
  */
-public class FTGLOutlineFont extends FTFont {
+public class FTGLOutlineFont extends FTGLVectorFont {
 
 	/**
 	 * Open and read a font file. Sets Error flag.
@@ -76,21 +77,35 @@ public class FTGLOutlineFont extends FTFont {
 	 * {@inheritDoc}
 	 */
 	@Override
-	public void render(String string) {
-		GL11.glPushAttrib(GL11.GL_ENABLE_BIT | GL11.GL_HINT_BIT
+	protected void pushState() {
+		FTGL.get().glPushAttrib(GL11.GL_ENABLE_BIT | GL11.GL_HINT_BIT
 				| GL11.GL_LINE_BIT | GL11.GL_COLOR_BUFFER_BIT);
 
-		GL11.glDisable(GL11.GL_TEXTURE_2D);
+		FTGL.get().glDisable(GL11.GL_TEXTURE_2D);
 
-		GL11.glEnable(GL11.GL_LINE_SMOOTH);
-		GL11.glHint(GL11.GL_LINE_SMOOTH_HINT, GL11.GL_DONT_CARE);
-		GL11.glEnable(GL11.GL_BLEND);
-		GL11.glBlendFunc(GL11.GL_SRC_ALPHA, GL11.GL_ONE_MINUS_SRC_ALPHA); // GL_ONE
+		FTGL.get().glEnable(GL11.GL_LINE_SMOOTH);
+		FTGL.get().glHint(GL11.GL_LINE_SMOOTH_HINT, GL11.GL_DONT_CARE);
+		FTGL.get().glEnable(GL11.GL_BLEND);
+		FTGL.get().glBlendFunc(GL11.GL_SRC_ALPHA, GL11.GL_ONE_MINUS_SRC_ALPHA); // GL_ONE
 
-		super.render(string);
+		super.pushState();
+	}
 
-		GL11.glPopAttrib();
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void popState() {
+		super.popState();
+		FTGL.get().glPopAttrib();
+	}
 
+	/**
+	 * Returns <code>GL_LINES</code>, the outlines are drawn as lines.
+	 */
+	@Override
+	protected int getGeometryMode() {
+		return GL11.GL_LINES;
 	}
 
 	/**
@@ -100,7 +115,7 @@ public class FTGLOutlineFont extends FTFont {
 	protected final FTGlyph makeGlyph(Shape ftGlyph, float advance) {
 		if (ftGlyph != null) {
 			FTOutlineGlyph tempGlyph = new FTOutlineGlyph(ftGlyph, advance);
-			return tempGlyph;
+			return prepareGlyph(tempGlyph);
 		}
 		return null;
 	}
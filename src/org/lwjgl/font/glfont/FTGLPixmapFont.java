@@ -6,19 +6,40 @@ package org.lwjgl.font.glfont;
 import java.awt.Font;
 import java.awt.Shape;
 import java.awt.font.FontRenderContext;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
 
+import org.lwjgl.font.gl.FTGL;
 import org.lwjgl.font.glyph.FTGlyph;
 import org.lwjgl.font.glyph.FTPixmapGlyph;
+import org.lwjgl.font.util.FTRunLength;
 import org.lwjgl.opengl.GL11;
 
 /**
  * FTGLPixmapFont is a specialisation of the FTFont class for handling Pixmap
- * (Grey Scale) fonts
+ * (Grey Scale) fonts. The glyphs are tinted with the colour of the font, see
+ * {@link #setColour(float, float, float, float)}, or else with the current
+ * colour, which is queried from OpenGL on each render.
  * 
  * @see FTFont
  * @author joda
  */
-public class FTGLPixmapFont extends FTFont {
+public class FTGLPixmapFont extends FTGLRasterFont {
+
+	/**
+	 * The current colour, that the glyphs are tinted with, if the font has no
+	 * colour.
+	 */
+	private final FloatBuffer colour = ByteBuffer.allocateDirect(16 * 4)
+			.order(ByteOrder.nativeOrder()).asFloatBuffer();
+
+	/** The colour of the font or <code>null</code> for the current colour. */
+	private float[] tint = null;
+
+	/** Whether new glyphs are compressed. */
+	private boolean compressed = false;
 
 	/**
 	 * @param font
@@ -50,6 +71,63 @@ public class FTGLPixmapFont extends FTFont {
 		this(Font.decode(fontname), context);
 	}
 
+	/**
+	 * Sets whether new glyphs keep their coverage compressed into spans,
+	 * decompressed on each render. Saves the empty space of the glyphs at the
+	 * cost of the decompression. Glyphs already cached are not affected.
+	 * 
+	 * @param compressed
+	 *            <code>true</code> to compress new glyphs.
+	 * @see FTRunLength
+	 */
+	public void setCompressed(boolean compressed) {
+		this.compressed = compressed;
+	}
+
+	/**
+	 * Returns whether new glyphs are compressed.
+	 * 
+	 * @return <code>true</code> if new glyphs are compressed.
+	 */
+	public boolean isCompressed() {
+		return compressed;
+	}
+
+	/**
+	 * Sets the colour the glyphs are tinted with. Saves the query of the
+	 * current colour on each render, which stalls the pipeline.
+	 * 
+	 * @param red
+	 *            The red component.
+	 * @param green
+	 *            The green component.
+	 * @param blue
+	 *            The blue component.
+	 * @param alpha
+	 *            The alpha component.
+	 */
+	public void setColour(float red, float green, float blue, float alpha) {
+		tint = new float[] { red, green, blue, alpha };
+	}
+
+	/**
+	 * Removes the colour of the font, the glyphs are tinted with the current
+	 * colour again.
+	 */
+	public void clearColour() {
+		tint = null;
+	}
+
+	/**
+	 * Returns the colour the glyphs are tinted with.
+	 * 
+	 * @return The red, green, blue and alpha components, <code>null</code>
+	 *         for the current colour.
+	 */
+	public float[] getColour() {
+		return tint != null ? tint.clone() : null;
+	}
+
 	/**
 	 * Construct a FTPixmapGlyph.
 	 * 
@@ -60,7 +138,8 @@ public class FTGLPixmapFont extends FTFont {
 	@Override
 	protected FTGlyph makeGlyph(Shape ftGlyph, float advance) {
 		if (ftGlyph != null) {
-			FTPixmapGlyph tempGlyph = new FTPixmapGlyph(ftGlyph);
+			FTPixmapGlyph tempGlyph = new FTPixmapGlyph(ftGlyph, compressed,
+					getFaceSize().arena, getFaceSize().memory);
 			return tempGlyph;
 		}
 		return null;
@@ -75,26 +154,59 @@ public class FTGLPixmapFont extends FTFont {
 	}
 
 	/**
-	 * {@inheritDoc} Renders a string of characters
-	 * 
-	 * @param string
-	 *            'C' style string to be output.
+	 * {@inheritDoc}
 	 */
 	@Override
-	public void render(String string) {
-		GL11.glPushAttrib(GL11.GL_ENABLE_BIT | GL11.GL_PIXEL_MODE_BIT
+	protected void pushState() {
+		FTGL.get().glPushAttrib(GL11.GL_ENABLE_BIT | GL11.GL_PIXEL_MODE_BIT
 				| GL11.GL_COLOR_BUFFER_BIT);
-		GL11.glPushClientAttrib(GL11.GL_CLIENT_PIXEL_STORE_BIT);
+		FTGL.get().glPushClientAttrib(GL11.GL_CLIENT_PIXEL_STORE_BIT);
 
-		GL11.glEnable(GL11.GL_BLEND);
-		GL11.glBlendFunc(GL11.GL_SRC_ALPHA, GL11.GL_ONE_MINUS_SRC_ALPHA);
+		FTGL.get().glEnable(GL11.GL_BLEND);
+		FTGL.get().glBlendFunc(GL11.GL_SRC_ALPHA, GL11.GL_ONE_MINUS_SRC_ALPHA);
 
-		GL11.glDisable(GL11.GL_TEXTURE_2D);
+		FTGL.get().glDisable(GL11.GL_TEXTURE_2D);
 
-		super.render(string);
+		// the glyphs hold coverage only, tint them with the colour of the font
+		// or the current colour
+		if (tint != null) {
+			FTPixmapGlyph.setColour(tint[0], tint[1], tint[2], tint[3]);
+			return;
+		}
+		colour.clear();
+		FTGL.get().glGetFloat(GL11.GL_CURRENT_COLOR, colour);
+		FTPixmapGlyph.setColour(colour.get(0), colour.get(1), colour.get(2),
+				colour.get(3));
+	}
 
-		GL11.glPopClientAttrib();
-		GL11.glPopAttrib();
+	/**
+	 * {@inheritDoc} Fonts with different colours are tinted differently.
+	 */
+	@Override
+	protected boolean sameState(FTFont other) {
+		return super.sameState(other)
+				&& Arrays.equals(tint, ((FTGLPixmapFont) other).tint);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void popState() {
+		FTGL.get().glPopClientAttrib();
+		FTGL.get().glPopAttrib();
+	}
+
+	/**
+	 * Renders a string with its origin at the given raster position. With
+	 * subpixel phases the raster position is the whole pixel left of the
+	 * origin and the fraction is left to the phases of the glyphs.
+	 */
+	@Override
+	protected void renderAt(final String string, final float x, final float y) {
+		final float left = getSubpixelPhases() > 1 ? (float) Math.floor(x) : x;
+		FTGL.get().glRasterPos2f(left, y);
+		renderGlyphs(string, x - left);
 	}
 
 }
\ No newline at end of file
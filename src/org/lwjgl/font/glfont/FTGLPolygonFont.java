@@ -12,9 +12,9 @@ import org.lwjgl.font.glyph.FTPolyGlyph;
  * FTGLPolygonFont is a specialisation of the FTFont class for handling
  * tesselated Polygon Mesh fonts.
  * 
- * @see FTFont
+ * @see FTGLVectorFont
  */
-public class FTGLPolygonFont extends FTFont {
+public class FTGLPolygonFont extends FTGLVectorFont {
 
 	/**
 	 * Open and read a font file. Uses the standard FontRenderContext.
@@ -79,7 +79,7 @@ public class FTGLPolygonFont extends FTFont {
 	public FTGlyph makeGlyph(Shape ftGlyph, float advance) {
 		if (ftGlyph != null) {
 			FTPolyGlyph tempGlyph = new FTPolyGlyph(ftGlyph, advance);
-			return tempGlyph;
+			return prepareGlyph(tempGlyph);
 		}
 
 		return null;
@@ -0,0 +1,423 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font.glfont;
+
+import java.awt.Font;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.Point2D;
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.lwjgl.font.FTBBox;
+import org.lwjgl.font.FTGlyphContainer;
+import org.lwjgl.font.glyph.FTGlyph;
+import org.lwjgl.font.util.FTSlabArena;
+import org.lwjgl.font.util.Vector3f;
+
+/**
+ * FTGLRasterFont is the base class for fonts, that rasterize their glyphs for
+ * one size. The font keeps several sizes active at once. Each size has its own
+ * glyph cache and deriving fonts may add their own data, e.g. the pages of a
+ * texture atlas. {@link #faceSize(float)} switches to the size and only
+ * rasterizes glyphs not cached for it yet, so switching back and forth between
+ * sizes does not rebuild the glyphs.
+ * <p>
+ * All sizes share one memory budget. When a size is switched to and the budget
+ * is exceeded, the least recently used other sizes are released.
+ * <p>
+ * Each size allocates the direct memory of its glyphs from an arena of its
+ * own, which is released with the size.
+ * <p>
+ * The glyphs are rasterized at whole pixels, so their positions are snapped
+ * and small text is spaced unevenly. With {@link #setSubpixelPhases(int)} the
+ * pen positions are rounded to fractions of a pixel instead, and each glyph is
+ * rasterized once for each fraction it is drawn at. The variants are cached
+ * with the other glyphs of the size and count towards the memory budget.
+ *
+ * @see FTGLBitmapFont
+ * @see FTGLPixmapFont
+ * @see FTGLTextureFont
+ */
+public abstract class FTGLRasterFont extends FTFont {
+
+	/** The default memory budget of all sizes of a font, 16 MB. */
+	public static final long DEFAULT_MEMORY_BUDGET = 16L << 20;
+
+	/**
+	 * The largest number of subpixel phases. The phase of a variant is kept in
+	 * the glyph code in sixteenths of a pixel, above the 16 bits of the glyph
+	 * index and below the slot of a composite font.
+	 */
+	public static final int MAX_SUBPIXEL_PHASES = 16;
+
+	/**
+	 * The sizes by font and rendercontext, the least recently used first.
+	 */
+	private final Map<Map.Entry<Font, FontRenderContext>, FaceSize> sizes =
+			new LinkedHashMap<Map.Entry<Font, FontRenderContext>, FaceSize>(8,
+					0.75f, true);
+
+	/** The size the font renders with. */
+	private FaceSize current;
+
+	private long memoryBudget = FTGLRasterFont.DEFAULT_MEMORY_BUDGET;
+
+	private int subpixelPhases = 1;
+
+	/**
+	 * Creates the FTFont from the given {@link Font}.
+	 *
+	 * @param font
+	 *            The font to create this FTFont from.
+	 * @param context
+	 *            The rendercontext.
+	 */
+	public FTGLRasterFont(final Font font, final FontRenderContext context) {
+		super(font, context);
+		current = createFaceSize(this.font, context);
+		sizes.put(FTGLRasterFont.key(this.font, context), current);
+		setFace(current.font, current.context, current.glyphCache);
+	}
+
+	/**
+	 * Switches to a size. The glyphs of the size are kept, if it was used
+	 * before and has not been released since.
+	 *
+	 * @param size
+	 *            the face size in points (1/72 inch)
+	 * @param context
+	 *            The rendercontext to render the font with.
+	 * @return always <code>true</code>
+	 */
+	@Override
+	public boolean faceSize(final float size, final FontRenderContext context) {
+		final Font derived = font.deriveFont(size);
+		final Map.Entry<Font, FontRenderContext> key = FTGLRasterFont.key(
+				derived, context);
+		FaceSize face = sizes.get(key);
+		if (face == null) {
+			face = createFaceSize(derived, context);
+			sizes.put(key, face);
+		}
+		current = face;
+		setFace(face.font, face.context, face.glyphCache);
+		trim();
+		return true;
+	}
+
+	/**
+	 * Sets the memory budget of all sizes.
+	 *
+	 * @param bytes
+	 *            The budget in bytes.
+	 */
+	public void setMemoryBudget(long bytes) {
+		memoryBudget = bytes;
+		trim();
+	}
+
+	/**
+	 * Returns the memory budget of all sizes.
+	 *
+	 * @return The budget in bytes.
+	 */
+	public long getMemoryBudget() {
+		return memoryBudget;
+	}
+
+	/**
+	 * Sets the number of horizontal positions within a pixel the glyphs are
+	 * drawn at. Each glyph is rasterized once for each phase it is drawn at,
+	 * so the memory grows by up to this factor. The variants cached before are
+	 * kept, when the number changes.
+	 *
+	 * @param phases
+	 *            The number of phases, a power of two up to
+	 *            {@link #MAX_SUBPIXEL_PHASES}. <code>1</code> snaps the glyphs
+	 *            to whole pixels, the default.
+	 */
+	public void setSubpixelPhases(int phases) {
+		assert phases >= 1 && phases <= FTGLRasterFont.MAX_SUBPIXEL_PHASES
+				&& (phases & phases - 1) == 0 : "Phases must be a power of two up to 16!";
+		subpixelPhases = phases;
+	}
+
+	/**
+	 * Returns the number of horizontal positions within a pixel the glyphs are
+	 * drawn at.
+	 *
+	 * @return The number of phases, <code>1</code> if the glyphs are snapped
+	 *         to whole pixels.
+	 */
+	public int getSubpixelPhases() {
+		return subpixelPhases;
+	}
+
+	/**
+	 * Returns the memory used by the glyphs of all sizes.
+	 *
+	 * @return The used memory in bytes.
+	 */
+	public long getMemoryUsage() {
+		long memory = 0;
+		for (FaceSize face : sizes.values())
+			memory += face.getMemory();
+		return memory;
+	}
+
+	/**
+	 * Returns the direct memory the arenas of all sizes hold.
+	 *
+	 * @return The committed memory in bytes.
+	 * @see FTSlabArena#getCommittedBytes()
+	 */
+	public long getCommittedBytes() {
+		long memory = 0;
+		for (FaceSize face : sizes.values())
+			memory += face.arena.getCommittedBytes();
+		return memory;
+	}
+
+	/**
+	 * Returns the direct memory handed out by the arenas of all sizes.
+	 *
+	 * @return The used memory in bytes.
+	 * @see FTSlabArena#getUsedBytes()
+	 */
+	public long getUsedBytes() {
+		long memory = 0;
+		for (FaceSize face : sizes.values())
+			memory += face.arena.getUsedBytes();
+		return memory;
+	}
+
+	/**
+	 * Returns the number of active sizes.
+	 *
+	 * @return The number of sizes with a cache.
+	 */
+	public int getSizeCount() {
+		return sizes.size();
+	}
+
+	/**
+	 * Clears the cache of the current size.
+	 *
+	 * @param precache
+	 *            ignored.
+	 */
+	@Override
+	public void clearCache(boolean precache) {
+		super.clearCache(precache);
+		current.dispose();
+	}
+
+	/**
+	 * {@inheritDoc} The caches of all sizes are released.
+	 */
+	@Override
+	public void dispose() {
+		super.dispose();
+		for (FaceSize face : sizes.values())
+			face.dispose();
+		sizes.clear();
+		sizes.put(FTGLRasterFont.key(current.font, current.context), current);
+	}
+
+	/**
+	 * Creates the data of a new size. Deriving fonts may return their own
+	 * specialisation of FaceSize.
+	 *
+	 * @param font
+	 *            The font of the size.
+	 * @param context
+	 *            The rendercontext of the size.
+	 * @return The new size.
+	 */
+	protected FaceSize createFaceSize(final Font font,
+			final FontRenderContext context) {
+		return new FaceSize(font, context);
+	}
+
+	/**
+	 * Returns the size the font renders with.
+	 *
+	 * @return The current size.
+	 */
+	protected final FaceSize getFaceSize() {
+		return current;
+	}
+
+	/**
+	 * {@inheritDoc} With subpixel phases each glyph is drawn at the whole
+	 * pixel left of its pen position, with the variant of the remaining
+	 * fraction. The phases are taken relative to the origin of the string.
+	 */
+	@Override
+	protected void renderGlyphs(final String string) {
+		renderGlyphs(string, 0.0f);
+	}
+
+	/**
+	 * Renders the glyphs of a string, whose origin is the given fraction of a
+	 * pixel right of the current position. The state has to be set up with
+	 * {@link #pushState()}.
+	 *
+	 * @param string
+	 *            String to be output.
+	 * @param originX
+	 *            The fraction of a pixel, <code>0</code> without subpixel
+	 *            phases.
+	 */
+	protected void renderGlyphs(final String string, final float originX) {
+		if (subpixelPhases == 1) {
+			super.renderGlyphs(string);
+			return;
+		}
+		GlyphVector vec = layout(string);
+
+		for (int i = 0; i < vec.getNumGlyphs(); i++) {
+			Point2D p = vec.getGlyphPosition(i);
+			final float x = originX + (float) p.getX();
+			FTGlyph glyph = checkGlyph(vec, i, x);
+			final float pen = snapPen(x);
+			assert FTBBox.renderBBox(new Vector3f(pen, (float) p.getY(), 0),
+					glyph.getBBox());
+			glyph.render(pen, (float) p.getY(), 0.0f);
+		}
+	}
+
+	/**
+	 * Returns the left edge of the pixel a glyph is drawn at. The position is
+	 * rounded to the nearest phase first.
+	 *
+	 * @param x
+	 *            The pen position of the glyph.
+	 * @return The whole pixel left of the pen position, or the rounded pen
+	 *         position without subpixel phases.
+	 */
+	protected final float snapPen(final float x) {
+		if (subpixelPhases == 1)
+			return x;
+		final int steps = Math.round(x * subpixelPhases);
+		return (steps - (steps & subpixelPhases - 1)) / subpixelPhases;
+	}
+
+	/**
+	 * Check that the variant of the glyph at the given index of a laid out
+	 * string for the phase of a pen position exists. If not load it, with its
+	 * outline moved right by the phase. The variant of phase <code>0</code> is
+	 * the glyph itself.
+	 *
+	 * @param vec
+	 *            The laid out string.
+	 * @param index
+	 *            The index of the glyph in the string.
+	 * @param x
+	 *            The pen position of the glyph.
+	 * @return The cached variant, to be drawn at {@link #snapPen(float)}.
+	 */
+	protected final FTGlyph checkGlyph(final GlyphVector vec, final int index,
+			final float x) {
+		final int phase = Math.round(x * subpixelPhases) & subpixelPhases - 1;
+		if (phase == 0)
+			return checkGlyph(vec, index);
+		final int glyphCode = vec.getGlyphCode(index) | phase
+				* (FTGLRasterFont.MAX_SUBPIXEL_PHASES / subpixelPhases) << 16;
+		FTGlyph glyph = glyphCache.glyph(glyphCode);
+		if (glyph == null) {
+			Point2D p = vec.getGlyphPosition(index);
+			glyph = checkGlyph(glyphCode, vec.getGlyphOutline(index,
+					(float) -p.getX() + (float) phase / subpixelPhases,
+					(float) p.getY()));
+		}
+		return glyph;
+	}
+
+	/**
+	 * Releases the least recently used sizes, until the memory budget is met
+	 * or only the current size is left.
+	 */
+	private void trim() {
+		long memory = getMemoryUsage();
+		Iterator<FaceSize> i = sizes.values().iterator();
+		while (memory > memoryBudget && i.hasNext()) {
+			FaceSize face = i.next();
+			if (face == current)
+				continue;
+			memory -= face.getMemory();
+			face.dispose();
+			i.remove();
+		}
+	}
+
+	private static Map.Entry<Font, FontRenderContext> key(final Font font,
+			final FontRenderContext context) {
+		return new AbstractMap.SimpleImmutableEntry<Font, FontRenderContext>(
+				font, context);
+	}
+
+	/**
+	 * FaceSize holds the glyphs of one size of a raster font.
+	 */
+	protected static class FaceSize {
+
+		/** The font derived for the size. */
+		protected final Font font;
+
+		/** The rendercontext of the size. */
+		protected final FontRenderContext context;
+
+		/** The glyphs of the size. */
+		protected final FTGlyphContainer glyphCache = new FTGlyphContainer();
+
+		/** The direct memory of the glyphs of the size. */
+		protected final FTSlabArena arena = new FTSlabArena();
+
+		/**
+		 * The bytes of the glyphs of the size, added by the glyphs when they
+		 * create their image.
+		 */
+		protected final AtomicLong memory = new AtomicLong();
+
+		/**
+		 * Creates an empty size.
+		 *
+		 * @param font
+		 *            The font derived for the size.
+		 * @param context
+		 *            The rendercontext of the size.
+		 */
+		protected FaceSize(final Font font, final FontRenderContext context) {
+			this.font = font;
+			this.context = context;
+		}
+
+		/**
+		 * Returns the memory used by the glyphs of this size.
+		 *
+		 * @return The used memory in bytes, the image data of the glyphs
+		 *         counted in {@link #memory} by default.
+		 */
+		protected long getMemory() {
+			return memory.get();
+		}
+
+		/**
+		 * Releases the glyphs and the arena of this size. The size can be
+		 * used again afterwards.
+		 */
+		protected void dispose() {
+			glyphCache.clear();
+			arena.dispose();
+			memory.set(0);
+		}
+
+	}
+
+}
@@ -0,0 +1,303 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font.glfont;
+
+import java.awt.Font;
+import java.awt.Shape;
+import java.awt.font.FontRenderContext;
+
+import org.lwjgl.font.FTBBox;
+import org.lwjgl.font.gl.FTGL;
+import org.lwjgl.font.glyph.FTSDFGlyph;
+import org.lwjgl.font.glyph.FTTextureGlyph;
+import org.lwjgl.opengl.GL11;
+
+/**
+ * FTGLSDFFont is a specialisation of the FTGLTextureFont class for signed
+ * distance field fonts. The glyphs are rendered once at a base size into the
+ * texture atlas and scaled to the face size when rendered, so changing the
+ * face size neither clears the cache nor the textures.
+ * <p>
+ * Without a shader the glyphs are cut out with the alpha test at the outline.
+ * A caller supplied shader program receives the distance in the alpha channel
+ * of the texture, where 0.5 marks the outline.
+ *
+ * @see FTGLTextureFont
+ * @see FTSDFGlyph
+ */
+public class FTGLSDFFont extends FTGLTextureFont {
+
+	/** The default size in points, the glyphs are rendered with. */
+	public static final float DEFAULT_BASE_SIZE = 48.0f;
+
+	/** The default distance in pixels, that is covered by the field. */
+	public static final int DEFAULT_SPREAD = 6;
+
+	/**
+	 * The size the glyphs in the texture are rendered with.
+	 */
+	private final float baseSize;
+
+	/**
+	 * The distance in pixels, that is covered by the field.
+	 */
+	private final int spread;
+
+	/**
+	 * The size the glyphs are displayed with.
+	 */
+	private float displaySize;
+
+	/**
+	 * The shader program to render with, <code>0</code> to use the alpha test.
+	 */
+	private int shaderProgram = 0;
+
+	/**
+	 * Open and read a font file. Uses the standard FontRenderContext.
+	 *
+	 * @param fontname
+	 *            font file name.
+	 */
+	public FTGLSDFFont(String fontname) {
+		this(Font.decode(fontname));
+	}
+
+	/**
+	 * Creates a new FTGLSDFFont with the given {@link Font}. Uses the standard
+	 * FontRenderContext.
+	 *
+	 * @param font
+	 *            The font to create from this FTFont.
+	 */
+	public FTGLSDFFont(Font font) {
+		this(font, FTFont.STANDARDCONTEXT);
+	}
+
+	/**
+	 * Reads the font from the given font name and renders the font to the given
+	 * fontrendercontext.
+	 *
+	 * @param fontname
+	 *            The fontname.
+	 * @param context
+	 *            The FontRenderContext to render with.
+	 */
+	public FTGLSDFFont(final String fontname, final FontRenderContext context) {
+		this(Font.decode(fontname), context);
+	}
+
+	/**
+	 * Creates the FTFont from the given {@link Font}. The glyphs are rendered
+	 * with the default base size and spread.
+	 *
+	 * @param font
+	 *            The font to create this FTFont from.
+	 * @param context
+	 *            The rendercontext to render the glyphs with.
+	 */
+	public FTGLSDFFont(final Font font, final FontRenderContext context) {
+		this(font, context, DEFAULT_BASE_SIZE, DEFAULT_SPREAD);
+	}
+
+	/**
+	 * Creates the FTFont from the given {@link Font}. The size of the given
+	 * font is the initial face size.
+	 *
+	 * @param font
+	 *            The font to create this FTFont from.
+	 * @param context
+	 *            The rendercontext to render the glyphs with.
+	 * @param baseSize
+	 *            The size in points, the glyphs are rendered with into the
+	 *            texture.
+	 * @param spread
+	 *            The distance in pixels, that is covered by the field.
+	 */
+	public FTGLSDFFont(final Font font, final FontRenderContext context,
+			float baseSize, int spread) {
+		// the only size of the font is the base size, the size of the given
+		// font is reached by scaling
+		super(font.deriveFont(baseSize), context);
+		this.baseSize = baseSize;
+		this.spread = spread;
+		displaySize = font.getSize2D();
+	}
+
+	/**
+	 * Sets the shader program to render with. The distance is passed in the
+	 * alpha channel of the texture.
+	 *
+	 * @param program
+	 *            The shader program or <code>0</code> to use the alpha test.
+	 */
+	public void setShaderProgram(int program) {
+		shaderProgram = program;
+	}
+
+	/**
+	 * Returns the shader program this font renders with.
+	 *
+	 * @return The shader program or <code>0</code> if the alpha test is used.
+	 */
+	public int getShaderProgram() {
+		return shaderProgram;
+	}
+
+	/**
+	 * Returns the size the glyphs in the texture are rendered with.
+	 *
+	 * @return The base size in points.
+	 */
+	public float getBaseSize() {
+		return baseSize;
+	}
+
+	/**
+	 * Sets the face size. The glyphs are only scaled, the cache is kept.
+	 *
+	 * @param size
+	 *            the face size in points (1/72 inch)
+	 * @return always <code>true</code>
+	 */
+	@Override
+	public boolean faceSize(final float size) {
+		displaySize = size;
+		return true;
+	}
+
+	/**
+	 * Sets the face size. The glyphs are only scaled, the cache is kept and
+	 * the glyphs stay rendered with the context given on construction.
+	 *
+	 * @param size
+	 *            the face size in points (1/72 inch)
+	 * @param context
+	 *            ignored.
+	 * @return always <code>true</code>
+	 */
+	@Override
+	public boolean faceSize(final float size, FontRenderContext context) {
+		return this.faceSize(size);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int faceSize() {
+		return Math.round(displaySize);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public float ascender() {
+		return super.ascender() * getRenderScale();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public float descender() {
+		return super.descender() * getRenderScale();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public FTBBox getBBox(String string) {
+		FTBBox box = super.getBBox(string);
+		float scale = getRenderScale();
+		box.lowerX *= scale;
+		box.lowerY *= scale;
+		box.upperX *= scale;
+		box.upperY *= scale;
+		return box;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public float advance(final String string) {
+		return super.advance(string) * getRenderScale();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void render(final String string) {
+		float scale = getRenderScale();
+
+		FTGL.get().glPushMatrix();
+		FTGL.get().glScalef(scale, scale, 1.0f);
+		super.render(string);
+		FTGL.get().glPopMatrix();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void pushState() {
+		super.pushState();
+		if (shaderProgram != 0)
+			FTGL.get().glUseProgram(shaderProgram);
+		else {
+			FTGL.get().glEnable(GL11.GL_ALPHA_TEST);
+			FTGL.get().glAlphaFunc(GL11.GL_GEQUAL, 0.5f);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void popState() {
+		if (shaderProgram != 0)
+			FTGL.get().glUseProgram(0);
+		super.popState();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected boolean sameState(FTFont other) {
+		return super.sameState(other)
+				&& ((FTGLSDFFont) other).shaderProgram == shaderProgram;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected FTTextureGlyph createGlyph(Shape ftGlyph, int id, int xOffset,
+			int yOffset, int width, int height) {
+		return new FTSDFGlyph(ftGlyph, spread, id, xOffset, yOffset, width,
+				height);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected int getGlyphMargin() {
+		return spread;
+	}
+
+	/**
+	 * Returns the factor to scale from the base size to the face size.
+	 */
+	@Override
+	protected float getRenderScale() {
+		return displaySize / baseSize;
+	}
+
+}
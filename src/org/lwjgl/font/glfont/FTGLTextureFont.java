@@ -4,25 +4,30 @@ package org.lwjgl.font.glfont;
 import java.awt.Font;
 import java.awt.Shape;
 import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.Point2D;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.lwjgl.font.FTBBox;
+import org.lwjgl.font.gl.FTGL;
 import org.lwjgl.font.glyph.FTGlyph;
 import org.lwjgl.font.glyph.FTTextureGlyph;
 import org.lwjgl.font.util.FTMath;
+import org.lwjgl.font.util.Vector3f;
 import org.lwjgl.opengl.GL11;
 
 /**
  * FTGLTextureFont is a specialisation of the FTFont class for handling Texture
- * mapped fonts
+ * mapped fonts. Each size of the font has its own texture pages.
  * 
  * @see FTFont
  */
-public class FTGLTextureFont extends FTFont {
+public class FTGLTextureFont extends FTGLRasterFont {
 
 	/**
 	 * The maximum texture dimension on this OpenGL implemetation
@@ -30,52 +35,42 @@ public class FTGLTextureFont extends FTFont {
 	private int[] maxTextSize = { 0 }; // TODO was GLsizei
 
 	/**
-	 * The minimum texture width required to hold the glyphs
-	 */
-	private int textureWidth = 0; // TODO was GLsizei
-
-	/**
-	 * The minimum texture height required to hold the glyphs
-	 */
-	private int textureHeight = 0; // TODO was GLsizei
-
-	/**
-	 * An array of texture ids
-	 */
-	private List<IntBuffer> textureIDList = new LinkedList<IntBuffer>();
-
-	/**
-	 * The max height for glyphs in the current font
+	 * A value to be added to the height and width to ensure that glyphs don't
+	 * overlap in the texture
 	 */
-	private int glyphHeight = 0;
+	private int padding = 3;
 
 	/**
-	 * The max width for glyphs in the current font
+	 * Interleaved x, y, u, v vertices of the quads of the last rendered string,
+	 * sorted by texture.
 	 */
-	private int glyphWidth = 0;
+	private FloatBuffer quadBuffer;
 
 	/**
-	 * A value to be added to the height and width to ensure that glyphs don't
-	 * overlap in the texture
+	 * The texture ids of the pages, in the order of textureIDList.
 	 */
-	private int padding = 3;
+	private int[] pageIDs = new int[0];
 
 	/**
-	 * 
+	 * The number of quads in the quad buffer for each page.
 	 */
-	private int numGlyphs;
+	private int[] pageQuads = new int[0];
 
 	/**
+	 * The next free quad of each page, used while sorting.
 	 */
-	private int remGlyphs;
+	private int[] pageNext = new int[0];
 
 	/**
+	 * The number of valid entries in pageIDs and pageQuads.
 	 */
-	private int xOffset = 0;
+	private int pageCount = 0;
 
 	/**
+	 * The glyphs and pen positions of the string that is rendered.
 	 */
-	private int yOffset = 0;
+	private FTTextureGlyph[] batchGlyphs = new FTTextureGlyph[0];
+	private float[] batchPen = new float[0];
 
 	/**
 	 * Open and read a font file. Uses the standard FontRenderContext.
@@ -120,20 +115,9 @@ public class FTGLTextureFont extends FTFont {
 	 */
 	public FTGLTextureFont(final Font font, final FontRenderContext context) {
 		super(font, context);
-		remGlyphs = this.font.getNumGlyphs();
-		numGlyphs = this.font.getNumGlyphs();
 		// this.precache();
 	}
 
-	/**
-	 * {@inheritDoc}
-	 */
-	@Override
-	public void dispose() {
-		super.dispose();
-		deleteTextures();
-	}
-
 	/**
 	 * {@inheritDoc}
 	 */
@@ -146,25 +130,16 @@ public class FTGLTextureFont extends FTFont {
 	 * {@inheritDoc}
 	 */
 	@Override
-	public boolean faceSize(final float size, FontRenderContext context) {
-		if (!textureIDList.isEmpty()) {
-			deleteTextures();
-			remGlyphs = font.getNumGlyphs();
-			numGlyphs = font.getNumGlyphs();
-		}
-
-		return super.faceSize(size, context);
+	protected FaceSize createFaceSize(final Font font,
+			final FontRenderContext context) {
+		return new Atlas(font, context);
 	}
 
-	private void deleteTextures() {
-		int size = textureIDList.size();
-		IntBuffer textureIDs = ByteBuffer.allocateDirect(size * 4)
-				.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
-		for (int i = 0; i < size; i++)
-			textureIDs.put(textureIDList.get(i).get(0));
-		textureIDs.flip();
-		GL11.glDeleteTextures(textureIDs);
-		textureIDList.clear();
+	/**
+	 * Returns the texture pages of the current size.
+	 */
+	private Atlas atlas() {
+		return (Atlas) getFaceSize();
 	}
 
 	/**
@@ -174,72 +149,123 @@ public class FTGLTextureFont extends FTFont {
 	protected FTGlyph makeGlyph(Shape ftGlyph, float advance) {
 
 		if (ftGlyph != null) {
+			final Atlas atlas = atlas();
 			// prevents overwriting previous characters if the last character
 			// was very small
-			glyphHeight = Math.max(glyphHeight, ftGlyph.getBounds().height);
-			glyphWidth = ftGlyph.getBounds().width;
+			int margin = getGlyphMargin();
+			int width = ftGlyph.getBounds().width;
+			int height = ftGlyph.getBounds().height;
 
 			// TODO maybe workaround.
-			if (glyphHeight == 0 || glyphWidth == 0)
-				return new FTTextureGlyph(ftGlyph, 0, 0, 0, 0, 0);
+			if (width == 0 || height == 0)
+				return createGlyph(ftGlyph, 0, 0, 0, 0, 0);
 
-			if (textureIDList.isEmpty()) {
-				textureIDList.add(createTexture());
-				xOffset = padding;
-				yOffset = padding;
+			atlas.glyphHeight = Math.max(atlas.glyphHeight, height + 2
+					* margin);
+			atlas.glyphWidth = width + 2 * margin;
+
+			if (atlas.textureIDList.isEmpty()) {
+				atlas.textureIDList.add(createTexture(atlas));
+				atlas.xOffset = padding;
+				atlas.yOffset = padding;
 			}
 
-			if (xOffset > (textureWidth - padding - glyphWidth)) {
-				xOffset = padding;
-				yOffset += glyphHeight;
+			if (atlas.xOffset > (atlas.textureWidth - padding
+					- atlas.glyphWidth)) {
+				atlas.xOffset = padding;
+				atlas.yOffset += atlas.glyphHeight;
 
-				if (yOffset > (textureHeight - padding - glyphHeight)) {
-					textureIDList.add(createTexture());
-					yOffset = padding;
+				if (atlas.yOffset > (atlas.textureHeight - padding
+						- atlas.glyphHeight)) {
+					atlas.textureIDList.add(createTexture(atlas));
+					atlas.yOffset = padding;
 				}
 			}
 
-			Object textureID = textureIDList.get(textureIDList.size() - 1);
-			FTTextureGlyph tempGlyph = new FTTextureGlyph(ftGlyph,
-					((IntBuffer) textureID).get(0), xOffset, yOffset,
-					textureWidth, textureHeight);
+			Object textureID = atlas.textureIDList.get(atlas.textureIDList
+					.size() - 1);
+			FTTextureGlyph tempGlyph = createGlyph(ftGlyph,
+					((IntBuffer) textureID).get(0), atlas.xOffset,
+					atlas.yOffset, atlas.textureWidth, atlas.textureHeight);
 			FTBBox box = tempGlyph.getBBox();
-			assert box.upperX - box.lowerX <= glyphWidth : "Character width is out of bounds."
-					+ (box.upperX - box.lowerX) + " max:" + glyphWidth;
-			assert box.upperY - box.lowerY <= glyphHeight : "Character height is out of bounds."
-					+ (box.upperY - box.lowerY) + " max:" + glyphWidth;
-			xOffset += glyphWidth + padding;
+			assert box.upperX - box.lowerX <= atlas.glyphWidth : "Character width is out of bounds."
+					+ (box.upperX - box.lowerX) + " max:" + atlas.glyphWidth;
+			assert box.upperY - box.lowerY <= atlas.glyphHeight : "Character height is out of bounds."
+					+ (box.upperY - box.lowerY) + " max:" + atlas.glyphWidth;
+			atlas.xOffset += atlas.glyphWidth + padding;
 
-			--remGlyphs;
+			--atlas.remGlyphs;
 			return tempGlyph;
 		}
 
 		return null;
 	}
 
+	/**
+	 * Creates the glyph for a reserved place in the texture. Deriving fonts
+	 * may return their own specialisation of FTTextureGlyph.
+	 * 
+	 * @param ftGlyph
+	 *            The glyph represented by a shape.
+	 * @param id
+	 *            The id of the texture that the glyph will be drawn in.
+	 * @param xOffset
+	 *            The x offset into the texture.
+	 * @param yOffset
+	 *            The y offset into the texture.
+	 * @param width
+	 *            The width of the texture.
+	 * @param height
+	 *            The height of the texture.
+	 * @return The new glyph.
+	 */
+	protected FTTextureGlyph createGlyph(Shape ftGlyph, int id, int xOffset,
+			int yOffset, int width, int height) {
+		return new FTTextureGlyph(ftGlyph, id, xOffset, yOffset, width, height);
+	}
+
+	/**
+	 * Returns the empty space in pixels that the glyphs of this font need
+	 * around their shape in the texture.
+	 * 
+	 * @return The margin around each glyph, <code>0</code> by default.
+	 */
+	protected int getGlyphMargin() {
+		return 0;
+	}
+
+	/**
+	 * Returns the pixel format of the textures of this font.
+	 * 
+	 * @return GL_ALPHA by default.
+	 */
+	protected int getTextureFormat() {
+		return GL11.GL_ALPHA;
+	}
+
 	/**
 	 * Get the size of a block of memory required to layout the glyphs
 	 * Calculates a width and height based on the glyph sizes and the number of
 	 * glyphs. It over estimates.
 	 */
-	private final void calculateTextureSize() {
+	private final void calculateTextureSize(final Atlas atlas) {
 		if (maxTextSize[0] == 0) {
-			maxTextSize[0] = GL11.glGetInteger(GL11.GL_MAX_TEXTURE_SIZE);
+			maxTextSize[0] = FTGL.get().glGetInteger(GL11.GL_MAX_TEXTURE_SIZE);
 			System.err.println("MaxTexture:" + maxTextSize[0]);
 		}
 
-		textureWidth = FTMath.nextPowerOf2((remGlyphs * glyphWidth)
-				+ (padding * 2));
-		if (textureWidth > maxTextSize[0])
-			textureWidth = maxTextSize[0];
+		atlas.textureWidth = FTMath.nextPowerOf2((atlas.remGlyphs
+				* atlas.glyphWidth) + (padding * 2));
+		if (atlas.textureWidth > maxTextSize[0])
+			atlas.textureWidth = maxTextSize[0];
 
 		// TODO: Validate these calculations
-		int h = (textureWidth - padding * 2) / glyphWidth;
+		int h = (atlas.textureWidth - padding * 2) / atlas.glyphWidth;
 
-		textureHeight = FTMath
-				.nextPowerOf2(((numGlyphs / h) + 1) * glyphHeight);
-		textureHeight = textureHeight > maxTextSize[0] ? maxTextSize[0]
-				: textureHeight;
+		atlas.textureHeight = FTMath.nextPowerOf2(((atlas.numGlyphs / h) + 1)
+				* atlas.glyphHeight);
+		atlas.textureHeight = atlas.textureHeight > maxTextSize[0]
+				? maxTextSize[0] : atlas.textureHeight;
 	}
 
 	/**
@@ -248,35 +274,37 @@ public class FTGLTextureFont extends FTFont {
 	 * GL_TEXTURE_MAG_FILTER = GL_LINEAR GL_TEXTURE_MIN_FILTER = GL_LINEAR Note
 	 * that mipmapping is NOT used
 	 */
-	private final IntBuffer createTexture() // TODO was GLuint
+	private final IntBuffer createTexture(final Atlas atlas) // TODO was GLuint
 	{
-		calculateTextureSize();
-
-		int totalMemory = textureWidth * textureHeight;
-		System.err.println("Real width/height:" + textureWidth + "x"
-				+ textureHeight);
+		calculateTextureSize(atlas);
+
+		int format = getTextureFormat();
+		int totalMemory = atlas.textureWidth * atlas.textureHeight
+				* (format == GL11.GL_RGB ? 3 : 1);
+		atlas.textureMemory += totalMemory;
+		System.err.println("Real width/height:" + atlas.textureWidth + "x"
+				+ atlas.textureHeight);
 		ByteBuffer textureMemory = ByteBuffer.allocateDirect(totalMemory)
 				.order(ByteOrder.LITTLE_ENDIAN);
 		// memset( textureMemory, 0, totalMemory);
 
-		IntBuffer textID = ByteBuffer.allocateDirect(4)
-				.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
-		GL11.glGenTextures(textID);
-		textID.rewind();
+		IntBuffer textID = atlas.arena.allocateInts(1);
+		textID.put(0, FTGL.get().glGenTextures());
 
-		GL11.glBindTexture(GL11.GL_TEXTURE_2D, textID.get(0));
-		GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_S,
+		FTGL.get().glBindTexture(GL11.GL_TEXTURE_2D, textID.get(0));
+		FTGL.get().glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_S,
 				GL11.GL_CLAMP);
-		GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_T,
+		FTGL.get().glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_T,
 				GL11.GL_CLAMP);
-		GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MAG_FILTER,
+		FTGL.get().glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MAG_FILTER,
 				GL11.GL_LINEAR);
-		GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MIN_FILTER,
+		FTGL.get().glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MIN_FILTER,
 				GL11.GL_LINEAR);
 
-		GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0, GL11.GL_ALPHA, textureWidth,
-				textureHeight, 0, GL11.GL_ALPHA, GL11.GL_UNSIGNED_BYTE,
-				textureMemory);
+		FTGL.get().glPixelStorei(GL11.GL_UNPACK_ALIGNMENT, 1);
+		FTGL.get().glTexImage2D(GL11.GL_TEXTURE_2D, 0, format,
+				atlas.textureWidth, atlas.textureHeight, 0, format,
+				GL11.GL_UNSIGNED_BYTE, textureMemory);
 
 		// delete [] textureMemory;
 
@@ -284,19 +312,153 @@ public class FTGLTextureFont extends FTFont {
 	}
 
 	/**
-	 * {@inheritDoc}
+	 * Renders a string of characters. The quads of all glyphs are collected in
+	 * one interleaved vertex array, sorted by texture, and drawn with one call
+	 * per texture.
+	 * 
+	 * @param string
+	 *            String to be output.
 	 */
 	@Override
 	public void render(final String string) {
 		assert renderTexture(0);
-		GL11.glPushAttrib(GL11.GL_ENABLE_BIT | GL11.GL_COLOR_BUFFER_BIT);
+		final int quads = collectQuads(string);
+
+		pushState();
+		FTGL.get().glPushClientAttrib(GL11.GL_CLIENT_VERTEX_ARRAY_BIT);
+
+		if (quads > 0) {
+			FTGL.get().glEnableClientState(GL11.GL_VERTEX_ARRAY);
+			FTGL.get().glEnableClientState(GL11.GL_TEXTURE_COORD_ARRAY);
+			quadBuffer.position(0);
+			FTGL.get().glVertexPointer(2, 16, quadBuffer);
+			quadBuffer.position(2);
+			FTGL.get().glTexCoordPointer(2, 16, quadBuffer);
+
+			int first = 0;
+			for (int page = 0; page < pageCount; page++) {
+				if (pageQuads[page] == 0)
+					continue;
+				FTGL.get().glBindTexture(GL11.GL_TEXTURE_2D, pageIDs[page]);
+				FTGL.get().glDrawArrays(GL11.GL_QUADS, first * 4, pageQuads[page] * 4);
+				first += pageQuads[page];
+			}
+		}
+
+		FTGL.get().glPopClientAttrib();
+		popState();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void pushState() {
+		FTGL.get().glPushAttrib(GL11.GL_ENABLE_BIT | GL11.GL_COLOR_BUFFER_BIT);
+
+		FTGL.get().glEnable(GL11.GL_BLEND);
+		FTGL.get().glBlendFunc(GL11.GL_SRC_ALPHA, GL11.GL_ONE_MINUS_SRC_ALPHA); // GL_ONE
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void popState() {
+		FTGL.get().glPopAttrib();
+	}
+
+	/**
+	 * Lays out the string and writes the quads of its glyphs into the quad
+	 * buffer, sorted by texture.
+	 * 
+	 * @return The number of quads written.
+	 */
+	private int collectQuads(final String string) {
+		GlyphVector vec = layout(string);
+		final int numGlyphs = vec.getNumGlyphs();
+		if (batchGlyphs.length < numGlyphs) {
+			batchGlyphs = new FTTextureGlyph[numGlyphs];
+			batchPen = new float[numGlyphs * 2];
+		}
+		// the phases are taken in the scaled space the quads are drawn in
+		final float scale = getRenderScale();
+		for (int i = 0; i < numGlyphs; i++) {
+			Point2D p = vec.getGlyphPosition(i);
+			final float x = (float) p.getX() * scale;
+			FTTextureGlyph glyph = (FTTextureGlyph) checkGlyph(vec, i, x);
+			final float pen = snapPen(x) / scale;
+			assert FTBBox.renderBBox(new Vector3f(pen, (float) p.getY(), 0),
+					glyph.getBBox());
+			// glyphs without an image get no quad, so no slot is left
+			// unwritten in the quad buffer
+			batchGlyphs[i] = glyph.hasImage() ? glyph : null;
+			batchPen[i * 2] = pen;
+			batchPen[i * 2 + 1] = (float) p.getY();
+		}
 
-		GL11.glEnable(GL11.GL_BLEND);
-		GL11.glBlendFunc(GL11.GL_SRC_ALPHA, GL11.GL_ONE_MINUS_SRC_ALPHA); // GL_ONE
+		// pages may have been added by the glyphs created above
+		final List<IntBuffer> textureIDList = atlas().textureIDList;
+		pageCount = textureIDList.size();
+		if (pageIDs.length < pageCount) {
+			pageIDs = new int[pageCount];
+			pageQuads = new int[pageCount];
+			pageNext = new int[pageCount];
+		}
+		for (int page = 0; page < pageCount; page++) {
+			pageIDs[page] = textureIDList.get(page).get(0);
+			pageQuads[page] = 0;
+		}
+		int quads = 0;
+		for (int i = 0; i < numGlyphs; i++) {
+			if (batchGlyphs[i] == null)
+				continue;
+			int page = pageOf(batchGlyphs[i].getTextureID());
+			if (page >= 0) {
+				pageQuads[page]++;
+				quads++;
+			}
+		}
 
-		super.render(string);
+		if (quadBuffer == null || quadBuffer.capacity() < quads * 16)
+			quadBuffer = ByteBuffer.allocateDirect(quads * 16 * 4)
+					.order(ByteOrder.nativeOrder()).asFloatBuffer();
+
+		// counting sort of the quads by page
+		final int[] next = pageNext;
+		for (int page = 0; page < pageCount; page++)
+			next[page] = 0;
+		for (int page = 1; page < pageCount; page++)
+			next[page] = next[page - 1] + pageQuads[page - 1];
+		for (int i = 0; i < numGlyphs; i++) {
+			if (batchGlyphs[i] == null)
+				continue;
+			int page = pageOf(batchGlyphs[i].getTextureID());
+			if (page < 0) {
+				batchGlyphs[i] = null;
+				continue;
+			}
+			quadBuffer.limit(quadBuffer.capacity());
+			quadBuffer.position(next[page]++ * 16);
+			final boolean put = batchGlyphs[i].putQuad(quadBuffer,
+					batchPen[i * 2], batchPen[i * 2 + 1]);
+			assert put : "Glyph without image!";
+			batchGlyphs[i] = null;
+		}
+		quadBuffer.limit(quads * 16);
+		return quads;
+	}
 
-		GL11.glPopAttrib();
+	/**
+	 * Returns the index of the page with the given texture id.
+	 * 
+	 * @return The page index or <code>-1</code>.
+	 */
+	private int pageOf(int textureID) {
+		for (int page = 0; page < pageCount; page++)
+			if (pageIDs[page] == textureID)
+				return page;
+		return -1;
 	}
 
 	/**
@@ -307,44 +469,128 @@ public class FTGLTextureFont extends FTFont {
 	 * @return always <code>true</code>
 	 */
 	public boolean renderTexture(int index) {
-		if (index >= 0 && index < textureIDList.size()) {
-			GL11.glPushAttrib(GL11.GL_ENABLE_BIT | GL11.GL_COLOR_BUFFER_BIT
+		final Atlas atlas = atlas();
+		if (index >= 0 && index < atlas.textureIDList.size()) {
+			FTGL.get().glPushAttrib(GL11.GL_ENABLE_BIT | GL11.GL_COLOR_BUFFER_BIT
 					| GL11.GL_DEPTH_BUFFER_BIT | GL11.GL_CURRENT_BIT);
 
-			GL11.glEnable(GL11.GL_BLEND);
-			GL11.glBlendFunc(GL11.GL_SRC_ALPHA, GL11.GL_ONE_MINUS_SRC_ALPHA); // GL_ONE
-			GL11.glDepthFunc(GL11.GL_ALWAYS);
-			int textureID = textureIDList.get(index).get(0);
+			FTGL.get().glEnable(GL11.GL_BLEND);
+			FTGL.get().glBlendFunc(GL11.GL_SRC_ALPHA, GL11.GL_ONE_MINUS_SRC_ALPHA); // GL_ONE
+			FTGL.get().glDepthFunc(GL11.GL_ALWAYS);
+			int textureID = atlas.textureIDList.get(index).get(0);
 			int[] activeTextureID = new int[1];
-			activeTextureID[0] = GL11.glGetInteger(GL11.GL_TEXTURE_BINDING_2D);
+			activeTextureID[0] = FTGL.get().glGetInteger(GL11.GL_TEXTURE_BINDING_2D);
 			if (activeTextureID[0] != textureID)
-				GL11.glBindTexture(GL11.GL_TEXTURE_2D, textureID);
-			float sizeX = Math.min(256f, textureWidth);
-			float sizeY = (sizeX / textureWidth) * textureHeight;
+				FTGL.get().glBindTexture(GL11.GL_TEXTURE_2D, textureID);
+			float sizeX = Math.min(256f, atlas.textureWidth);
+			float sizeY = (sizeX / atlas.textureWidth) * atlas.textureHeight;
 			sizeX /= 2f;
 			sizeY /= 2f;
-			GL11.glBegin(GL11.GL_QUADS);
-			GL11.glColor4f(1f, 0f, 0f, 1f);
-			GL11.glVertex2f(-sizeX, -sizeY);
-			GL11.glVertex2f(-sizeX, sizeY);
-			GL11.glVertex2f(sizeX, sizeY);
-			GL11.glVertex2f(sizeX, -sizeY);
-			GL11.glEnd();
-			GL11.glBegin(GL11.GL_QUADS);
-			GL11.glTexCoord2f(0f, 0f);
-			GL11.glVertex2f(-sizeX, -sizeY);
-
-			GL11.glTexCoord2f(0f, 1f);
-			GL11.glVertex2f(-sizeX, sizeY);
-
-			GL11.glTexCoord2f(1f, 1f);
-			GL11.glVertex2f(sizeX, sizeY);
-
-			GL11.glTexCoord2f(1f, 0f);
-			GL11.glVertex2f(sizeX, -sizeY);
-			GL11.glEnd();
-			GL11.glPopAttrib();
+			FTGL.get().glBegin(GL11.GL_QUADS);
+			FTGL.get().glColor4f(1f, 0f, 0f, 1f);
+			FTGL.get().glVertex2f(-sizeX, -sizeY);
+			FTGL.get().glVertex2f(-sizeX, sizeY);
+			FTGL.get().glVertex2f(sizeX, sizeY);
+			FTGL.get().glVertex2f(sizeX, -sizeY);
+			FTGL.get().glEnd();
+			FTGL.get().glBegin(GL11.GL_QUADS);
+			FTGL.get().glTexCoord2f(0f, 0f);
+			FTGL.get().glVertex2f(-sizeX, -sizeY);
+
+			FTGL.get().glTexCoord2f(0f, 1f);
+			FTGL.get().glVertex2f(-sizeX, sizeY);
+
+			FTGL.get().glTexCoord2f(1f, 1f);
+			FTGL.get().glVertex2f(sizeX, sizeY);
+
+			FTGL.get().glTexCoord2f(1f, 0f);
+			FTGL.get().glVertex2f(sizeX, -sizeY);
+			FTGL.get().glEnd();
+			FTGL.get().glPopAttrib();
 		}
 		return true;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Atlas holds the glyphs and the texture pages of one size.
+	 */
+	private static final class Atlas extends FaceSize {
+
+		/**
+		 * An array of texture ids
+		 */
+		final List<IntBuffer> textureIDList = new ArrayList<IntBuffer>();
+
+		/**
+		 * The minimum texture width required to hold the glyphs
+		 */
+		int textureWidth = 0; // TODO was GLsizei
+
+		/**
+		 * The minimum texture height required to hold the glyphs
+		 */
+		int textureHeight = 0; // TODO was GLsizei
+
+		/**
+		 * The max height for glyphs in the current font
+		 */
+		int glyphHeight = 0;
+
+		/**
+		 * The max width for glyphs in the current font
+		 */
+		int glyphWidth = 0;
+
+		int numGlyphs;
+
+		int remGlyphs;
+
+		int xOffset = 0;
+
+		int yOffset = 0;
+
+		/**
+		 * The bytes of all texture pages.
+		 */
+		long textureMemory = 0;
+
+		Atlas(final Font font, final FontRenderContext context) {
+			super(font, context);
+			numGlyphs = font.getNumGlyphs();
+			remGlyphs = numGlyphs;
+		}
+
+		/**
+		 * Returns the memory of the texture pages.
+		 */
+		@Override
+		protected long getMemory() {
+			return textureMemory;
+		}
+
+		/**
+		 * Deletes the texture pages.
+		 */
+		@Override
+		protected void dispose() {
+			int size = textureIDList.size();
+			if (size > 0) {
+				IntBuffer textureIDs = arena.allocateInts(size);
+				for (int i = 0; i < size; i++)
+					textureIDs.put(textureIDList.get(i).get(0));
+				textureIDs.flip();
+				FTGL.get().glDeleteTextures(textureIDs);
+				textureIDList.clear();
+			}
+			// releases the arena after the ids are deleted
+			super.dispose();
+			textureMemory = 0;
+			glyphHeight = 0;
+			xOffset = 0;
+			yOffset = 0;
+			remGlyphs = numGlyphs;
+		}
+
+	}
+
+}
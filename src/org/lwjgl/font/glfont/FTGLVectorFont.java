@@ -0,0 +1,434 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font.glfont;
+
+import java.awt.Font;
+import java.awt.Shape;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.Point2D;
+
+import org.lwjgl.font.FTBBox;
+import org.lwjgl.font.FTGeometryBuffer;
+import org.lwjgl.font.FTOutlineCache;
+import org.lwjgl.font.gl.FTGL;
+import org.lwjgl.font.glyph.FTGlyph;
+import org.lwjgl.font.util.Vector3f;
+import org.lwjgl.opengl.GL11;
+
+/**
+ * FTGLVectorFont is the base class for fonts, that render the vector geometry
+ * of their glyphs. By default each glyph is compiled into a display list. With
+ * buffer objects enabled the geometry of all glyphs is packed into one shared
+ * vertex and index buffer instead. The buffers are bound once per string and
+ * each glyph is drawn with one translation and one draw call.
+ * <p>
+ * The flattened outlines of the glyphs are taken from the shared
+ * {@link FTOutlineCache}, so polygon, outline and extruded fonts of the same
+ * {@link Font} flatten and tesselate each glyph only once.
+ * <p>
+ * The geometry is built with the size of the font given on construction and
+ * {@link #faceSize(float)} only changes the scale the geometry is rendered
+ * with, so the cache survives size changes, e.g. of animated text. The
+ * geometry is rebuilt only if the size changes by more than the rebuild
+ * threshold.
+ *
+ * @see FTGeometryBuffer
+ * @see FTOutlineCache
+ * @see FTGLPolygonFont
+ * @see FTGLOutlineFont
+ * @see FTGLExtrdFont
+ */
+public abstract class FTGLVectorFont extends FTFont {
+
+	/**
+	 * The shared buffer of the glyph geometry, <code>null</code> if display
+	 * lists are used.
+	 */
+	protected FTGeometryBuffer geometryBuffer = null;
+
+	/**
+	 * The cache of the flattened outlines, <code>null</code> to flatten the
+	 * outlines per glyph.
+	 */
+	protected FTOutlineCache outlineCache = FTOutlineCache.getShared();
+
+	/**
+	 * The font acquired from the outline cache, <code>null</code> if none.
+	 */
+	private Font outlineFont = null;
+
+	/**
+	 * The size the glyphs are displayed with.
+	 */
+	private float displaySize;
+
+	/**
+	 * The factor the size may change by before the geometry is rebuilt,
+	 * <code>0</code> to never rebuild.
+	 */
+	private float rebuildThreshold = 0.0f;
+
+	/**
+	 * Whether the geometry of the glyphs is optimised for the vertex cache.
+	 */
+	private boolean optimizeGeometry = false;
+
+	/**
+	 * Creates the FTFont from the given {@link Font}.
+	 *
+	 * @param font
+	 *            The font to create this FTFont from.
+	 * @param context
+	 *            The rendercontext.
+	 */
+	public FTGLVectorFont(final Font font, final FontRenderContext context) {
+		super(font, context);
+		displaySize = font.getSize2D();
+	}
+
+	/**
+	 * Sets the factor the face size may change by, before the geometry is
+	 * rebuilt with the new size. Outlines of hinted fonts do not scale exactly
+	 * linear, a rebuild gives them the shape of the new size.
+	 *
+	 * @param factor
+	 *            The factor, e.g. <code>2</code> to rebuild if the size is
+	 *            doubled or halved, or <code>0</code> to only scale the
+	 *            geometry. <code>0</code> by default.
+	 */
+	public void setRebuildThreshold(float factor) {
+		assert factor == 0.0f || factor >= 1.0f : "Invalid threshold!";
+		rebuildThreshold = factor;
+	}
+
+	/**
+	 * Returns the factor the face size may change by before the geometry is
+	 * rebuilt.
+	 *
+	 * @return The factor or <code>0</code> if the geometry is never rebuilt.
+	 */
+	public float getRebuildThreshold() {
+		return rebuildThreshold;
+	}
+
+	/**
+	 * Sets the face size. The geometry is scaled, the cache is only cleared,
+	 * if the size changes by more than the rebuild threshold. Otherwise the
+	 * glyphs stay laid out with the current context.
+	 *
+	 * @param size
+	 *            the face size in points (1/72 inch)
+	 * @param context
+	 *            The rendercontext to render the font with, if rebuilt.
+	 * @return <code>true</code> if size was set correctly
+	 */
+	@Override
+	public boolean faceSize(final float size, final FontRenderContext context) {
+		displaySize = size;
+		final float ratio = size / font.getSize2D();
+		if (rebuildThreshold > 0.0f
+				&& (ratio > rebuildThreshold || ratio * rebuildThreshold < 1.0f))
+			return super.faceSize(size, context);
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int faceSize() {
+		return Math.round(displaySize);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public float ascender() {
+		return super.ascender() * getRenderScale();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public float descender() {
+		return super.descender() * getRenderScale();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public FTBBox getBBox(String string) {
+		FTBBox box = super.getBBox(string);
+		float scale = getRenderScale();
+		box.lowerX *= scale;
+		box.lowerY *= scale;
+		box.upperX *= scale;
+		box.upperY *= scale;
+		return box;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public float advance(final String string) {
+		return super.advance(string) * getRenderScale();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected float getRenderScale() {
+		return displaySize / font.getSize2D();
+	}
+
+	/**
+	 * Switches between display lists and shared buffer objects. The cache is
+	 * cleared, if the mode changes.
+	 *
+	 * @param enable
+	 *            <code>true</code> to use buffer objects, <code>false</code>
+	 *            to use display lists.
+	 */
+	public void setBufferObjects(boolean enable) {
+		if (enable == (geometryBuffer != null))
+			return;
+		clearCache(false);
+		geometryBuffer = enable ? new FTGeometryBuffer(getGeometryMode())
+				: null;
+	}
+
+	/**
+	 * Returns whether buffer objects are used.
+	 *
+	 * @return <code>true</code> if the glyphs are stored in buffer objects.
+	 */
+	public boolean isBufferObjects() {
+		return geometryBuffer != null;
+	}
+
+	/**
+	 * Sets the cache to take the flattened outlines of new glyphs from.
+	 * 
+	 * @param cache
+	 *            The cache or <code>null</code> to flatten the outlines per
+	 *            glyph. The shared cache by default.
+	 */
+	public void setOutlineCache(FTOutlineCache cache) {
+		releaseOutlines();
+		outlineCache = cache;
+	}
+
+	/**
+	 * Returns the cache the flattened outlines are taken from.
+	 * 
+	 * @return The cache or <code>null</code>.
+	 */
+	public FTOutlineCache getOutlineCache() {
+		return outlineCache;
+	}
+
+	/**
+	 * Sets whether the geometry of the glyphs is welded and reordered for the
+	 * vertex cache of the GPU. The cache is cleared. The optimisation about
+	 * triples the time to build a glyph, it pays off for large meshes drawn
+	 * from buffer objects or baked with {@link #bake(String)}.
+	 * 
+	 * @param optimize
+	 *            <code>true</code> to optimise the geometry, <code>false</code>
+	 *            by default.
+	 * @see org.lwjgl.font.FTGeometryOptimizer
+	 */
+	public void setOptimizeGeometry(boolean optimize) {
+		optimizeGeometry = optimize;
+		clearCache(false);
+	}
+
+	/**
+	 * Returns whether the geometry of the glyphs is welded and reordered for
+	 * the vertex cache of the GPU.
+	 * 
+	 * @return <code>true</code> if the geometry is optimised.
+	 */
+	public boolean isOptimizeGeometry() {
+		return optimizeGeometry;
+	}
+
+	/**
+	 * Returns the primitive type of the glyph geometry.
+	 *
+	 * @return <code>GL_TRIANGLES</code> by default.
+	 */
+	protected int getGeometryMode() {
+		return GL11.GL_TRIANGLES;
+	}
+
+	/**
+	 * Prepares a new glyph for the storage used by this font.
+	 *
+	 * @param glyph
+	 *            The new glyph, may be <code>null</code>.
+	 * @return The glyph.
+	 */
+	protected FTGlyph prepareGlyph(FTGlyph glyph) {
+		if (glyph != null) {
+			glyph.setGeometryBuffer(geometryBuffer);
+			glyph.setOptimizeGeometry(optimizeGeometry);
+		}
+		return glyph;
+	}
+
+	/**
+	 * {@inheritDoc} The outline of the glyph is taken from the outline cache.
+	 */
+	@Override
+	protected FTGlyph makeGlyph(int glyphCode, Shape ftGlyph, float advance) {
+		FTGlyph glyph = makeGlyph(ftGlyph, advance);
+		if (glyph != null && ftGlyph != null && outlineCache != null) {
+			// the font changes, when the geometry is rebuilt for a new size
+			if (outlineFont != font) {
+				releaseOutlines();
+				outlineCache.acquire(font);
+				outlineFont = font;
+			}
+			glyph.setOutline(outlineCache.get(font, glyphCode, ftGlyph));
+		}
+		return glyph;
+	}
+
+	/**
+	 * {@inheritDoc} The outlines of the font are released from the outline
+	 * cache, unless other fonts use them.
+	 */
+	@Override
+	public void dispose() {
+		super.dispose();
+		if (geometryBuffer != null)
+			geometryBuffer.dispose();
+		releaseOutlines();
+	}
+
+	/**
+	 * Releases the font acquired from the outline cache.
+	 */
+	private void releaseOutlines() {
+		if (outlineFont != null) {
+			outlineCache.release(outlineFont);
+			outlineFont = null;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void clearCache(boolean precache) {
+		super.clearCache(precache);
+		if (geometryBuffer != null)
+			geometryBuffer.dispose();
+	}
+
+	/**
+	 * Returns whether the geometry is scaled when rendered.
+	 *
+	 * @return <code>true</code> if the face size differs from the size of
+	 *         the geometry or the depth is scaled.
+	 */
+	private boolean isScaled() {
+		return displaySize != font.getSize2D() || getDepthScale() != 1.0f;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void pushState() {
+		if (isScaled()) {
+			// the scale changes the length of the normals
+			FTGL.get().glPushAttrib(GL11.GL_ENABLE_BIT);
+			FTGL.get().glEnable(GL11.GL_NORMALIZE);
+		}
+		if (geometryBuffer != null) {
+			FTGL.get().glPushClientAttrib(GL11.GL_CLIENT_VERTEX_ARRAY_BIT);
+			geometryBuffer.bind();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void popState() {
+		if (geometryBuffer != null) {
+			geometryBuffer.unbind();
+			FTGL.get().glPopClientAttrib();
+		}
+		if (isScaled())
+			FTGL.get().glPopAttrib();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected boolean sameState(FTFont other) {
+		return super.sameState(other)
+				&& ((FTGLVectorFont) other).geometryBuffer == geometryBuffer
+				&& ((FTGLVectorFont) other).isScaled() == isScaled();
+	}
+
+	/**
+	 * {@inheritDoc} The glyphs are scaled to the face size and the depth.
+	 * With buffer objects the pen is moved from glyph to glyph and each glyph
+	 * is drawn with a single call.
+	 */
+	@Override
+	protected void renderGlyphs(final String string) {
+		final boolean scaled = isScaled();
+		if (scaled) {
+			final float scale = getRenderScale();
+			FTGL.get().glPushMatrix();
+			FTGL.get().glScalef(scale, scale, getDepthScale());
+		}
+		if (geometryBuffer == null)
+			super.renderGlyphs(string);
+		else
+			renderBuffer(string);
+		if (scaled)
+			FTGL.get().glPopMatrix();
+	}
+
+	/**
+	 * Renders the glyphs of a string from the geometry buffer.
+	 * 
+	 * @param string
+	 *            String to be output.
+	 */
+	private void renderBuffer(final String string) {
+
+		GlyphVector vec = layout(string);
+		float penX = 0.0f, penY = 0.0f;
+		for (int i = 0; i < vec.getNumGlyphs(); i++) {
+			Point2D p = vec.getGlyphPosition(i);
+			FTGlyph glyph = checkGlyph(vec, i);
+			assert FTBBox.renderBBox(
+					new Vector3f((float) p.getX(), (float) p.getY(), 0),
+					glyph.getBBox());
+			if (glyph.getGeometrySlot() < 0)
+				continue;
+			FTGL.get().glTranslatef((float) p.getX() - penX,
+					(float) p.getY() - penY, 0.0f);
+			penX = (float) p.getX();
+			penY = (float) p.getY();
+			glyph.drawGeometry();
+		}
+		FTGL.get().glTranslatef(-penX, -penY, 0.0f);
+	}
+
+}
@@ -0,0 +1,279 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font.glfont;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+/**
+ * FTGlyphTable is the shared table of the glyphs of a character set for
+ * instanced rendering. Each entry holds the advance of the glyph and either
+ * the range of its mesh in the geometry buffer of the font or its quad and
+ * texture coordinates in the atlas.
+ * <p>
+ * The table writes one instance record per glyph of a string. A record holds
+ * the pen position, the id of the glyph in this table and the color:
+ *
+ * <pre>
+ * x, y, id, 0, r, g, b, a
+ * </pre>
+ *
+ * The pen is advanced by the advances of the glyphs, kerning and complex
+ * layout are not applied. Every character of a string must be in the table,
+ * a missing character has no advance to move the pen by. With assertions
+ * enabled it fails, otherwise it is skipped and the following glyphs are
+ * drawn too far left. The table is immutable, records can be written from many threads at once and no
+ * objects are allocated while writing.
+ *
+ * @see FTFont#createGlyphTable(String)
+ */
+public final class FTGlyphTable {
+
+	/** The number of floats of an instance record. */
+	public static final int INSTANCE_FLOATS = 8;
+
+	/** The number of floats of a quad, see {@link #getQuad(int, float[])}. */
+	public static final int QUAD_FLOATS = 8;
+
+	private static final float[] WHITE = { 1.0f, 1.0f, 1.0f, 1.0f };
+
+	/** The id of each character, <code>-1</code> if not in the table */
+	private final int[] lookup;
+	private final char[] characters;
+	private final float[] advances;
+	/** first index and index count of the mesh of each glyph */
+	private final int[] meshes;
+	private final int[] textureIDs;
+	/** x0, y0, x1, y1, u0, v0, u1, v1 of each glyph */
+	private final float[] quads;
+
+	/**
+	 * Creates the table. The arrays are taken over, not copied.
+	 */
+	FTGlyphTable(char[] characters, float[] advances, int[] meshes,
+			int[] textureIDs, float[] quads) {
+		this.characters = characters;
+		this.advances = advances;
+		this.meshes = meshes;
+		this.textureIDs = textureIDs;
+		this.quads = quads;
+
+		int max = -1;
+		for (char c : characters)
+			max = Math.max(max, c);
+		lookup = new int[max + 1];
+		Arrays.fill(lookup, -1);
+		for (int id = 0; id < characters.length; id++)
+			lookup[characters[id]] = id;
+	}
+
+	/**
+	 * Returns the number of glyphs in this table.
+	 *
+	 * @return The number of glyphs.
+	 */
+	public int size() {
+		return characters.length;
+	}
+
+	/**
+	 * Returns the id of a character.
+	 *
+	 * @param c
+	 *            The character.
+	 * @return The id or <code>-1</code> if the character is not in the table.
+	 */
+	public int getID(char c) {
+		return c < lookup.length ? lookup[c] : -1;
+	}
+
+	/**
+	 * Returns the character of an id.
+	 *
+	 * @param id
+	 *            The id of the glyph.
+	 * @return The character.
+	 */
+	public char getCharacter(int id) {
+		return characters[id];
+	}
+
+	/**
+	 * Returns the advance of a glyph.
+	 *
+	 * @param id
+	 *            The id of the glyph.
+	 * @return The advance.
+	 */
+	public float getAdvance(int id) {
+		return advances[id];
+	}
+
+	/**
+	 * Returns the first index of the mesh of a glyph in the geometry buffer of
+	 * the font.
+	 *
+	 * @param id
+	 *            The id of the glyph.
+	 * @return The first index or <code>-1</code> if the glyph has no mesh.
+	 */
+	public int getMeshFirstIndex(int id) {
+		return meshes[id * 2];
+	}
+
+	/**
+	 * Returns the number of indices of the mesh of a glyph.
+	 *
+	 * @param id
+	 *            The id of the glyph.
+	 * @return The number of indices, <code>0</code> if the glyph has no mesh.
+	 */
+	public int getMeshIndexCount(int id) {
+		return meshes[id * 2 + 1];
+	}
+
+	/**
+	 * Returns the texture of a glyph in the atlas.
+	 *
+	 * @param id
+	 *            The id of the glyph.
+	 * @return The texture id or <code>0</code> if the glyph has no quad.
+	 */
+	public int getTextureID(int id) {
+		return textureIDs[id];
+	}
+
+	/**
+	 * Copies the quad of a glyph relative to the pen and its texture
+	 * coordinates.
+	 *
+	 * @param id
+	 *            The id of the glyph.
+	 * @param dest
+	 *            The array for x0, y0, x1, y1, u0, v0, u1 and v1.
+	 * @return <code>dest</code>
+	 */
+	public float[] getQuad(int id, float[] dest) {
+		System.arraycopy(quads, id * FTGlyphTable.QUAD_FLOATS, dest, 0,
+				FTGlyphTable.QUAD_FLOATS);
+		return dest;
+	}
+
+	/**
+	 * Writes the quads of all glyphs, ordered by id, e.g. to upload them into
+	 * a buffer the instancing shader reads from.
+	 *
+	 * @param dest
+	 *            The buffer to write <code>size() * QUAD_FLOATS</code>
+	 *            floats to.
+	 */
+	public void writeQuads(FloatBuffer dest) {
+		dest.put(quads);
+	}
+
+	/**
+	 * Counts the records {@link #writeInstances} writes for a string, e.g. to
+	 * compute the offsets of many strings written in parallel.
+	 *
+	 * @param text
+	 *            The string, all characters must be in this table.
+	 * @return The number of glyphs of the string in this table.
+	 */
+	public int countInstances(CharSequence text) {
+		int count = 0;
+		for (int i = 0; i < text.length(); i++) {
+			int id = getID(text.charAt(i));
+			assert id >= 0 : "Character not in the table!";
+			if (id >= 0)
+				count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Writes one instance record per glyph of a string at the position of the
+	 * buffer and advances the position.
+	 *
+	 * @param text
+	 *            The string, all characters must be in this table.
+	 * @param x
+	 *            The x component of the origin of the string.
+	 * @param y
+	 *            The y component of the origin of the string.
+	 * @param color
+	 *            The rgba color of the string or <code>null</code> for white.
+	 * @param dest
+	 *            The buffer to write to.
+	 * @return The number of records written.
+	 */
+	public int writeInstances(CharSequence text, float x, float y,
+			float[] color, FloatBuffer dest) {
+		final float[] rgba = color != null ? color : FTGlyphTable.WHITE;
+		int count = 0;
+		float pen = x;
+		for (int i = 0; i < text.length(); i++) {
+			int id = getID(text.charAt(i));
+			assert id >= 0 : "Character not in the table!";
+			if (id < 0)
+				continue;
+			dest.put(pen).put(y).put(id).put(0.0f);
+			dest.put(rgba[0]).put(rgba[1]).put(rgba[2]).put(rgba[3]);
+			pen += advances[id];
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Writes the instance records of a range of strings into the buffer at
+	 * absolute positions, leaving the position of the buffer unchanged. The
+	 * records of string <code>i</code> start at record <code>offsets[i]</code>,
+	 * so disjoint ranges of strings can be written by different threads into
+	 * the same buffer.
+	 *
+	 * @param texts
+	 *            The strings, all characters must be in this table.
+	 * @param positions
+	 *            The x and y components of the origins of the strings.
+	 * @param colors
+	 *            The rgba colors of the strings or <code>null</code> for white.
+	 * @param offsets
+	 *            The first record of each string, e.g. the prefix sums of
+	 *            {@link #countInstances(CharSequence)}.
+	 * @param from
+	 *            The first string to write.
+	 * @param to
+	 *            The string after the last string to write.
+	 * @param dest
+	 *            The buffer to write to.
+	 */
+	public void writeInstances(CharSequence[] texts, float[] positions,
+			float[] colors, int[] offsets, int from, int to, FloatBuffer dest) {
+		for (int s = from; s < to; s++) {
+			final CharSequence text = texts[s];
+			int index = offsets[s] * FTGlyphTable.INSTANCE_FLOATS;
+			float pen = positions[s * 2];
+			final float y = positions[s * 2 + 1];
+			final float[] rgba = colors != null ? colors : FTGlyphTable.WHITE;
+			final int c = colors != null ? s * 4 : 0;
+			for (int i = 0; i < text.length(); i++) {
+				int id = getID(text.charAt(i));
+				assert id >= 0 : "Character not in the table!";
+				if (id < 0)
+					continue;
+				dest.put(index, pen);
+				dest.put(index + 1, y);
+				dest.put(index + 2, id);
+				dest.put(index + 3, 0.0f);
+				dest.put(index + 4, rgba[c]);
+				dest.put(index + 5, rgba[c + 1]);
+				dest.put(index + 6, rgba[c + 2]);
+				dest.put(index + 7, rgba[c + 3]);
+				index += FTGlyphTable.INSTANCE_FLOATS;
+				pen += advances[id];
+			}
+		}
+	}
+
+}
@@ -0,0 +1,286 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font.glfont;
+
+import java.awt.Color;
+import java.awt.font.GlyphVector;
+import java.awt.geom.Point2D;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.lwjgl.font.gl.FTGL;
+import org.lwjgl.font.gl.FTGLBackend;
+import org.lwjgl.font.glyph.FTGlyph;
+import org.lwjgl.font.glyph.FTTextureGlyph;
+import org.lwjgl.opengl.GL11;
+
+/**
+ * FTTextBatch collects the strings of a whole frame, possibly of many fonts,
+ * and renders them at once. The state of fonts, that render with the same
+ * state, is set up only once. The quads of all texture fonts are written into
+ * one interleaved vertex array with a color per vertex, sorted by state and
+ * texture, and drawn with one call per texture.
+ * <p>
+ * Strings are not drawn in the order they were added, but grouped by their
+ * state. Overlapping strings of different fonts may therefore be drawn in a
+ * different order than with {@link FTFont#render(String)}.
+ *
+ * <pre>
+ * batch.begin();
+ * batch.add(title, &quot;Score&quot;, 10, 460, Color.YELLOW);
+ * batch.add(small, Integer.toString(score), 10, 440, Color.WHITE);
+ * batch.flush();
+ * </pre>
+ *
+ * @see FTGLTextureFont
+ */
+public class FTTextBatch {
+
+	/** x, y, u, v, r, g, b and a of each vertex. */
+	private static final int FLOATS_PER_VERTEX = 8;
+
+	private static final int FLOATS_PER_QUAD = 4 * FTTextBatch.FLOATS_PER_VERTEX;
+
+	/**
+	 * A font and the strings and quads rendered with its state.
+	 */
+	private static class Group {
+		final FTFont font;
+		final List<Bucket> buckets = new ArrayList<Bucket>();
+		final List<Entry> entries = new ArrayList<Entry>();
+
+		Group(FTFont font) {
+			this.font = font;
+		}
+	}
+
+	/**
+	 * The quads of one texture.
+	 */
+	private static class Bucket {
+		final int textureID;
+		float[] data = new float[16 * FTTextBatch.FLOATS_PER_QUAD];
+		int size = 0;
+
+		Bucket(int textureID) {
+			this.textureID = textureID;
+		}
+	}
+
+	/**
+	 * A string of a font without texture quads.
+	 */
+	private static class Entry {
+		final FTFont font;
+		final String text;
+		final float x;
+		final float y;
+		final float[] color;
+
+		Entry(FTFont font, String text, float x, float y, float[] color) {
+			this.font = font;
+			this.text = text;
+			this.x = x;
+			this.y = y;
+			this.color = color;
+		}
+	}
+
+	private final List<Group> groups = new ArrayList<Group>();
+
+	/**
+	 * The quad of a single glyph as written by the glyph.
+	 */
+	private final FloatBuffer quad = FloatBuffer.allocate(16);
+
+	/**
+	 * The vertices of all quads, reused over the frames.
+	 */
+	private FloatBuffer vertices;
+
+	/**
+	 * Starts a new frame. Strings added, but not flushed, are discarded.
+	 */
+	public void begin() {
+		groups.clear();
+	}
+
+	/**
+	 * Adds a string in white.
+	 *
+	 * @param font
+	 *            The font to render the string with.
+	 * @param text
+	 *            The string.
+	 * @param x
+	 *            The x component of the origin of the string.
+	 * @param y
+	 *            The y component of the origin of the string.
+	 */
+	public void add(FTFont font, String text, float x, float y) {
+		this.add(font, text, x, y, Color.WHITE);
+	}
+
+	/**
+	 * Adds a string.
+	 *
+	 * @param font
+	 *            The font to render the string with.
+	 * @param text
+	 *            The string.
+	 * @param x
+	 *            The x component of the origin of the string.
+	 * @param y
+	 *            The y component of the origin of the string.
+	 * @param color
+	 *            The color of the string.
+	 */
+	public void add(FTFont font, String text, float x, float y, Color color) {
+		final float[] rgba = color.getRGBComponents(null);
+		final Group group = getGroup(font);
+		if (!(font instanceof FTGLTextureFont)) {
+			group.entries.add(new Entry(font, text, x, y, rgba));
+			return;
+		}
+
+		final FTGLTextureFont textureFont = (FTGLTextureFont) font;
+		final float scale = textureFont.getRenderScale();
+		GlyphVector vec = font.layout(text);
+		for (int i = 0; i < vec.getNumGlyphs(); i++) {
+			Point2D p = vec.getGlyphPosition(i);
+			// the phases are taken from the position on screen, the quad is
+			// scaled around the origin of the string
+			final float pen = x + (float) p.getX() * scale;
+			FTGlyph glyph = textureFont.checkGlyph(vec, i, pen);
+			if (!(glyph instanceof FTTextureGlyph))
+				continue;
+			FTTextureGlyph textureGlyph = (FTTextureGlyph) glyph;
+			quad.clear();
+			if (!textureGlyph.putQuad(quad, (textureFont.snapPen(pen) - x)
+					/ scale, (float) p.getY()))
+				continue;
+
+			Bucket bucket = getBucket(group, textureGlyph.getTextureID());
+			if (bucket.size + FTTextBatch.FLOATS_PER_QUAD > bucket.data.length) {
+				float[] data = new float[bucket.data.length * 2];
+				System.arraycopy(bucket.data, 0, data, 0, bucket.size);
+				bucket.data = data;
+			}
+			final float[] data = bucket.data;
+			int index = bucket.size;
+			for (int v = 0; v < 16; v += 4) {
+				data[index++] = x + quad.get(v) * scale;
+				data[index++] = y + quad.get(v + 1) * scale;
+				data[index++] = quad.get(v + 2);
+				data[index++] = quad.get(v + 3);
+				data[index++] = rgba[0];
+				data[index++] = rgba[1];
+				data[index++] = rgba[2];
+				data[index++] = rgba[3];
+			}
+			bucket.size = index;
+		}
+	}
+
+	/**
+	 * Renders all strings added since the last call to {@link #begin()} and
+	 * starts a new frame.
+	 *
+	 * @return The number of draw calls of the texture fonts.
+	 */
+	public int flush() {
+		final FTGLBackend gl = FTGL.get();
+		int floats = 0;
+		for (Group group : groups)
+			for (Bucket bucket : group.buckets)
+				floats += bucket.size;
+		if (vertices == null || vertices.capacity() < floats)
+			vertices = ByteBuffer.allocateDirect(floats * 4)
+					.order(ByteOrder.nativeOrder()).asFloatBuffer();
+		vertices.clear();
+		for (Group group : groups)
+			for (Bucket bucket : group.buckets)
+				vertices.put(bucket.data, 0, bucket.size);
+
+		gl.glPushAttrib(GL11.GL_CURRENT_BIT);
+		gl.glPushClientAttrib(GL11.GL_CLIENT_VERTEX_ARRAY_BIT);
+		if (floats > 0) {
+			gl.glEnableClientState(GL11.GL_VERTEX_ARRAY);
+			gl.glEnableClientState(GL11.GL_TEXTURE_COORD_ARRAY);
+			gl.glEnableClientState(GL11.GL_COLOR_ARRAY);
+			final int stride = FTTextBatch.FLOATS_PER_VERTEX * 4;
+			vertices.position(0);
+			gl.glVertexPointer(2, stride, vertices);
+			vertices.position(2);
+			gl.glTexCoordPointer(2, stride, vertices);
+			vertices.position(4);
+			gl.glColorPointer(4, stride, vertices);
+		}
+
+		int draws = 0;
+		int first = 0;
+		int boundID = -1;
+		for (Group group : groups) {
+			group.font.pushState();
+			for (Bucket bucket : group.buckets) {
+				if (bucket.size == 0)
+					continue;
+				if (bucket.textureID != boundID) {
+					gl.glBindTexture(GL11.GL_TEXTURE_2D, bucket.textureID);
+					boundID = bucket.textureID;
+				}
+				int count = bucket.size / FTTextBatch.FLOATS_PER_VERTEX;
+				gl.glDrawArrays(GL11.GL_QUADS, first, count);
+				first += count;
+				draws++;
+			}
+			if (!group.entries.isEmpty()) {
+				// the arrays of the batch would override the colour and feed
+				// the fonts drawing with arrays of their own
+				gl.glPushClientAttrib(GL11.GL_CLIENT_VERTEX_ARRAY_BIT);
+				gl.glDisableClientState(GL11.GL_VERTEX_ARRAY);
+				gl.glDisableClientState(GL11.GL_TEXTURE_COORD_ARRAY);
+				gl.glDisableClientState(GL11.GL_COLOR_ARRAY);
+				for (Entry entry : group.entries) {
+					gl.glColor4f(entry.color[0], entry.color[1],
+							entry.color[2], entry.color[3]);
+					entry.font.renderAt(entry.text, entry.x, entry.y);
+				}
+				gl.glPopClientAttrib();
+			}
+			group.font.popState();
+		}
+		gl.glPopClientAttrib();
+		gl.glPopAttrib();
+
+		groups.clear();
+		return draws;
+	}
+
+	/**
+	 * Returns the group of fonts, that render with the same state as the given
+	 * font.
+	 */
+	private Group getGroup(FTFont font) {
+		for (Group group : groups)
+			if (group.font == font || group.font.sameState(font))
+				return group;
+		Group group = new Group(font);
+		groups.add(group);
+		return group;
+	}
+
+	private Bucket getBucket(Group group, int textureID) {
+		for (Bucket bucket : group.buckets)
+			if (bucket.textureID == textureID)
+				return bucket;
+		Bucket bucket = new Bucket(textureID);
+		group.buckets.add(bucket);
+		return bucket;
+	}
+
+}
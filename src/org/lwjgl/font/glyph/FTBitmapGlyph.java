@@ -7,12 +7,18 @@ import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.Shape;
 import java.awt.image.BufferedImage;
-import java.awt.image.Raster;
-import java.awt.image.SampleModel;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.lwjgl.font.FTGlyphContainer;
+import org.lwjgl.font.gl.FTGL;
+import org.lwjgl.font.util.FTRaster;
+import org.lwjgl.font.util.FTRasterScratch;
+import org.lwjgl.font.util.FTRunLength;
+import org.lwjgl.font.util.FTSlabArena;
 import org.lwjgl.opengl.GL11;
 
 /**
@@ -20,6 +26,16 @@ import org.lwjgl.opengl.GL11;
  * provides the interface between Freetype glyphs and their openGL Renderable
  * counterparts. This is an abstract class and derived classes must implement
  * the <code>Render</code> function.
+ * <p>
+ * The bitmap is rasterized and packed by {@link #prepare()}, on the first
+ * render or ahead of it on a worker thread with
+ * {@link #defer(Executor)}, so creating the glyph is cheap.
+ * <p>
+ * Compressed glyphs keep the spans of their bitmap, see {@link FTRunLength},
+ * and decompress them into the scratch memory of the thread on each render.
+ * Uncompressed bitmaps are cut from the arena of the font, if given. When the
+ * arena is disposed before the glyph is prepared, the glyph was released with
+ * it and a deferred bitmap is not prepared anymore.
  * 
  * @see FTGlyphContainer
  */
@@ -53,7 +69,38 @@ public class FTBitmapGlyph extends FTGlyph {
 	/**
 	 * Pointer to the 'image' data
 	 */
-	private ByteBuffer data = null;
+	private volatile ByteBuffer data = null;
+
+	/**
+	 * The spans of the bitmap, if compressed
+	 */
+	private volatile byte[] runs = null;
+
+	/**
+	 * Whether the bitmap is compressed
+	 */
+	private final boolean compressed;
+
+	/**
+	 * The arena the bitmap is allocated from, or <code>null</code>
+	 */
+	private final FTSlabArena arena;
+
+	/**
+	 * The generation of the arena the glyph was created in
+	 */
+	private final int generation;
+
+	/**
+	 * The counter the bytes of the bitmap are added to, or <code>null</code>
+	 */
+	private final AtomicLong memory;
+
+	/**
+	 * Set, if the bitmap is prepared by another thread. The glyph is not
+	 * drawn until it is done.
+	 */
+	private volatile boolean deferred = false;
 
 	/**
 	 * Constructor
@@ -62,7 +109,64 @@ public class FTBitmapGlyph extends FTGlyph {
 	 *            The Freetype glyph to be processed
 	 */
 	public FTBitmapGlyph(Shape glyph, float advance) {
+		this(glyph, advance, false);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param glyph
+	 *            The Freetype glyph to be processed
+	 * @param advance
+	 *            The advance of the glyph.
+	 * @param compressed
+	 *            <code>true</code> to keep the bitmap compressed.
+	 */
+	public FTBitmapGlyph(Shape glyph, float advance, boolean compressed) {
+		this(glyph, advance, compressed, null);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param glyph
+	 *            The Freetype glyph to be processed
+	 * @param advance
+	 *            The advance of the glyph.
+	 * @param compressed
+	 *            <code>true</code> to keep the bitmap compressed.
+	 * @param arena
+	 *            The arena to allocate the bitmap from, or <code>null</code>
+	 *            for a direct buffer of its own.
+	 */
+	public FTBitmapGlyph(Shape glyph, float advance, boolean compressed,
+			FTSlabArena arena) {
+		this(glyph, advance, compressed, arena, null);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param glyph
+	 *            The Freetype glyph to be processed
+	 * @param advance
+	 *            The advance of the glyph.
+	 * @param compressed
+	 *            <code>true</code> to keep the bitmap compressed.
+	 * @param arena
+	 *            The arena to allocate the bitmap from, or <code>null</code>
+	 *            for a direct buffer of its own.
+	 * @param memory
+	 *            The counter the bytes of the bitmap are added to, when it is
+	 *            prepared, or <code>null</code>.
+	 */
+	public FTBitmapGlyph(Shape glyph, float advance, boolean compressed,
+			FTSlabArena arena, AtomicLong memory) {
 		super(glyph, advance);
+		this.compressed = compressed;
+		this.arena = arena;
+		this.memory = memory;
+		generation = arena != null ? arena.getGeneration() : 0;
 
 		Rectangle bounds = this.glyph.getBounds();
 
@@ -70,60 +174,104 @@ public class FTBitmapGlyph extends FTGlyph {
 		destPitch = bounds.width;
 		destHeight = bounds.height;
 
-		if (destWidth > 0 && destHeight > 0) {
-			BufferedImage image = new BufferedImage(bounds.width,
-					bounds.height, BufferedImage.TYPE_BYTE_BINARY);
-			Graphics2D g2d = (Graphics2D) image.getGraphics();
-			// g2d.scale(1.0f, 1.0f);
-			// g2d.setColor(Color.BLACK);
-			// g2d.fillRect(0, 0, bounds.width, bounds.height);
-			g2d.setColor(Color.WHITE);
-			// g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
-			// RenderingHints.VALUE_ANTIALIAS_ON);
-			g2d.setRenderingHint(RenderingHints.KEY_RENDERING,
-					RenderingHints.VALUE_RENDER_QUALITY);
-			g2d.translate(-bounds.getX(), -bounds.getY());
-			g2d.fill(this.glyph);
-
-			Raster imager = image.getRaster();
-			SampleModel sm = imager.getSampleModel();
-
-			assert sm.getNumBands() == 1 : "only 1-Band SampleModels supported";
-			assert sm.getSampleSize(0) > 0 : "SampleSize should be at least 1 bit";
-
-			int min = 1 << (sm.getSampleSize(0) - 1);
-
-			// Note: each start of a row has to be aligned at byte level
-			// Note: the first bit of each row must start at a new byte
-
-			int lineWidth = (destWidth + 7) / 8;
+		offsetX = (float) this.glyph.getBounds().getX();
+		offsetY = (float) -this.glyph.getBounds().getY();
+	}
 
-			int[] line1 = new int[lineWidth * 8];
-			byte[] line2 = new byte[lineWidth];
+	/**
+	 * Rasterizes the glyph and packs its bitmap, unless done before. Does not
+	 * call OpenGL, so it can run on any thread. If the arena was disposed
+	 * since the glyph was created, the bitmap gets a direct buffer of its own
+	 * and is not counted.
+	 */
+	public synchronized void prepare() {
+		if (isPrepared())
+			return;
+
+		// the glyph is rasterized straight into the cleared scratch array,
+		// Java2D has no fast loops for binary images
+		final FTRasterScratch scratch = FTRasterScratch.get();
+		byte[] pixels = scratch.getPixels(destWidth * destHeight, true);
+		BufferedImage image = FTRaster.createGrayImage(pixels, destWidth,
+				destHeight);
+		Graphics2D g2d = (Graphics2D) image.getGraphics();
+		g2d.setColor(Color.WHITE);
+		g2d.setRenderingHint(RenderingHints.KEY_RENDERING,
+				RenderingHints.VALUE_RENDER_QUALITY);
+		Rectangle bounds = glyph.getBounds();
+		g2d.translate(-bounds.getX(), -bounds.getY());
+		g2d.fill(glyph);
+		g2d.dispose();
+
+		// Note: each start of a row has to be aligned at byte level
+		// Note: the first bit of each row must start at a new byte
+		final int size = (destWidth + 7) / 8 * destHeight;
+		byte[] bits = scratch.getBits(size);
+		FTRaster.packBits(pixels, destWidth, destHeight, 1, bits);
+
+		// the spans are only kept, if smaller
+		if (compressed) {
+			byte[] spans = FTRunLength.encode(bits, size);
+			if (spans.length < size) {
+				if (memory != null && !isReleased())
+					memory.addAndGet(spans.length);
+				runs = spans;
+				return;
+			}
+		}
 
-			data = ByteBuffer.allocateDirect(lineWidth * destHeight).order(
+		ByteBuffer buffer = arena != null ? arena.allocate(size, generation)
+				: null;
+		if (buffer != null) {
+			if (memory != null)
+				memory.addAndGet(size);
+		} else
+			buffer = ByteBuffer.allocateDirect(size).order(
 					ByteOrder.LITTLE_ENDIAN);
+		buffer.put(bits, 0, size);
+		data = buffer;
+	}
 
-			for (int i = 0; i < destHeight; i++) {
-				imager.getSamples(0, i, destPitch, 1, 0, line1);
-
-				int posj = 0;
-				for (int j = 0; j < lineWidth; j++)
-					line2[j] = (byte) ((line1[posj++] < min ? 0 : 128)
-							| (line1[posj++] < min ? 0 : 64)
-							| (line1[posj++] < min ? 0 : 32)
-							| (line1[posj++] < min ? 0 : 16)
-							| (line1[posj++] < min ? 0 : 8)
-							| (line1[posj++] < min ? 0 : 4)
-							| (line1[posj++] < min ? 0 : 2) | (line1[posj++] < min ? 0
-							: 1));
-
-				data.put(line2);
-			}
+	/**
+	 * Prepares the glyph on the given executor. The glyph is skipped, when
+	 * rendered before its bitmap is done. The glyph is prepared right away,
+	 * if the executor rejects it.
+	 * 
+	 * @param executor
+	 *            The executor to run {@link #prepare()} on.
+	 */
+	public void defer(Executor executor) {
+		deferred = true;
+		try {
+			executor.execute(new Runnable() {
+				public void run() {
+					// released with the arena while queued
+					if (!isReleased())
+						prepare();
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			deferred = false;
+			prepare();
 		}
+	}
 
-		offsetX = (float) this.glyph.getBounds().getX();
-		offsetY = (float) -this.glyph.getBounds().getY();
+	/**
+	 * Returns whether the arena of the glyph was disposed since the glyph was
+	 * created, i.e. the glyph was released with its font size.
+	 */
+	private boolean isReleased() {
+		return arena != null && arena.getGeneration() != generation;
+	}
+
+	/**
+	 * Returns whether the bitmap is done.
+	 * 
+	 * @return <code>true</code> if the glyph is prepared or empty.
+	 */
+	public boolean isPrepared() {
+		return data != null || runs != null || destWidth <= 0
+				|| destHeight <= 0;
 	}
 
 	/**
@@ -139,18 +287,44 @@ public class FTBitmapGlyph extends FTGlyph {
 
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getMemorySize() {
+		final ByteBuffer bitmap = data;
+		final byte[] spans = runs;
+		return bitmap != null ? bitmap.capacity() : spans != null ? spans.length
+				: 0;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	public float render(final float x, final float y, final float z) {
+		ByteBuffer data = this.data;
+		byte[] spans = runs;
+		if (data == null && spans == null && !deferred) {
+			prepare();
+			data = this.data;
+			spans = runs;
+		}
+		if (spans != null) {
+			final int size = (destWidth + 7) / 8 * destHeight;
+			final FTRasterScratch scratch = FTRasterScratch.get();
+			final byte[] bits = scratch.getBits(size);
+			FTRunLength.decode(spans, size, bits);
+			data = scratch.getBuffer(size);
+			data.put(bits, 0, size).flip();
+		}
 		if (data != null) {
 			// GL11.glBitmap(0, 0, 0.0f, 0.0f, (float) (x + this.offsetX),
 			// (float) (y - this.offsetY), null );
 
-			GL11.glPixelStorei(GL11.GL_UNPACK_ROW_LENGTH, destPitch);
+			FTGL.get().glPixelStorei(GL11.GL_UNPACK_ROW_LENGTH, destPitch);
 			data.rewind();
-			GL11.glBitmap(destWidth, destHeight, -x + offsetX, y + offsetY,
+			FTGL.get().glBitmap(destWidth, destHeight, -x + offsetX, y + offsetY,
 					0.0f, 0.0f, data);
 
 			// GL11.glBitmap(0, 0, 0.0f, 0.0f, (float) (-x - this.offsetX),
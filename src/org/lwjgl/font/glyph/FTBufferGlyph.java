@@ -1,18 +1,25 @@
 /* $Id: FTBufferGlyph.java,v 1.3 2005/07/27 23:14:31 joda Exp $ */
 package org.lwjgl.font.glyph;
 
-import java.awt.Color;
-import java.awt.Graphics2D;
 import java.awt.Rectangle;
-import java.awt.RenderingHints;
 import java.awt.Shape;
-import java.awt.image.BufferedImage;
+import java.awt.geom.AffineTransform;
 
 import org.lwjgl.font.FTGlyphContainer;
+import org.lwjgl.font.util.FTClientBuffer;
+import org.lwjgl.font.util.FTRaster;
+import org.lwjgl.font.util.FTRasterScratch;
+import org.lwjgl.font.util.FTRunLength;
 
 /**
- * FTBufferGlyph is a specialisation of FTGlyph for creating pixmaps.
- * 
+ * FTBufferGlyph is a specialisation of FTGlyph for drawing into images in
+ * main memory. The glyph keeps its 8 bit coverage and the coverage packed into
+ * bits, which are drawn into a {@link FTClientBuffer} by
+ * {@link #render(FTClientBuffer, float, float)}. It does not use OpenGL.
+ * <p>
+ * Compressed glyphs keep only the spans of their coverage, see
+ * {@link FTRunLength}, which are drawn directly.
+ *
  * @see FTGlyphContainer
  */
 public class FTBufferGlyph extends FTGlyph {
@@ -20,117 +27,96 @@ public class FTBufferGlyph extends FTGlyph {
 	/**
 	 * The width of the glyph 'image'
 	 */
-	private int destWidth = 0;
+	private final int destWidth;
 
 	/**
 	 * The height of the glyph 'image'
 	 */
-	private int destHeight = 0;
+	private final int destHeight;
 
 	/**
-	 * The pitch of the glyph 'image'
+	 * offset from the pen position to the left column of the image
 	 */
-	private int destPitch = 0;
+	private final int offsetX;
 
 	/**
-	 * offset from the pen position to the topleft corner of the pixmap
+	 * offset from the pen position to the top row of the image, downwards
 	 */
-	private final double offsetX;
+	private final int offsetY;
+
 	/**
-	 * offset from the pen position to the topleft corner of the pixmap
+	 * The coverage, row by row, the top row first
 	 */
-	private final double offsetY;
+	private byte[] coverage = null;
 
 	/**
-	 * Pointer to the 'image' data
+	 * The pixels at least half covered, each row starting at a new byte
 	 */
 	private byte[] data = null;
 
-	private byte[] buffer = null;
+	/**
+	 * The spans of the coverage, if compressed
+	 */
+	private byte[] runs = null;
+
+	/**
+	 * Constructor
+	 *
+	 * @param glyph
+	 *            The Freetype glyph to be processed
+	 * @param advance
+	 *            The advance of the glyph.
+	 */
+	public FTBufferGlyph(Shape glyph, float advance) {
+		this(glyph, advance, false);
+	}
 
 	/**
 	 * Constructor
-	 * 
+	 *
 	 * @param glyph
 	 *            The Freetype glyph to be processed
+	 * @param advance
+	 *            The advance of the glyph.
+	 * @param compressed
+	 *            <code>true</code> to keep the coverage compressed.
 	 */
-	public FTBufferGlyph(Shape glyph, byte[] clientBuffer, float advance) {
+	public FTBufferGlyph(Shape glyph, float advance, boolean compressed) {
 		super(glyph, advance);
-		buffer = clientBuffer;
 
 		Rectangle bounds = this.glyph.getBounds();
 
 		destWidth = bounds.width;
 		destHeight = bounds.height;
+		offsetX = bounds.x;
+		offsetY = -(bounds.y + bounds.height);
 
-		if (destWidth == 0 || destHeight == 0) {
-			offsetX = 0;
-			offsetY = 0;
+		if (destWidth == 0 || destHeight == 0)
 			return;
-		}
 
-		// int[] rgbarray = new int[this.destWidth*this.destHeight];
-
-		BufferedImage image = new BufferedImage(bounds.width, bounds.height,
-				BufferedImage.TYPE_BYTE_GRAY);
-		Graphics2D g2d = (Graphics2D) image.getGraphics();
-		g2d.scale(1.0f, -1.0f);
-		g2d.setColor(Color.BLACK);
-		g2d.fillRect(0, 0, bounds.width, bounds.height);
-		g2d.setColor(Color.WHITE);
-		g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
-				RenderingHints.VALUE_ANTIALIAS_ON);
-		g2d.translate(-this.glyph.getBounds2D().getX(), -this.glyph
-				.getBounds2D().getY() - destHeight + 1);
-		g2d.fill(this.glyph);
-
-		destPitch = destWidth;
-
-		if (destWidth > 0 && destHeight > 0) {
-			// allows for close to one byte loss at the end of a row
-			// Note: each start of a row has to be aligned at byte level
-			data = new byte[(int) Math.ceil((destPitch + 7) * destHeight / 8f)];
-
-			// Note: the first bit of each row must start at a new byte
-			int pow = 0;
-			int posi = 0;
-			byte value = 0;
-			for (int i = 0; i < destHeight; i++) {
-				for (int j = 0; j < destPitch; j++) {
-					value |= (byte) (image.getRGB(j, i) & 1);
-					pow++;
-					if (pow > 7) {
-						pow = 0;
-						data[posi++] = value;
-						value = 0;
-					} else
-						value = (byte) (value << 1);
-				}
-				// is the last byte of this row not saved yet ?
-				if (pow != 0) {
-					// write data & jump to the next free byte
-					data[posi++] =
-					// move last bits of the row to the byte's highest bits
-					(byte) (value << (7 - pow));
-					pow = 0;
-					value = 0;
-				}
-			}
-			//
-			// byte dest = data + (( destHeight - 1) * destPitch);
-			//
-			// byte src = bitmap.buffer;
-			//
-			// for( int y = 0; y < srcHeight; ++y)
-			// {
-			// memcpy( dest, src, srcPitch);
-			// dest -= destPitch;
-			// src += srcPitch;
-			// }
+		// the outline is y up, the image y down on the pixel grid
+		final FTRasterScratch scratch = FTRasterScratch.get();
+		final int size = destWidth * destHeight;
+		final byte[] pixels = scratch.getPixels(size, false);
+		scratch.getRasterizer().rasterize(this.glyph,
+				new AffineTransform(1.0, 0.0, 0.0, -1.0, -offsetX, -offsetY),
+				destWidth, destHeight, true, pixels);
+
+		// the spans are only kept, if smaller than coverage and bits
+		if (compressed) {
+			runs = FTRunLength.encode(pixels, size);
+			if (runs.length < size + (destWidth + 7) / 8 * destHeight)
+				return;
+			runs = null;
 		}
 
-		offsetX = glyph.getBounds2D().getX();
-		offsetY = -glyph.getBounds2D().getY();
+		coverage = new byte[size];
+		System.arraycopy(pixels, 0, coverage, 0, size);
+
+		// Note: the first bit of each row must start at a new byte
+		// the bit is set, if the pixel is at least half covered
+		data = new byte[(destWidth + 7) / 8 * destHeight];
+		FTRaster.packBits(pixels, destWidth, destHeight, 128, data);
 	}
 
 	/**
@@ -139,20 +125,57 @@ public class FTBufferGlyph extends FTGlyph {
 	@Override
 	public void dispose() {
 		super.dispose();
+		coverage = null;
 		data = null;
+		runs = null;
 	}
 
 	@Override
 	protected void createDisplayList() {
-
+		/* empty */
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
+	public int getMemorySize() {
+		return coverage != null ? coverage.length + data.length
+				: runs != null ? runs.length : 0;
+	}
+
+	/**
+	 * Draws nothing, buffer glyphs are drawn by
+	 * {@link #render(FTClientBuffer, float, float)}.
+	 *
+	 * @return The advance.
+	 */
+	@Override
 	public float render(final float x, final float y, final float z) {
 		return advance;
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Draws the glyph into an image. The pen position is rounded to the
+	 * nearest pixel.
+	 *
+	 * @param buffer
+	 *            The image to draw into.
+	 * @param x
+	 *            The column of the pen position.
+	 * @param y
+	 *            The row of the pen position, the baseline.
+	 * @return The advance.
+	 */
+	public float render(final FTClientBuffer buffer, final float x,
+			final float y) {
+		if (coverage != null)
+			buffer.draw(coverage, data, destWidth, destHeight, Math.round(x)
+					+ offsetX, Math.round(y) + offsetY);
+		else if (runs != null)
+			buffer.drawRuns(runs, destWidth, destHeight, Math.round(x)
+					+ offsetX, Math.round(y) + offsetY);
+		return advance;
+	}
+
+}
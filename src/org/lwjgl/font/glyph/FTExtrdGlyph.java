@@ -2,30 +2,77 @@
 package org.lwjgl.font.glyph;
 
 import java.awt.Shape;
+import java.awt.geom.GeneralPath;
 import java.awt.geom.PathIterator;
 
+import org.lwjgl.font.FTBevel;
 import org.lwjgl.font.FTContour;
+import org.lwjgl.font.FTGeometry;
 import org.lwjgl.font.FTGlyphContainer;
 import org.lwjgl.font.FTMesh;
-import org.lwjgl.font.FTTesselation;
+import org.lwjgl.font.FTOutline;
 import org.lwjgl.font.FTVectoriser;
+import org.lwjgl.font.gl.FTGL;
+import org.lwjgl.font.gl.FTGLBackend;
 import org.lwjgl.font.util.Vector3f;
 import org.lwjgl.opengl.GL11;
 
 /**
  * FTExtrdGlyph is a specialisation of FTGlyph for creating tessellated extruded
  * polygon glyphs.
+ * <p>
+ * A bevelled glyph is stored in three parts, the front with its bevel, the
+ * side walls and the back with its bevel. When the depth is scaled, see
+ * {@link #setDepthScale(float)}, the bevels keep their depth, only the walls
+ * are stretched and the back is moved.
  * 
  * @see FTGlyphContainer
  * @see FTVectoriser
  */
 public class FTExtrdGlyph extends FTGlyph {
 
+	/**
+	 * The default angle between neighboured edges, below which the side walls
+	 * share smoothed normals.
+	 */
+	public static final float DEFAULT_SMOOTHING_ANGLE = (float) (Math.PI / 4);
+
 	/**
 	 * Distance to extrude the glyph
 	 */
 	private float depth;
 
+	/**
+	 * The angle between neighboured edges, below which the side walls share
+	 * smoothed normals.
+	 */
+	private float smoothingAngle = FTExtrdGlyph.DEFAULT_SMOOTHING_ANGLE;
+
+	/**
+	 * The number of floats of the corner of a point of a bevelled contour.
+	 */
+	private static final int CORNER_SIZE = 6;
+
+	/**
+	 * The profile of the bevelled edges, <code>null</code> for sharp edges.
+	 */
+	private FTBevel bevel = null;
+
+	/**
+	 * The depth of the bevels as built, <code>0</code> without bevels.
+	 */
+	private float bevelDepth = 0.0f;
+
+	/**
+	 * The number of parts the geometry is stored in, three with bevels.
+	 */
+	private int partCount = 1;
+
+	/**
+	 * The factor the font scales the depth with.
+	 */
+	private float depthScale = 1.0f;
+
 	/**
 	 * Constructor. Sets the Error to Invalid_Outline if the glyphs isn't an
 	 * outline.
@@ -47,198 +94,566 @@ public class FTExtrdGlyph extends FTGlyph {
 		bBox.setDepth(-depth);
 	}
 
+	/**
+	 * Sets the angle between neighboured edges, below which the side walls
+	 * share smoothed normals. Has to be called before {@link #init()}.
+	 * 
+	 * @param angle
+	 *            The angle in radians, <code>0</code> for flat walls only.
+	 */
+	public void setSmoothingAngle(float angle) {
+		smoothingAngle = angle;
+	}
+
+	/**
+	 * Returns the angle between neighboured edges, below which the side walls
+	 * share smoothed normals.
+	 * 
+	 * @return The angle in radians.
+	 */
+	public float getSmoothingAngle() {
+		return smoothingAngle;
+	}
+
+	/**
+	 * Sets the profile of the bevelled edges. Has to be called before
+	 * {@link #init()}.
+	 * 
+	 * @param bevel
+	 *            The profile, <code>null</code> for sharp edges.
+	 */
+	public void setBevel(FTBevel bevel) {
+		this.bevel = bevel;
+	}
+
+	/**
+	 * Returns the profile of the bevelled edges.
+	 * 
+	 * @return The profile, <code>null</code> for sharp edges.
+	 */
+	public FTBevel getBevel() {
+		return bevel;
+	}
+
+	/**
+	 * Sets the factor the font scales the depth of this glyph with when
+	 * rendered. The font scales the whole glyph, the bevels are scaled back
+	 * to their depth.
+	 * 
+	 * @param scale
+	 *            The factor, <code>1</code> by default.
+	 */
+	public void setDepthScale(float scale) {
+		depthScale = scale;
+	}
+
+	/**
+	 * Returns the factor the font scales the depth of this glyph with.
+	 * 
+	 * @return The factor.
+	 */
+	public float getDepthScale() {
+		return depthScale;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	protected void createDisplayList() {
-		FTVectoriser vectoriser = new FTVectoriser(glyph);
+	public void init() {
+		if (FTGL.get().glIsList(glList))
+			FTGL.get().glDeleteLists(glList, partCount);
+		if (geometryBuffer == null)
+			createDisplayList();
+		else if (geometrySlot < 0) {
+			FTGeometry[] parts = createParts();
+			if (parts == null)
+				return;
+			for (int i = 0; i < parts.length; i++) {
+				int slot = geometryBuffer.add(parts[i]);
+				if (i == 0)
+					geometrySlot = slot;
+				assert slot == geometrySlot + i : "Parts not in a row!";
+			}
+		}
+	}
 
-		if ((vectoriser.contourCount() < 1) || (vectoriser.pointCount() < 3))
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void createDisplayList() {
+		FTGeometry[] parts = createParts();
+		if (parts == null)
 			return;
 
-		int tesselationIndex;
-		glList = GL11.glGenLists(1);
-		GL11.glNewList(glList, GL11.GL_COMPILE);
-		if (!GL11.glIsList(glList))
-			System.err
-					.println("WARNING: something went wrong creating display list");
-
-		vectoriser.makeMesh(1.0);
-		GL11.glNormal3d(0.0, 0.0, 1.0);
-
-		FTMesh mesh = vectoriser.getMesh();
-		for (tesselationIndex = 0; tesselationIndex < mesh.tesselationCount(); ++tesselationIndex) {
-			FTTesselation subMesh = mesh.getTesselation(tesselationIndex);
-			int polygonType = subMesh.getPolygonType();
-
-			GL11.glBegin(polygonType);
-			for (int pointIndex = 0; pointIndex < subMesh.pointCount(); ++pointIndex) {
-				double[] point = subMesh.getPoint(pointIndex);
-				GL11.glVertex3f((float) point[FTContour.X] /* / 64.0f */, // TODO
-																			// 64?
-						(float) point[FTContour.Y] /* / 64.0f */, 0.0f);
-			}
-			GL11.glEnd();
+		glList = FTGL.get().glGenLists(parts.length);
+		for (int i = 0; i < parts.length; i++) {
+			FTGL.get().glNewList(glList + i, GL11.GL_COMPILE);
+			parts[i].render();
+			assert i > 0 || displayNormals(getOutline());
+			FTGL.get().glEndList();
 		}
+	}
 
-		vectoriser.makeMesh(-1.0);
-		GL11.glNormal3d(0.0, 0.0, -1.0);
+	/**
+	 * {@inheritDoc} The geometry of a bevelled glyph is joined from its
+	 * parts.
+	 */
+	@Override
+	public FTGeometry createGeometry() {
+		FTGeometry[] parts = createParts();
+		if (parts == null || parts.length == 1)
+			return parts == null ? null : parts[0];
+		FTGeometry geometry = new FTGeometry(GL11.GL_TRIANGLES, parts[0]
+				.getVertexCount()
+				+ parts[1].getVertexCount() + parts[2].getVertexCount(),
+				parts[0].getIndexCount() + parts[1].getIndexCount()
+						+ parts[2].getIndexCount());
+		for (FTGeometry part : parts)
+			geometry.append(part, 0.0f, 0.0f);
+		return geometry;
+	}
 
-		mesh = vectoriser.getMesh();
-		for (tesselationIndex = 0; tesselationIndex < mesh.tesselationCount(); ++tesselationIndex) {
-			FTTesselation subMesh = mesh.getTesselation(tesselationIndex);
-			int polygonType = subMesh.getPolygonType();
+	/**
+	 * {@inheritDoc} With bevels the walls are stretched and the back is
+	 * moved, the bevels keep their depth.
+	 */
+	@Override
+	public void appendGeometry(FTGeometry mesh, FTGeometry geometry,
+			float dx, float dy, float scale, float scaleZ) {
+		if (bevelDepth > 0.0f && scaleZ != 1.0f)
+			mesh.appendStretched(geometry, dx, dy, scale, bevelDepth, depth,
+					depth * scaleZ);
+		else
+			super.appendGeometry(mesh, geometry, dx, dy, scale, scaleZ);
+	}
 
-			GL11.glBegin(polygonType);
-			for (int pointIndex = 0; pointIndex < subMesh.pointCount(); ++pointIndex)
-				GL11.glVertex3f(
-						(float) subMesh.getPoint(pointIndex)[FTContour.X] /*
-																		 * /
-																		 * 64.0f
-																		 */, // TODO
-																				// 64?
-						(float) subMesh.getPoint(pointIndex)[FTContour.Y] /*
-																		 * /
-																		 * 64.0f
-																		 */,
-						-depth);
-			GL11.glEnd();
+	/**
+	 * {@inheritDoc} The parts of a bevelled glyph are drawn with the depth
+	 * scale of the font undone for the bevels.
+	 */
+	@Override
+	public void drawGeometry() {
+		if (partCount == 1) {
+			super.drawGeometry();
+			return;
+		}
+		final FTGLBackend gl = FTGL.get();
+		if (depthScale == 1.0f) {
+			for (int i = 0; i < partCount; i++)
+				drawPart(i);
+			return;
 		}
+		final float newDepth = depth * depthScale;
+		gl.glPushMatrix();
+		gl.glScalef(1.0f, 1.0f, 1.0f / depthScale);
+		drawPart(0);
+		if (depth > bevelDepth * 2.0f) {
+			gl.glPushMatrix();
+			gl.glTranslatef(0.0f, 0.0f, -bevelDepth);
+			gl.glScalef(1.0f, 1.0f, (newDepth - bevelDepth * 2.0f)
+					/ (depth - bevelDepth * 2.0f));
+			gl.glTranslatef(0.0f, 0.0f, bevelDepth);
+			drawPart(1);
+			gl.glPopMatrix();
+		}
+		gl.glTranslatef(0.0f, 0.0f, depth - newDepth);
+		drawPart(2);
+		gl.glPopMatrix();
+	}
+
+	/**
+	 * Draws a part of the geometry at the current position.
+	 */
+	private void drawPart(int part) {
+		if (geometrySlot >= 0)
+			geometryBuffer.draw(geometrySlot + part);
+		else
+			FTGL.get().glCallList(glList + part);
+	}
 
-		int contourFlag = vectoriser.contourFlag();
+	/**
+	 * Creates the front and back faces and the side walls of this glyph. Side
+	 * walls with an angle below the smoothing angle between neighboured edges
+	 * share smoothed normals, sharper corners split the wall. With a bevel the
+	 * faces are built from the contours offset inward and the rings of the
+	 * bevel join them to the shortened side walls. No OpenGL is called, so the
+	 * geometry can be built on any thread.
+	 * 
+	 * @return The geometry, or with bevels the front with its bevel, the
+	 *         walls and the back with its bevel, <code>null</code> without
+	 *         outline.
+	 */
+	private FTGeometry[] createParts() {
+		FTOutline outline = getOutline();
+
+		if ((outline.contourCount() < 1) || (outline.pointCount() < 3))
+			return null;
+
+		FTMesh front = outline.getMesh(true);
+		FTMesh back = outline.getMesh(false);
+		// the caps and up to two pairs of wall vertices per point
+		int capPoints = 0;
+		for (int index = 0; index < front.tesselationCount(); ++index)
+			capPoints += front.getTesselation(index).pointCount();
+		final int wallPoints = outline.pointCount() + outline.contourCount();
+		final float cosLimit = (float) Math.cos(smoothingAngle);
+
+		float[][] corners = null;
+		int segments = 0;
+		float bevelDepth = 0.0f;
+		int columns = 0;
+		boolean outwardLeft = true;
+		if (bevel != null && depth > 0.0f) {
+			// the side the normals of the contours have to point outward
+			outwardLeft = FTExtrdGlyph.getArea(outline) < 0.0;
+			corners = new float[outline.contourCount()][];
+			columns = FTExtrdGlyph.getCorners(outline, outwardLeft ? 1.0f
+					: -1.0f, cosLimit, corners);
+			// the rings of both bevels have to fit the budget
+			int budget = bevel.getVertexBudget() - capPoints * 2 - columns * 2;
+			segments = Math.min(bevel.getSegments(), budget / (columns * 2) - 1);
+			bevelDepth = Math.min(bevel.getDepth(), depth * 0.5f);
+		}
+		if (segments < 1) {
+			segments = 0;
+			bevelDepth = 0.0f;
+		} else {
+			FTVectoriser inset = FTExtrdGlyph.getInset(outline, corners,
+					bevel.getWidth());
+			front = inset.createMesh(FTVectoriser.FTGL_FRONT_FACING);
+			back = inset.createMesh(FTVectoriser.FTGL_BACK_FACING);
+		}
+
+		final FTGeometry geometry, frontPart, backPart;
+		if (segments > 0) {
+			frontPart = new FTGeometry(GL11.GL_TRIANGLES, capPoints + columns
+					* (segments + 1), capPoints * 3 + columns * 6 * segments);
+			geometry = new FTGeometry(GL11.GL_TRIANGLES, wallPoints * 4,
+					wallPoints * 6);
+			backPart = new FTGeometry(GL11.GL_TRIANGLES, capPoints + columns
+					* (segments + 1), capPoints * 3 + columns * 6 * segments);
+		} else {
+			geometry = new FTGeometry(GL11.GL_TRIANGLES, capPoints * 2
+					+ wallPoints * 4, capPoints * 6 + wallPoints * 6);
+			frontPart = geometry;
+			backPart = geometry;
+		}
+
+		for (int index = 0; index < front.tesselationCount(); ++index)
+			frontPart.addTesselation(front.getTesselation(index), 0.0f, 1.0f);
+
+		for (int index = 0; index < back.tesselationCount(); ++index)
+			backPart.addTesselation(back.getTesselation(index), -depth, -1.0f);
+
+		int contourFlag = outline.contourFlag();
 		boolean nonzero = (contourFlag != PathIterator.WIND_NON_ZERO);
+		final float z0 = nonzero ? -bevelDepth : bevelDepth - depth;
+		final float z1 = nonzero ? bevelDepth - depth : -bevelDepth;
+		final float[] normal = new float[2];
 
-		for (int c = 0; c < vectoriser.contourCount(); ++c) {
-			FTContour contour = vectoriser.contour(c);
-			int numberOfPoints = contour.pointCount();
+		if (z0 != z1)
+			for (int c = 0; c < outline.contourCount(); ++c) {
+				final double[] points = outline.contour(c).getPoints();
+				final int numberOfPoints = points.length / 2;
 
-			Vector3f oldNormal = FTExtrdGlyph.getNormal(
-					contour.getPoint(numberOfPoints - 1), contour.getPoint(0));
-			GL11.glBegin(GL11.GL_QUAD_STRIP);
-			for (int j = 0; j <= numberOfPoints; ++j) {
-				int index = (j == numberOfPoints) ? 0 : j;
-				int nextIndex = (index == numberOfPoints - 1) ? 0 : index + 1;
+				FTExtrdGlyph.getNormal(points, numberOfPoints - 1, 0, normal);
+				float oldX = normal[0];
+				float oldY = normal[1];
+				// the first vertex of the last pair of the current strip
+				int strip = -1;
+				for (int j = 0; j <= numberOfPoints; ++j) {
+					int index = (j == numberOfPoints) ? 0 : j;
+					int nextIndex = (index == numberOfPoints - 1) ? 0 : index + 1;
 
-				Vector3f flatNormal = FTExtrdGlyph.getNormal(
-						contour.getPoint(index), contour.getPoint(nextIndex));
-				boolean smoothEdge = Math.abs(flatNormal.angle(oldNormal)) < Math.PI / 4;
-				Vector3f normal;
-				if (smoothEdge)
-					normal = new Vector3f(flatNormal).add(oldNormal).scale(
-							1 / 2f);
-				else {
-					normal = oldNormal;
-					GL11.glNormal3f(normal.x, normal.y, 0.0f);
-					if (nonzero)// & ft_outline_reverse_fill) //FT_LIB
-					{
-						GL11.glVertex3f(
-								(float) contour.getPoint(index)[FTContour.X] /*
-																			 * /
-																			 * 64.0f
-																			 */,
-								(float) contour.getPoint(index)[FTContour.Y] /*
-																			 * /
-																			 * 64.0f
-																			 */,
-								0.0f); // TODO 64?
-						GL11.glVertex3f(
-								(float) contour.getPoint(index)[FTContour.X] /*
-																			 * /
-																			 * 64.0f
-																			 */,
-								(float) contour.getPoint(index)[FTContour.Y] /*
-																			 * /
-																			 * 64.0f
-																			 */,
-								-depth);
-					} else {
-						GL11.glVertex3f(
-								(float) contour.getPoint(index)[FTContour.X] /*
-																			 * /
-																			 * 64.0f
-																			 */,
-								(float) contour.getPoint(index)[FTContour.Y] /*
-																			 * /
-																			 * 64.0f
-																			 */,
-								-depth); // TODO 64?
-						GL11.glVertex3f(
-								(float) contour.getPoint(index)[FTContour.X] /*
-																			 * /
-																			 * 64.0f
-																			 */,
-								(float) contour.getPoint(index)[FTContour.Y] /*
-																			 * /
-																			 * 64.0f
-																			 */,
-								0.0f);
+					float x = (float) points[index * 2];
+					float y = (float) points[index * 2 + 1];
+					FTExtrdGlyph.getNormal(points, index, nextIndex, normal);
+					float flatX = normal[0];
+					float flatY = normal[1];
+					boolean smoothEdge = (flatX != 0.0f || flatY != 0.0f)
+							&& (oldX != 0.0f || oldY != 0.0f)
+							&& flatX * oldX + flatY * oldY > cosLimit;
+					if (smoothEdge)
+						strip = addWallPair(geometry, strip, x, y,
+								(flatX + oldX) * 0.5f, (flatY + oldY) * 0.5f, z0,
+								z1);
+					else {
+						addWallPair(geometry, strip, x, y, oldX, oldY, z0, z1);
+						strip = addWallPair(geometry, -1, x, y, flatX, flatY, z0,
+								z1);
 					}
-					normal = flatNormal;
-					GL11.glEnd();
-					GL11.glBegin(GL11.GL_QUAD_STRIP);
+					oldX = flatX;
+					oldY = flatY;
 				}
+			}
 
-				GL11.glNormal3f(normal.x, normal.y, 0.0f);
-				if (nonzero)// & ft_outline_reverse_fill) //FT_LIB
-				{
-					GL11.glVertex3f(
-							(float) contour.getPoint(index)[FTContour.X] /*
-																		 * /
-																		 * 64.0f
-																		 */,
-							(float) contour.getPoint(index)[FTContour.Y] /*
-																		 * /
-																		 * 64.0f
-																		 */,
-							0.0f); // TODO 64?
-					GL11.glVertex3f(
-							(float) contour.getPoint(index)[FTContour.X] /*
-																		 * /
-																		 * 64.0f
-																		 */,
-							(float) contour.getPoint(index)[FTContour.Y] /*
-																		 * /
-																		 * 64.0f
-																		 */,
-							-depth);
+		if (segments > 0) {
+			float[] profile = bevel.getProfile(segments, bevelDepth);
+			// the rings run from the cap to the wall, against the z axis at the
+			// front and along it at the back
+			for (int c = 0; c < outline.contourCount(); ++c) {
+				final double[] points = outline.contour(c).getPoints();
+				addBevel(frontPart, points, corners[c], profile, cosLimit,
+						0.0f, 1.0f, outwardLeft);
+				addBevel(backPart, points, corners[c], profile, cosLimit,
+						-depth, -1.0f, !outwardLeft);
+			}
+			this.bevelDepth = bevelDepth;
+			partCount = 3;
+			return new FTGeometry[] { optimize(frontPart), optimize(geometry),
+					optimize(backPart) };
+		}
+		this.bevelDepth = 0.0f;
+		partCount = 1;
+		return new FTGeometry[] { optimize(geometry) };
+	}
+
+	/**
+	 * Adds the rings of the front or the back bevel of a contour. The columns
+	 * of the rings are split at sharp corners, like the side walls.
+	 * 
+	 * @param corner
+	 *            The packed corners of the contour.
+	 * @param z
+	 *            The z coordinate of the cap.
+	 * @param zNormal
+	 *            <code>1</code> for the front, <code>-1</code> for the back.
+	 * @param flip
+	 *            Whether to flip the winding of the triangles.
+	 */
+	private static void addBevel(FTGeometry geometry, double[] points,
+			float[] corner, float[] profile, float cosLimit, float z,
+			float zNormal, boolean flip) {
+		final int numberOfPoints = points.length / 2;
+		int strip = -1;
+		for (int j = 0; j <= numberOfPoints; ++j) {
+			int index = (j == numberOfPoints) ? 0 : j;
+			int offset = index * FTExtrdGlyph.CORNER_SIZE;
+
+			float x = (float) points[index * 2];
+			float y = (float) points[index * 2 + 1];
+			float mx = corner[offset];
+			float my = corner[offset + 1];
+			float oldX = corner[offset + 2];
+			float oldY = corner[offset + 3];
+			float flatX = corner[offset + 4];
+			float flatY = corner[offset + 5];
+			if (flatX * oldX + flatY * oldY > cosLimit) {
+				float nx = flatX + oldX;
+				float ny = flatY + oldY;
+				float length = (float) Math.sqrt(nx * nx + ny * ny);
+				strip = addBevelColumn(geometry, strip, x, y, mx, my, nx
+						/ length, ny / length, profile, z, zNormal, flip);
+			} else {
+				addBevelColumn(geometry, strip, x, y, mx, my, oldX, oldY,
+						profile, z, zNormal, flip);
+				strip = addBevelColumn(geometry, -1, x, y, mx, my, flatX, flatY,
+						profile, z, zNormal, flip);
+			}
+		}
+	}
+
+	/**
+	 * Adds the vertices of a point of all rings of a bevel and the quads to
+	 * the previous column of the strip.
+	 * 
+	 * @return The index of the first vertex of the new column.
+	 */
+	private static int addBevelColumn(FTGeometry geometry, int strip, float x,
+			float y, float mx, float my, float nx, float ny, float[] profile,
+			float z, float zNormal, boolean flip) {
+		final int rings = profile.length / 4;
+		int a = -1;
+		for (int k = 0; k < rings; k++) {
+			float inset = profile[k * 4];
+			float nr = profile[k * 4 + 2];
+			int index = geometry.addVertex(x - mx * inset, y - my * inset, z
+					- zNormal * profile[k * 4 + 1], nx * nr, ny * nr, zNormal
+					* profile[k * 4 + 3]);
+			if (k == 0)
+				a = index;
+		}
+		if (strip >= 0)
+			for (int k = 0; k < rings - 1; k++)
+				if (flip) {
+					geometry.addTriangle(strip + k + 1, strip + k, a + k);
+					geometry.addTriangle(a + k, a + k + 1, strip + k + 1);
 				} else {
-					GL11.glVertex3f(
-							(float) contour.getPoint(index)[FTContour.X] /*
-																		 * /
-																		 * 64.0f
-																		 */,
-							(float) contour.getPoint(index)[FTContour.Y] /*
-																		 * /
-																		 * 64.0f
-																		 */,
-							-depth); // TODO 64?
-					GL11.glVertex3f(
-							(float) contour.getPoint(index)[FTContour.X] /*
-																		 * /
-																		 * 64.0f
-																		 */,
-							(float) contour.getPoint(index)[FTContour.Y] /*
-																		 * /
-																		 * 64.0f
-																		 */,
-							0.0f);
+					geometry.addTriangle(strip + k, strip + k + 1, a + k + 1);
+					geometry.addTriangle(a + k + 1, a + k, strip + k);
 				}
-				oldNormal = flatNormal;
+		return a;
+	}
+
+	/**
+	 * Calculates the corners of every point of the contours: the outward
+	 * miter, the offset that moves both neighboured edges by one unit, and the
+	 * outward normals of the edge before and after the point. Edges of zero
+	 * length, like the closing point of a contour, are skipped. Miters of
+	 * sharp corners are limited to two units.
+	 * 
+	 * @param sign
+	 *            <code>1</code>, if the normals of the contours point outward,
+	 *            <code>-1</code> otherwise.
+	 * @param corners
+	 *            The array for the packed corners of each contour,
+	 *            {@link #CORNER_SIZE} floats per point.
+	 * @return The number of columns of the side walls, the points plus the
+	 *         points split at sharp corners.
+	 */
+	private static int getCorners(FTOutline outline, float sign,
+			float cosLimit, float[][] corners) {
+		final float[] normal = new float[2];
+		int columns = 0;
+		for (int c = 0; c < outline.contourCount(); ++c) {
+			final double[] points = outline.contour(c).getPoints();
+			final int numberOfPoints = points.length / 2;
+			final float[] corner = new float[numberOfPoints
+					* FTExtrdGlyph.CORNER_SIZE];
+
+			// the outward normals of the edges after each point
+			for (int index = 0; index < numberOfPoints; ++index) {
+				int nextIndex = (index == numberOfPoints - 1) ? 0 : index + 1;
+				FTExtrdGlyph.getNormal(points, index, nextIndex, normal);
+				corner[index * FTExtrdGlyph.CORNER_SIZE + 4] = normal[0] * sign;
+				corner[index * FTExtrdGlyph.CORNER_SIZE + 5] = normal[1] * sign;
+			}
+			// skip edges of zero length
+			for (int index = 0; index < numberOfPoints; ++index) {
+				int after = FTExtrdGlyph.findEdge(corner, index, 1);
+				int before = FTExtrdGlyph.findEdge(corner, index
+						+ numberOfPoints - 1, -1);
+				int offset = index * FTExtrdGlyph.CORNER_SIZE;
+				corner[offset + 2] = corner[before + 4];
+				corner[offset + 3] = corner[before + 5];
+				corner[offset + 4] = corner[after + 4];
+				corner[offset + 5] = corner[after + 5];
+			}
+			for (int index = 0; index < numberOfPoints; ++index) {
+				int offset = index * FTExtrdGlyph.CORNER_SIZE;
+				float oldX = corner[offset + 2];
+				float oldY = corner[offset + 3];
+				float flatX = corner[offset + 4];
+				float flatY = corner[offset + 5];
+				float dot = flatX * oldX + flatY * oldY;
+				columns += dot > cosLimit ? 1 : 2;
+
+				float mx = flatX + oldX;
+				float my = flatY + oldY;
+				if (dot > -0.5f) {
+					mx /= 1.0f + dot;
+					my /= 1.0f + dot;
+				} else {
+					// limit the spike of sharp corners
+					float length = (float) Math.sqrt(mx * mx + my * my);
+					length = length > 0.0f ? 2.0f / length : 0.0f;
+					mx *= length;
+					my *= length;
+				}
+				corner[offset] = mx;
+				corner[offset + 1] = my;
+			}
+			corners[c] = corner;
+			columns += 1;
+		}
+		return columns;
+	}
+
+	/**
+	 * Finds the next edge of non zero length, starting at an edge.
+	 * 
+	 * @param corner
+	 *            The corners holding the normals of the edges after each
+	 *            point.
+	 * @param index
+	 *            The index of the first edge, may exceed the number of
+	 *            points.
+	 * @param step
+	 *            <code>1</code> to search forward, <code>-1</code> backward.
+	 * @return The offset of the corner of the edge found, or of the first
+	 *         edge, if all edges are of zero length.
+	 */
+	private static int findEdge(float[] corner, int index, int step) {
+		final int numberOfPoints = corner.length / FTExtrdGlyph.CORNER_SIZE;
+		for (int i = 0; i < numberOfPoints; i++) {
+			int offset = ((index + i * step + numberOfPoints) % numberOfPoints)
+					* FTExtrdGlyph.CORNER_SIZE;
+			if (corner[offset + 4] != 0.0f || corner[offset + 5] != 0.0f)
+				return offset;
+		}
+		return (index % numberOfPoints) * FTExtrdGlyph.CORNER_SIZE;
+	}
+
+	/**
+	 * Creates the contours offset inward by the width of the bevel.
+	 */
+	private static FTVectoriser getInset(FTOutline outline,
+			float[][] corners, float width) {
+		GeneralPath path = new GeneralPath(outline.contourFlag());
+		for (int c = 0; c < outline.contourCount(); ++c) {
+			final double[] points = outline.contour(c).getPoints();
+			final float[] corner = corners[c];
+			for (int index = 0; index < points.length / 2; ++index) {
+				int offset = index * FTExtrdGlyph.CORNER_SIZE;
+				float x = (float) points[index * 2] - corner[offset] * width;
+				float y = (float) points[index * 2 + 1] - corner[offset + 1]
+						* width;
+				if (index == 0)
+					path.moveTo(x, y);
+				else
+					path.lineTo(x, y);
+			}
+			path.closePath();
+		}
+		return new FTVectoriser(path);
+	}
+
+	/**
+	 * Calculates the signed area of all contours. The area is negative, if
+	 * the outer contours run clockwise and the normals of
+	 * {@link #getNormal(double[], int, int, float[])} point outward.
+	 */
+	private static double getArea(FTOutline outline) {
+		double area = 0.0;
+		for (int c = 0; c < outline.contourCount(); ++c) {
+			final double[] points = outline.contour(c).getPoints();
+			final int numberOfPoints = points.length / 2;
+			for (int index = 0; index < numberOfPoints; ++index) {
+				int nextIndex = (index == numberOfPoints - 1) ? 0 : index + 1;
+				area += points[index * 2] * points[nextIndex * 2 + 1]
+						- points[nextIndex * 2] * points[index * 2 + 1];
 			}
-			GL11.glEnd();
-			assert displayNormals(vectoriser);
 		}
-		GL11.glEndList();
+		return area * 0.5;
+	}
+
+	/**
+	 * Adds the front and the back vertex of a point of the side wall and the
+	 * quad to the previous pair of the strip, the way a quad strip connects
+	 * them.
+	 * 
+	 * @return The index of the first vertex of the new pair.
+	 */
+	private static int addWallPair(FTGeometry geometry, int strip, float x,
+			float y, float nx, float ny, float z0, float z1) {
+		int a = geometry.addVertex(x, y, z0, nx, ny, 0.0f);
+		int b = geometry.addVertex(x, y, z1, nx, ny, 0.0f);
+		if (strip >= 0) {
+			geometry.addTriangle(strip, strip + 1, b);
+			geometry.addTriangle(b, a, strip);
+		}
+		return a;
 	}
 
-	private boolean displayNormals(FTVectoriser vectoriser) {
-		GL11.glPushAttrib(GL11.GL_CURRENT_BIT | GL11.GL_LIGHTING_BIT);
-		GL11.glDisable(GL11.GL_LIGHTING);
-		GL11.glColor3f(1.0f, 0.0f, 0.0f);
-		GL11.glBegin(GL11.GL_LINES);
-		for (int c = 0; c < vectoriser.contourCount(); ++c) {
-			FTContour contour = vectoriser.contour(c);
+	private boolean displayNormals(FTOutline outline) {
+		FTGL.get().glPushAttrib(GL11.GL_CURRENT_BIT | GL11.GL_LIGHTING_BIT);
+		FTGL.get().glDisable(GL11.GL_LIGHTING);
+		FTGL.get().glColor3f(1.0f, 0.0f, 0.0f);
+		FTGL.get().glBegin(GL11.GL_LINES);
+		for (int c = 0; c < outline.contourCount(); ++c) {
+			FTContour contour = outline.contour(c);
 			int numberOfPoints = contour.pointCount();
 			Vector3f oldNormal = FTExtrdGlyph.getNormal(contour.getPoint(0),
 					contour.getPoint(1));
@@ -248,15 +663,15 @@ public class FTExtrdGlyph extends FTGlyph {
 
 				Vector3f flatNormal = FTExtrdGlyph.getNormal(
 						contour.getPoint(index), contour.getPoint(nextIndex));
-				boolean smoothEdge = Math.abs(oldNormal.angle(flatNormal)) < Math.PI / 4;
+				boolean smoothEdge = Math.abs(oldNormal.angle(flatNormal)) < smoothingAngle;
 				Vector3f normal;
 				if (smoothEdge)
 					normal = new Vector3f(flatNormal).add(oldNormal).scale(
 							1 / 2f);
 				else {
 					normal = new Vector3f(oldNormal).scale(4f, 4f, 0f);
-					GL11.glNormal3f(normal.x, normal.y, 0.0f);
-					GL11.glVertex3f(
+					FTGL.get().glNormal3f(normal.x, normal.y, 0.0f);
+					FTGL.get().glVertex3f(
 							(float) contour.getPoint(index)[FTContour.X] /*
 																		 * /
 																		 * 64.0f
@@ -266,13 +681,13 @@ public class FTExtrdGlyph extends FTGlyph {
 																		 * 64.0f
 																		 */,
 							0.0f); // TODO 64?
-					GL11.glVertex3f(
+					FTGL.get().glVertex3f(
 							(float) contour.getPoint(index)[FTContour.X]
 									+ normal.x /* / 64.0f */,
 							(float) contour.getPoint(index)[FTContour.Y]
 									+ normal.y /* / 64.0f */, 0.0f); // TODO
 																		// 64?
-					GL11.glVertex3f(
+					FTGL.get().glVertex3f(
 							(float) contour.getPoint(index)[FTContour.X] /*
 																		 * /
 																		 * 64.0f
@@ -282,14 +697,14 @@ public class FTExtrdGlyph extends FTGlyph {
 																		 * 64.0f
 																		 */,
 							-depth);
-					GL11.glVertex3f(
+					FTGL.get().glVertex3f(
 							(float) contour.getPoint(index)[FTContour.X]
 									+ normal.x /* / 64.0f */,
 							(float) contour.getPoint(index)[FTContour.Y]
 									+ normal.y /* / 64.0f */, -depth);
 				}
 				// System.out.print("Contourflag:");
-				// switch (vectoriser.contourFlag())
+				// switch (outline.contourFlag())
 				// {
 				// case PathIterator.WIND_EVEN_ODD:
 				// System.out.println("even odd");
@@ -302,12 +717,12 @@ public class FTExtrdGlyph extends FTGlyph {
 				// break;
 				// }
 				normal = new Vector3f(flatNormal).scale(4f, 4f, 0f);
-				GL11.glNormal3f(normal.x, normal.y, 0.0f);
-				GL11.glVertex3f(
+				FTGL.get().glNormal3f(normal.x, normal.y, 0.0f);
+				FTGL.get().glVertex3f(
 						(float) contour.getPoint(index)[FTContour.X] /* / 64.0f */,
 						(float) contour.getPoint(index)[FTContour.Y] /* / 64.0f */,
 						0.0f); // TODO 64?
-				GL11.glVertex3f(
+				FTGL.get().glVertex3f(
 						(float) contour.getPoint(index)[FTContour.X] + normal.x /*
 																				 * /
 																				 * 64.0f
@@ -317,11 +732,11 @@ public class FTExtrdGlyph extends FTGlyph {
 																				 * 64.0f
 																				 */,
 						0.0f); // TODO 64?
-				GL11.glVertex3f(
+				FTGL.get().glVertex3f(
 						(float) contour.getPoint(index)[FTContour.X] /* / 64.0f */,
 						(float) contour.getPoint(index)[FTContour.Y] /* / 64.0f */,
 						-depth);
-				GL11.glVertex3f(
+				FTGL.get().glVertex3f(
 						(float) contour.getPoint(index)[FTContour.X] + normal.x /*
 																				 * /
 																				 * 64.0f
@@ -334,11 +749,39 @@ public class FTExtrdGlyph extends FTGlyph {
 				oldNormal = flatNormal;
 			}
 		}
-		GL11.glEnd();
-		GL11.glPopAttrib();
+		FTGL.get().glEnd();
+		FTGL.get().glPopAttrib();
 		return true;
 	}
 
+	/**
+	 * Calculate the normal vector of the edge between two packed points. This
+	 * is 2D, the normal will be normalised, or zero if both points are equal.
+	 * 
+	 * @param points
+	 *            The packed points of a contour.
+	 * @param a
+	 *            The index of the first point.
+	 * @param b
+	 *            The index of the second point.
+	 * @param dest
+	 *            The array for the x and y component of the normal.
+	 */
+	private static void getNormal(double[] points, int a, int b, float[] dest) {
+		float vectorX = (float) (points[a * 2] - points[b * 2]);
+		float vectorY = (float) (points[a * 2 + 1] - points[b * 2 + 1]);
+
+		float length = (float) Math.sqrt(vectorX * vectorX + vectorY * vectorY);
+
+		if (length > 0.0f)
+			length = 1 / length;
+		else
+			length = 0.0f;
+
+		dest[0] = vectorY * length;
+		dest[1] = -vectorX * length;
+	}
+
 	/**
 	 * Calculate the normal vector to 2 points. This is 2D and ignores the z
 	 * component. The normal will be normalised
@@ -366,7 +809,8 @@ public class FTExtrdGlyph extends FTGlyph {
 	 */
 	@Override
 	public void dispose() {
-		super.dispose();
+		if (FTGL.get().glIsList(glList))
+			FTGL.get().glDeleteLists(glList, partCount);
 	}
 
 	/**
@@ -374,11 +818,7 @@ public class FTExtrdGlyph extends FTGlyph {
 	 */
 	@Override
 	public float render(final float x, final float y, final float z) {
-		if (GL11.glIsList(glList)) {
-			GL11.glTranslatef(x, y, 0);
-			GL11.glCallList(glList);
-			GL11.glTranslatef(-x, -y, 0);
-		}
+		renderGeometry(x, y);
 		return advance;
 	}
 
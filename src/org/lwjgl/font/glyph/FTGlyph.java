@@ -6,7 +6,12 @@ import java.awt.font.GraphicAttribute;
 import java.awt.font.ShapeGraphicAttribute;
 
 import org.lwjgl.font.FTBBox;
+import org.lwjgl.font.FTGeometry;
+import org.lwjgl.font.FTGeometryBuffer;
+import org.lwjgl.font.FTGeometryOptimizer;
 import org.lwjgl.font.FTGlyphContainer;
+import org.lwjgl.font.FTOutline;
+import org.lwjgl.font.gl.FTGL;
 import org.lwjgl.opengl.GL11;
 
 /**
@@ -26,6 +31,27 @@ public abstract class FTGlyph {
 
 	protected int glList = -1;
 
+	/**
+	 * The shared buffer the geometry of this glyph is stored in, if display
+	 * lists are not used.
+	 */
+	protected FTGeometryBuffer geometryBuffer = null;
+
+	/**
+	 * The slot of the geometry in the buffer, <code>-1</code> if not stored.
+	 */
+	protected int geometrySlot = -1;
+
+	/**
+	 * The flattened outline, <code>null</code> until set or first used.
+	 */
+	private FTOutline outline = null;
+
+	/**
+	 * Whether the geometry is welded and reordered for the vertex cache.
+	 */
+	private boolean optimizeGeometry = false;
+
 	/**
 	 * Constructor
 	 * 
@@ -69,14 +95,184 @@ public abstract class FTGlyph {
 	 * Destructor.
 	 */
 	public void dispose() {
-		if (GL11.glIsList(glList))
-			GL11.glDeleteLists(glList, 1);
+		if (FTGL.get().glIsList(glList))
+			FTGL.get().glDeleteLists(glList, 1);
 	}
 
 	public void init() {
-		if (GL11.glIsList(glList))
-			GL11.glDeleteLists(glList, 1);
-		createDisplayList();
+		if (FTGL.get().glIsList(glList))
+			FTGL.get().glDeleteLists(glList, 1);
+		if (geometryBuffer == null)
+			createDisplayList();
+		else if (geometrySlot < 0) {
+			FTGeometry geometry = createGeometry();
+			if (geometry != null)
+				geometrySlot = geometryBuffer.add(geometry);
+		}
+	}
+
+	/**
+	 * Sets the buffer to store the geometry of this glyph in, instead of a
+	 * display list. Has to be called before {@link #init()}.
+	 * 
+	 * @param buffer
+	 *            The shared buffer or <code>null</code> to use a display list.
+	 */
+	public void setGeometryBuffer(FTGeometryBuffer buffer) {
+		geometryBuffer = buffer;
+		geometrySlot = -1;
+	}
+
+	/**
+	 * Returns the buffer the geometry of this glyph is stored in.
+	 * 
+	 * @return The shared buffer or <code>null</code> if a display list is
+	 *         used.
+	 */
+	public FTGeometryBuffer getGeometryBuffer() {
+		return geometryBuffer;
+	}
+
+	/**
+	 * Returns the slot of the geometry of this glyph in its buffer.
+	 * 
+	 * @return The slot or <code>-1</code> if the geometry is not stored in a
+	 *         buffer.
+	 */
+	public int getGeometrySlot() {
+		return geometrySlot;
+	}
+
+	/**
+	 * Sets the flattened outline of this glyph, e.g. from a
+	 * {@link org.lwjgl.font.FTOutlineCache} shared by several fonts. Has to be
+	 * called before {@link #init()}.
+	 * 
+	 * @param outline
+	 *            The outline of the shape of this glyph.
+	 */
+	public void setOutline(FTOutline outline) {
+		this.outline = outline;
+	}
+
+	/**
+	 * Returns the flattened outline of this glyph. If none was set, the shape
+	 * is flattened now.
+	 * 
+	 * @return The outline.
+	 */
+	protected FTOutline getOutline() {
+		if (outline == null)
+			outline = new FTOutline(glyph);
+		return outline;
+	}
+
+	/**
+	 * Sets whether the vector geometry of this glyph is welded and reordered
+	 * for the vertex cache of the GPU. Has to be called before
+	 * {@link #init()}.
+	 * 
+	 * @param optimize
+	 *            <code>true</code> to optimise the geometry, <code>false</code>
+	 *            by default.
+	 * @see FTGeometryOptimizer
+	 */
+	public void setOptimizeGeometry(boolean optimize) {
+		optimizeGeometry = optimize;
+	}
+
+	/**
+	 * Returns whether the vector geometry of this glyph is welded and
+	 * reordered for the vertex cache of the GPU.
+	 * 
+	 * @return <code>true</code> if the geometry is optimised.
+	 */
+	public boolean isOptimizeGeometry() {
+		return optimizeGeometry;
+	}
+
+	/**
+	 * Optimises a geometry created by {@link #createGeometry()}, if enabled.
+	 * 
+	 * @param geometry
+	 *            The geometry.
+	 * @return The geometry.
+	 */
+	protected final FTGeometry optimize(FTGeometry geometry) {
+		if (optimizeGeometry)
+			FTGeometryOptimizer.optimize(geometry);
+		return geometry;
+	}
+
+	/**
+	 * Returns the number of bytes of image data this glyph holds in client
+	 * memory.
+	 * 
+	 * @return The number of bytes, <code>0</code> by default.
+	 */
+	public int getMemorySize() {
+		return 0;
+	}
+
+	/**
+	 * Creates the vector geometry of this glyph. Glyphs without vector
+	 * geometry return <code>null</code>, the default.
+	 * 
+	 * @return The geometry or <code>null</code>.
+	 */
+	public FTGeometry createGeometry() {
+		return null;
+	}
+
+	/**
+	 * Renders the display list or the buffer slot of this glyph at the given
+	 * position. The buffer has to be bound.
+	 * 
+	 * @param x
+	 *            The current pen position's x component.
+	 * @param y
+	 *            The current pen position's y component.
+	 */
+	protected final void renderGeometry(final float x, final float y) {
+		if (geometrySlot >= 0 || FTGL.get().glIsList(glList)) {
+			FTGL.get().glTranslatef(x, y, 0.0f);
+			drawGeometry();
+			FTGL.get().glTranslatef(-x, -y, 0.0f);
+		}
+	}
+
+	/**
+	 * Draws the display list or the buffer slot of this glyph at the current
+	 * position. The buffer has to be bound.
+	 */
+	public void drawGeometry() {
+		if (geometrySlot >= 0)
+			geometryBuffer.draw(geometrySlot);
+		else
+			FTGL.get().glCallList(glList);
+	}
+
+	/**
+	 * Appends a geometry created by {@link #createGeometry()} to a mesh,
+	 * scaled and translated in the xy plane.
+	 * 
+	 * @param mesh
+	 *            The mesh to append to.
+	 * @param geometry
+	 *            The geometry of this glyph.
+	 * @param dx
+	 *            The translation along the x axis.
+	 * @param dy
+	 *            The translation along the y axis.
+	 * @param scale
+	 *            The factor the x and y components are scaled with.
+	 * @param scaleZ
+	 *            The factor the depth is scaled with.
+	 * @see FTGeometry#append(FTGeometry, float, float, float, float)
+	 */
+	public void appendGeometry(FTGeometry mesh, FTGeometry geometry,
+			float dx, float dy, float scale, float scaleZ) {
+		mesh.append(geometry, dx, dy, scale, scaleZ);
 	}
 
 	/**
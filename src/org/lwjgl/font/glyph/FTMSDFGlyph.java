@@ -0,0 +1,58 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font.glyph;
+
+import java.awt.Rectangle;
+import java.awt.Shape;
+
+import org.lwjgl.font.FTMSDFGenerator;
+import org.lwjgl.opengl.GL11;
+
+/**
+ * FTMSDFGlyph is a specialisation of FTTextureGlyph that stores a
+ * multi-channel signed distance field in an RGB texture. The outline is
+ * reconstructed by a shader from the median of the three channels.
+ * 
+ * @see FTMSDFGenerator
+ * @see FTSDFGlyph
+ */
+public class FTMSDFGlyph extends FTTextureGlyph {
+
+	private final FTMSDFGenerator generator;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param glyph
+	 *            The Freetype glyph to be processed
+	 * @param generator
+	 *            The generator to create the field with.
+	 * @param id
+	 *            The id of the texture that this glyph will be drawn in
+	 * @param xOffset
+	 *            The x offset into the parent texture to draw this glyph
+	 * @param yOffset
+	 *            The y offset into the parent texture to draw this glyph
+	 * @param width
+	 *            The width of the parent texture
+	 * @param height
+	 *            The height (number of rows) of the parent texture
+	 */
+	public FTMSDFGlyph(Shape glyph, FTMSDFGenerator generator, int id,
+			int xOffset, int yOffset, int width, int height) {
+		super(glyph, id, xOffset, yOffset, width, height);
+		this.generator = generator;
+		margin = generator.getMargin();
+		format = GL11.GL_RGB;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected byte[] createBitmap(Rectangle bounds) {
+		return generator.generate(glyph);
+	}
+
+}
@@ -4,8 +4,11 @@ package org.lwjgl.font.glyph;
 import java.awt.Shape;
 
 import org.lwjgl.font.FTContour;
+import org.lwjgl.font.FTGeometry;
 import org.lwjgl.font.FTGlyphContainer;
+import org.lwjgl.font.FTOutline;
 import org.lwjgl.font.FTVectoriser;
+import org.lwjgl.font.gl.FTGL;
 import org.lwjgl.opengl.GL11;
 
 /**
@@ -43,27 +46,47 @@ public class FTOutlineGlyph extends FTGlyph {
 	 */
 	@Override
 	protected void createDisplayList() {
-		FTVectoriser vectoriser = new FTVectoriser(glyph);
-
-		int numContours = vectoriser.contourCount();
-		if ((numContours < 1) || (vectoriser.pointCount() < 3))
+		FTGeometry geometry = createGeometry();
+		if (geometry == null)
 			return;
 
-		glList = GL11.glGenLists(1);
-		GL11.glNewList(glList, GL11.GL_COMPILE);
+		glList = FTGL.get().glGenLists(1);
+		FTGL.get().glNewList(glList, GL11.GL_COMPILE);
+		geometry.render();
+		FTGL.get().glEndList();
+	}
+
+	/**
+	 * Creates the contours of this glyph as lines.
+	 */
+	@Override
+	public FTGeometry createGeometry() {
+		FTOutline outline = getOutline();
+
+		int numContours = outline.contourCount();
+		if ((numContours < 1) || (outline.pointCount() < 3))
+			return null;
+
+		FTGeometry geometry = new FTGeometry(GL11.GL_LINES);
 		for (int c = 0; c < numContours; ++c) {
-			final FTContour contour = vectoriser.contour(c);
+			final FTContour contour = outline.contour(c);
+			final int numPoints = contour.pointCount();
+			if (numPoints < 2)
+				continue;
 
-			GL11.glBegin(GL11.GL_LINE_LOOP);
-			for (int p = 0; p < contour.pointCount(); ++p)
-				GL11.glVertex2f((float) contour.getPoint(p)[FTContour.X] /*
-																		 * /
-																		 * 64.0f
-																		 */,
-						(float) contour.getPoint(p)[FTContour.Y] /* /64.0f */);
-			GL11.glEnd();
+			int first = -1;
+			for (int p = 0; p < numPoints; ++p) {
+				double[] point = contour.getPoint(p);
+				int index = geometry.addVertex((float) point[FTContour.X],
+						(float) point[FTContour.Y], 0.0f, 0.0f, 0.0f, 1.0f);
+				if (first < 0)
+					first = index;
+				else
+					geometry.addLine(index - 1, index);
+			}
+			geometry.addLine(first + numPoints - 1, first);
 		}
-		GL11.glEndList();
+		return optimize(geometry);
 	}
 
 	/**
@@ -71,12 +94,7 @@ public class FTOutlineGlyph extends FTGlyph {
 	 */
 	@Override
 	public float render(final float x, final float y, final float z) {
-		if (GL11.glIsList(glList)) {
-			GL11.glTranslatef(x, y, 0.0f);
-			GL11.glCallList(glList);
-			GL11.glTranslatef(-x, -y, 0.0f);
-		}
-
+		renderGeometry(x, y);
 		return advance;
 	}
 
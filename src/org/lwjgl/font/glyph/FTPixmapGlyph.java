@@ -3,22 +3,28 @@
  */
 package org.lwjgl.font.glyph;
 
-import java.awt.Color;
-import java.awt.Graphics2D;
 import java.awt.Rectangle;
-import java.awt.RenderingHints;
 import java.awt.Shape;
-import java.awt.image.BufferedImage;
-import java.awt.image.Raster;
-import java.awt.image.SampleModel;
+import java.awt.geom.AffineTransform;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
-import java.nio.FloatBuffer;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.lwjgl.font.gl.FTGL;
+import org.lwjgl.font.util.FTRasterScratch;
+import org.lwjgl.font.util.FTRunLength;
+import org.lwjgl.font.util.FTSlabArena;
 import org.lwjgl.opengl.GL11;
 
 /**
- * FTPixmapGlyph is a specialisation of FTGlyph for creating pixmaps.
+ * FTPixmapGlyph is a specialisation of FTGlyph for creating pixmaps. The
+ * pixmap holds the 8 bit coverage of the glyph and is drawn as
+ * <code>GL_ALPHA</code>, so the colour is applied at draw time by the pixel
+ * transfer, see {@link #setColour(float, float, float, float)}.
+ * <p>
+ * Compressed glyphs keep the spans of their coverage, see {@link FTRunLength},
+ * and decompress them into the scratch memory of the thread on each render.
+ * Uncompressed pixmaps are cut from the arena of the font, if given.
  * 
  * @see org.lwjgl.font.FTGlyphContainer
  * @author joda
@@ -49,11 +55,34 @@ public class FTPixmapGlyph extends FTGlyph {
 	 */
 	private ByteBuffer data;
 
+	/**
+	 * The spans of the coverage, if compressed
+	 */
+	private byte[] runs = null;
+
+	/**
+	 * Whether the coverage is compressed
+	 */
+	private final boolean compressed;
+
+	/**
+	 * The arena the pixmap is allocated from, or <code>null</code>
+	 */
+	private final FTSlabArena arena;
+
+	/**
+	 * The counter the bytes of the pixmap are added to, or <code>null</code>
+	 */
+	private final AtomicLong memory;
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	protected void createDisplayList() {
+		// the pixmap is kept in main memory and survives a new context
+		if (data != null || runs != null)
+			return;
 		Rectangle bounds = glyph.getBounds();
 
 		// check the pixel mode
@@ -64,69 +93,35 @@ public class FTPixmapGlyph extends FTGlyph {
 		int srcWidth = bounds.width;
 		int srcHeight = bounds.height;
 
-		// FIXME What about dest alignment?
 		destWidth = srcWidth;
 		destHeight = srcHeight;
 
 		if (destWidth > 0 && destHeight > 0) {
-			BufferedImage image = new BufferedImage(bounds.width,
-					bounds.height, BufferedImage.TYPE_BYTE_GRAY);
-			Graphics2D g2d = (Graphics2D) image.getGraphics();
-			g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
-					RenderingHints.VALUE_ANTIALIAS_ON);
-			g2d.setRenderingHint(RenderingHints.KEY_RENDERING,
-					RenderingHints.VALUE_RENDER_QUALITY);
-			g2d.setColor(Color.WHITE);
-			g2d.translate(-bounds.getX(), -bounds.getY());
-			g2d.fill(glyph);
-
-			data = ByteBuffer.allocateDirect(destWidth * destHeight * 4).order(
-					ByteOrder.LITTLE_ENDIAN);
-			data.order(ByteOrder.BIG_ENDIAN);
-
-			int[] line = new int[destWidth];
-
-			// Get the current glColor.
-			float[] ftglColour = new float[4];
-			FloatBuffer fb = ByteBuffer.allocateDirect(16 * 4)
-					.order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
-			GL11.glGetFloat(GL11.GL_CURRENT_COLOR, fb);
-			fb.get(ftglColour);
-
-			byte redComponent = (byte) (ftglColour[0] * 255.0f + 0.5f);
-			byte greenComponent = (byte) (ftglColour[1] * 255.0f + 0.5f);
-			byte blueComponent = (byte) (ftglColour[2] * 255.0f + 0.5f);
-			float alpha = ftglColour[3];
-
-			int colorComponent = ((redComponent & 0xFF) << 24)
-					| ((greenComponent & 0xFF) << 16)
-					| ((blueComponent & 0xFF) << 8);
-
-			Raster imager = image.getRaster();
-			SampleModel sm = imager.getSampleModel();
-
-			assert sm.getNumBands() == 1 : "only 1-Band SampleModels supported";
-			assert sm.getSampleSize(0) == 8 : "SampleSize should be 8 bit";
-
-			// unsigned char* src = bitmap.buffer;
-
-			if (ftglColour[3] == 1.0f)
-				for (int y = 0; y < destHeight; y++) {
-					imager.getSamples(0, y, destWidth, 1, 0, line);
-					for (int x = 0; x < destWidth; x++)
-						data.putInt(colorComponent | line[x]);
-				}
-			else
-				for (int y = 0; y < destHeight; y++) {
-					imager.getSamples(0, y, destWidth, 1, 0, line);
-					for (int x = 0; x < destWidth; x++) {
-						data.put(redComponent);
-						data.put(greenComponent);
-						data.put(blueComponent);
-						data.put((byte) (alpha * line[x] + 0.5f));
-					}
+			final FTRasterScratch scratch = FTRasterScratch.get();
+			final byte[] pixels = scratch.getPixels(destWidth * destHeight,
+					false);
+			scratch.getRasterizer().rasterize(glyph, AffineTransform
+					.getTranslateInstance(-bounds.getX(), -bounds.getY()),
+					destWidth, destHeight, true, pixels);
+
+			// the spans are only kept, if smaller
+			if (compressed) {
+				runs = FTRunLength.encode(pixels, destWidth * destHeight);
+				if (runs.length < destWidth * destHeight) {
+					if (memory != null)
+						memory.addAndGet(runs.length);
+					return;
 				}
-			data.flip();
+				runs = null;
+			}
+
+			// only the coverage, the colour is applied when drawing
+			data = arena != null ? arena.allocate(destWidth * destHeight)
+					: ByteBuffer.allocateDirect(destWidth * destHeight).order(
+							ByteOrder.LITTLE_ENDIAN);
+			data.put(pixels, 0, destWidth * destHeight).flip();
+			if (memory != null)
+				memory.addAndGet(data.capacity());
 		}
 	}
 
@@ -137,30 +132,120 @@ public class FTPixmapGlyph extends FTGlyph {
 	 *            The Freetype glyph to be processed
 	 */
 	public FTPixmapGlyph(Shape glyph) {
+		this(glyph, false);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param glyph
+	 *            The Freetype glyph to be processed
+	 * @param compressed
+	 *            <code>true</code> to keep the coverage compressed.
+	 */
+	public FTPixmapGlyph(Shape glyph, boolean compressed) {
+		this(glyph, compressed, null);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param glyph
+	 *            The Freetype glyph to be processed
+	 * @param compressed
+	 *            <code>true</code> to keep the coverage compressed.
+	 * @param arena
+	 *            The arena to allocate the pixmap from, or <code>null</code>
+	 *            for a direct buffer of its own.
+	 */
+	public FTPixmapGlyph(Shape glyph, boolean compressed, FTSlabArena arena) {
+		this(glyph, compressed, arena, null);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param glyph
+	 *            The Freetype glyph to be processed
+	 * @param compressed
+	 *            <code>true</code> to keep the coverage compressed.
+	 * @param arena
+	 *            The arena to allocate the pixmap from, or <code>null</code>
+	 *            for a direct buffer of its own.
+	 * @param memory
+	 *            The counter the bytes of the pixmap are added to, when it is
+	 *            created, or <code>null</code>.
+	 */
+	public FTPixmapGlyph(Shape glyph, boolean compressed, FTSlabArena arena,
+			AtomicLong memory) {
 		super(glyph);
+		this.compressed = compressed;
+		this.arena = arena;
+		this.memory = memory;
 		destWidth = 0;
 		destHeight = 0;
 		data = null;
 	}
 
+	/**
+	 * Sets the colour pixmaps are drawn in. Coverage is drawn as
+	 * <code>GL_ALPHA</code> with red, green and blue of zero, so the colour is
+	 * the bias of these components and the alpha the scale of the coverage.
+	 * The pixel transfer is part of <code>GL_PIXEL_MODE_BIT</code>.
+	 * 
+	 * @param red
+	 *            The red component.
+	 * @param green
+	 *            The green component.
+	 * @param blue
+	 *            The blue component.
+	 * @param alpha
+	 *            The alpha component.
+	 */
+	public static void setColour(float red, float green, float blue,
+			float alpha) {
+		FTGL.get().glPixelTransferf(GL11.GL_RED_BIAS, red);
+		FTGL.get().glPixelTransferf(GL11.GL_GREEN_BIAS, green);
+		FTGL.get().glPixelTransferf(GL11.GL_BLUE_BIAS, blue);
+		FTGL.get().glPixelTransferf(GL11.GL_ALPHA_SCALE, alpha);
+	}
+
 	/**
 	 * {@inheritDoc} Destructor
 	 */
 	@Override
 	public void dispose() {
-		if (data != null)
-			data = null;
+		data = null;
+		runs = null;
 		super.dispose();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getMemorySize() {
+		return data != null ? data.capacity() : runs != null ? runs.length
+				: 0;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	public float render(final float x, final float y, final float z) {
+		ByteBuffer data = this.data;
+		if (runs != null) {
+			final int size = destWidth * destHeight;
+			final FTRasterScratch scratch = FTRasterScratch.get();
+			final byte[] pixels = scratch.getPixels(size, false);
+			FTRunLength.decode(runs, size, pixels);
+			data = scratch.getBuffer(size);
+			data.put(pixels, 0, size).flip();
+		}
 		if (data != null) {
 			// Move the glyph origin
-			GL11.glBitmap(0, 0, 0.0f, 0.0f, x + offsetX, y + offsetY, data); // TODO:
+			FTGL.get().glBitmap(0, 0, 0.0f, 0.0f, x + offsetX, y + offsetY, data); // TODO:
 																				// used
 																				// to
 																				// pass
@@ -175,13 +260,15 @@ public class FTPixmapGlyph extends FTGlyph {
 																				// if
 																				// correct
 
-			GL11.glPixelStorei(GL11.GL_UNPACK_ROW_LENGTH, 0);
+			FTGL.get().glPixelStorei(GL11.GL_UNPACK_ROW_LENGTH, 0);
+			// the rows of coverage are not padded
+			FTGL.get().glPixelStorei(GL11.GL_UNPACK_ALIGNMENT, 1);
 			data.rewind();
-			GL11.glDrawPixels(destWidth, destHeight, GL11.GL_RGBA,
+			FTGL.get().glDrawPixels(destWidth, destHeight, GL11.GL_ALPHA,
 					GL11.GL_UNSIGNED_BYTE, data);
 
 			// Restore the glyph origin
-			GL11.glBitmap(0, 0, 0.0f, 0.0f, -x - offsetX, -y - offsetY, data); // TODO:
+			FTGL.get().glBitmap(0, 0, 0.0f, 0.0f, -x - offsetX, -y - offsetY, data); // TODO:
 																				// used
 																				// to
 																				// pass
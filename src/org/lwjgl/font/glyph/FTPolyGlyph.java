@@ -3,11 +3,12 @@ package org.lwjgl.font.glyph;
 
 import java.awt.Shape;
 
-import org.lwjgl.font.FTContour;
+import org.lwjgl.font.FTGeometry;
 import org.lwjgl.font.FTGlyphContainer;
 import org.lwjgl.font.FTMesh;
-import org.lwjgl.font.FTTesselation;
+import org.lwjgl.font.FTOutline;
 import org.lwjgl.font.FTVectoriser;
+import org.lwjgl.font.gl.FTGL;
 import org.lwjgl.opengl.GL11;
 
 //#include "FTPolyGlyph.h"
@@ -50,34 +51,31 @@ public class FTPolyGlyph extends FTGlyph {
 	 */
 	@Override
 	protected void createDisplayList() {
-		FTVectoriser vectoriser = new FTVectoriser(glyph);
-
-		if ((vectoriser.contourCount() < 1) || (vectoriser.pointCount() < 3))
+		FTGeometry geometry = createGeometry();
+		if (geometry == null)
 			return;
 
-		vectoriser.makeMesh(1.0);
-
-		glList = GL11.glGenLists(1);
-		GL11.glNewList(glList, GL11.GL_COMPILE);
+		glList = FTGL.get().glGenLists(1);
+		FTGL.get().glNewList(glList, GL11.GL_COMPILE);
+		geometry.render();
+		FTGL.get().glEndList();
+	}
 
-		GL11.glNormal3d(0.0, 0.0, 1.0);
+	/**
+	 * Creates the tesselated front face of this glyph.
+	 */
+	@Override
+	public FTGeometry createGeometry() {
+		FTOutline outline = getOutline();
 
-		final FTMesh mesh = vectoriser.getMesh();
-		for (int index = 0; index < mesh.tesselationCount(); ++index) {
-			final FTTesselation subMesh = mesh.getTesselation(index);
-			int polyonType = subMesh.getPolygonType();
+		if ((outline.contourCount() < 1) || (outline.pointCount() < 3))
+			return null;
 
-			GL11.glBegin(polyonType);
-			for (int x = 0; x < subMesh.pointCount(); ++x)
-				GL11.glVertex3f((float) subMesh.getPoint(x)[FTContour.X] /*
-																		 * /
-																		 * 64.0f
-																		 */,
-						(float) subMesh.getPoint(x)[FTContour.Y] /* / 64.0f */,
-						0.0f);
-			GL11.glEnd();
-		}
-		GL11.glEndList();
+		FTGeometry geometry = new FTGeometry(GL11.GL_TRIANGLES);
+		final FTMesh mesh = outline.getMesh(true);
+		for (int index = 0; index < mesh.tesselationCount(); ++index)
+			geometry.addTesselation(mesh.getTesselation(index), 0.0f, 1.0f);
+		return optimize(geometry);
 	}
 
 	/**
@@ -85,12 +83,7 @@ public class FTPolyGlyph extends FTGlyph {
 	 */
 	@Override
 	public float render(final float x, final float y, final float z) {
-		if (GL11.glIsList(glList)) {
-			GL11.glTranslatef(x, y, 0.0f);
-			GL11.glCallList(glList);
-			GL11.glTranslatef(-x, -y, 0.0f);
-		}
-
+		renderGeometry(x, y);
 		return advance;
 	}
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font.glyph;
+
+import java.awt.Rectangle;
+import java.awt.Shape;
+
+import org.lwjgl.font.util.FTDistanceField;
+
+/**
+ * FTSDFGlyph is a specialisation of FTTextureGlyph that stores a signed
+ * distance field instead of the coverage of the glyph. The outline of the
+ * glyph is at alpha 0.5, so the glyph can be scaled freely and cut out with an
+ * alpha test or a shader.
+ * 
+ * @see FTTextureGlyph
+ * @see FTDistanceField
+ */
+public class FTSDFGlyph extends FTTextureGlyph {
+
+	/**
+	 * Constructor
+	 * 
+	 * @param glyph
+	 *            The Freetype glyph to be processed
+	 * @param spread
+	 *            The distance in pixels covered by the distance field. This
+	 *            is also the margin reserved around the glyph.
+	 * @param id
+	 *            The id of the texture that this glyph will be drawn in
+	 * @param xOffset
+	 *            The x offset into the parent texture to draw this glyph
+	 * @param yOffset
+	 *            The y offset into the parent texture to draw this glyph
+	 * @param width
+	 *            The width of the parent texture
+	 * @param height
+	 *            The height (number of rows) of the parent texture
+	 */
+	public FTSDFGlyph(Shape glyph, int spread, int id, int xOffset,
+			int yOffset, int width, int height) {
+		super(glyph, id, xOffset, yOffset, width, height);
+		margin = spread;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected byte[] createBitmap(Rectangle bounds) {
+		// the distance is taken from the linear coverage, the sRGB curve
+		// would move the edge outwards
+		byte[] coverage = createCoverage(bounds);
+		return FTDistanceField.fromCoverage(coverage, destWidth, destHeight,
+				margin, coverage);
+	}
+
+}
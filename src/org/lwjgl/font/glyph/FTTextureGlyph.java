@@ -1,16 +1,16 @@
 /* $Id: FTTextureGlyph.java,v 1.3 2005/07/27 23:14:31 joda Exp $ */
 package org.lwjgl.font.glyph;
 
-import java.awt.Color;
-import java.awt.Graphics2D;
 import java.awt.Rectangle;
-import java.awt.RenderingHints;
 import java.awt.Shape;
-import java.awt.image.BufferedImage;
+import java.awt.geom.AffineTransform;
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
 
 import org.lwjgl.font.FTGlyphContainer;
+import org.lwjgl.font.gl.FTGL;
+import org.lwjgl.font.util.FTRaster;
+import org.lwjgl.font.util.FTRasterScratch;
 import org.lwjgl.font.util.Vector3f;
 import org.lwjgl.opengl.GL11;
 
@@ -24,12 +24,23 @@ public class FTTextureGlyph extends FTGlyph {
 	/**
 	 * The width of the glyph 'image'
 	 */
-	private int destWidth = 0;
+	protected int destWidth = 0;
 
 	/**
 	 * The height of the glyph 'image'
 	 */
-	private int destHeight = 0;
+	protected int destHeight = 0;
+
+	/**
+	 * Empty space in pixels around the glyph 'image', that is reserved in the
+	 * texture.
+	 */
+	protected int margin = 0;
+
+	/**
+	 * The pixel format of the glyph 'image', either GL_ALPHA or GL_RGB.
+	 */
+	protected int format = GL11.GL_ALPHA;
 
 	/**
 	 * Vector from the pen position to the topleft corner of the pixmap
@@ -46,13 +57,6 @@ public class FTTextureGlyph extends FTGlyph {
 	 */
 	private int glTextureID;
 
-	/**
-	 * The texture index of the currently active texture We call glGetIntegerv(
-	 * GL_TEXTURE_2D_BINDING, activeTextureID); to get the currently active
-	 * texture to try to reduce the number of texture bind operations
-	 */
-	private int[] activeTextureID = new int[1];
-
 	private int xOffset = 0;
 	private int yOffset = 0;
 	private int width = 0;
@@ -78,7 +82,6 @@ public class FTTextureGlyph extends FTGlyph {
 			int width, int height) {
 		super(glyph);
 		glTextureID = id;
-		activeTextureID[0] = -1;
 
 		this.xOffset = xOffset;
 		this.yOffset = yOffset;
@@ -97,50 +100,30 @@ public class FTTextureGlyph extends FTGlyph {
 	protected void createDisplayList() {
 		Rectangle bounds = glyph.getBounds();
 
-		destWidth = bounds.width;
-		destHeight = bounds.height;
-
-		if (destWidth == 0 || destHeight == 0)
+		if (bounds.width == 0 || bounds.height == 0)
 			return;
 
-		// int[] rgbarray = new int[this.destWidth*this.destHeight];
-
-		BufferedImage image = new BufferedImage(bounds.width, bounds.height,
-				BufferedImage.TYPE_BYTE_GRAY);
-		Graphics2D g2d = (Graphics2D) image.getGraphics();
-		g2d.scale(1.0f, -1.0f);
-		g2d.setColor(Color.BLACK);
-		g2d.fillRect(0, 0, bounds.width, bounds.height);
-		g2d.setColor(Color.WHITE);
-		g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
-				RenderingHints.VALUE_ANTIALIAS_ON);
-		g2d.translate(-bounds.getX(), -bounds.getMaxY());
-		g2d.fill(glyph);
-
-		// image.getRGB(0, 0, this.destWidth, this.destHeight, rgbarray, 0,
-		// this.destWidth);
+		destWidth = bounds.width + 2 * margin;
+		destHeight = bounds.height + 2 * margin;
 
-		byte[] array = new byte[destWidth * destHeight];
-
-		for (int i = 0; i < destHeight; i++)
-			for (int j = 0; j < destWidth; j++)
-				array[i * destWidth + j] = (byte) image.getRGB(j, i);
+		byte[] array = createBitmap(bounds);
 
 		if (destWidth != 0 && destHeight != 0) {
-			GL11.glPushClientAttrib(GL11.GL_CLIENT_PIXEL_STORE_BIT);
-			GL11.glPixelStorei(GL11.GL_UNPACK_LSB_FIRST, GL11.GL_FALSE);
-			GL11.glPixelStorei(GL11.GL_UNPACK_ROW_LENGTH, 0);
-			GL11.glPixelStorei(GL11.GL_UNPACK_ALIGNMENT, 1);
-
-			GL11.glBindTexture(GL11.GL_TEXTURE_2D, glTextureID);
-			ByteBuffer bb = ByteBuffer.allocateDirect(array.length).order(
-					ByteOrder.LITTLE_ENDIAN);
-			bb.put(array).flip();
-			GL11.glTexSubImage2D(GL11.GL_TEXTURE_2D, 0, xOffset, yOffset,
-					destWidth, destHeight, GL11.GL_ALPHA,
+			FTGL.get().glPushClientAttrib(GL11.GL_CLIENT_PIXEL_STORE_BIT);
+			FTGL.get().glPixelStorei(GL11.GL_UNPACK_LSB_FIRST, GL11.GL_FALSE);
+			FTGL.get().glPixelStorei(GL11.GL_UNPACK_ROW_LENGTH, 0);
+			FTGL.get().glPixelStorei(GL11.GL_UNPACK_ALIGNMENT, 1);
+
+			FTGL.get().glBindTexture(GL11.GL_TEXTURE_2D, glTextureID);
+			final int size = destWidth * destHeight
+					* (format == GL11.GL_RGB ? 3 : 1);
+			ByteBuffer bb = FTRasterScratch.get().getBuffer(size);
+			bb.put(array, 0, size).flip();
+			FTGL.get().glTexSubImage2D(GL11.GL_TEXTURE_2D, 0, xOffset, yOffset,
+					destWidth, destHeight, format,
 					GL11.GL_UNSIGNED_BYTE, bb);
 
-			GL11.glPopClientAttrib();
+			FTGL.get().glPopClientAttrib();
 			// 0
 			// +----+
 			// | |
@@ -159,8 +142,47 @@ public class FTTextureGlyph extends FTGlyph {
 			assert yOffset + destHeight == (uv[1].y * height) : "floating point conversion problem (yOffset+height)";
 		}
 
-		pos.x = (float) glyph.getBounds().getMinX();
-		pos.y = (float) glyph.getBounds().getMaxY();
+		pos.x = (float) bounds.getMinX() - margin;
+		pos.y = (float) bounds.getMaxY() + margin;
+	}
+
+	/**
+	 * Rasterizes the glyph into a bitmap of <code>destWidth * destHeight</code>
+	 * pixels in the format of this glyph. The first row is the top of the
+	 * glyph, the glyph is surrounded by <code>margin</code> empty pixels.
+	 * 
+	 * @param bounds
+	 *            The bounds of the glyph's shape.
+	 * @return The pixels of the glyph, row by row. May be longer and the
+	 *         scratch array of the thread, that is reused by the next glyph.
+	 */
+	protected byte[] createBitmap(Rectangle bounds) {
+		byte[] array = createCoverage(bounds);
+
+		// the values getRGB returned for the pixels of Java2D images
+		FTRaster.grayToSRGB(array, 0, destWidth * destHeight);
+		return array;
+	}
+
+	/**
+	 * Rasterizes the linear coverage of the glyph into <code>destWidth *
+	 * destHeight</code> pixels, laid out like {@link #createBitmap(Rectangle)}.
+	 * 
+	 * @param bounds
+	 *            The bounds of the glyph's shape.
+	 * @return The coverage of the glyph, row by row. May be longer and the
+	 *         scratch array of the thread, that is reused by the next glyph.
+	 */
+	protected final byte[] createCoverage(Rectangle bounds) {
+		final int size = destWidth * destHeight;
+		final FTRasterScratch scratch = FTRasterScratch.get();
+		byte[] array = scratch.getPixels(size, false);
+
+		AffineTransform transform = AffineTransform.getScaleInstance(1.0, -1.0);
+		transform.translate(-bounds.getX() + margin, -bounds.getMaxY() - margin);
+		scratch.getRasterizer().rasterize(glyph, transform, destWidth,
+				destHeight, true, array);
+		return array;
 	}
 
 	/**
@@ -171,25 +193,71 @@ public class FTTextureGlyph extends FTGlyph {
 		if (destWidth == 0 || destHeight == 0)
 			return advance;
 
-		activeTextureID[0] = GL11.glGetInteger(GL11.GL_TEXTURE_BINDING_2D);
-		if (activeTextureID[0] != glTextureID)
-			GL11.glBindTexture(GL11.GL_TEXTURE_2D, glTextureID);
+		// querying the binding stalls the pipeline, binding is cheaper
+		FTGL.get().glBindTexture(GL11.GL_TEXTURE_2D, glTextureID);
 
-		GL11.glBegin(GL11.GL_QUADS);
-		GL11.glTexCoord2f(uv[0].x, uv[0].y);
-		GL11.glVertex2f(x + pos.x, y + pos.y);
+		FTGL.get().glBegin(GL11.GL_QUADS);
+		FTGL.get().glTexCoord2f(uv[0].x, uv[0].y);
+		FTGL.get().glVertex2f(x + pos.x, y + pos.y);
 
-		GL11.glTexCoord2f(uv[0].x, uv[1].y);
-		GL11.glVertex2f(x + pos.x, y + pos.y - destHeight);
+		FTGL.get().glTexCoord2f(uv[0].x, uv[1].y);
+		FTGL.get().glVertex2f(x + pos.x, y + pos.y - destHeight);
 
-		GL11.glTexCoord2f(uv[1].x, uv[1].y);
-		GL11.glVertex2f(x + destWidth + pos.x, y + pos.y - destHeight);
+		FTGL.get().glTexCoord2f(uv[1].x, uv[1].y);
+		FTGL.get().glVertex2f(x + destWidth + pos.x, y + pos.y - destHeight);
 
-		GL11.glTexCoord2f(uv[1].x, uv[0].y);
-		GL11.glVertex2f(x + destWidth + pos.x, y + pos.y);
-		GL11.glEnd();
+		FTGL.get().glTexCoord2f(uv[1].x, uv[0].y);
+		FTGL.get().glVertex2f(x + destWidth + pos.x, y + pos.y);
+		FTGL.get().glEnd();
 
 		return advance;
 	}
 
+	/**
+	 * Writes the quad of this glyph at the given pen position as four
+	 * interleaved x, y, u, v vertices, in the order {@link #render} uses.
+	 * 
+	 * @param buffer
+	 *            The buffer to write the 16 floats to.
+	 * @param x
+	 *            The current pen position's x component.
+	 * @param y
+	 *            The current pen position's y component.
+	 * @return <code>false</code> if the glyph has no image and nothing was
+	 *         written.
+	 */
+	public boolean putQuad(FloatBuffer buffer, final float x, final float y) {
+		if (!hasImage())
+			return false;
+
+		final float left = x + pos.x;
+		final float right = left + destWidth;
+		final float top = y + pos.y;
+		final float bottom = top - destHeight;
+		buffer.put(left).put(top).put(uv[0].x).put(uv[0].y);
+		buffer.put(left).put(bottom).put(uv[0].x).put(uv[1].y);
+		buffer.put(right).put(bottom).put(uv[1].x).put(uv[1].y);
+		buffer.put(right).put(top).put(uv[1].x).put(uv[0].y);
+		return true;
+	}
+
+	/**
+	 * Returns whether the glyph has an image in the texture, e.g. not for a
+	 * space.
+	 * 
+	 * @return <code>true</code> if the glyph is drawn as a quad.
+	 */
+	public boolean hasImage() {
+		return destWidth != 0 && destHeight != 0;
+	}
+
+	/**
+	 * Returns the id of the texture that this glyph is contained in.
+	 * 
+	 * @return The texture id.
+	 */
+	public int getTextureID() {
+		return glTextureID;
+	}
+
 }
\ No newline at end of file
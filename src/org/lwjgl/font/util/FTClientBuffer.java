@@ -0,0 +1,352 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font.util;
+
+import java.util.Arrays;
+
+/**
+ * A caller owned image in main memory, that buffer fonts draw into without
+ * OpenGL. The pixels are either 8 bit gray values or bits, the first pixel of
+ * a byte in its highest bit, the format of images of type
+ * <code>TYPE_BYTE_GRAY</code> and <code>TYPE_BYTE_BINARY</code>. Rows are
+ * <code>stride</code> bytes apart, the top row first. Glyphs are clipped to
+ * the image.
+ * <p>
+ * Gray images blend the coverage of the glyphs with the colour, scaled by the
+ * alpha. Bitmaps set the bits of the pixels at least half covered, or clear
+ * them for the colour <code>0</code>.
+ *
+ * @see FTRaster
+ */
+public final class FTClientBuffer {
+
+	/** 8 bit gray pixels. */
+	public static final int GRAY = 0;
+
+	/** 1 bit pixels, the first pixel in the highest bit. */
+	public static final int BITMAP = 1;
+
+	private final byte[] data;
+
+	private final int width;
+
+	private final int height;
+
+	private final int stride;
+
+	private final int format;
+
+	private int colour = 255;
+
+	private int alpha = 255;
+
+	/**
+	 * Creates a buffer around an array.
+	 *
+	 * @param data
+	 *            The pixels.
+	 * @param width
+	 *            The width of the image.
+	 * @param height
+	 *            The height of the image.
+	 * @param stride
+	 *            The distance of the rows in bytes.
+	 * @param format
+	 *            {@link #GRAY} or {@link #BITMAP}.
+	 */
+	public FTClientBuffer(byte[] data, int width, int height, int stride,
+			int format) {
+		assert data != null : "Data cannot be null!";
+		assert format == FTClientBuffer.GRAY
+				|| format == FTClientBuffer.BITMAP : "Unknown format!";
+		assert stride >= (format == FTClientBuffer.GRAY ? width
+				: (width + 7) / 8) : "Stride too small!";
+		assert height == 0
+				|| data.length >= (height - 1) * stride
+						+ (format == FTClientBuffer.GRAY ? width
+								: (width + 7) / 8) : "Array too small!";
+		this.data = data;
+		this.width = width;
+		this.height = height;
+		this.stride = stride;
+		this.format = format;
+	}
+
+	/**
+	 * Returns the pixels.
+	 *
+	 * @return The array, that is drawn into.
+	 */
+	public byte[] getData() {
+		return data;
+	}
+
+	/**
+	 * Returns the width of the image.
+	 *
+	 * @return The width in pixels.
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Returns the height of the image.
+	 *
+	 * @return The height in pixels.
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Returns the distance of the rows.
+	 *
+	 * @return The stride in bytes.
+	 */
+	public int getStride() {
+		return stride;
+	}
+
+	/**
+	 * Returns the format of the pixels.
+	 *
+	 * @return {@link #GRAY} or {@link #BITMAP}.
+	 */
+	public int getFormat() {
+		return format;
+	}
+
+	/**
+	 * Sets the colour glyphs are drawn in.
+	 *
+	 * @param colour
+	 *            The gray value from <code>0</code> to <code>255</code>. For
+	 *            bitmaps <code>0</code> clears the bits, any other value sets
+	 *            them.
+	 */
+	public void setColour(int colour) {
+		assert colour >= 0 && colour <= 255 : "Colour out of range!";
+		this.colour = colour;
+	}
+
+	/**
+	 * Returns the colour glyphs are drawn in.
+	 *
+	 * @return The gray value.
+	 */
+	public int getColour() {
+		return colour;
+	}
+
+	/**
+	 * Sets the opacity glyphs are drawn with. Ignored by bitmaps.
+	 *
+	 * @param alpha
+	 *            The opacity from <code>0</code> to <code>255</code>.
+	 */
+	public void setAlpha(int alpha) {
+		assert alpha >= 0 && alpha <= 255 : "Alpha out of range!";
+		this.alpha = alpha;
+	}
+
+	/**
+	 * Returns the opacity glyphs are drawn with.
+	 *
+	 * @return The opacity.
+	 */
+	public int getAlpha() {
+		return alpha;
+	}
+
+	/**
+	 * Fills the image with a value.
+	 *
+	 * @param value
+	 *            The gray value, or for bitmaps <code>0</code> to clear and
+	 *            any other value to set all bits.
+	 */
+	public void fill(int value) {
+		final byte fill = (byte) (format == FTClientBuffer.GRAY ? value
+				: value == 0 ? 0 : 0xFF);
+		final int rowBytes = format == FTClientBuffer.GRAY ? width
+				: (width + 7) / 8;
+		for (int y = 0; y < height; y++)
+			Arrays.fill(data, y * stride, y * stride + rowBytes, fill);
+	}
+
+	/**
+	 * Draws a glyph.
+	 *
+	 * @param coverage
+	 *            The coverage of the glyph, row by row without padding, the
+	 *            top row first.
+	 * @param bits
+	 *            The coverage packed into bits of at least half covered
+	 *            pixels, each row starting at a new byte, for bitmaps.
+	 * @param glyphWidth
+	 *            The width of the glyph.
+	 * @param glyphHeight
+	 *            The height of the glyph.
+	 * @param x
+	 *            The column of the left of the glyph.
+	 * @param y
+	 *            The row of the top of the glyph.
+	 */
+	public void draw(byte[] coverage, byte[] bits, int glyphWidth,
+			int glyphHeight, int x, int y) {
+		// clip
+		final int left = Math.max(x, 0);
+		final int top = Math.max(y, 0);
+		final int right = Math.min(x + glyphWidth, width);
+		final int bottom = Math.min(y + glyphHeight, height);
+		if (left >= right || top >= bottom)
+			return;
+		if (format == FTClientBuffer.GRAY)
+			drawGray(coverage, glyphWidth, x, y, left, top, right, bottom);
+		else
+			drawBits(bits, glyphWidth, x, y, left, top, right, bottom);
+	}
+
+	/**
+	 * Draws a glyph compressed into spans, see {@link FTRunLength}. The spans
+	 * are drawn directly, bitmaps set or clear the pixels at least half
+	 * covered.
+	 *
+	 * @param runs
+	 *            The spans of the coverage of the glyph.
+	 * @param glyphWidth
+	 *            The width of the glyph.
+	 * @param glyphHeight
+	 *            The height of the glyph.
+	 * @param x
+	 *            The column of the left of the glyph.
+	 * @param y
+	 *            The row of the top of the glyph.
+	 */
+	public void drawRuns(byte[] runs, int glyphWidth, int glyphHeight, int x,
+			int y) {
+		final int left = Math.max(x, 0);
+		final int right = Math.min(x + glyphWidth, width);
+		final int bottom = Math.min(y + glyphHeight, height);
+		if (left >= right || Math.max(y, 0) >= bottom)
+			return;
+		final boolean gray = format == FTClientBuffer.GRAY;
+		// the spans run through the rows of the glyph
+		final int end = (bottom - y) * glyphWidth;
+		int index = 0;
+		for (int i = 0; i < runs.length && index < end;) {
+			index += (runs[i] & 0xFF) >>> 4;
+			int count = runs[i++] & 0x0F;
+			while (count > 0) {
+				final int row = y + index / glyphWidth;
+				final int column = x + index % glyphWidth;
+				final int length = Math.min(count, x + glyphWidth - column);
+				final int start = Math.max(column, left);
+				final int stop = Math.min(column + length, right);
+				if (row >= 0 && row < bottom && start < stop) {
+					final int src = i + start - column;
+					if (gray)
+						blend(runs, src, row * stride + start, stop - start);
+					else
+						setBits(runs, src, row * stride, start, stop);
+				}
+				i += length;
+				index += length;
+				count -= length;
+			}
+		}
+	}
+
+	/**
+	 * Blends a span of coverage into a row of gray pixels. The division by 255
+	 * is rounded with shifts.
+	 */
+	private void blend(byte[] coverage, int src, int dst, int length) {
+		final int colour = this.colour;
+		final int alpha = this.alpha;
+		for (final int end = dst + length; dst < end; dst++, src++) {
+			int a = coverage[src] & 0xFF;
+			if (a == 0)
+				continue;
+			if (alpha != 255) {
+				a = a * alpha + 128;
+				a = (a + (a >> 8)) >> 8;
+			}
+			int v = (data[dst] & 0xFF) * (255 - a) + colour * a + 128;
+			data[dst] = (byte) ((v + (v >> 8)) >> 8);
+		}
+	}
+
+	/**
+	 * Sets or clears the bits of the pixels of a span at least half covered.
+	 */
+	private void setBits(byte[] coverage, int src, int row, int start, int end) {
+		final boolean set = colour != 0;
+		for (int column = start; column < end; column++, src++) {
+			if ((coverage[src] & 0xFF) < 128)
+				continue;
+			final int bit = 0x80 >>> (column & 7);
+			if (set)
+				data[row + (column >> 3)] |= bit;
+			else
+				data[row + (column >> 3)] &= ~bit;
+		}
+	}
+
+	/**
+	 * Blends the coverage into gray pixels.
+	 */
+	private void drawGray(byte[] coverage, int glyphWidth, int x, int y,
+			int left, int top, int right, int bottom) {
+		for (int row = top; row < bottom; row++)
+			blend(coverage, (row - y) * glyphWidth + left - x, row * stride
+					+ left, right - left);
+	}
+
+	/**
+	 * Sets or clears the bits of the glyph, a byte of the glyph at a time.
+	 */
+	private void drawBits(byte[] bits, int glyphWidth, int x, int y,
+			int left, int top, int right, int bottom) {
+		final boolean set = colour != 0;
+		final int lineWidth = (glyphWidth + 7) / 8;
+		for (int row = top; row < bottom; row++) {
+			final int src = (row - y) * lineWidth;
+			final int dst = row * stride;
+			for (int b = 0; b < lineWidth; b++) {
+				int value = bits[src + b] & 0xFF;
+				if (value == 0)
+					continue;
+				// the pixels of the byte, clipped
+				final int first = x + b * 8;
+				if (first + 8 <= left || first >= right)
+					continue;
+				if (first < left)
+					value &= 0xFF >>> (left - first);
+				if (first + 8 > right)
+					value &= 0xFF << (first + 8 - right);
+				if (value == 0)
+					continue;
+				// the byte is split at the shift, a part outside is empty
+				final int index = dst + (first >> 3);
+				final int shift = first & 7;
+				final int high = value >>> shift;
+				final int low = (value << (8 - shift)) & 0xFF;
+				if (set) {
+					if (high != 0)
+						data[index] |= high;
+					if (low != 0)
+						data[index + 1] |= low;
+				} else {
+					if (high != 0)
+						data[index] &= ~high;
+					if (low != 0)
+						data[index + 1] &= ~low;
+				}
+			}
+		}
+	}
+
+}
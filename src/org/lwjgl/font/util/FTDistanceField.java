@@ -0,0 +1,123 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font.util;
+
+/**
+ * Converts 8 bit coverage bitmaps into signed distance fields. The distance is
+ * computed with an exact euclidean distance transform (Felzenszwalb and
+ * Huttenlocher) for the inside and the outside of the shape.
+ *
+ * @see FTMath
+ */
+public class FTDistanceField {
+
+	private static final float INF = 1E20f;
+
+	/**
+	 * Builds a signed distance field from the given coverage bitmap. Values
+	 * above 127 are treated as inside the shape. The result maps a distance of
+	 * <code>-spread</code> to 0, the outline to 128 and <code>+spread</code>
+	 * to 255, with positive values inside the shape.
+	 *
+	 * @param coverage
+	 *            The coverage values, one byte per pixel, row by row.
+	 * @param width
+	 *            The width of the bitmap.
+	 * @param height
+	 *            The height of the bitmap.
+	 * @param spread
+	 *            The distance in pixels, that is covered by the field.
+	 * @param dest
+	 *            The array to write the distance field to. Must hold at least
+	 *            <code>width * height</code> bytes. May be
+	 *            <code>coverage</code>.
+	 * @return <code>dest</code>
+	 */
+	public static byte[] fromCoverage(final byte[] coverage, final int width,
+			final int height, final float spread, final byte[] dest) {
+		final int n = width * height;
+		final float[] outside = new float[n];
+		final float[] inside = new float[n];
+		for (int i = 0; i < n; i++) {
+			boolean in = (coverage[i] & 0xFF) > 127;
+			outside[i] = in ? 0f : INF;
+			inside[i] = in ? INF : 0f;
+		}
+		FTDistanceField.transform(outside, width, height);
+		FTDistanceField.transform(inside, width, height);
+
+		final float scale = 127f / spread;
+		for (int i = 0; i < n; i++) {
+			int c = coverage[i] & 0xFF;
+			float d;
+			if (c > 0 && c < 255)
+				// edge pixel, the coverage is the better estimate
+				d = c / 255f - 0.5f;
+			else if (c > 127)
+				d = (float) Math.sqrt(inside[i]) - 0.5f;
+			else
+				d = 0.5f - (float) Math.sqrt(outside[i]);
+			int v = Math.round(128f + d * scale);
+			dest[i] = (byte) (v < 0 ? 0 : v > 255 ? 255 : v);
+		}
+		return dest;
+	}
+
+	/**
+	 * Two dimensional squared distance transform, done in place.
+	 */
+	private static void transform(final float[] grid, final int width,
+			final int height) {
+		final int max = Math.max(width, height);
+		final float[] f = new float[max];
+		final float[] d = new float[max];
+		final int[] v = new int[max];
+		final float[] z = new float[max + 1];
+
+		for (int x = 0; x < width; x++) {
+			for (int y = 0; y < height; y++)
+				f[y] = grid[y * width + x];
+			FTDistanceField.transform(f, d, v, z, height);
+			for (int y = 0; y < height; y++)
+				grid[y * width + x] = d[y];
+		}
+		for (int y = 0; y < height; y++) {
+			System.arraycopy(grid, y * width, f, 0, width);
+			FTDistanceField.transform(f, d, v, z, width);
+			System.arraycopy(d, 0, grid, y * width, width);
+		}
+	}
+
+	/**
+	 * One dimensional squared distance transform of <code>f</code> into
+	 * <code>d</code>.
+	 */
+	private static void transform(final float[] f, final float[] d,
+			final int[] v, final float[] z, final int n) {
+		int k = 0;
+		v[0] = 0;
+		z[0] = -INF;
+		z[1] = INF;
+		for (int q = 1; q < n; q++) {
+			float s = ((f[q] + q * q) - (f[v[k]] + v[k] * v[k]))
+					/ (2 * q - 2 * v[k]);
+			while (s <= z[k]) {
+				k--;
+				s = ((f[q] + q * q) - (f[v[k]] + v[k] * v[k]))
+						/ (2 * q - 2 * v[k]);
+			}
+			k++;
+			v[k] = q;
+			z[k] = s;
+			z[k + 1] = INF;
+		}
+		k = 0;
+		for (int q = 0; q < n; q++) {
+			while (z[k + 1] < q)
+				k++;
+			d[q] = (q - v[k]) * (q - v[k]) + f[v[k]];
+		}
+	}
+
+}
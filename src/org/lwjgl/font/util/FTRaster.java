@@ -0,0 +1,174 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font.util;
+
+import java.awt.Transparency;
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.Raster;
+import java.nio.ByteBuffer;
+
+/**
+ * Direct access to the pixels of glyph images. Glyphs are rasterized by Java2D
+ * into byte images, whose backing arrays are read with bulk array operations
+ * instead of per pixel calls of <code>getRGB</code> or
+ * <code>getSamples</code>, which convert every pixel through the colour model.
+ * Gray images can be created around a caller owned array, so the glyph is
+ * rasterized straight into it.
+ *
+ * @see FTDistanceField
+ */
+public final class FTRaster {
+
+	private static final ColorModel GRAY = new ComponentColorModel(ColorSpace
+			.getInstance(ColorSpace.CS_GRAY), new int[] { 8 }, false, false,
+			Transparency.OPAQUE, DataBuffer.TYPE_BYTE);
+
+	/**
+	 * The values <code>BufferedImage.getRGB</code> returns for the samples of
+	 * a gray image.
+	 */
+	private static final byte[] GRAY_TO_SRGB = FTRaster.createGrayToSRGB();
+
+	/** The lowest bit of each byte of a long. */
+	private static final long LOW_BITS = 0x0101010101010101L;
+
+	/** The highest bit of each byte of a long. */
+	private static final long HIGH_BITS = 0x8080808080808080L;
+
+	/** Moves the lowest bit of each byte into the highest byte. */
+	private static final long GATHER = 0x0102040810204080L;
+
+	private FTRaster() {
+		/* empty */
+	}
+
+	/**
+	 * Creates a gray image of 8 bit per pixel around the given array. What is
+	 * drawn into the image is written to the array, row by row without
+	 * padding.
+	 *
+	 * @param data
+	 *            The pixels, at least <code>width * height</code> bytes.
+	 * @param width
+	 *            The width of the image.
+	 * @param height
+	 *            The height of the image.
+	 * @return The image, of type <code>TYPE_BYTE_GRAY</code>.
+	 */
+	public static BufferedImage createGrayImage(byte[] data, int width,
+			int height) {
+		assert data.length >= width * height : "Array too small!";
+		DataBufferByte buffer = new DataBufferByte(data, width * height);
+		return new BufferedImage(FTRaster.GRAY, Raster.createInterleavedRaster(
+				buffer, width, height, width, 1, new int[] { 0 }, null), false,
+				null);
+	}
+
+	/**
+	 * Returns the array backing an image of byte samples, e.g. of type
+	 * <code>TYPE_BYTE_GRAY</code> or <code>TYPE_BYTE_BINARY</code>. The rows
+	 * start at the beginning of the array, one scanline stride apart.
+	 *
+	 * @param image
+	 *            The image.
+	 * @return The backing array.
+	 */
+	public static byte[] getData(BufferedImage image) {
+		DataBuffer buffer = image.getRaster().getDataBuffer();
+		assert buffer instanceof DataBufferByte : "Byte images only!";
+		assert buffer.getNumBanks() == 1 && buffer.getOffset() == 0
+				&& image.getRaster().getSampleModelTranslateX() == 0
+				&& image.getRaster().getSampleModelTranslateY() == 0
+				: "Unsupported layout!";
+		return ((DataBufferByte) buffer).getData();
+	}
+
+	/**
+	 * Converts the samples of a gray image in place to the values
+	 * <code>BufferedImage.getRGB</code> returns for them. The gray colour
+	 * space is linear, so the samples are brightened by the conversion to
+	 * sRGB.
+	 *
+	 * @param data
+	 *            The samples.
+	 * @param offset
+	 *            The index of the first sample.
+	 * @param length
+	 *            The number of samples.
+	 */
+	public static void grayToSRGB(byte[] data, int offset, int length) {
+		final byte[] table = FTRaster.GRAY_TO_SRGB;
+		for (int i = offset; i < offset + length; i++)
+			data[i] = table[data[i] & 0xFF];
+	}
+
+	/**
+	 * Packs the samples of a gray image into a bitmap of one bit per pixel.
+	 * Each row starts at a new byte, the first pixel in the highest bit, the
+	 * format of <code>glBitmap</code> and images of type
+	 * <code>TYPE_BYTE_BINARY</code>. Eight samples are compared at once as
+	 * the bytes of a long, only the end of a row is packed sample by sample.
+	 *
+	 * @param pixels
+	 *            The samples, row by row without padding.
+	 * @param width
+	 *            The width of the image.
+	 * @param height
+	 *            The height of the image.
+	 * @param threshold
+	 *            The least sample, that sets the bit of a pixel.
+	 * @param dest
+	 *            The bitmap, at least <code>(width + 7) / 8 * height</code>
+	 *            bytes.
+	 */
+	public static void packBits(byte[] pixels, int width, int height,
+			int threshold, byte[] dest) {
+		final int lineWidth = (width + 7) / 8;
+		assert dest.length >= lineWidth * height : "Array too small!";
+		assert threshold > 0 && threshold <= 255 : "Threshold out of range!";
+		final ByteBuffer words = ByteBuffer.wrap(pixels);
+		// each byte at least the threshold, if the high bit of the sum is set
+		final long add = FTRaster.LOW_BITS * (threshold <= 128 ? 128 - threshold
+				: 256 - threshold);
+		final int full = width / 8;
+		int pixel = 0;
+		int bits = 0;
+		for (int y = 0; y < height; y++) {
+			final int end = pixel + width;
+			for (int b = 0; b < full; b++, pixel += 8) {
+				final long word = words.getLong(pixel);
+				final long high = word & FTRaster.HIGH_BITS;
+				final long low = ((word & ~FTRaster.HIGH_BITS) + add)
+						& FTRaster.HIGH_BITS;
+				final long set = threshold <= 128 ? high | low : high & low;
+				// gathers the high bits into the highest byte
+				dest[bits++] = (byte) (((set >>> 7) * FTRaster.GATHER) >>> 56);
+			}
+			if (pixel < end) {
+				int value = 0;
+				for (int mask = 0x80; pixel < end; mask >>= 1)
+					if ((pixels[pixel++] & 0xFF) >= threshold)
+						value |= mask;
+				dest[bits++] = (byte) value;
+			}
+		}
+	}
+
+	private static byte[] createGrayToSRGB() {
+		byte[] samples = new byte[256];
+		for (int i = 0; i < samples.length; i++)
+			samples[i] = (byte) i;
+		BufferedImage image = FTRaster.createGrayImage(samples, 256, 1);
+		byte[] table = new byte[256];
+		for (int i = 0; i < table.length; i++)
+			table[i] = (byte) image.getRGB(i, 0);
+		return table;
+	}
+
+}
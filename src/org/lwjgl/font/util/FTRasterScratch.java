@@ -0,0 +1,120 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * The scratch memory of the thread, that rasterizes glyphs. Glyphs are
+ * rasterized into arrays, that are only needed until the pixels are packed,
+ * copied or uploaded, so each thread keeps one set, that grows to the largest
+ * glyph and is reused for all following glyphs. Bulk precaching allocates
+ * little more than the data the glyphs keep.
+ * <p>
+ * The arrays are returned as is and may be longer than requested. They are
+ * valid until the thread asks for the same array again, so they must not be
+ * kept or passed to another thread.
+ *
+ * @see FTScanlineRasterizer
+ */
+public final class FTRasterScratch {
+
+	private static final ThreadLocal<FTRasterScratch> SCRATCH = new ThreadLocal<FTRasterScratch>() {
+		@Override
+		protected FTRasterScratch initialValue() {
+			return new FTRasterScratch();
+		}
+	};
+
+	private final FTScanlineRasterizer rasterizer = new FTScanlineRasterizer();
+
+	private byte[] pixels = new byte[0];
+
+	private byte[] bits = new byte[0];
+
+	private ByteBuffer buffer = null;
+
+	private FTRasterScratch() {
+		/* empty */
+	}
+
+	/**
+	 * Returns the scratch memory of the calling thread.
+	 *
+	 * @return The scratch memory.
+	 */
+	public static FTRasterScratch get() {
+		return FTRasterScratch.SCRATCH.get();
+	}
+
+	/**
+	 * Returns the rasterizer of the thread.
+	 *
+	 * @return The rasterizer.
+	 */
+	public FTScanlineRasterizer getRasterizer() {
+		return rasterizer;
+	}
+
+	/**
+	 * Returns the array for the 8 bit pixels of a glyph.
+	 *
+	 * @param size
+	 *            The number of pixels.
+	 * @param clear
+	 *            <code>true</code> to clear the first <code>size</code>
+	 *            bytes, for rasterizers that only set the covered pixels.
+	 * @return The array of at least <code>size</code> bytes.
+	 */
+	public byte[] getPixels(int size, boolean clear) {
+		if (pixels.length < size)
+			pixels = new byte[size];
+		else if (clear)
+			Arrays.fill(pixels, 0, size, (byte) 0);
+		return pixels;
+	}
+
+	/**
+	 * Returns the array for the packed bits of a glyph.
+	 *
+	 * @param size
+	 *            The number of bytes.
+	 * @return The array of at least <code>size</code> bytes.
+	 */
+	public byte[] getBits(int size) {
+		if (bits.length < size)
+			bits = new byte[size];
+		return bits;
+	}
+
+	/**
+	 * Returns a direct buffer to upload pixels from.
+	 *
+	 * @param size
+	 *            The number of bytes.
+	 * @return The buffer in native order, with position <code>0</code> and
+	 *         limit <code>size</code>.
+	 */
+	public ByteBuffer getBuffer(int size) {
+		if (buffer == null || buffer.capacity() < size)
+			buffer = ByteBuffer.allocateDirect(
+					Math.max(size, buffer == null ? 0 : buffer.capacity() * 2))
+					.order(ByteOrder.nativeOrder());
+		buffer.clear().limit(size);
+		return buffer;
+	}
+
+	/**
+	 * Returns the bytes of scratch memory the thread holds.
+	 *
+	 * @return The size of the arrays and buffers.
+	 */
+	public int getMemorySize() {
+		return pixels.length + bits.length
+				+ (buffer == null ? 0 : buffer.capacity());
+	}
+
+}
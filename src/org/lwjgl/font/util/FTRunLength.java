@@ -0,0 +1,101 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font.util;
+
+import java.util.Arrays;
+
+/**
+ * Compresses glyph images into spans. Most of the bounding box of a glyph is
+ * empty, so the rows are stored one after another as a list of spans. Each
+ * span starts with a byte holding the number of zero bytes skipped in the high
+ * four bits and the number of bytes following in the low four bits. Longer
+ * skips and spans are split, the zero bytes after the last span are left out.
+ * Single zero bytes are kept in the spans, as a new span costs a byte.
+ * <p>
+ * The images are bytes, 8 bit coverage or packed bits, without padding. Spans
+ * can be decoded into a scratch array or read directly, see
+ * {@link FTClientBuffer#drawRuns(byte[], int, int, int, int)}.
+ *
+ * @see FTRasterScratch
+ */
+public final class FTRunLength {
+
+	/** The longest skip and span of one byte. */
+	public static final int MAX_RUN = 15;
+
+	/** Gaps up to this length are kept in the span. */
+	private static final int MAX_GAP = 1;
+
+	private FTRunLength() {
+		/* empty */
+	}
+
+	/**
+	 * Compresses an image.
+	 *
+	 * @param pixels
+	 *            The bytes of the image, row by row without padding.
+	 * @param length
+	 *            The number of bytes.
+	 * @return The spans of the image.
+	 */
+	public static byte[] encode(byte[] pixels, int length) {
+		assert pixels.length >= length : "Array too small!";
+		// the worst case is a span for each byte
+		byte[] runs = new byte[2 * length];
+		int size = 0;
+		int index = 0;
+		while (true) {
+			int start = index;
+			while (index < length && pixels[index] == 0)
+				index++;
+			if (index == length)
+				break;
+			int skip = index - start;
+			for (; skip > FTRunLength.MAX_RUN; skip -= FTRunLength.MAX_RUN)
+				runs[size++] = (byte) (FTRunLength.MAX_RUN << 4);
+			// the span ends before a longer gap
+			start = index;
+			int end = index;
+			while (index < length && index - start < FTRunLength.MAX_RUN)
+				if (pixels[index] != 0)
+					end = ++index;
+				else if (index - end < FTRunLength.MAX_GAP)
+					index++;
+				else
+					break;
+			index = end;
+			runs[size++] = (byte) (skip << 4 | end - start);
+			System.arraycopy(pixels, start, runs, size, end - start);
+			size += end - start;
+		}
+		return Arrays.copyOf(runs, size);
+	}
+
+	/**
+	 * Decompresses an image.
+	 *
+	 * @param runs
+	 *            The spans of the image.
+	 * @param length
+	 *            The number of bytes of the image.
+	 * @param dest
+	 *            The array to write the image into.
+	 */
+	public static void decode(byte[] runs, int length, byte[] dest) {
+		assert dest.length >= length : "Array too small!";
+		int index = 0;
+		for (int i = 0; i < runs.length;) {
+			final int skip = (runs[i] & 0xFF) >>> 4;
+			final int count = runs[i++] & 0x0F;
+			Arrays.fill(dest, index, index + skip, (byte) 0);
+			index += skip;
+			System.arraycopy(runs, i, dest, index, count);
+			i += count;
+			index += count;
+		}
+		Arrays.fill(dest, index, length, (byte) 0);
+	}
+
+}
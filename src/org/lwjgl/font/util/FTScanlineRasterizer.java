@@ -0,0 +1,305 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font.util;
+
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.PathIterator;
+import java.util.Arrays;
+
+/**
+ * Rasterizes the outlines of glyphs into 8 bit coverage, without Java2D
+ * images or a display. The outline is flattened by its
+ * <code>PathIterator</code> and its lines are drawn into a caller provided
+ * array of <code>width * height</code> bytes, row by row without padding.
+ * <p>
+ * With antialiasing the coverage is computed analytically: each line adds the
+ * signed area it covers to an accumulation buffer, whose running sums along
+ * the rows are the covered fraction of each pixel. Overlapping contours are
+ * clamped to full coverage, as with the non-zero winding rule. Without
+ * antialiasing a pixel is set, if its center is inside the outline by the
+ * winding rule of the path, like Java2D fills with pure stroke control. The
+ * default stroke control of Java2D moves the outline to the pixel grid first,
+ * which is not done here.
+ * <p>
+ * A rasterizer keeps its scratch buffers between calls and must not be used
+ * by several threads at once. It shares no state with other instances, so
+ * each thread can rasterize with its own.
+ *
+ * @see FTRaster
+ */
+public final class FTScanlineRasterizer {
+
+	/**
+	 * The maximum distance in pixels between a curve and the lines it is
+	 * flattened into.
+	 */
+	public static final double FLATNESS = 0.1;
+
+	/** The signed area of the lines, <code>width + 2</code> per row. */
+	private float[] area = new float[0];
+
+	/** The lines, x0, y0, x1, y1 from top to bottom and the direction. */
+	private float[] lines = new float[64 * 5];
+
+	private int lineCount = 0;
+
+	/** The crossings of the lines with the center of a row. */
+	private float[] crossings = new float[32];
+
+	private int[] directions = new int[32];
+
+	/**
+	 * Rasterizes a shape.
+	 *
+	 * @param shape
+	 *            The outline.
+	 * @param transform
+	 *            The transform from the outline to pixels, <code>null</code>
+	 *            for the identity.
+	 * @param width
+	 *            The width of the bitmap.
+	 * @param height
+	 *            The height of the bitmap.
+	 * @param antialias
+	 *            <code>true</code> for the coverage of each pixel,
+	 *            <code>false</code> for <code>0</code> or <code>255</code>.
+	 * @param dest
+	 *            The array to write the pixels to, at least
+	 *            <code>width * height</code> bytes. It is cleared first.
+	 */
+	public void rasterize(Shape shape, AffineTransform transform, int width,
+			int height, boolean antialias, byte[] dest) {
+		rasterize(shape.getPathIterator(transform,
+				FTScanlineRasterizer.FLATNESS), width, height, antialias, dest);
+	}
+
+	/**
+	 * Rasterizes a path. Curves are flattened by
+	 * {@link #FLATNESS}, e.g. with a <code>FlatteningPathIterator</code>, if
+	 * the path is not flat already.
+	 *
+	 * @param path
+	 *            The outline in pixels.
+	 * @param width
+	 *            The width of the bitmap.
+	 * @param height
+	 *            The height of the bitmap.
+	 * @param antialias
+	 *            <code>true</code> for the coverage of each pixel,
+	 *            <code>false</code> for <code>0</code> or <code>255</code>.
+	 * @param dest
+	 *            The array to write the pixels to, at least
+	 *            <code>width * height</code> bytes. It is cleared first.
+	 */
+	public void rasterize(PathIterator path, int width, int height,
+			boolean antialias, byte[] dest) {
+		assert dest.length >= width * height : "Array too small!";
+		if (width <= 0 || height <= 0)
+			return;
+		addLines(path);
+		if (antialias)
+			accumulate(width, height, dest);
+		else
+			sample(width, height,
+					path.getWindingRule() == PathIterator.WIND_EVEN_ODD, dest);
+		lineCount = 0;
+	}
+
+	/**
+	 * Collects the lines of a flat path, closing open contours.
+	 */
+	private void addLines(PathIterator path) {
+		final double[] coords = new double[6];
+		double startX = 0.0;
+		double startY = 0.0;
+		double x = 0.0;
+		double y = 0.0;
+		lineCount = 0;
+		for (; !path.isDone(); path.next())
+			switch (path.currentSegment(coords)) {
+			case PathIterator.SEG_MOVETO:
+				addLine(x, y, startX, startY);
+				startX = x = coords[0];
+				startY = y = coords[1];
+				break;
+			case PathIterator.SEG_CLOSE:
+				addLine(x, y, startX, startY);
+				x = startX;
+				y = startY;
+				break;
+			case PathIterator.SEG_QUADTO:
+			case PathIterator.SEG_CUBICTO:
+				throw new IllegalArgumentException("Path is not flat.");
+			default: // SEG_LINETO
+				addLine(x, y, coords[0], coords[1]);
+				x = coords[0];
+				y = coords[1];
+			}
+		addLine(x, y, startX, startY);
+	}
+
+	private void addLine(double x0, double y0, double x1, double y1) {
+		if (y0 == y1)
+			return;
+		if (lines.length < (lineCount + 1) * 5) {
+			float[] help = new float[lines.length * 2];
+			System.arraycopy(lines, 0, help, 0, lineCount * 5);
+			lines = help;
+		}
+		final int offset = lineCount++ * 5;
+		if (y0 < y1) {
+			lines[offset] = (float) x0;
+			lines[offset + 1] = (float) y0;
+			lines[offset + 2] = (float) x1;
+			lines[offset + 3] = (float) y1;
+			lines[offset + 4] = 1.0f;
+		} else {
+			lines[offset] = (float) x1;
+			lines[offset + 1] = (float) y1;
+			lines[offset + 2] = (float) x0;
+			lines[offset + 3] = (float) y0;
+			lines[offset + 4] = -1.0f;
+		}
+	}
+
+	/**
+	 * Accumulates the signed area of all lines and writes the coverage.
+	 */
+	private void accumulate(int width, int height, byte[] dest) {
+		final int stride = width + 2;
+		if (area.length < stride * height)
+			area = new float[stride * height];
+		else
+			Arrays.fill(area, 0, stride * height, 0.0f);
+
+		for (int l = 0; l < lineCount; l++) {
+			final int offset = l * 5;
+			drawLine(lines[offset], lines[offset + 1], lines[offset + 2],
+					lines[offset + 3], lines[offset + 4], width, height);
+		}
+
+		for (int y = 0; y < height; y++) {
+			float sum = 0.0f;
+			int a = y * stride;
+			int d = y * width;
+			for (int x = 0; x < width; x++) {
+				sum += area[a++];
+				float coverage = Math.abs(sum);
+				dest[d++] = (byte) (coverage >= 1.0f ? 255
+						: (int) (coverage * 255.0f + 0.5f));
+			}
+		}
+	}
+
+	/**
+	 * Adds the signed area covered right of a line, row by row. The area of a
+	 * row sums to the height of the line in the row, so the running sum along
+	 * the row is the covered fraction of each pixel.
+	 */
+	private void drawLine(float x0, float y0, float x1, float y1, float dir,
+			int width, int height) {
+		final int stride = width + 2;
+		final float dxdy = (x1 - x0) / (y1 - y0);
+		float x = x0;
+		if (y0 < 0.0f) {
+			x -= y0 * dxdy;
+			y0 = 0.0f;
+		}
+		if (y1 > height)
+			y1 = height;
+		for (int y = (int) y0; y < y1; y++) {
+			final int row = y * stride;
+			final float dy = Math.min(y + 1, y1) - Math.max(y, y0);
+			final float xnext = x + dxdy * dy;
+			final float d = dy * dir;
+			// outside left the area moves to the first pixel, outside right
+			// it is dropped
+			float xa = Math.min(Math.max(Math.min(x, xnext), 0.0f), width);
+			float xb = Math.min(Math.max(Math.max(x, xnext), 0.0f), width);
+			final float xaFloor = (float) Math.floor(xa);
+			final int xai = (int) xaFloor;
+			final float xbCeil = (float) Math.ceil(xb);
+			final int xbi = (int) xbCeil;
+			if (xbi <= xai + 1) {
+				// within one pixel
+				final float xmf = 0.5f * (xa + xb) - xaFloor;
+				area[row + xai] += d - d * xmf;
+				area[row + xai + 1] += d * xmf;
+			} else {
+				final float s = 1.0f / (xb - xa);
+				final float xaf = xa - xaFloor;
+				final float a0 = 0.5f * s * (1.0f - xaf) * (1.0f - xaf);
+				final float xbf = xb - xbCeil + 1.0f;
+				final float am = 0.5f * s * xbf * xbf;
+				area[row + xai] += d * a0;
+				if (xbi == xai + 2)
+					area[row + xai + 1] += d * (1.0f - a0 - am);
+				else {
+					final float a1 = s * (1.5f - xaf);
+					area[row + xai + 1] += d * (a1 - a0);
+					for (int xi = xai + 2; xi < xbi - 1; xi++)
+						area[row + xi] += d * s;
+					final float a2 = a1 + (xbi - xai - 3) * s;
+					area[row + xbi - 1] += d * (1.0f - a2 - am);
+				}
+				area[row + xbi] += d * am;
+			}
+			x = xnext;
+		}
+	}
+
+	/**
+	 * Fills the pixels, whose center is inside the outline.
+	 */
+	private void sample(int width, int height, boolean evenOdd, byte[] dest) {
+		Arrays.fill(dest, 0, width * height, (byte) 0);
+		for (int y = 0; y < height; y++) {
+			final float center = y + 0.5f;
+			int count = 0;
+			for (int l = 0; l < lineCount; l++) {
+				final int offset = l * 5;
+				final float y0 = lines[offset + 1];
+				final float y1 = lines[offset + 3];
+				if (center < y0 || center >= y1)
+					continue;
+				final float x0 = lines[offset];
+				final float x = x0 + (center - y0) * (lines[offset + 2] - x0)
+						/ (y1 - y0);
+				if (count == crossings.length) {
+					float[] help = new float[count * 2];
+					System.arraycopy(crossings, 0, help, 0, count);
+					crossings = help;
+					int[] help2 = new int[count * 2];
+					System.arraycopy(directions, 0, help2, 0, count);
+					directions = help2;
+				}
+				// insertion sort, rows cross few lines
+				int i = count++;
+				while (i > 0 && crossings[i - 1] > x) {
+					crossings[i] = crossings[i - 1];
+					directions[i] = directions[i - 1];
+					i--;
+				}
+				crossings[i] = x;
+				directions[i] = (int) lines[offset + 4];
+			}
+
+			int winding = 0;
+			for (int i = 0; i < count - 1; i++) {
+				winding += evenOdd ? 1 : directions[i];
+				if (evenOdd ? (winding & 1) == 0 : winding == 0)
+					continue;
+				// the pixels with their center in [xa, xb)
+				int xa = Math.max((int) Math.ceil(crossings[i] - 0.5f), 0);
+				int xb = Math.min((int) Math.ceil(crossings[i + 1] - 0.5f),
+						width);
+				if (xa < xb)
+					Arrays.fill(dest, y * width + xa, y * width + xb,
+							(byte) 255);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,173 @@
+/* $Id$
+ * Created on 19.10.2026
+ */
+package org.lwjgl.font.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+/**
+ * An arena of direct memory for the glyphs of a font. Allocating a direct
+ * buffer is slow, rounds the memory up to pages and frees it only when the
+ * garbage collector finds the buffer. The arena allocates few large slabs and
+ * hands out slices of them, which are released all at once by
+ * {@link #dispose()}. The first slab is small and the following ones double,
+ * up to the slab size, so fonts with few glyphs stay small.
+ * <p>
+ * Slices are in native byte order and start at 8 byte boundaries. Requests
+ * larger than a quarter of a slab get a slab of their own, so large glyphs do
+ * not waste the rest of a slab. The arena may be used by several threads.
+ * Only the current slab is referenced by the arena, the others are kept by the
+ * slices cut from them. Disposing drops the current slab, the memory is
+ * returned once the slices handed out are no longer referenced either. Each
+ * dispose starts a new generation, so allocations on behalf of data released
+ * meanwhile can be refused, see {@link #allocate(int, int)}.
+ *
+ * @see FTRasterScratch
+ */
+public final class FTSlabArena {
+
+	/** The default size of a slab, 64 KB. */
+	public static final int DEFAULT_SLAB_SIZE = 64 << 10;
+
+	private static final int ALIGNMENT = 8;
+
+	/** The size of the first slab, 4 KB. */
+	private static final int FIRST_SLAB_SIZE = 4 << 10;
+
+	private final int slabSize;
+
+	/** The slab slices are cut from, or <code>null</code>. */
+	private ByteBuffer slab = null;
+
+	private long committed = 0;
+
+	private long used = 0;
+
+	private int generation = 0;
+
+	/**
+	 * Creates an arena with the default slab size.
+	 */
+	public FTSlabArena() {
+		this(FTSlabArena.DEFAULT_SLAB_SIZE);
+	}
+
+	/**
+	 * Creates an arena.
+	 *
+	 * @param slabSize
+	 *            The size of the slabs in bytes.
+	 */
+	public FTSlabArena(int slabSize) {
+		assert slabSize >= FTSlabArena.ALIGNMENT : "Slab size too small!";
+		this.slabSize = slabSize;
+	}
+
+	/**
+	 * Allocates a slice of bytes.
+	 *
+	 * @param size
+	 *            The number of bytes.
+	 * @return The slice in native order, with position <code>0</code> and
+	 *         limit and capacity <code>size</code>.
+	 */
+	public synchronized ByteBuffer allocate(int size) {
+		assert size >= 0 : "Size cannot be negative!";
+		ByteBuffer slice;
+		if (size > slabSize / 4)
+			slice = newSlab(size);
+		else {
+			if (slab == null || slab.remaining() < size) {
+				final int next = slab == null ? FTSlabArena.FIRST_SLAB_SIZE
+						: slab.capacity() * 2;
+				slab = newSlab(Math.max(size, Math.min(slabSize, next)));
+			}
+			final int position = slab.position();
+			slab.limit(position + size);
+			slice = slab.slice();
+			slab.limit(slab.capacity());
+			slab.position(Math.min(slab.capacity(), position
+					+ (size + FTSlabArena.ALIGNMENT - 1)
+					/ FTSlabArena.ALIGNMENT * FTSlabArena.ALIGNMENT));
+		}
+		used += size;
+		return slice.order(ByteOrder.nativeOrder());
+	}
+
+	/**
+	 * Allocates a slice of bytes, if the arena was not disposed since the
+	 * given generation.
+	 *
+	 * @param size
+	 *            The number of bytes.
+	 * @param generation
+	 *            The generation the slice is allocated for.
+	 * @return The slice as by {@link #allocate(int)}, or <code>null</code> if
+	 *         the arena is in a later generation.
+	 * @see #getGeneration()
+	 */
+	public synchronized ByteBuffer allocate(int size, int generation) {
+		return generation == this.generation ? allocate(size) : null;
+	}
+
+	/**
+	 * Allocates a slice of ints.
+	 *
+	 * @param count
+	 *            The number of ints.
+	 * @return The slice, with position <code>0</code> and limit and capacity
+	 *         <code>count</code>.
+	 */
+	public IntBuffer allocateInts(int count) {
+		return allocate(count * 4).asIntBuffer();
+	}
+
+	/**
+	 * Releases all slabs. The slices handed out must not be used anymore. The
+	 * arena can be used again afterwards.
+	 */
+	public synchronized void dispose() {
+		slab = null;
+		committed = 0;
+		used = 0;
+		generation++;
+	}
+
+	/**
+	 * Returns the generation of the arena, which is advanced by each
+	 * {@link #dispose()}.
+	 *
+	 * @return The generation.
+	 */
+	public synchronized int getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * Returns the direct memory the arena holds.
+	 *
+	 * @return The size of all slabs allocated since the last dispose in
+	 *         bytes.
+	 */
+	public synchronized long getCommittedBytes() {
+		return committed;
+	}
+
+	/**
+	 * Returns the memory handed out.
+	 *
+	 * @return The size of all slices in bytes.
+	 */
+	public synchronized long getUsedBytes() {
+		return used;
+	}
+
+	private ByteBuffer newSlab(int size) {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(size);
+		committed += size;
+		return buffer;
+	}
+
+}